@@ -2,6 +2,7 @@ package com.tran.pulse.sign.controller;
 
 import com.tran.pulse.auth.context.LoginUserContext;
 import com.tran.pulse.auth.domain.LoginUser;
+import com.tran.pulse.auth.password.PasswordHashRejectedException;
 import com.tran.pulse.auth.service.JwtService;
 import com.tran.pulse.auth.util.IPUtils;
 import com.tran.pulse.auth.util.TokenPair;
@@ -86,6 +87,8 @@ public class AuthController {
             log.warn("用户登录失败 - 用户名：{}，客户端：{}，原因：{}",
                     loginDto.getUsername(), clientIp, e.getMessage());
             return PulseResult.authFail(e.getMessage());
+        } catch (PasswordHashRejectedException e) {
+            return PulseResult.tooManyRequests(e.getMessage());
         } catch (Exception e) {
             log.error("用户登录异常 - 用户名：{}，客户端：{}", loginDto.getUsername(), clientIp, e);
             return PulseResult.fail("登录服务异常，请稍后重试");
@@ -143,6 +146,8 @@ public class AuthController {
         } catch (IllegalArgumentException e) {
             log.warn("用户注册失败 - 用户名：{}，原因：{}", registerDto.getUsername(), e.getMessage());
             return PulseResult.paramError(e.getMessage());
+        } catch (PasswordHashRejectedException e) {
+            return PulseResult.tooManyRequests(e.getMessage());
         } catch (Exception e) {
             log.error("用户注册异常 - 用户名：{}", registerDto.getUsername(), e);
             return PulseResult.fail("系统异常，请稍后重试");
@@ -196,6 +201,17 @@ public class AuthController {
     }
 
 
+    /**
+     * 获取签名公钥（JWKS）
+     * 公开接口，按 RFC 7517 格式直接返回，不包装为 PulseResult，其他服务据此在本地验签
+     *
+     * @return JWK Set
+     */
+    @GetMapping("/jwks")
+    public Map<String, Object> jwks() {
+        return jwtService.getJwks();
+    }
+
     /**
      * 获取当前用户信息
      * <p>
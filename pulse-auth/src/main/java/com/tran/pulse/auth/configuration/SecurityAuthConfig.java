@@ -4,6 +4,8 @@ import com.tran.pulse.auth.filter.JwtAuthRequestFilter;
 import com.tran.pulse.auth.handler.AuthenticationEntryPointHandler;
 import com.tran.pulse.auth.handler.LogoutSuccessDefaultHandler;
 import com.tran.pulse.auth.handler.AccessDeniedDefaultHandler;
+import com.tran.pulse.auth.password.AdaptivePasswordEncoder;
+import com.tran.pulse.auth.password.PasswordHashExecutor;
 import com.tran.pulse.auth.properties.AuthProperties;
 import com.tran.pulse.auth.properties.CORSProperties;
 import com.tran.pulse.auth.service.JwtService;
@@ -17,7 +19,6 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -64,14 +65,24 @@ public class SecurityAuthConfig {
 
     /**
      * 密码编码器
-     * 使用BCrypt加密算法，强度为10。
-     * 即使不使用密码认证，也建议配置以备将来扩展使用。
+     * 按 pulse.auth.password 配置使用 BCrypt（默认强度 10）或 Argon2id，校验时按哈希串自身的算法和代价进行。
      *
-     * @return BCrypt密码编码器
+     * @return 密码编码器
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(10);
+        return new AdaptivePasswordEncoder(authProperties.getPassword());
+    }
+
+    /**
+     * 密码哈希线程池
+     * 登录和注册的哈希在这里执行，不直接占用 Web 容器线程的 CPU
+     *
+     * @return 密码哈希线程池
+     */
+    @Bean
+    public PasswordHashExecutor passwordHashExecutor() {
+        return new PasswordHashExecutor(authProperties.getPassword());
     }
 
     /**
@@ -258,7 +269,7 @@ public class SecurityAuthConfig {
                     // 默认白名单路径
                     auth.antMatchers(
                             // 认证相关接口
-                            "/auth/login", "/auth/register", "/auth/refresh",
+                            "/auth/login", "/auth/register", "/auth/refresh", "/auth/jwks",
                             "/user/captcha", "/public/**",
                             // 静态资源
                             "/", "/*.html", "/static/**", "/favicon.ico",
@@ -0,0 +1,69 @@
+package com.tran.pulse.auth.configuration;
+
+import com.tran.pulse.auth.properties.AuthProperties;
+import com.tran.pulse.auth.session.LocalSessionRevocationBus;
+import com.tran.pulse.auth.session.RedisSessionRevocationBus;
+import com.tran.pulse.auth.session.SessionCache;
+import com.tran.pulse.auth.session.SessionRevocationBus;
+import com.tran.pulse.auth.session.TokenDenyList;
+import com.tran.pulse.auth.util.JwtUtils;
+import com.tran.pulse.cache.configuration.RedisModeCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * 本地会话缓存配置
+ * 缓存模式为 REDIS/TIERED 时通过 Redis 发布订阅在节点间同步撤销，否则只在本节点内通知。
+ * 开启无状态 Access Token 时撤销同时记入 Redis，保留一个 Access Token 有效期，供节点启动时重放；
+ * 本地通知不持久化，单节点重启后此前的撤销丢失。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(AuthProperties.class)
+public class SessionCacheConfiguration {
+
+    @Bean
+    @Conditional(RedisModeCondition.class)
+    public RedisSessionRevocationBus redisSessionRevocationBus(RedisConnectionFactory connectionFactory,
+                                                               AuthProperties authProperties) {
+        long retentionMillis = authProperties.isStatelessAccessToken() ? JwtUtils.getAccessTokenExpireMillis(authProperties) : 0;
+        return new RedisSessionRevocationBus(new StringRedisTemplate(connectionFactory),
+                authProperties.getSessionCache().getChannel(), retentionMillis);
+    }
+
+    @Bean
+    @Conditional(RedisModeCondition.class)
+    public RedisMessageListenerContainer sessionRevocationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                           RedisSessionRevocationBus redisSessionRevocationBus) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(redisSessionRevocationBus, new ChannelTopic(redisSessionRevocationBus.getChannel()));
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(SessionRevocationBus.class)
+    public SessionRevocationBus localSessionRevocationBus() {
+        return new LocalSessionRevocationBus();
+    }
+
+    @Bean
+    public TokenDenyList tokenDenyList(AuthProperties authProperties, SessionRevocationBus sessionRevocationBus) {
+        return new TokenDenyList(sessionRevocationBus, JwtUtils.getAccessTokenExpireMillis(authProperties));
+    }
+
+    @Bean
+    public SessionCache sessionCache(AuthProperties authProperties, SessionRevocationBus sessionRevocationBus) {
+        return new SessionCache(authProperties.getSessionCache(), sessionRevocationBus);
+    }
+}
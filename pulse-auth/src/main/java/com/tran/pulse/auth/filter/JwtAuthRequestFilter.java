@@ -13,7 +13,6 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -66,9 +65,14 @@ public class JwtAuthRequestFilter extends OncePerRequestFilter {
     private final AuthProperties authProperties;
 
     /**
-     * 路径匹配器，用于匹配白名单路径
+     * 预编译的白名单匹配器
      */
-    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private volatile WhiteListMatcher whiteListMatcher;
+
+    /**
+     * 编译 whiteListMatcher 时使用的配置列表，配置重新绑定（替换为新列表）后据此发现变化并重新编译
+     */
+    private volatile List<String> compiledWhiteList;
 
     /**
      * 默认的白名单路径
@@ -77,6 +81,7 @@ public class JwtAuthRequestFilter extends OncePerRequestFilter {
             "/auth/login",
             "/auth/register",
             "/auth/refresh",
+            "/auth/jwks",
             "/public/**",
             "/swagger-ui/**",
             "/v3/api-docs/**",
@@ -96,6 +101,20 @@ public class JwtAuthRequestFilter extends OncePerRequestFilter {
     public JwtAuthRequestFilter(JwtService jwtService, AuthProperties authProperties) {
         this.jwtService = jwtService;
         this.authProperties = authProperties;
+        reloadWhiteList();
+    }
+
+    /**
+     * 按当前配置重新编译白名单，配置了白名单时使用配置，否则使用默认白名单
+     * 配置重新绑定会替换 whiteList 列表，下一次请求自动重新编译；原地修改列表后需手动调用
+     */
+    public void reloadWhiteList() {
+        List<String> whiteList = authProperties.getWhiteList();
+        WhiteListMatcher matcher = WhiteListMatcher.compile(
+                whiteList == null || whiteList.isEmpty() ? DEFAULT_WHITE_LIST : whiteList);
+        this.whiteListMatcher = matcher;
+        this.compiledWhiteList = whiteList;
+        log.debug("白名单已编译：{}", matcher.getPatterns());
     }
 
     /**
@@ -113,15 +132,13 @@ public class JwtAuthRequestFilter extends OncePerRequestFilter {
     protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
         String path = request.getServletPath();
 
-        // 获取配置的白名单，如果没有配置则使用默认白名单
-        List<String> whiteList = authProperties.getWhiteList();
-        if (whiteList == null || whiteList.isEmpty()) {
-            whiteList = DEFAULT_WHITE_LIST;
+        // 配置被替换时重新编译白名单
+        if (authProperties.getWhiteList() != compiledWhiteList) {
+            reloadWhiteList();
         }
 
         // 检查路径是否匹配白名单中的任一模式
-        boolean shouldSkip = whiteList.stream()
-                .anyMatch(pattern -> pathMatcher.match(pattern, path));
+        boolean shouldSkip = whiteListMatcher.matches(path);
 
         if (shouldSkip) {
             log.debug("跳过 JWT 认证，路径：{}", path);
@@ -171,8 +188,9 @@ public class JwtAuthRequestFilter extends OncePerRequestFilter {
             String token = jwtService.extractToken(authHeader);
 
             if (StringUtils.hasText(token)) {
-                // 3. 验证 token 并获取用户信息
-                Optional<LoginUser> userOptional = jwtService.validateAndGetUser(token);
+                // 3. 解析一次 token，基于解析结果验证会话并获取用户信息
+                Optional<LoginUser> userOptional = jwtService.parseToken(token)
+                        .flatMap(jwtService::validateAndGetUser);
 
                 if (userOptional.isPresent()) {
                     LoginUser loginUser = userOptional.get();
@@ -266,7 +284,8 @@ public class JwtAuthRequestFilter extends OncePerRequestFilter {
                 return false;
             }
 
-            Optional<LoginUser> userOptional = jwtService.validateAndGetUser(token);
+            Optional<LoginUser> userOptional = jwtService.parseToken(token)
+                    .flatMap(jwtService::validateAndGetUser);
 
             if (userOptional.isPresent()) {
                 LoginUser loginUser = userOptional.get();
@@ -0,0 +1,306 @@
+package com.tran.pulse.auth.filter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 预编译的白名单路径匹配器
+ * 启动时把 Ant 风格的白名单模式按 "/" 拆段编译成前缀树，请求路径只需从根向下走一遍：
+ * 字面量段直接比较字符，含 *、?、{var} 的段预编译为正则，"**" 跨段匹配，以 "**" 结尾的模式命中后立即返回。
+ * 匹配语义与 {@link org.springframework.util.AntPathMatcher#match(String, String)} 一致（包括首尾 "/" 的处理），
+ * 但不在每次请求时重新解析模式，匹配过程不分配对象（含通配符的段除外）。
+ * 实例不可变，重新加载时整体替换。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public final class WhiteListMatcher {
+
+    /**
+     * 段内通配符：?、*、{name} 或 {name:regex}，与 AntPathMatcher 相同
+     */
+    private static final Pattern GLOB_PATTERN = Pattern.compile("\\?|\\*|\\{((?:\\{[^/]+?\\}|[^/{}]|\\\\[{}])+?)\\}");
+
+    private static final char SEPARATOR = '/';
+
+    private final List<String> patterns;
+
+    /**
+     * 以 "/" 开头的模式
+     */
+    private final Node absolute = new Node();
+
+    /**
+     * 不以 "/" 开头的模式
+     */
+    private final Node relative = new Node();
+
+    private WhiteListMatcher(Collection<String> patterns) {
+        List<String> list = new ArrayList<>();
+        for (String pattern : patterns) {
+            if (pattern != null) {
+                list.add(pattern);
+                add(pattern);
+            }
+        }
+        this.patterns = Collections.unmodifiableList(list);
+    }
+
+    /**
+     * 编译白名单
+     *
+     * @param patterns Ant 风格的路径模式
+     */
+    public static WhiteListMatcher compile(Collection<String> patterns) {
+        return new WhiteListMatcher(patterns);
+    }
+
+    /**
+     * 路径是否命中任一白名单模式
+     *
+     * @param path 请求路径
+     */
+    public boolean matches(String path) {
+        if (path == null) {
+            return false;
+        }
+        Node root = !path.isEmpty() && path.charAt(0) == SEPARATOR ? absolute : relative;
+        return match(root, path, 0);
+    }
+
+    /**
+     * 编译时的模式列表
+     */
+    public List<String> getPatterns() {
+        return patterns;
+    }
+
+    private void add(String pattern) {
+        Node node = !pattern.isEmpty() && pattern.charAt(0) == SEPARATOR ? absolute : relative;
+        String last = null;
+        boolean doubleStar = false;
+        for (String segment : pattern.split("/")) {
+            if (!segment.isEmpty()) {
+                node = node.child(segment);
+                last = segment;
+                doubleStar |= "**".equals(segment);
+            }
+        }
+        if ("**".equals(last)) {
+            node.anyRest = true;
+        }
+        // 与 AntPathMatcher 一致：模式含 "**" 时不要求末尾 "/" 一致
+        if (doubleStar) {
+            node.endWithSlash = true;
+            node.endWithoutSlash = true;
+        } else if (pattern.endsWith("/")) {
+            node.endWithSlash = true;
+        } else {
+            node.endWithoutSlash = true;
+        }
+    }
+
+    /**
+     * 从 pos 开始匹配 node 之下的剩余路径
+     */
+    private static boolean match(Node node, String path, int pos) {
+        int length = path.length();
+        int start = pos;
+        while (start < length && path.charAt(start) == SEPARATOR) {
+            start++;
+        }
+        if (start >= length) {
+            return matchEnd(node, path);
+        }
+        int end = path.indexOf(SEPARATOR, start);
+        if (end < 0) {
+            end = length;
+        }
+
+        Node literal = node.literal(path, start, end);
+        if (literal != null && match(literal, path, end)) {
+            return true;
+        }
+        for (Wildcard wildcard : node.wildcards) {
+            if (wildcard.matches(path, start, end) && match(wildcard.node, path, end)) {
+                return true;
+            }
+        }
+        Node doubleStar = node.doubleStar;
+        if (doubleStar != null) {
+            if (doubleStar.anyRest) {
+                return true;
+            }
+            // "**" 依次吞掉 0 段、1 段……
+            int next = start;
+            while (true) {
+                if (match(doubleStar, path, next)) {
+                    return true;
+                }
+                if (next >= length) {
+                    return false;
+                }
+                int slash = path.indexOf(SEPARATOR, next);
+                next = slash < 0 ? length : slash + 1;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 路径已走完时 node 是否构成匹配
+     */
+    private static boolean matchEnd(Node node, String path) {
+        boolean slash = !path.isEmpty() && path.charAt(path.length() - 1) == SEPARATOR;
+        if (slash ? node.endWithSlash : node.endWithoutSlash) {
+            return true;
+        }
+        // 剩余模式全是 "**"
+        if (node.doubleStar != null && matchEnd(node.doubleStar, path)) {
+            return true;
+        }
+        // AntPathMatcher 的特例："/a/*" 匹配 "/a/"
+        if (slash) {
+            for (Wildcard wildcard : node.wildcards) {
+                if (wildcard.star && (wildcard.node.endWithSlash || wildcard.node.endWithoutSlash)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static final class Node {
+
+        private String[] names = new String[0];
+
+        private Node[] nodes = new Node[0];
+
+        private Wildcard[] wildcards = new Wildcard[0];
+
+        private Node doubleStar;
+
+        /**
+         * 以 "**" 结尾的模式到此为止，之后任意路径都匹配
+         */
+        private boolean anyRest;
+
+        private boolean endWithSlash;
+
+        private boolean endWithoutSlash;
+
+        private Node child(String segment) {
+            if ("**".equals(segment)) {
+                if (doubleStar == null) {
+                    doubleStar = new Node();
+                }
+                return doubleStar;
+            }
+            if (GLOB_PATTERN.matcher(segment).find()) {
+                for (Wildcard wildcard : wildcards) {
+                    if (wildcard.source.equals(segment)) {
+                        return wildcard.node;
+                    }
+                }
+                Wildcard wildcard = new Wildcard(segment);
+                wildcards = Arrays.copyOf(wildcards, wildcards.length + 1);
+                wildcards[wildcards.length - 1] = wildcard;
+                return wildcard.node;
+            }
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(segment)) {
+                    return nodes[i];
+                }
+            }
+            Node node = new Node();
+            names = Arrays.copyOf(names, names.length + 1);
+            nodes = Arrays.copyOf(nodes, nodes.length + 1);
+            names[names.length - 1] = segment;
+            nodes[nodes.length - 1] = node;
+            return node;
+        }
+
+        private Node literal(String path, int start, int end) {
+            int length = end - start;
+            for (int i = 0; i < names.length; i++) {
+                String name = names[i];
+                if (name.length() == length && path.regionMatches(start, name, 0, length)) {
+                    return nodes[i];
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class Wildcard {
+
+        private final String source;
+
+        private final boolean star;
+
+        /**
+         * 只含一个 "*" 的段（如 *.css）按前后缀比较，不走正则
+         */
+        private final String prefix;
+
+        private final String suffix;
+
+        private final Pattern pattern;
+
+        private final Node node = new Node();
+
+        private Wildcard(String source) {
+            this.source = source;
+            this.star = "*".equals(source);
+            int index = source.indexOf('*');
+            boolean simple = index >= 0 && source.indexOf('*', index + 1) < 0
+                    && source.indexOf('?') < 0 && source.indexOf('{') < 0;
+            this.prefix = simple ? source.substring(0, index) : null;
+            this.suffix = simple ? source.substring(index + 1) : null;
+            this.pattern = simple ? null : toRegex(source);
+        }
+
+        private boolean matches(String path, int start, int end) {
+            if (star) {
+                return true;
+            }
+            if (prefix != null) {
+                return end - start >= prefix.length() + suffix.length()
+                        && path.regionMatches(start, prefix, 0, prefix.length())
+                        && path.regionMatches(end - suffix.length(), suffix, 0, suffix.length());
+            }
+            return pattern.matcher(path).region(start, end).matches();
+        }
+
+        private static Pattern toRegex(String segment) {
+            StringBuilder regex = new StringBuilder();
+            Matcher matcher = GLOB_PATTERN.matcher(segment);
+            int last = 0;
+            while (matcher.find()) {
+                regex.append(quote(segment, last, matcher.start()));
+                String match = matcher.group();
+                if ("?".equals(match)) {
+                    regex.append('.');
+                } else if ("*".equals(match)) {
+                    regex.append(".*");
+                } else {
+                    int colon = match.indexOf(':');
+                    regex.append('(').append(colon < 0 ? ".*" : match.substring(colon + 1, match.length() - 1)).append(')');
+                }
+                last = matcher.end();
+            }
+            regex.append(quote(segment, last, segment.length()));
+            return Pattern.compile(regex.toString(), Pattern.DOTALL);
+        }
+
+        private static String quote(String s, int start, int end) {
+            return start == end ? "" : Pattern.quote(s.substring(start, end));
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.tran.pulse.common.domain.model.PulseResult;
 import com.tran.pulse.common.util.JacksonUtils;
 import com.tran.pulse.common.util.StringUtils;
 import com.tran.pulse.auth.util.IPUtils;
+import com.tran.pulse.auth.util.ParsedToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -74,9 +75,12 @@ public class LogoutSuccessDefaultHandler implements LogoutSuccessHandler {
         String authHeader = request.getHeader(JwtService.ACCESS_TOKEN);
         if (StringUtils.isNotBlank(authHeader) && authHeader.startsWith(JwtService.TOKEN_PREFIX)) {
             String token = jwtService.extractToken(authHeader);
-            LoginUser loginUser = jwtService.getLoginUser(token);
+            ParsedToken parsedToken = jwtService.parseToken(token).orElse(null);
+            LoginUser loginUser = parsedToken != null ? jwtService.getLoginUser(parsedToken) : null;
             // 处理token清理（如果有黑名单机制）
-            jwtService.logout(token);
+            if (parsedToken != null) {
+                jwtService.logout(parsedToken);
+            }
             // 记录登出成功日志
             log.info("用户登出成功 - 用户：{}[{}]，时间：{}，请求：{} {}，客户端：{}",
                     loginUser.getUsername(), loginUser.getUserId(), logoutTime, method, requestURI, remoteAddr);
@@ -0,0 +1,158 @@
+package com.tran.pulse.auth.key;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JWK Set（RFC 7517）与 {@link JwtKey} 之间的转换
+ * 只导出非对称公钥，对称密钥永远不会出现在 JWKS 中。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public final class Jwks {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private Jwks() {
+        throw new AssertionError("工具类不应该被实例化");
+    }
+
+    /**
+     * 导出公钥集合，形如 {"keys":[{...}]}
+     *
+     * @param keys 密钥
+     */
+    public static Map<String, Object> toJwks(Collection<JwtKey> keys) {
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (JwtKey key : keys) {
+            if (!key.getAlgorithm().isHmac()) {
+                list.add(toJwk(key));
+            }
+        }
+        return Collections.singletonMap("keys", list);
+    }
+
+    /**
+     * 解析公钥集合，跳过非签名用途和不支持的密钥
+     *
+     * @param jwks 形如 {"keys":[{...}]}
+     * @return kid -> 验签密钥
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, JwtKey> parse(Map<String, Object> jwks) {
+        Map<String, JwtKey> keys = new LinkedHashMap<>();
+        Object list = jwks.get("keys");
+        if (!(list instanceof List)) {
+            return keys;
+        }
+        for (Object item : (List<Object>) list) {
+            if (!(item instanceof Map)) {
+                continue;
+            }
+            Map<String, Object> jwk = (Map<String, Object>) item;
+            Object use = jwk.get("use");
+            if (jwk.get("kid") == null || jwk.get("alg") == null || (use != null && !"sig".equals(use))) {
+                continue;
+            }
+            try {
+                JwtKey key = fromJwk(jwk);
+                keys.put(key.getId(), key);
+            } catch (RuntimeException | GeneralSecurityException ignore) {
+                // 不支持的算法或格式错误的密钥直接跳过，不影响其他密钥
+            }
+        }
+        return keys;
+    }
+
+    private static Map<String, Object> toJwk(JwtKey key) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kid", key.getId());
+        jwk.put("use", "sig");
+        jwk.put("alg", key.getAlgorithm().getValue());
+        PublicKey publicKey = (PublicKey) key.getVerifyKey();
+        if (publicKey instanceof RSAPublicKey) {
+            RSAPublicKey rsa = (RSAPublicKey) publicKey;
+            jwk.put("kty", "RSA");
+            jwk.put("n", encode(rsa.getModulus(), 0));
+            jwk.put("e", encode(rsa.getPublicExponent(), 0));
+        } else {
+            ECPublicKey ec = (ECPublicKey) publicKey;
+            int size = (ec.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+            jwk.put("kty", "EC");
+            jwk.put("crv", curve(key.getAlgorithm()));
+            jwk.put("x", encode(ec.getW().getAffineX(), size));
+            jwk.put("y", encode(ec.getW().getAffineY(), size));
+        }
+        return jwk;
+    }
+
+    private static JwtKey fromJwk(Map<String, Object> jwk) throws GeneralSecurityException {
+        SignatureAlgorithm algorithm = SignatureAlgorithm.forName(String.valueOf(jwk.get("alg")));
+        String kty = String.valueOf(jwk.get("kty"));
+        PublicKey publicKey;
+        if (algorithm.isRsa() && "RSA".equals(kty)) {
+            publicKey = KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                    decode(jwk.get("n")), decode(jwk.get("e"))));
+        } else if (algorithm.isEllipticCurve() && "EC".equals(kty) && curve(algorithm).equals(jwk.get("crv"))) {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec(JwtKey.curveName(algorithm)));
+            ECParameterSpec spec = parameters.getParameterSpec(ECParameterSpec.class);
+            ECPoint point = new ECPoint(decode(jwk.get("x")), decode(jwk.get("y")));
+            publicKey = KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(point, spec));
+        } else {
+            throw new IllegalArgumentException("不支持的密钥: kty=" + kty + ", alg=" + algorithm);
+        }
+        return JwtKey.asymmetric(String.valueOf(jwk.get("kid")), algorithm, null, publicKey);
+    }
+
+    private static String curve(SignatureAlgorithm algorithm) {
+        return "P-" + algorithm.getValue().substring(2).replace("512", "521");
+    }
+
+    /**
+     * 大端无符号编码，size 大于 0 时左侧补零到固定长度
+     */
+    private static String encode(BigInteger value, int size) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (size > bytes.length) {
+            byte[] padded = new byte[size];
+            System.arraycopy(bytes, 0, padded, size - bytes.length, bytes.length);
+            bytes = padded;
+        }
+        return ENCODER.encodeToString(bytes);
+    }
+
+    private static BigInteger decode(Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("缺少密钥参数");
+        }
+        return new BigInteger(1, DECODER.decode(value.toString()));
+    }
+}
@@ -0,0 +1,140 @@
+package com.tran.pulse.auth.key;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.tran.pulse.common.util.JacksonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 远程 JWKS 验签密钥解析器，供只做验签的服务使用
+ * 公钥缓存在本地，验签完全在进程内完成：
+ * 1. 缓存未过期直接命中；
+ * 2. 缓存过期时由一个线程刷新，其余线程继续使用旧公钥，刷新失败保留旧公钥；
+ * 3. 遇到未知 kid（发行方刚轮换）立即刷新，但两次拉取至少间隔 minRefreshIntervalMillis，防止伪造 kid 的请求打满发行方。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class JwksKeyResolver implements VerificationKeyResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksKeyResolver.class);
+
+    private static final int TIMEOUT_MILLIS = 3000;
+
+    private final String uri;
+
+    private final long refreshMillis;
+
+    private final long minRefreshIntervalMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile Map<String, JwtKey> keys = Collections.emptyMap();
+
+    /**
+     * 最近一次成功拉取的时间
+     */
+    private volatile long fetchedAt;
+
+    /**
+     * 最近一次尝试拉取的时间
+     */
+    private volatile long attemptedAt;
+
+    public JwksKeyResolver(String uri, long refreshMillis, long minRefreshIntervalMillis) {
+        this.uri = uri;
+        this.refreshMillis = refreshMillis;
+        this.minRefreshIntervalMillis = minRefreshIntervalMillis;
+    }
+
+    @Override
+    public JwtKey resolve(String keyId) {
+        if (keyId == null) {
+            return null;
+        }
+        JwtKey key = keys.get(keyId);
+        long now = System.currentTimeMillis();
+        if (key != null) {
+            if (now - fetchedAt >= refreshMillis && lock.tryLock()) {
+                try {
+                    refresh(now);
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return key;
+        }
+        lock.lock();
+        try {
+            // 等锁期间可能已被其他线程刷新
+            key = keys.get(keyId);
+            if (key == null) {
+                refresh(System.currentTimeMillis());
+                key = keys.get(keyId);
+            }
+            return key;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 当前缓存的公钥数量
+     */
+    public int size() {
+        return keys.size();
+    }
+
+    private void refresh(long now) {
+        if (now - attemptedAt < minRefreshIntervalMillis) {
+            return;
+        }
+        attemptedAt = now;
+        try {
+            Map<String, Object> jwks = JacksonUtils.fromJson(fetch(), new TypeReference<Map<String, Object>>() {
+            });
+            keys = Collections.unmodifiableMap(Jwks.parse(jwks));
+            fetchedAt = now;
+            log.debug("JWKS 刷新完成: {}，公钥数量 {}", uri, keys.size());
+        } catch (IOException | RuntimeException e) {
+            log.warn("JWKS 拉取失败，继续使用已缓存的 {} 把公钥: {}", keys.size(), uri, e);
+        }
+    }
+
+    /**
+     * 拉取 JWKS 文档
+     */
+    protected String fetch() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(uri).openConnection();
+        connection.setConnectTimeout(TIMEOUT_MILLIS);
+        connection.setReadTimeout(TIMEOUT_MILLIS);
+        connection.setRequestProperty("Accept", "application/json");
+        try {
+            if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                throw new IOException("HTTP " + connection.getResponseCode());
+            }
+            try (InputStream in = connection.getInputStream()) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, n);
+                }
+                return new String(out.toByteArray(), StandardCharsets.UTF_8);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
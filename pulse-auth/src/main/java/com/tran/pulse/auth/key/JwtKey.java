@@ -0,0 +1,179 @@
+package com.tran.pulse.auth.key;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * 带 ID 的 JWT 签名密钥
+ * 非对称算法下签名用私钥、验签用公钥，只用于验签的密钥 signingKey 为 null；HS256 下两者是同一把对称密钥。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public final class JwtKey {
+
+    private final String id;
+
+    private final SignatureAlgorithm algorithm;
+
+    private final Key signingKey;
+
+    private final Key verifyKey;
+
+    private JwtKey(String id, SignatureAlgorithm algorithm, Key signingKey, Key verifyKey) {
+        if (verifyKey == null) {
+            throw new IllegalArgumentException("验签密钥不能为空");
+        }
+        this.id = id;
+        this.algorithm = algorithm;
+        this.signingKey = signingKey;
+        this.verifyKey = verifyKey;
+    }
+
+    /**
+     * 对称密钥（HS256），签名和验签使用同一把密钥
+     *
+     * @param id  密钥 ID，为 null 时令牌头部不写 kid
+     * @param key 对称密钥
+     */
+    public static JwtKey secret(String id, SignatureAlgorithm algorithm, Key key) {
+        if (!algorithm.isHmac()) {
+            throw new IllegalArgumentException("对称密钥只能用于 HMAC 算法: " + algorithm);
+        }
+        return new JwtKey(id, algorithm, key, key);
+    }
+
+    /**
+     * 非对称密钥
+     *
+     * @param id         密钥 ID
+     * @param privateKey 私钥，只用于验签时为 null
+     * @param publicKey  公钥
+     */
+    public static JwtKey asymmetric(String id, SignatureAlgorithm algorithm, PrivateKey privateKey, PublicKey publicKey) {
+        if (id == null || id.trim().isEmpty()) {
+            throw new IllegalArgumentException("非对称密钥必须指定 ID");
+        }
+        if (!algorithm.isRsa() && !algorithm.isEllipticCurve()) {
+            throw new IllegalArgumentException("不支持的非对称签名算法: " + algorithm);
+        }
+        return new JwtKey(id, algorithm, privateKey, publicKey);
+    }
+
+    /**
+     * 从 Base64 编码的 PKCS#8 私钥和 X.509 公钥构建，允许带 PEM 头尾和换行
+     *
+     * @param id         密钥 ID
+     * @param privateKey 私钥，可以为空
+     * @param publicKey  公钥
+     */
+    public static JwtKey decode(String id, SignatureAlgorithm algorithm, String privateKey, String publicKey) {
+        if (publicKey == null || publicKey.trim().isEmpty()) {
+            throw new IllegalArgumentException("密钥 " + id + " 缺少公钥");
+        }
+        try {
+            KeyFactory factory = KeyFactory.getInstance(keyFactoryAlgorithm(algorithm));
+            PublicKey pub = factory.generatePublic(new X509EncodedKeySpec(pem(publicKey)));
+            PrivateKey pri = privateKey == null || privateKey.trim().isEmpty()
+                    ? null : factory.generatePrivate(new PKCS8EncodedKeySpec(pem(privateKey)));
+            return asymmetric(id, algorithm, pri, pub);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("密钥 " + id + " 解析失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 生成一把新的非对称密钥：RS256 为 2048 位 RSA，ES256 为 P-256 曲线
+     *
+     * @param id 密钥 ID
+     */
+    public static JwtKey generate(String id, SignatureAlgorithm algorithm) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(keyFactoryAlgorithm(algorithm));
+            if (algorithm.isEllipticCurve()) {
+                generator.initialize(new ECGenParameterSpec(curveName(algorithm)));
+            } else {
+                generator.initialize(2048);
+            }
+            KeyPair pair = generator.generateKeyPair();
+            return asymmetric(id, algorithm, pair.getPrivate(), pair.getPublic());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("生成密钥失败: " + algorithm, e);
+        }
+    }
+
+    /**
+     * 只保留公钥的副本，用于轮换后继续验签旧令牌
+     */
+    public JwtKey verifyOnly() {
+        return signingKey == null || algorithm.isHmac() ? this : new JwtKey(id, algorithm, null, verifyKey);
+    }
+
+    static String keyFactoryAlgorithm(SignatureAlgorithm algorithm) {
+        if (algorithm.isRsa()) {
+            return "RSA";
+        }
+        if (algorithm.isEllipticCurve()) {
+            return "EC";
+        }
+        throw new IllegalArgumentException("不支持的非对称签名算法: " + algorithm);
+    }
+
+    static String curveName(SignatureAlgorithm algorithm) {
+        switch (algorithm) {
+            case ES256:
+                return "secp256r1";
+            case ES384:
+                return "secp384r1";
+            case ES512:
+                return "secp521r1";
+            default:
+                throw new IllegalArgumentException("不是椭圆曲线算法: " + algorithm);
+        }
+    }
+
+    private static byte[] pem(String text) {
+        String body = text.replaceAll("-----(BEGIN|END)[A-Z ]*-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(body);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public SignatureAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * 签名密钥，只用于验签时为 null
+     */
+    public Key getSigningKey() {
+        return signingKey;
+    }
+
+    public Key getVerifyKey() {
+        return verifyKey;
+    }
+
+    public boolean canSign() {
+        return signingKey != null;
+    }
+
+    @Override
+    public String toString() {
+        return "JwtKey{id='" + id + "', algorithm=" + algorithm + ", canSign=" + canSign() + '}';
+    }
+}
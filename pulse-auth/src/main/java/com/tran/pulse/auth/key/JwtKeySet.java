@@ -0,0 +1,143 @@
+package com.tran.pulse.auth.key;
+
+import com.tran.pulse.auth.properties.JwtSigningProperties;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 可轮换的 JWT 密钥集合
+ * 只有一把当前签名密钥，其余为仍在验签期内的旧密钥。读取走不可变快照，轮换时整体替换，签名和验签路径上没有锁。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class JwtKeySet implements VerificationKeyResolver {
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * @param active 当前签名密钥，只做验签的服务为 null
+     * @param keys   全部密钥（可以包含 active）
+     */
+    public JwtKeySet(JwtKey active, Collection<JwtKey> keys) {
+        Map<String, JwtKey> map = new LinkedHashMap<>();
+        for (JwtKey key : keys) {
+            map.put(key.getId(), key);
+        }
+        if (active != null) {
+            if (!active.canSign()) {
+                throw new IllegalArgumentException("当前签名密钥缺少私钥: " + active.getId());
+            }
+            map.put(active.getId(), active);
+        }
+        this.snapshot = new Snapshot(active, map);
+    }
+
+    /**
+     * 按配置构建密钥集合
+     * activeKeyId 为空时取第一把带私钥的密钥；没有任何私钥时只能验签
+     *
+     * @param properties 签名密钥配置
+     */
+    public static JwtKeySet from(JwtSigningProperties properties) {
+        SignatureAlgorithm algorithm = SignatureAlgorithm.forName(properties.getAlgorithm());
+        List<JwtKey> keys = new ArrayList<>();
+        JwtKey active = null;
+        for (JwtSigningProperties.Key entry : properties.getKeys()) {
+            JwtKey key = JwtKey.decode(entry.getId(), algorithm, entry.getPrivateKey(), entry.getPublicKey());
+            keys.add(key);
+            boolean selected = properties.getActiveKeyId() == null
+                    ? active == null && key.canSign()
+                    : properties.getActiveKeyId().equals(key.getId());
+            if (selected) {
+                active = key;
+            }
+        }
+        if (properties.getActiveKeyId() != null && active == null) {
+            throw new IllegalArgumentException("未找到当前签名密钥: " + properties.getActiveKeyId());
+        }
+        return new JwtKeySet(active, keys);
+    }
+
+    /**
+     * 当前签名密钥
+     *
+     * @throws IllegalStateException 只有验签密钥时
+     */
+    public JwtKey getActiveKey() {
+        JwtKey active = snapshot.active;
+        if (active == null) {
+            throw new IllegalStateException("没有可用的签名私钥，当前服务只能验签");
+        }
+        return active;
+    }
+
+    @Override
+    public JwtKey resolve(String keyId) {
+        return keyId == null ? null : snapshot.keys.get(keyId);
+    }
+
+    /**
+     * 全部密钥，顺序与加入顺序一致
+     */
+    public Collection<JwtKey> getKeys() {
+        return snapshot.keys.values();
+    }
+
+    /**
+     * 切换签名密钥，原签名密钥降为只验签，已签发的令牌在过期前仍可校验
+     *
+     * @param next 新的签名密钥
+     */
+    public synchronized void rotate(JwtKey next) {
+        if (!next.canSign()) {
+            throw new IllegalArgumentException("新的签名密钥缺少私钥: " + next.getId());
+        }
+        Snapshot current = snapshot;
+        Map<String, JwtKey> map = new LinkedHashMap<>(current.keys);
+        if (current.active != null) {
+            map.put(current.active.getId(), current.active.verifyOnly());
+        }
+        map.put(next.getId(), next);
+        snapshot = new Snapshot(next, map);
+    }
+
+    /**
+     * 移除旧密钥，用它签发的令牌随即失效，应在这些令牌全部过期后调用
+     *
+     * @param keyId 密钥 ID
+     * @return 是否移除
+     */
+    public synchronized boolean retire(String keyId) {
+        Snapshot current = snapshot;
+        if (current.active != null && current.active.getId().equals(keyId)) {
+            throw new IllegalArgumentException("不能移除当前签名密钥: " + keyId);
+        }
+        if (!current.keys.containsKey(keyId)) {
+            return false;
+        }
+        Map<String, JwtKey> map = new LinkedHashMap<>(current.keys);
+        map.remove(keyId);
+        snapshot = new Snapshot(current.active, map);
+        return true;
+    }
+
+    private static final class Snapshot {
+
+        private final JwtKey active;
+
+        private final Map<String, JwtKey> keys;
+
+        private Snapshot(JwtKey active, Map<String, JwtKey> keys) {
+            this.active = active;
+            this.keys = Collections.unmodifiableMap(keys);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.tran.pulse.auth.key;
+
+/**
+ * 按令牌头部的 kid 查找验签密钥
+ * 签发服务直接使用本地 {@link JwtKeySet}，只做验签的服务使用 {@link JwksKeyResolver} 缓存发行方公开的公钥。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+@FunctionalInterface
+public interface VerificationKeyResolver {
+
+    /**
+     * 查找验签密钥
+     *
+     * @param keyId 令牌头部的 kid
+     * @return 验签密钥，未知的 kid 返回 null
+     */
+    JwtKey resolve(String keyId);
+}
@@ -0,0 +1,158 @@
+package com.tran.pulse.auth.password;
+
+import com.tran.pulse.auth.properties.PasswordHashProperties;
+import de.mkammerer.argon2.Argon2;
+import de.mkammerer.argon2.Argon2Factory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * 按哈希串自识别算法和代价的密码编码器
+ * 新密码按配置的算法（BCrypt 或 Argon2id）和代价哈希；校验时从哈希串本身读取算法和参数，
+ * 因此调整配置不影响已有密码。{@link #upgradeEncoding(String)} 判断哈希的算法或代价是否与当前配置不一致，
+ * 供登录成功时重新哈希。
+ * 哈希串格式：BCrypt 为 $2a$10$...（60 字符），Argon2id 为 $argon2id$v=19$m=65536,t=3,p=1$...（约 97 字符），
+ * 都能放进现有的 password 列。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class AdaptivePasswordEncoder implements PasswordEncoder {
+
+    public static final String BCRYPT = "bcrypt";
+
+    public static final String ARGON2 = "argon2";
+
+    private static final String ARGON2_PREFIX = "$argon2id$";
+
+    private static final int ARGON2_SALT_LENGTH = 16;
+
+    private static final int ARGON2_HASH_LENGTH = 32;
+
+    private final String algorithm;
+
+    private final int bcryptStrength;
+
+    private final int argon2MemoryKb;
+
+    private final int argon2Iterations;
+
+    private final int argon2Parallelism;
+
+    private final BCryptPasswordEncoder bcrypt;
+
+    /**
+     * Argon2 依赖本地库，只在第一次用到时加载
+     */
+    private volatile Argon2 argon2;
+
+    public AdaptivePasswordEncoder(PasswordHashProperties properties) {
+        this.algorithm = properties.getAlgorithm() == null ? BCRYPT : properties.getAlgorithm().trim().toLowerCase();
+        if (!BCRYPT.equals(algorithm) && !ARGON2.equals(algorithm)) {
+            throw new IllegalArgumentException("不支持的密码哈希算法: " + properties.getAlgorithm());
+        }
+        this.bcryptStrength = properties.getBcryptStrength();
+        this.argon2MemoryKb = properties.getArgon2MemoryKb();
+        this.argon2Iterations = properties.getArgon2Iterations();
+        this.argon2Parallelism = properties.getArgon2Parallelism();
+        this.bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        if (BCRYPT.equals(algorithm)) {
+            return bcrypt.encode(rawPassword);
+        }
+        char[] chars = toChars(rawPassword);
+        try {
+            return argon2().hash(argon2Iterations, argon2MemoryKb, argon2Parallelism, chars);
+        } finally {
+            argon2().wipeArray(chars);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return false;
+        }
+        if (encodedPassword.startsWith(ARGON2_PREFIX)) {
+            char[] chars = toChars(rawPassword);
+            try {
+                return argon2().verify(encodedPassword, chars);
+            } finally {
+                argon2().wipeArray(chars);
+            }
+        }
+        return bcrypt.matches(rawPassword, encodedPassword);
+    }
+
+    /**
+     * 哈希的算法或代价与当前配置不一致时返回 true
+     * 代价调低同样需要重新哈希，使配置在两个方向上都能生效
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        if (BCRYPT.equals(algorithm)) {
+            return bcryptStrength(encodedPassword) != bcryptStrength;
+        }
+        if (!encodedPassword.startsWith(ARGON2_PREFIX)) {
+            return true;
+        }
+        // $argon2id$v=19$m=65536,t=3,p=1$salt$hash
+        String[] parts = encodedPassword.split("\\$");
+        if (parts.length < 4) {
+            return true;
+        }
+        String expected = "m=" + argon2MemoryKb + ",t=" + argon2Iterations + ",p=" + argon2Parallelism;
+        return !expected.equals(parts[3]);
+    }
+
+    /**
+     * 新密码使用的算法
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * 读取 BCrypt 哈希中的代价因子，格式不符时返回 -1
+     */
+    private static int bcryptStrength(String encoded) {
+        // $2a$10$...
+        if (encoded.length() < 7 || encoded.charAt(0) != '$' || encoded.charAt(3) != '$' || encoded.charAt(6) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encoded.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private Argon2 argon2() {
+        Argon2 instance = argon2;
+        if (instance == null) {
+            synchronized (this) {
+                instance = argon2;
+                if (instance == null) {
+                    instance = Argon2Factory.create(Argon2Factory.Argon2Types.ARGON2id, ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH);
+                    argon2 = instance;
+                }
+            }
+        }
+        return instance;
+    }
+
+    private static char[] toChars(CharSequence rawPassword) {
+        char[] chars = new char[rawPassword.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = rawPassword.charAt(i);
+        }
+        return chars;
+    }
+}
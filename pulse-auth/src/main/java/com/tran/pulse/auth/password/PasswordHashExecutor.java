@@ -0,0 +1,156 @@
+package com.tran.pulse.auth.password;
+
+import com.tran.pulse.auth.properties.PasswordHashProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 密码哈希专用的有界线程池
+ * 同时进行的哈希数不超过线程数，超出的请求在有界队列中等待：
+ * 队列已满时立即拒绝；开始执行时已排队超过 maxQueueMillis 的任务直接放弃（客户端多半已超时），不再消耗 CPU。
+ * 调用线程阻塞等待结果，但最长只等待一个排队上限加一次哈希的时间，且等待期间不占用 CPU。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class PasswordHashExecutor implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashExecutor.class);
+
+    private static final String BUSY_MESSAGE = "登录请求过多，请稍后重试";
+
+    private final ThreadPoolExecutor executor;
+
+    private final int queueCapacity;
+
+    private final long maxQueueNanos;
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    public PasswordHashExecutor(PasswordHashProperties properties) {
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = Math.max(1, properties.getQueueCapacity());
+        this.maxQueueNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, properties.getMaxQueueMillis()));
+        this.executor = new ThreadPoolExecutor(threads, threads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("pulse-password-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        logger.info("密码哈希线程池初始化完成，线程数: {}, 队列容量: {}, 最长排队: {} ms",
+                threads, queueCapacity, properties.getMaxQueueMillis());
+    }
+
+    /**
+     * 在哈希线程池中执行并等待结果
+     *
+     * @param task 哈希任务
+     * @return 任务结果
+     * @throws PasswordHashRejectedException 队列已满或排队超时
+     */
+    public <T> T execute(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                if (System.nanoTime() - submittedAt > maxQueueNanos) {
+                    throw reject("排队超时");
+                }
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            throw reject("队列已满");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashRejectedException(BUSY_MESSAGE);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("密码哈希失败", cause);
+        }
+    }
+
+    /**
+     * 提交不需要等待结果的低优先级任务（如登录后的重新哈希）
+     * 只在队列占用不足一半时受理，为登录请求保留余量
+     *
+     * @param task 任务
+     * @return 是否受理
+     */
+    public boolean tryExecute(Runnable task) {
+        if (executor.getQueue().size() >= queueCapacity / 2) {
+            return false;
+        }
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 正在执行哈希的线程数
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * 排队中的任务数
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * 累计拒绝次数
+     */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    private PasswordHashRejectedException reject(String reason) {
+        long count = rejected.incrementAndGet();
+        // 饱和时每次都打日志会放大压力，只按 2 的幂次采样
+        if ((count & (count - 1)) == 0) {
+            logger.warn("密码哈希繁忙，拒绝请求: reason={}, active={}, queued={}, rejected={}",
+                    reason, executor.getActiveCount(), executor.getQueue().size(), count);
+        }
+        return new PasswordHashRejectedException(BUSY_MESSAGE);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.tran.pulse.auth.password;
+
+import com.tran.pulse.common.constants.PulseHttpStatus;
+import com.tran.pulse.common.exception.PulseException;
+
+/**
+ * 密码哈希线程池饱和（队列已满或排队超时）时抛出，调用方应返回 429 让客户端稍后重试
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class PasswordHashRejectedException extends PulseException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashRejectedException(String message) {
+        super(PulseHttpStatus.TOO_MANY_REQUESTS, message);
+    }
+}
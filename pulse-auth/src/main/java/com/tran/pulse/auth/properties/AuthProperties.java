@@ -34,6 +34,27 @@ public class AuthProperties {
      */
     private List<String> whiteList = new ArrayList<>();
 
+    /**
+     * 是否签发无状态 Access Token
+     * 开启后 Access Token 携带用户ID、状态、角色和权限，校验时不查询会话缓存，撤销通过各节点的拒绝列表判断
+     */
+    private boolean statelessAccessToken = false;
+
+    /**
+     * 本地会话缓存
+     */
+    private SessionCacheProperties sessionCache = new SessionCacheProperties();
+
+    /**
+     * JWT 签名密钥
+     */
+    private JwtSigningProperties signing = new JwtSigningProperties();
+
+    /**
+     * 密码哈希
+     */
+    private PasswordHashProperties password = new PasswordHashProperties();
+
     // getters and setters
     public String getSecret() {
         return secret;
@@ -66,4 +87,36 @@ public class AuthProperties {
     public void setAppExpireSeconds(int appExpireSeconds) {
         this.appExpireSeconds = appExpireSeconds;
     }
+
+    public boolean isStatelessAccessToken() {
+        return statelessAccessToken;
+    }
+
+    public void setStatelessAccessToken(boolean statelessAccessToken) {
+        this.statelessAccessToken = statelessAccessToken;
+    }
+
+    public SessionCacheProperties getSessionCache() {
+        return sessionCache;
+    }
+
+    public void setSessionCache(SessionCacheProperties sessionCache) {
+        this.sessionCache = sessionCache;
+    }
+
+    public JwtSigningProperties getSigning() {
+        return signing;
+    }
+
+    public void setSigning(JwtSigningProperties signing) {
+        this.signing = signing;
+    }
+
+    public PasswordHashProperties getPassword() {
+        return password;
+    }
+
+    public void setPassword(PasswordHashProperties password) {
+        this.password = password;
+    }
 }
@@ -0,0 +1,155 @@
+package com.tran.pulse.auth.properties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JWT 签名密钥配置
+ * 默认使用 {@link AuthProperties#getSecret()} 做 HS256 签名；配置为 RS256/ES256 时使用 keys 中的非对称密钥，
+ * 令牌头部携带 kid，验签方只需公钥。
+ * 轮换方式：新增一把带私钥的密钥并切换 activeKeyId，旧密钥去掉私钥后继续保留，
+ * 直到用它签发的令牌（含 Refresh Token）全部过期再移除。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class JwtSigningProperties {
+
+    /**
+     * 签名算法：HS256、RS256、ES256
+     */
+    private String algorithm = "HS256";
+
+    /**
+     * 当前用于签名的密钥 ID，为空时取 keys 中第一把带私钥的密钥
+     */
+    private String activeKeyId;
+
+    /**
+     * 密钥列表，包含当前签名密钥和仍在验签期内的旧密钥
+     */
+    private List<Key> keys = new ArrayList<>();
+
+    /**
+     * 远程 JWKS 地址，只做验签的服务配置此项，本地未找到 kid 时从这里获取公钥
+     */
+    private String jwksUri;
+
+    /**
+     * 远程公钥缓存时间（秒）
+     */
+    private long jwksRefreshSeconds = 300;
+
+    /**
+     * 遇到未知 kid 时两次拉取 JWKS 的最小间隔（秒），防止伪造 kid 的请求打满发行方
+     */
+    private long jwksMinRefreshIntervalSeconds = 30;
+
+    /**
+     * 使用 RS256/ES256 时是否仍接受不带 kid、以 secret 做 HS256 签名的旧令牌
+     * 仅在从 HS256 迁移期间临时开启，待旧令牌（含 Refresh Token）全部过期后关闭；HS256 模式下不受此项影响
+     */
+    private boolean acceptLegacyHs256 = false;
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    public void setActiveKeyId(String activeKeyId) {
+        this.activeKeyId = activeKeyId;
+    }
+
+    public List<Key> getKeys() {
+        return keys;
+    }
+
+    public void setKeys(List<Key> keys) {
+        this.keys = keys;
+    }
+
+    public String getJwksUri() {
+        return jwksUri;
+    }
+
+    public void setJwksUri(String jwksUri) {
+        this.jwksUri = jwksUri;
+    }
+
+    public long getJwksRefreshSeconds() {
+        return jwksRefreshSeconds;
+    }
+
+    public void setJwksRefreshSeconds(long jwksRefreshSeconds) {
+        this.jwksRefreshSeconds = jwksRefreshSeconds;
+    }
+
+    public long getJwksMinRefreshIntervalSeconds() {
+        return jwksMinRefreshIntervalSeconds;
+    }
+
+    public void setJwksMinRefreshIntervalSeconds(long jwksMinRefreshIntervalSeconds) {
+        this.jwksMinRefreshIntervalSeconds = jwksMinRefreshIntervalSeconds;
+    }
+
+    public boolean isAcceptLegacyHs256() {
+        return acceptLegacyHs256;
+    }
+
+    public void setAcceptLegacyHs256(boolean acceptLegacyHs256) {
+        this.acceptLegacyHs256 = acceptLegacyHs256;
+    }
+
+    /**
+     * 单把密钥
+     */
+    public static class Key {
+
+        /**
+         * 密钥 ID，写入令牌头部的 kid
+         */
+        private String id;
+
+        /**
+         * 私钥，Base64 编码的 PKCS#8（可带 PEM 头尾），只保留验签用途的旧密钥不配置
+         */
+        private String privateKey;
+
+        /**
+         * 公钥，Base64 编码的 X.509（可带 PEM 头尾）
+         */
+        private String publicKey;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getPrivateKey() {
+            return privateKey;
+        }
+
+        public void setPrivateKey(String privateKey) {
+            this.privateKey = privateKey;
+        }
+
+        public String getPublicKey() {
+            return publicKey;
+        }
+
+        public void setPublicKey(String publicKey) {
+            this.publicKey = publicKey;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.tran.pulse.auth.properties;
+
+/**
+ * 密码哈希配置
+ * 哈希串自带算法和代价参数，调整配置后旧哈希仍可校验，用户下次登录成功时按新配置重新哈希。
+ * 哈希在独立的有界线程池中执行，排队超时或队列已满时快速拒绝，避免登录洪峰占满 Web 容器线程和 CPU。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class PasswordHashProperties {
+
+    /**
+     * 新密码使用的算法：bcrypt、argon2（argon2id）
+     */
+    private String algorithm = "bcrypt";
+
+    /**
+     * BCrypt 代价因子（4-31），每加 1 耗时翻倍
+     */
+    private int bcryptStrength = 10;
+
+    /**
+     * Argon2 内存（KB）
+     */
+    private int argon2MemoryKb = 65536;
+
+    /**
+     * Argon2 迭代次数
+     */
+    private int argon2Iterations = 3;
+
+    /**
+     * Argon2 并行度
+     */
+    private int argon2Parallelism = 1;
+
+    /**
+     * 哈希线程数，小于等于 0 时取 CPU 核数
+     */
+    private int threads = 0;
+
+    /**
+     * 等待队列长度，队列满时直接拒绝
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * 最长排队时间（毫秒），开始执行时已超过则不再计算直接拒绝
+     */
+    private long maxQueueMillis = 2000;
+
+    /**
+     * 登录成功时是否按当前配置重新哈希代价不一致的密码
+     */
+    private boolean rehashOnLogin = true;
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public int getBcryptStrength() {
+        return bcryptStrength;
+    }
+
+    public void setBcryptStrength(int bcryptStrength) {
+        this.bcryptStrength = bcryptStrength;
+    }
+
+    public int getArgon2MemoryKb() {
+        return argon2MemoryKb;
+    }
+
+    public void setArgon2MemoryKb(int argon2MemoryKb) {
+        this.argon2MemoryKb = argon2MemoryKb;
+    }
+
+    public int getArgon2Iterations() {
+        return argon2Iterations;
+    }
+
+    public void setArgon2Iterations(int argon2Iterations) {
+        this.argon2Iterations = argon2Iterations;
+    }
+
+    public int getArgon2Parallelism() {
+        return argon2Parallelism;
+    }
+
+    public void setArgon2Parallelism(int argon2Parallelism) {
+        this.argon2Parallelism = argon2Parallelism;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getMaxQueueMillis() {
+        return maxQueueMillis;
+    }
+
+    public void setMaxQueueMillis(long maxQueueMillis) {
+        this.maxQueueMillis = maxQueueMillis;
+    }
+
+    public boolean isRehashOnLogin() {
+        return rehashOnLogin;
+    }
+
+    public void setRehashOnLogin(boolean rehashOnLogin) {
+        this.rehashOnLogin = rehashOnLogin;
+    }
+}
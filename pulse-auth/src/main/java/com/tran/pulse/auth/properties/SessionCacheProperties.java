@@ -0,0 +1,64 @@
+package com.tran.pulse.auth.properties;
+
+/**
+ * 本地会话缓存配置
+ * 认证时优先读取本节点内存中的 LoginUser，避免每个请求都访问缓存服务并反序列化
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class SessionCacheProperties {
+
+    /**
+     * 是否启用本地会话缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 最大会话数
+     */
+    private long maximumSize = 10000;
+
+    /**
+     * 本地副本存活时间（秒），即撤销通知丢失时的最大过期延迟
+     */
+    private long ttlSeconds = 10;
+
+    /**
+     * 撤销通知频道，各节点通过 Redis 发布订阅同步撤销
+     */
+    private String channel = "pulse:auth:revocation";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public void setTtlSeconds(long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public void setChannel(String channel) {
+        this.channel = channel;
+    }
+}
@@ -1,6 +1,10 @@
 package com.tran.pulse.auth.service;
 
 import com.tran.pulse.auth.domain.LoginUser;
+import com.tran.pulse.auth.password.PasswordHashExecutor;
+import com.tran.pulse.auth.properties.AuthProperties;
+import com.tran.pulse.auth.session.SessionCache;
+import com.tran.pulse.cache.util.CacheUtil;
 import com.tran.pulse.common.constants.Constants;
 import com.tran.pulse.common.domain.entity.SysPermission;
 import com.tran.pulse.common.domain.entity.SysRole;
@@ -10,6 +14,8 @@ import com.tran.pulse.user.mapper.SysPermissionMapper;
 import com.tran.pulse.user.mapper.SysRouteMapper;
 import com.tran.pulse.user.mapper.SysUserMapper;
 import com.tran.pulse.user.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.util.StringUtils;
@@ -28,6 +34,8 @@ import java.util.stream.Collectors;
  */
 public class AuthService {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
     @Autowired
     private UserService userService;
 
@@ -40,6 +48,15 @@ public class AuthService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private SessionCache sessionCache;
+
+    @Autowired
+    private PasswordHashExecutor passwordHashExecutor;
+
+    @Autowired
+    private AuthProperties authProperties;
+
 
     /**
      * 根据用户名查询用户信息
@@ -62,6 +79,7 @@ public class AuthService {
 
     /**
      * 用户注册
+     * 密码在哈希线程池中计算，繁忙时抛出 PasswordHashRejectedException
      *
      * @param password 密码（明文）
      * @param email    邮箱
@@ -89,7 +107,7 @@ public class AuthService {
         // 创建新用户
         SysUser newUser = new SysUser();
         newUser.setUsername(username);
-        newUser.setPassword(passwordEncoder.encode(password)); // 加密密码
+        newUser.setPassword(passwordHashExecutor.execute(() -> passwordEncoder.encode(password))); // 加密密码
         newUser.setEmail(email);
         newUser.setStatus(Constants.STATUS_ENABLED); // 默认启用
         newUser.setCreateTime(new Date());
@@ -108,6 +126,8 @@ public class AuthService {
 
     /**
      * 验证用户登录
+     * 密码校验在哈希线程池中进行，繁忙时抛出 PasswordHashRejectedException；
+     * 校验通过且哈希的算法或代价与当前配置不一致时，在后台按新配置重新哈希
      *
      * @param username 用户名
      * @param password 密码（明文）
@@ -130,15 +150,40 @@ public class AuthService {
         }
 
         // 验证密码
-        if (!passwordEncoder.matches(password, user.getPassword())) {
+        String encoded = user.getPassword();
+        if (!passwordHashExecutor.execute(() -> passwordEncoder.matches(password, encoded))) {
             return null;
         }
+        rehashIfNeeded(user.getId(), password, encoded);
 
         // 清除密码信息
         user.setPassword(null);
         return user;
     }
 
+    /**
+     * 按当前配置重新哈希密码
+     * 以低优先级提交到哈希线程池，繁忙时跳过，下次登录再试；只在数据库中仍是旧哈希时替换
+     *
+     * @param userId   用户ID
+     * @param password 密码（明文）
+     * @param encoded  当前哈希
+     */
+    private void rehashIfNeeded(Long userId, String password, String encoded) {
+        if (!authProperties.getPassword().isRehashOnLogin() || !passwordEncoder.upgradeEncoding(encoded)) {
+            return;
+        }
+        passwordHashExecutor.tryExecute(() -> {
+            try {
+                if (userService.updatePasswordIfMatch(userId, passwordEncoder.encode(password), encoded) > 0) {
+                    log.info("用户密码已按当前配置重新哈希 - 用户ID：{}", userId);
+                }
+            } catch (Exception e) {
+                log.warn("重新哈希用户密码失败 - 用户ID：{}", userId, e);
+            }
+        });
+    }
+
     /**
      * 获取LoginUser
      *
@@ -153,13 +198,21 @@ public class AuthService {
 
     /**
      * 更新用户状态
+     * 禁用时删除用户的全部会话；任何状态变化都会通知所有节点清除本地会话副本
      *
      * @param userId
      * @param status
      * @return
      */
     public boolean updateUserStatus(Long userId, String status) {
-        return userService.updateUserStatus(userId, status) > 0;
+        boolean updated = userService.updateUserStatus(userId, status) > 0;
+        if (updated) {
+            if (Constants.STATUS_DISABLED.equals(status)) {
+                CacheUtil.invalidateTag(SessionCache.userTag(userId));
+            }
+            sessionCache.revokeUser(userId);
+        }
+        return updated;
     }
 
     /**
@@ -3,7 +3,11 @@ package com.tran.pulse.auth.service;
 import com.tran.pulse.auth.domain.LoginUser;
 import com.tran.pulse.auth.domain.RefreshTokenInfo;
 import com.tran.pulse.auth.properties.AuthProperties;
+import com.tran.pulse.auth.session.SessionCache;
+import com.tran.pulse.auth.session.TokenDenyList;
 import com.tran.pulse.auth.util.JwtUtils;
+import com.tran.pulse.auth.util.ParsedToken;
+import com.tran.pulse.auth.util.TokenClaims;
 import com.tran.pulse.auth.util.TokenPair;
 import com.tran.pulse.cache.util.CacheUtil;
 import com.tran.pulse.common.exception.PulseException;
@@ -14,7 +18,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * JWT 服务层实现
@@ -74,6 +82,18 @@ public class JwtService {
     @Autowired
     private AuthService authService;
 
+    /**
+     * 本地会话缓存
+     */
+    @Autowired
+    private SessionCache sessionCache;
+
+    /**
+     * 无状态 Access Token 的拒绝列表
+     */
+    @Autowired
+    private TokenDenyList tokenDenyList;
+
 
     /**
      * 构造函数
@@ -110,11 +130,11 @@ public class JwtService {
             String sessionId = StringIdGenerator.next();
 
             // 生成 Access Token
-            String token = JwtUtils.generateAccessToken(sessionId);
+            String token = createAccessToken(sessionId, loginUser);
 
-            // 将用户信息存储到缓存
+            // 将用户信息存储到缓存，关联用户标签以便按用户撤销
             String cacheKey = buildCacheKey(sessionId);
-            CacheUtil.put(cacheKey, loginUser, authProperties.getExpireSeconds());
+            CacheUtil.put(cacheKey, loginUser, authProperties.getExpireSeconds(), userTags(loginUser.getUserId()));
 
             log.debug("为用户 [{}] 生成单个 Access Token，会话 ID：{}", loginUser.getUsername(), sessionId);
             return token;
@@ -143,17 +163,21 @@ public class JwtService {
             String sessionId = StringIdGenerator.next();
 
             // 生成双Token
-            TokenPair tokenPair = JwtUtils.generateTokenPair(sessionId);
+            TokenPair tokenPair = new TokenPair(createAccessToken(sessionId, loginUser), JwtUtils.generateRefreshToken(sessionId));
 
-            // 将用户信息存储到Access Token缓存（短期）
+            // 将用户信息存储到Access Token缓存（短期），两个会话都关联用户标签以便按用户撤销
+            List<String> tags = userTags(loginUser.getUserId());
             String cacheKey = buildCacheKey(sessionId);
-            CacheUtil.put(cacheKey, loginUser, authProperties.getExpireSeconds());
+            CompletableFuture<Void> accessStored = CacheUtil.putAsync(cacheKey, loginUser, authProperties.getExpireSeconds(), tags);
 
             // 将登录IP等关键信息存储到Refresh Token缓存（长期）
             // 这里存储登录IP是为了安全验证，防止Refresh Token被盗用
             String cacheAppKey = buildCacheAppKey(sessionId);
             RefreshTokenInfo refreshTokenInfo = new RefreshTokenInfo(loginUser.getLoginIp(), loginUser.getUsername());
-            CacheUtil.put(cacheAppKey, refreshTokenInfo, authProperties.getAppExpireSeconds());
+            CompletableFuture<Void> refreshStored = CacheUtil.putAsync(cacheAppKey, refreshTokenInfo, authProperties.getAppExpireSeconds(), tags);
+
+            // 两次写入同时发出，只等待一次往返
+            CompletableFuture.allOf(accessStored, refreshStored).join();
 
             log.debug("为App用户 [{}] 生成双Token，会话 ID：{}", loginUser.getUsername(), sessionId);
             return tokenPair;
@@ -175,16 +199,13 @@ public class JwtService {
     public TokenPair refreshAccessToken(String refreshToken, String clientIp) {
         try {
             // 验证是否为有效的Refresh Token
-            if (!JwtUtils.isRefreshToken(refreshToken)) {
-                throw new PulseException("登录已过期，请重新登录");
-            }
-
-            if (JwtUtils.isTokenExpired(refreshToken)) {
+            ParsedToken parsedToken = parseToken(refreshToken).orElse(null);
+            if (parsedToken == null || !parsedToken.isRefreshToken() || parsedToken.isExpired()) {
                 throw new PulseException("登录已过期，请重新登录");
             }
 
             // 获取会话ID
-            String sessionId = JwtUtils.getUsernameFromToken(refreshToken);
+            String sessionId = parsedToken.getSubject();
             String cacheAppKey = buildCacheAppKey(sessionId);
 
             // 检查Refresh Token缓存信息
@@ -200,21 +221,23 @@ public class JwtService {
                 // throw new PulseException("安全验证失败，请重新登录");
             }
 
-            // 使用JwtUtils刷新Token
-            TokenPair newTokenPair = JwtUtils.refreshAccessToken(refreshToken);
-
             // 重新获取用户信息（可能需要从数据库查询最新信息）
             LoginUser loginUser = getUserByUsername(refreshTokenInfo.getUsername());
             if (loginUser == null) {
                 throw new PulseException("用户信息不存在，请重新登录");
             }
 
-            // 更新Access Token缓存
+            // 更新Access Token缓存，同时重写Refresh Token缓存以延长过期时间和用户标签
+            List<String> tags = userTags(loginUser.getUserId());
             String cacheKey = buildCacheKey(sessionId);
-            CacheUtil.put(cacheKey, loginUser, authProperties.getExpireSeconds());
+            CompletableFuture.allOf(
+                    CacheUtil.putAsync(cacheKey, loginUser, authProperties.getExpireSeconds(), tags),
+                    CacheUtil.putAsync(cacheAppKey, refreshTokenInfo, authProperties.getAppExpireSeconds(), tags)).join();
+            // 会话内容已更新，清除各节点的旧副本；无状态模式下此前签发的 Access Token 同时失效
+            sessionCache.revokeSession(sessionId);
 
-            // 延长Refresh Token缓存时间
-            CacheUtil.expire(cacheAppKey, authProperties.getAppExpireSeconds());
+            // 撤销之后再签发新的Access Token，保持原Refresh Token不变
+            TokenPair newTokenPair = new TokenPair(createAccessToken(sessionId, loginUser), refreshToken);
 
             log.debug("用户 [{}] 成功刷新Access Token，会话ID：{}", refreshTokenInfo.getUsername(), sessionId);
             return newTokenPair;
@@ -238,28 +261,23 @@ public class JwtService {
     public String refreshToken(String token) {
         try {
             // 验证原 token 是否有效
-            if (!validateToken(token)) {
+            ParsedToken parsedToken = parseToken(token).orElse(null);
+            if (parsedToken == null || !validateToken(parsedToken)) {
                 throw new PulseException("无效的 token");
             }
 
             // 获取会话 ID
-            String sessionId = JwtUtils.getUsernameFromToken(token);
+            String sessionId = parsedToken.getSubject();
             String cacheKey = buildCacheKey(sessionId);
 
-            // 检查用户信息是否还在缓存中
-            LoginUser loginUser = CacheUtil.get(cacheKey, LoginUser.class);
+            // 读取用户信息并延长缓存过期时间（原子操作，一次往返）
+            LoginUser loginUser = CacheUtil.getAndExpire(cacheKey, LoginUser.class, authProperties.getExpireSeconds());
             if (loginUser == null) {
                 throw new PulseException("会话已失效，请重新登录");
             }
 
-            // 延长缓存过期时间
-            boolean renewed = CacheUtil.expire(cacheKey, authProperties.getExpireSeconds());
-            if (!renewed) {
-                log.warn("延长会话 [{}] 缓存时间失败", sessionId);
-            }
-
             // 生成新的 token
-            String newToken = JwtUtils.generateAccessToken(sessionId);
+            String newToken = createAccessToken(sessionId, loginUser);
             log.debug("刷新 token 成功，会话 ID：{}", sessionId);
 
             return newToken;
@@ -279,18 +297,28 @@ public class JwtService {
      * @return 登录用户信息，如果 token 无效或用户信息不存在则返回 null
      */
     public LoginUser getLoginUser(String token) {
+        return parseToken(token).map(this::getLoginUser).orElse(null);
+    }
+
+    /**
+     * 获取登录用户信息
+     * 基于已解析的 token 查找会话，不再重复验签
+     *
+     * @param parsedToken 已解析的 token
+     * @return 登录用户信息，如果用户信息不存在则返回 null
+     */
+    public LoginUser getLoginUser(ParsedToken parsedToken) {
         try {
-            String sessionId = JwtUtils.getUsernameFromToken(token);
+            String sessionId = parsedToken.getSubject();
 
             // 优先从Access Token缓存获取完整用户信息
-            String cacheKey = buildCacheKey(sessionId);
-            LoginUser loginUser = CacheUtil.get(cacheKey, LoginUser.class);
+            LoginUser loginUser = parsedToken.isAccessToken() ? resolveAccessToken(parsedToken) : getSession(sessionId);
 
             if (loginUser == null) {
                 log.debug("Access Token缓存中未找到会话 ID [{}] 对应的用户信息", sessionId);
 
                 // 如果是Refresh Token，尝试从Refresh Token缓存获取基本信息
-                if (JwtUtils.isRefreshToken(token)) {
+                if (parsedToken.isRefreshToken()) {
                     String cacheAppKey = buildCacheAppKey(sessionId);
                     RefreshTokenInfo refreshTokenInfo = CacheUtil.get(cacheAppKey, RefreshTokenInfo.class);
                     if (refreshTokenInfo != null) {
@@ -302,7 +330,7 @@ public class JwtService {
 
             return loginUser;
         } catch (Exception e) {
-            log.error("获取用户信息失败，token：{}", token, e);
+            log.error("获取用户信息失败，会话 ID：{}", parsedToken.getSubject(), e);
             return null;
         }
     }
@@ -318,6 +346,25 @@ public class JwtService {
         return JwtUtils.isTokenExpired(token);
     }
 
+    /**
+     * 解析 Token
+     * 一次完成格式、签名和过期时间校验，后续操作应复用返回的 ParsedToken
+     *
+     * @param token JWT token
+     * @return 解析结果的 Optional 包装，token 无效或已过期时返回空的 Optional
+     */
+    public Optional<ParsedToken> parseToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(JwtUtils.parseToken(token));
+        } catch (Exception e) {
+            log.debug("Token 解析失败：{}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
     /**
      * 验证 Token 有效性
      * 完整的验证流程包括验证token格式、签名、过期时间和缓存信息
@@ -326,21 +373,29 @@ public class JwtService {
      * @return 如果 token 完全有效返回 true，否则返回 false
      */
     public boolean validateToken(String token) {
+        // 1. 基础验证（格式、签名、过期时间）
+        return parseToken(token).map(this::validateToken).orElse(false);
+    }
+
+    /**
+     * 验证已解析 Token 的会话有效性
+     *
+     * @param parsedToken 已解析的 token
+     * @return 如果 token 未过期且对应会话仍在缓存中返回 true，否则返回 false
+     */
+    public boolean validateToken(ParsedToken parsedToken) {
         try {
-            // 1. 基础验证（格式、签名、过期时间）
-            if (!JwtUtils.validateToken(token)) {
+            if (parsedToken.isExpired()) {
                 return false;
             }
 
-            String sessionId = JwtUtils.getUsernameFromToken(token);
+            String sessionId = parsedToken.getSubject();
 
             // 2. 根据Token类型验证对应的缓存
-            if (JwtUtils.isAccessToken(token)) {
+            if (parsedToken.isAccessToken()) {
                 // Access Token验证：检查用户信息缓存
-                String cacheKey = buildCacheKey(sessionId);
-                LoginUser loginUser = CacheUtil.get(cacheKey, LoginUser.class);
-                return loginUser != null;
-            } else if (JwtUtils.isRefreshToken(token)) {
+                return resolveAccessToken(parsedToken) != null;
+            } else if (parsedToken.isRefreshToken()) {
                 // Refresh Token验证：检查刷新令牌缓存
                 String cacheAppKey = buildCacheAppKey(sessionId);
                 RefreshTokenInfo refreshTokenInfo = CacheUtil.get(cacheAppKey, RefreshTokenInfo.class);
@@ -362,18 +417,25 @@ public class JwtService {
      * @return 如果成功登出返回 true，否则返回 false
      */
     public boolean logout(String token) {
-        try {
-            String sessionId = JwtUtils.getUsernameFromToken(token);
+        return parseToken(token).map(this::logout).orElse(false);
+    }
 
-            // 删除Access Token缓存
-            String cacheKey = buildCacheKey(sessionId);
-            boolean accessDeleted = CacheUtil.delete(cacheKey);
+    /**
+     * 登出（注销）
+     *
+     * @param parsedToken 已解析的 token
+     * @return 如果成功登出返回 true，否则返回 false
+     */
+    public boolean logout(ParsedToken parsedToken) {
+        try {
+            String sessionId = parsedToken.getSubject();
 
-            // 删除Refresh Token缓存
-            String cacheAppKey = buildCacheAppKey(sessionId);
-            boolean refreshDeleted = CacheUtil.delete(cacheAppKey);
+            // 同时删除Access Token和Refresh Token缓存
+            CompletableFuture<Boolean> accessDeleted = CacheUtil.deleteAsync(buildCacheKey(sessionId));
+            CompletableFuture<Boolean> refreshDeleted = CacheUtil.deleteAsync(buildCacheAppKey(sessionId));
 
-            boolean success = accessDeleted || refreshDeleted;
+            boolean success = accessDeleted.join() | refreshDeleted.join();
+            sessionCache.revokeSession(sessionId);
             if (success) {
                 log.info("用户登出成功，会话 ID：{}", sessionId);
             } else {
@@ -411,6 +473,52 @@ public class JwtService {
         return refreshHeader != null && !refreshHeader.trim().isEmpty() ? refreshHeader.trim() : null;
     }
 
+    /**
+     * 签发Access Token，无状态模式下携带用户声明
+     *
+     * @param sessionId 会话 ID
+     * @param loginUser 登录用户
+     * @return Access Token
+     */
+    private String createAccessToken(String sessionId, LoginUser loginUser) {
+        if (authProperties.isStatelessAccessToken()) {
+            return JwtUtils.generateAccessToken(sessionId, TokenClaims.of(loginUser, System.currentTimeMillis()));
+        }
+        return JwtUtils.generateAccessToken(sessionId);
+    }
+
+    /**
+     * 解析Access Token对应的登录用户
+     * 无状态 Access Token 只检查本地拒绝列表并从声明还原用户，不访问缓存；
+     * 其他 Access Token（或未开启无状态模式）按会话查找
+     *
+     * @param parsedToken 已解析的 Access Token
+     * @return 登录用户，会话不存在或已撤销返回 null
+     */
+    private LoginUser resolveAccessToken(ParsedToken parsedToken) {
+        if (authProperties.isStatelessAccessToken() && TokenClaims.isStateless(parsedToken)) {
+            if (tokenDenyList.isDenied(parsedToken.getSubject(), TokenClaims.userId(parsedToken), TokenClaims.version(parsedToken))) {
+                return null;
+            }
+            return TokenClaims.toLoginUser(parsedToken);
+        }
+        return getSession(parsedToken.getSubject());
+    }
+
+    /**
+     * 读取Access Token会话，优先本地会话缓存
+     *
+     * @param sessionId 会话 ID
+     * @return 登录用户，不存在返回 null
+     */
+    private LoginUser getSession(String sessionId) {
+        return sessionCache.get(sessionId, id -> CacheUtil.get(buildCacheKey(id), LoginUser.class));
+    }
+
+    private static List<String> userTags(Long userId) {
+        return Collections.singletonList(SessionCache.userTag(userId));
+    }
+
     /**
      * 构建Access Token缓存键
      *
@@ -438,13 +546,7 @@ public class JwtService {
      * @return 剩余有效时间（秒），如果 token 无效或已过期返回 0
      */
     public long getTokenRemainingTime(String token) {
-        try {
-            java.util.Date expiration = JwtUtils.getExpirationDateFromToken(token);
-            long remainingMillis = expiration.getTime() - System.currentTimeMillis();
-            return Math.max(0, remainingMillis / 1000);
-        } catch (Exception e) {
-            return 0;
-        }
+        return parseToken(token).map(ParsedToken::getRemainingSeconds).orElse(0L);
     }
 
     /**
@@ -455,10 +557,42 @@ public class JwtService {
      * @return 登录用户信息的 Optional 包装，如果验证失败返回空的 Optional
      */
     public Optional<LoginUser> validateAndGetUser(String token) {
-        if (validateToken(token)) {
-            return Optional.ofNullable(getLoginUser(token));
+        return parseToken(token).flatMap(this::validateAndGetUser);
+    }
+
+    /**
+     * 验证并获取登录用户
+     * token 只解析一次：Access Token 只查一次会话缓存，命中即有效；
+     * Refresh Token 需要刷新会话仍存在，再按 Access 缓存 → 数据库的顺序获取用户
+     *
+     * @param parsedToken 已解析的 token
+     * @return 登录用户信息的 Optional 包装，如果验证失败返回空的 Optional
+     */
+    public Optional<LoginUser> validateAndGetUser(ParsedToken parsedToken) {
+        if (parsedToken == null || parsedToken.isExpired()) {
+            return Optional.empty();
+        }
+        try {
+            String sessionId = parsedToken.getSubject();
+            if (parsedToken.isAccessToken()) {
+                return Optional.ofNullable(resolveAccessToken(parsedToken));
+            }
+            if (parsedToken.isRefreshToken()) {
+                RefreshTokenInfo refreshTokenInfo = CacheUtil.get(buildCacheAppKey(sessionId), RefreshTokenInfo.class);
+                if (refreshTokenInfo == null) {
+                    return Optional.empty();
+                }
+                LoginUser loginUser = getSession(sessionId);
+                if (loginUser == null) {
+                    loginUser = getUserByUsername(refreshTokenInfo.getUsername());
+                }
+                return Optional.ofNullable(loginUser);
+            }
+            return Optional.empty();
+        } catch (Exception e) {
+            log.error("Token 验证失败，会话 ID：{}", parsedToken.getSubject(), e);
+            return Optional.empty();
         }
-        return Optional.empty();
     }
 
     /**
@@ -468,16 +602,14 @@ public class JwtService {
      * @return Token类型：access, refresh, 或 unknown
      */
     public String getTokenType(String token) {
-        try {
-            if (JwtUtils.isAccessToken(token)) {
+        return parseToken(token).map(parsedToken -> {
+            if (parsedToken.isAccessToken()) {
                 return "access";
-            } else if (JwtUtils.isRefreshToken(token)) {
+            } else if (parsedToken.isRefreshToken()) {
                 return "refresh";
             }
             return "unknown";
-        } catch (Exception e) {
-            return "invalid";
-        }
+        }).orElse("unknown");
     }
 
     /**
@@ -500,5 +632,14 @@ public class JwtService {
         return authProperties.getExpireSeconds();
     }
 
+    /**
+     * 获取签名公钥集合（JWKS），验签服务据此在本地校验令牌
+     *
+     * @return 形如 {"keys":[...]} 的 JWK Set，HS256 模式下为空集合
+     */
+    public Map<String, Object> getJwks() {
+        return JwtUtils.getJwks();
+    }
+
 
 }
\ No newline at end of file
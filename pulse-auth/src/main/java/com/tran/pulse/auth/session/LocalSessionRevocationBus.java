@@ -0,0 +1,37 @@
+package com.tran.pulse.auth.session;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 进程内的撤销总线，发布时同步通知本节点订阅者
+ * 用于单节点部署、本地缓存模式和测试
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class LocalSessionRevocationBus implements SessionRevocationBus {
+
+    private final List<Consumer<SessionRevocation>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(SessionRevocation revocation) {
+        deliver(revocation);
+    }
+
+    @Override
+    public void subscribe(Consumer<SessionRevocation> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 通知本节点订阅者
+     */
+    protected void deliver(SessionRevocation revocation) {
+        for (Consumer<SessionRevocation> listener : listeners) {
+            listener.accept(revocation);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.tran.pulse.auth.session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * 基于 Redis 发布订阅的撤销总线
+ * 发布时先同步通知本节点，再广播给其他节点；收到自己发出的消息时忽略。
+ * 广播失败时其他节点的本地副本在 ttlSeconds 后过期。
+ * 保留时间大于 0 时撤销同时记入 Redis 有序集合，新订阅者先重放保留期内的撤销，
+ * 使重启或新加入的节点也能拒绝已撤销的无状态令牌。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class RedisSessionRevocationBus extends LocalSessionRevocationBus implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisSessionRevocationBus.class);
+
+    /**
+     * 记录撤销并清理超出保留期的记录
+     */
+    private static final RedisScript<Long> JOURNAL_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('ZADD', KEYS[1], ARGV[1], ARGV[2]) "
+                    + "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[1] - ARGV[3]) "
+                    + "redis.call('PEXPIRE', KEYS[1], ARGV[3]) return 1", Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    private final String channel;
+
+    /**
+     * 撤销记录的有序集合键
+     */
+    private final String journalKey;
+
+    /**
+     * 撤销记录保留时间（毫秒），<=0 不记录
+     */
+    private final long retentionMillis;
+
+    /**
+     * 本节点标识，忽略自己发出的通知
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public RedisSessionRevocationBus(RedisTemplate<String, String> redisTemplate, String channel) {
+        this(redisTemplate, channel, 0);
+    }
+
+    /**
+     * @param redisTemplate   Redis 操作模板
+     * @param channel         通知频道
+     * @param retentionMillis 撤销记录保留时间（毫秒），通常为 Access Token 有效期，<=0 不记录
+     */
+    public RedisSessionRevocationBus(RedisTemplate<String, String> redisTemplate, String channel, long retentionMillis) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.journalKey = channel + ":journal";
+        this.retentionMillis = retentionMillis;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    @Override
+    public void publish(SessionRevocation revocation) {
+        deliver(revocation);
+        String body = encode(revocation);
+        try {
+            if (retentionMillis > 0) {
+                redisTemplate.execute(JOURNAL_SCRIPT, Collections.singletonList(journalKey),
+                        String.valueOf(revocation.getTimeMillis()), body, String.valueOf(retentionMillis));
+            }
+            redisTemplate.convertAndSend(channel, nodeId + "\n" + body);
+        } catch (Exception e) {
+            log.warn("发布会话撤销通知失败: {}, {}", revocation, e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<SessionRevocation> listener) {
+        super.subscribe(listener);
+        if (retentionMillis <= 0) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            Set<String> journal = redisTemplate.opsForZSet().rangeByScore(journalKey, now - retentionMillis, Double.POSITIVE_INFINITY);
+            if (journal != null) {
+                for (String body : journal) {
+                    SessionRevocation revocation = decode(body);
+                    if (revocation != null) {
+                        listener.accept(revocation);
+                    }
+                }
+                log.info("重放会话撤销记录 {} 条", journal.size());
+            }
+        } catch (Exception e) {
+            log.warn("读取会话撤销记录失败: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\n", 2);
+        if (parts.length < 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+        SessionRevocation revocation = decode(parts[1]);
+        if (revocation != null) {
+            deliver(revocation);
+        }
+    }
+
+    /**
+     * 编码为 范围\n时间\nID
+     */
+    private static String encode(SessionRevocation revocation) {
+        return revocation.getScope().name() + "\n" + revocation.getTimeMillis() + "\n" + revocation.getId();
+    }
+
+    private static SessionRevocation decode(String body) {
+        String[] parts = body.split("\n", 3);
+        if (parts.length < 3) {
+            return null;
+        }
+        try {
+            return SessionRevocation.of(SessionRevocation.Scope.valueOf(parts[0]), parts[2], Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            log.warn("忽略无法识别的会话撤销通知: {}", body);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.tran.pulse.auth.session;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tran.pulse.auth.domain.LoginUser;
+import com.tran.pulse.auth.properties.SessionCacheProperties;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 本地会话缓存（会话 ID -> LoginUser）
+ * 认证是最频繁的缓存读取，命中时不访问缓存服务、不反序列化。
+ * 登出、刷新和用户状态变化时通过 {@link SessionRevocationBus} 通知所有节点清除本地副本，
+ * 通知丢失时本地副本最多在 ttlSeconds 后过期。
+ * 注意：返回的是共享对象，调用方不应修改。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class SessionCache {
+
+    /**
+     * 用户级会话的失效标签前缀，会话写入缓存时关联，用于按用户撤销
+     */
+    private static final String USER_TAG = "auth:user:";
+
+    private final Cache<String, LoginUser> local;
+
+    private final SessionRevocationBus bus;
+
+    private final boolean enabled;
+
+    /**
+     * 每次撤销递增，加载期间发生撤销时不回填，避免旧值覆盖撤销
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public SessionCache(SessionCacheProperties properties, SessionRevocationBus bus) {
+        this.enabled = properties.isEnabled() && properties.getTtlSeconds() > 0 && properties.getMaximumSize() > 0;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(Math.max(0, properties.getMaximumSize()))
+                .expireAfterWrite(Math.max(0, properties.getTtlSeconds()), TimeUnit.SECONDS)
+                .build();
+        this.bus = bus;
+        bus.subscribe(this::onRevocation);
+    }
+
+    /**
+     * 会话关联的失效标签
+     *
+     * @param userId 用户ID
+     */
+    public static String userTag(Long userId) {
+        return USER_TAG + userId;
+    }
+
+    /**
+     * 读取会话，本地未命中时调用 loader 并回填
+     *
+     * @param sessionId 会话 ID
+     * @param loader    从缓存服务读取会话，返回 null 表示会话不存在
+     * @return 登录用户，不存在返回 null
+     */
+    public LoginUser get(String sessionId, Function<String, LoginUser> loader) {
+        if (!enabled) {
+            return loader.apply(sessionId);
+        }
+        LoginUser loginUser = local.getIfPresent(sessionId);
+        if (loginUser != null) {
+            return loginUser;
+        }
+        long seen = generation.get();
+        loginUser = loader.apply(sessionId);
+        if (loginUser != null) {
+            local.put(sessionId, loginUser);
+            if (generation.get() != seen) {
+                // 加载期间有撤销，无法判断是否针对本会话，保守地丢弃
+                local.invalidate(sessionId);
+            }
+        }
+        return loginUser;
+    }
+
+    /**
+     * 撤销单个会话在所有节点的本地副本
+     *
+     * @param sessionId 会话 ID
+     */
+    public void revokeSession(String sessionId) {
+        bus.publish(SessionRevocation.session(sessionId));
+    }
+
+    /**
+     * 撤销某个用户全部会话在所有节点的本地副本
+     *
+     * @param userId 用户ID
+     */
+    public void revokeUser(Long userId) {
+        bus.publish(SessionRevocation.user(userId));
+    }
+
+    /**
+     * 本地副本数量
+     */
+    public long size() {
+        local.cleanUp();
+        return local.estimatedSize();
+    }
+
+    private void onRevocation(SessionRevocation revocation) {
+        generation.incrementAndGet();
+        if (revocation.getScope() == SessionRevocation.Scope.SESSION) {
+            local.invalidate(revocation.getId());
+        } else {
+            // 按用户撤销较少发生，直接遍历本地副本
+            local.asMap().values().removeIf(loginUser -> Objects.equals(String.valueOf(loginUser.getUserId()), revocation.getId()));
+        }
+    }
+}
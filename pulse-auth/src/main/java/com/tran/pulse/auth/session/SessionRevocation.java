@@ -0,0 +1,65 @@
+package com.tran.pulse.auth.session;
+
+/**
+ * 会话撤销通知：撤销单个会话，或撤销某个用户的全部会话
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public final class SessionRevocation {
+
+    /**
+     * 撤销范围
+     */
+    public enum Scope {
+        SESSION, USER
+    }
+
+    private final Scope scope;
+
+    /**
+     * 会话 ID 或用户 ID
+     */
+    private final String id;
+
+    /**
+     * 撤销时间（毫秒），在此之前签发的令牌失效
+     */
+    private final long timeMillis;
+
+    private SessionRevocation(Scope scope, String id, long timeMillis) {
+        this.scope = scope;
+        this.id = id;
+        this.timeMillis = timeMillis;
+    }
+
+    public static SessionRevocation session(String sessionId) {
+        return new SessionRevocation(Scope.SESSION, sessionId, System.currentTimeMillis());
+    }
+
+    public static SessionRevocation user(Long userId) {
+        return new SessionRevocation(Scope.USER, String.valueOf(userId), System.currentTimeMillis());
+    }
+
+    public static SessionRevocation of(Scope scope, String id, long timeMillis) {
+        return new SessionRevocation(scope, id, timeMillis);
+    }
+
+    public Scope getScope() {
+        return scope;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    @Override
+    public String toString() {
+        return scope + ":" + id;
+    }
+}
@@ -0,0 +1,28 @@
+package com.tran.pulse.auth.session;
+
+import java.util.function.Consumer;
+
+/**
+ * 会话撤销总线
+ * 发布的撤销通知会送达所有节点（包括本节点）的订阅者
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public interface SessionRevocationBus {
+
+    /**
+     * 发布撤销通知
+     *
+     * @param revocation 撤销通知
+     */
+    void publish(SessionRevocation revocation);
+
+    /**
+     * 订阅撤销通知
+     *
+     * @param listener 订阅者
+     */
+    void subscribe(Consumer<SessionRevocation> listener);
+}
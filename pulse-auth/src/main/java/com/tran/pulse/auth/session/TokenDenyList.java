@@ -0,0 +1,84 @@
+package com.tran.pulse.auth.session;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 无状态令牌的版本化拒绝列表
+ * 每个会话、每个用户只记录最近一次撤销时间，签发版本（毫秒）早于撤销时间的令牌被拒绝，
+ * 撤销之后重新签发的令牌不受影响。撤销时间超出保留期（Access Token 有效期）的记录不再有意义，定期清理。
+ * 撤销来自 {@link SessionRevocationBus}，各节点各自维护，校验时不访问缓存服务。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class TokenDenyList {
+
+    /**
+     * 每记录多少次撤销清理一次过期记录
+     */
+    private static final int PRUNE_INTERVAL = 256;
+
+    /**
+     * 会话 ID -> 撤销时间
+     */
+    private final ConcurrentMap<String, Long> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * 用户 ID -> 撤销时间
+     */
+    private final ConcurrentMap<String, Long> users = new ConcurrentHashMap<>();
+
+    private final AtomicInteger records = new AtomicInteger();
+
+    /**
+     * 记录保留时间（毫秒）
+     */
+    private final long retentionMillis;
+
+    public TokenDenyList(SessionRevocationBus bus, long retentionMillis) {
+        this.retentionMillis = retentionMillis;
+        bus.subscribe(this::onRevocation);
+    }
+
+    /**
+     * 令牌是否已被撤销
+     *
+     * @param sessionId     会话 ID
+     * @param userId        用户 ID
+     * @param versionMillis 令牌签发版本（毫秒）
+     */
+    public boolean isDenied(String sessionId, String userId, long versionMillis) {
+        return revokedAfter(sessions.get(sessionId), versionMillis) || revokedAfter(users.get(userId), versionMillis);
+    }
+
+    /**
+     * 记录数量
+     */
+    public int size() {
+        return sessions.size() + users.size();
+    }
+
+    private static boolean revokedAfter(Long revokedAt, long versionMillis) {
+        return revokedAt != null && versionMillis < revokedAt;
+    }
+
+    private void onRevocation(SessionRevocation revocation) {
+        ConcurrentMap<String, Long> target = revocation.getScope() == SessionRevocation.Scope.SESSION ? sessions : users;
+        target.merge(revocation.getId(), revocation.getTimeMillis(), Math::max);
+        if (records.incrementAndGet() % PRUNE_INTERVAL == 0) {
+            prune();
+        }
+    }
+
+    /**
+     * 清理超出保留期的记录，其间签发的令牌都已过期
+     */
+    public void prune() {
+        long expired = System.currentTimeMillis() - retentionMillis;
+        sessions.values().removeIf(revokedAt -> revokedAt < expired);
+        users.values().removeIf(revokedAt -> revokedAt < expired);
+    }
+}
@@ -1,14 +1,26 @@
 package com.tran.pulse.auth.util;
 
+import com.tran.pulse.auth.key.Jwks;
+import com.tran.pulse.auth.key.JwksKeyResolver;
+import com.tran.pulse.auth.key.JwtKey;
+import com.tran.pulse.auth.key.JwtKeySet;
+import com.tran.pulse.auth.key.VerificationKeyResolver;
 import com.tran.pulse.auth.properties.AuthProperties;
+import com.tran.pulse.auth.properties.JwtSigningProperties;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+import io.jsonwebtoken.SigningKeyResolver;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -17,6 +29,7 @@ import java.util.function.Function;
 /**
  * JWT（JSON Web Token）工具类
  * 支持双Token机制：Access Token（短期）+ Refresh Token（长期）
+ * 签名默认使用 secret 的 HS256；配置 pulse.auth.signing 后使用 RS256/ES256，头部携带 kid，验签方只需公钥。
  * @author tran
  * @version 2.0.0
  * @since 1.0
@@ -29,13 +42,45 @@ public class JwtUtils {
      */
     private static AuthProperties props = null;
 
+    /**
+     * 签名密钥缓存
+     * 密钥由 secret 派生，secret 不变则密钥不变，无需每次签名/验签都重新解码构建
+     */
+    private static volatile Key signingKey = null;
+
+    /**
+     * 签名密钥集合缓存，由配置构建，也可以在运行时轮换
+     */
+    private static volatile JwtKeySet keySet = null;
+
+    /**
+     * 验签密钥解析器缓存：本地密钥集合，配置了 jwksUri 时再查远程公钥
+     */
+    private static volatile VerificationKeyResolver verifier = null;
+
     /**
      * 签名算法
      * 使用 HS256（HMAC with SHA-256）算法进行签名。
      * HS256 是对称加密算法，使用同一个密钥进行签名和验证。
+     * 未配置非对称密钥时使用；不带 kid 的令牌也按此算法校验
      */
     private static final SignatureAlgorithm ALG = SignatureAlgorithm.HS256;
 
+    /**
+     * 按令牌头部选择验签密钥
+     */
+    private static final SigningKeyResolver KEY_RESOLVER = new SigningKeyResolverAdapter() {
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            return resolveVerifyKey(header);
+        }
+
+        @Override
+        public Key resolveSigningKey(JwsHeader header, String plaintext) {
+            return resolveVerifyKey(header);
+        }
+    };
+
     /**
      * 默认Access Token过期时间（2小时）
      */
@@ -78,6 +123,9 @@ public class JwtUtils {
             throw new IllegalArgumentException("AuthProperties 不能为 null");
         }
         JwtUtils.props = props;
+        JwtUtils.signingKey = null;
+        JwtUtils.keySet = null;
+        JwtUtils.verifier = null;
     }
 
     /**
@@ -178,17 +226,19 @@ public class JwtUtils {
      * @throws io.jsonwebtoken.JwtException 如果token格式错误或已过期
      */
     public static TokenPair refreshAccessToken(String refreshToken) {
+        // 只解析一次，类型和过期时间都从同一份 Claims 中判断
+        Claims claims = getAllClaims(refreshToken);
+
         // 验证是否为有效的Refresh Token
-        if (!isRefreshToken(refreshToken)) {
+        if (!TOKEN_TYPE_REFRESH.equals(claims.get(CLAIM_TOKEN_TYPE))) {
             throw new IllegalArgumentException("提供的不是有效的Refresh Token");
         }
 
-        if (isTokenExpired(refreshToken)) {
+        if (claims.getExpiration() != null && claims.getExpiration().before(new Date())) {
             throw new IllegalArgumentException("Refresh Token已过期，请重新登录");
         }
 
         // 从Refresh Token中提取信息
-        Claims claims = getAllClaims(refreshToken);
         String subject = claims.getSubject();
 
         // 移除时间相关和token类型相关的声明
@@ -275,16 +325,44 @@ public class JwtUtils {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + expireMillis);
 
+        JwtKey key = getKeySet().getActiveKey();
+
         // 构建 JWT
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setClaims(extraClaims)    // 设置额外声明（必须在其他设置之前）
                 .setSubject(subject)       // 设置主题
                 .setIssuedAt(now)         // 设置签发时间
-                .setExpiration(expiry)    // 设置过期时间
-                .signWith(ALG, getSigningKey()) // 使用密钥和算法进行签名
+                .setExpiration(expiry);   // 设置过期时间
+        if (key.getId() != null) {
+            builder.setHeaderParam(JwsHeader.KEY_ID, key.getId()); // 验签方按 kid 选择公钥
+        }
+        return builder
+                .signWith(key.getAlgorithm(), key.getSigningKey()) // 使用当前签名密钥和算法进行签名
                 .compact();               // 生成最终的 token 字符串
     }
 
+    /**
+     * 解析并校验 Token，返回不可变的解析结果
+     * 签名校验和过期校验在这里一次完成，调用方后续的类型判断、会话查找都应基于返回的 ParsedToken，
+     * 而不是再次传入原始 token 字符串重复解析
+     *
+     * @param token JWT Token 字符串
+     * @return 解析结果
+     * @throws io.jsonwebtoken.ExpiredJwtException 如果 token 已过期
+     * @throws io.jsonwebtoken.JwtException 如果 token 格式错误或签名验证失败
+     * @throws IllegalArgumentException 如果 token 为 null 或空
+     * @throws IllegalStateException 如果 AuthProperties 未设置
+     */
+    public static ParsedToken parseToken(String token) {
+        Claims claims = getAllClaims(token);
+        return new ParsedToken(token,
+                claims.getSubject(),
+                claims.get(CLAIM_TOKEN_TYPE, String.class),
+                claims.getIssuedAt(),
+                claims.getExpiration(),
+                claims);
+    }
+
     /**
      * 从 Token 中提取用户名（subject）
      *
@@ -389,18 +467,141 @@ public class JwtUtils {
         checkPropsInitialized();
 
         return Jwts.parser()
-                .setSigningKey(getSigningKey())  // 设置验证签名的密钥
+                .setSigningKeyResolver(KEY_RESOLVER)  // 按 kid 选择验证签名的密钥
                 .parseClaimsJws(token)          // 解析 token
                 .getBody();                     // 获取 claims 主体
     }
 
     /**
-     * 获取签名密钥
+     * 获取签名密钥集合，首次使用时按配置构建并缓存
+     * 可通过返回值在运行时轮换签名密钥，重新调用 setAuthProperties 后恢复为配置中的密钥
+     *
+     * @return 签名密钥集合
+     * @throws IllegalStateException 如果 AuthProperties 未设置
+     */
+    public static JwtKeySet getKeySet() {
+        JwtKeySet keys = keySet;
+        if (keys == null) {
+            synchronized (JwtUtils.class) {
+                keys = keySet;
+                if (keys == null) {
+                    keys = buildKeySet();
+                    keySet = keys;
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * 导出当前全部非对称公钥，供验签服务通过 JWKS 获取
+     *
+     * @return 形如 {"keys":[...]} 的 JWK Set，HS256 模式下为空集合
+     */
+    public static Map<String, Object> getJwks() {
+        return Jwks.toJwks(getKeySet().getKeys());
+    }
+
+    /**
+     * 按配置构建签名密钥集合
+     * HS256 时只有一把不带 kid 的对称密钥；RS256/ES256 时使用配置的密钥列表
+     */
+    private static JwtKeySet buildKeySet() {
+        checkPropsInitialized();
+
+        JwtSigningProperties signing = props.getSigning();
+        if (!isAsymmetric(signing)) {
+            return new JwtKeySet(JwtKey.secret(null, ALG, getSigningKey()), Collections.emptyList());
+        }
+        return JwtKeySet.from(signing);
+    }
+
+    /**
+     * 获取验签密钥解析器，首次使用时构建并缓存
+     */
+    private static VerificationKeyResolver getVerifier() {
+        VerificationKeyResolver resolver = verifier;
+        if (resolver == null) {
+            checkPropsInitialized();
+            JwtSigningProperties signing = props.getSigning();
+            if (signing.getJwksUri() == null || signing.getJwksUri().trim().isEmpty()) {
+                resolver = keyId -> getKeySet().resolve(keyId);
+            } else {
+                JwksKeyResolver remote = new JwksKeyResolver(signing.getJwksUri(),
+                        signing.getJwksRefreshSeconds() * 1000L, signing.getJwksMinRefreshIntervalSeconds() * 1000L);
+                resolver = keyId -> {
+                    JwtKey key = getKeySet().resolve(keyId);
+                    return key != null ? key : remote.resolve(keyId);
+                };
+            }
+            verifier = resolver;
+        }
+        return resolver;
+    }
+
+    /**
+     * 按令牌头部的 kid 和 alg 选择验签密钥
+     * 不带 kid 的令牌按 secret 的 HS256 校验：HS256 模式下这是正常签发的令牌；
+     * RS256/ES256 模式下只有显式开启 acceptLegacyHs256 时才接受（迁移期兼容旧令牌），未配置 secret 时一律拒绝；
+     * 带 kid 的令牌要求头部算法与密钥算法一致，防止用公钥冒充 HMAC 密钥
+     *
+     * @param header 令牌头部
+     * @return 验签密钥
+     * @throws SignatureException 未知的 kid 或算法不匹配
+     */
+    private static Key resolveVerifyKey(JwsHeader header) {
+        String keyId = header.getKeyId();
+        if (keyId == null) {
+            String secret = props.getSecret();
+            if (!ALG.getValue().equals(header.getAlgorithm()) || secret == null || secret.trim().isEmpty()) {
+                throw new SignatureException("不支持的签名算法: " + header.getAlgorithm());
+            }
+            JwtSigningProperties signing = props.getSigning();
+            if (isAsymmetric(signing) && !signing.isAcceptLegacyHs256()) {
+                throw new SignatureException("令牌缺少签名密钥 ID");
+            }
+            return getSigningKey();
+        }
+        JwtKey key = getVerifier().resolve(keyId);
+        if (key == null) {
+            throw new SignatureException("未知的签名密钥: " + keyId);
+        }
+        if (!key.getAlgorithm().getValue().equals(header.getAlgorithm())) {
+            throw new SignatureException("签名算法与密钥不匹配: " + header.getAlgorithm());
+        }
+        return key.getVerifyKey();
+    }
+
+    /**
+     * 是否配置了非对称签名
+     */
+    private static boolean isAsymmetric(JwtSigningProperties signing) {
+        return signing != null && signing.getAlgorithm() != null
+                && !ALG.getValue().equalsIgnoreCase(signing.getAlgorithm().trim());
+    }
+
+    /**
+     * 获取签名密钥，首次使用时构建并缓存
      *
      * @return 用于签名和验证的密钥对象
      * @throws IllegalStateException 如果 AuthProperties 未设置或 secret 为空
      */
     private static Key getSigningKey() {
+        Key key = signingKey;
+        if (key == null) {
+            key = buildSigningKey();
+            signingKey = key;
+        }
+        return key;
+    }
+
+    /**
+     * 根据配置的 secret 构建签名密钥
+     *
+     * @return 用于签名和验证的密钥对象
+     * @throws IllegalStateException 如果 AuthProperties 未设置或 secret 为空
+     */
+    private static Key buildSigningKey() {
         checkPropsInitialized();
 
         String secret = props.getSecret();
@@ -427,6 +628,16 @@ public class JwtUtils {
      * @return Access Token过期时间（毫秒）
      */
     private static long getAccessTokenExpireMillis() {
+        return getAccessTokenExpireMillis(props);
+    }
+
+    /**
+     * 按给定配置计算Access Token过期时间（毫秒）
+     *
+     * @param props 认证配置属性
+     * @return Access Token过期时间（毫秒）
+     */
+    public static long getAccessTokenExpireMillis(AuthProperties props) {
         int seconds = props.getExpireSeconds();
         if (seconds <= 0) {
             seconds = DEFAULT_ACCESS_EXPIRE_SECONDS;
@@ -0,0 +1,129 @@
+package com.tran.pulse.auth.util;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * 已解析的 JWT Token
+ * 一次验签解析后得到的不可变结果，同一请求内的类型判断、过期检查、会话查找都基于该对象完成，
+ * 避免对同一个 token 反复执行 Base64 解码、JSON 反序列化和 HMAC 校验
+ *
+ * @author tran
+ * @version 1.0.0
+ * @date 2025/10/16
+ */
+public final class ParsedToken {
+
+    /**
+     * 原始 token 字符串
+     */
+    private final String token;
+
+    /**
+     * Token 主题（会话 ID）
+     */
+    private final String subject;
+
+    /**
+     * Token 类型：access / refresh
+     */
+    private final String tokenType;
+
+    /**
+     * 签发时间（毫秒），未设置时为 0
+     */
+    private final long issuedAtMillis;
+
+    /**
+     * 过期时间（毫秒）
+     */
+    private final long expirationMillis;
+
+    /**
+     * 全部声明（只读）
+     */
+    private final Map<String, Object> claims;
+
+    public ParsedToken(String token, String subject, String tokenType, Date issuedAt, Date expiration) {
+        this(token, subject, tokenType, issuedAt, expiration, Collections.emptyMap());
+    }
+
+    public ParsedToken(String token, String subject, String tokenType, Date issuedAt, Date expiration,
+                       Map<String, Object> claims) {
+        this.token = token;
+        this.subject = subject;
+        this.tokenType = tokenType;
+        this.issuedAtMillis = issuedAt != null ? issuedAt.getTime() : 0L;
+        this.expirationMillis = expiration != null ? expiration.getTime() : Long.MAX_VALUE;
+        this.claims = Collections.unmodifiableMap(claims);
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getTokenType() {
+        return tokenType;
+    }
+
+    public Date getIssuedAt() {
+        return new Date(issuedAtMillis);
+    }
+
+    public Date getExpiration() {
+        return new Date(expirationMillis);
+    }
+
+    public long getExpirationMillis() {
+        return expirationMillis;
+    }
+
+    /**
+     * 读取声明
+     *
+     * @param name 声明名称
+     * @return 声明值，不存在返回 null
+     */
+    public Object getClaim(String name) {
+        return claims.get(name);
+    }
+
+    /**
+     * 是否为 Access Token
+     */
+    public boolean isAccessToken() {
+        return JwtUtils.TOKEN_TYPE_ACCESS.equals(tokenType);
+    }
+
+    /**
+     * 是否为 Refresh Token
+     */
+    public boolean isRefreshToken() {
+        return JwtUtils.TOKEN_TYPE_REFRESH.equals(tokenType);
+    }
+
+    /**
+     * 是否已过期
+     */
+    public boolean isExpired() {
+        return expirationMillis <= System.currentTimeMillis();
+    }
+
+    /**
+     * 剩余有效时间（秒），已过期返回 0
+     */
+    public long getRemainingSeconds() {
+        return Math.max(0, (expirationMillis - System.currentTimeMillis()) / 1000);
+    }
+
+    @Override
+    public String toString() {
+        return "ParsedToken{subject='" + subject + "', tokenType='" + tokenType
+                + "', expiration=" + expirationMillis + '}';
+    }
+}
@@ -0,0 +1,101 @@
+package com.tran.pulse.auth.util;
+
+import com.tran.pulse.auth.domain.LoginUser;
+import com.tran.pulse.common.constants.Constants;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 无状态 Access Token 的声明
+ * 只携带鉴权所需的最小信息：用户ID、用户名、状态、角色编码、权限编码和签发版本
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public final class TokenClaims {
+
+    public static final String USER_ID = "uid";
+
+    public static final String USERNAME = "usr";
+
+    public static final String STATUS = "sts";
+
+    public static final String ROLES = "rol";
+
+    public static final String PERMISSIONS = "per";
+
+    /**
+     * 签发版本（毫秒），与拒绝列表中的撤销时间比较
+     */
+    public static final String VERSION = "ver";
+
+    private TokenClaims() {
+        throw new AssertionError("工具类不应该被实例化");
+    }
+
+    /**
+     * 构建声明
+     *
+     * @param loginUser     登录用户
+     * @param versionMillis 签发版本（毫秒）
+     */
+    public static Map<String, Object> of(LoginUser loginUser, long versionMillis) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID, loginUser.getUserId());
+        claims.put(USERNAME, loginUser.getUsername());
+        claims.put(STATUS, loginUser.getStatus());
+        claims.put(ROLES, loginUser.getRoles() != null ? new ArrayList<>(loginUser.getRoles()) : new ArrayList<>());
+        claims.put(PERMISSIONS, loginUser.getPermissions() != null ? new ArrayList<>(loginUser.getPermissions()) : new ArrayList<>());
+        claims.put(VERSION, versionMillis);
+        return claims;
+    }
+
+    /**
+     * 是否为无状态 Access Token
+     */
+    public static boolean isStateless(ParsedToken parsedToken) {
+        return parsedToken.isAccessToken() && parsedToken.getClaim(USER_ID) != null;
+    }
+
+    public static String userId(ParsedToken parsedToken) {
+        return String.valueOf(parsedToken.getClaim(USER_ID));
+    }
+
+    public static long version(ParsedToken parsedToken) {
+        Object version = parsedToken.getClaim(VERSION);
+        return version instanceof Number ? ((Number) version).longValue() : 0L;
+    }
+
+    /**
+     * 从声明还原登录用户
+     */
+    public static LoginUser toLoginUser(ParsedToken parsedToken) {
+        Object userId = parsedToken.getClaim(USER_ID);
+        LoginUser loginUser = new LoginUser(userId instanceof Number ? ((Number) userId).longValue() : Long.valueOf(String.valueOf(userId)),
+                (String) parsedToken.getClaim(USERNAME));
+        String status = (String) parsedToken.getClaim(STATUS);
+        boolean enabled = !Constants.STATUS_DISABLED.equals(status);
+        loginUser.setStatus(status);
+        loginUser.setEnabled(enabled);
+        loginUser.setAccountNonLocked(enabled);
+        loginUser.setRoles(toSet(parsedToken.getClaim(ROLES)));
+        loginUser.setPermissions(toSet(parsedToken.getClaim(PERMISSIONS)));
+        return loginUser;
+    }
+
+    private static Set<String> toSet(Object value) {
+        Set<String> result = new HashSet<>();
+        if (value instanceof Collection) {
+            for (Object item : (Collection<?>) value) {
+                result.add(String.valueOf(item));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,49 @@
+package com.tran.auth.filter;
+
+import com.tran.pulse.auth.filter.WhiteListMatcher;
+import org.junit.Test;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * 预编译白名单与逐条 AntPathMatcher 匹配的耗时对比
+ */
+public class WhiteListMatcherBenchmark {
+
+    private static final int ROUNDS = 200000;
+
+    private static final List<String> PATTERNS = WhiteListMatcherTest.PATTERNS;
+
+    @Test
+    public void compareMatchers() {
+        AntPathMatcher pathMatcher = new AntPathMatcher();
+        WhiteListMatcher matcher = WhiteListMatcher.compile(PATTERNS);
+        Predicate<String> ant = path -> PATTERNS.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+
+        // 绝大多数请求不在白名单中，需要比较完全部模式
+        String[] paths = {"/motion/diet/timeline/2025-10-16", "/auth/login", "/public/img/logo"};
+        for (int round = 0; round < 2; round++) {
+            boolean print = round == 1;
+            for (String path : paths) {
+                run("ant     " + path, ant, path, print);
+                run("compiled" + " " + path, matcher::matches, path, print);
+            }
+        }
+    }
+
+    private static void run(String name, Predicate<String> predicate, String path, boolean print) {
+        int hits = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            if (predicate.test(path)) {
+                hits++;
+            }
+        }
+        long nanos = (System.nanoTime() - start) / ROUNDS;
+        if (print) {
+            System.out.printf("%-45s %6d ns/op  hits=%d%n", name, nanos, hits);
+        }
+    }
+}
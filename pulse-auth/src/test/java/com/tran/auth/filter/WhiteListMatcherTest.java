@@ -0,0 +1,42 @@
+package com.tran.auth.filter;
+
+import com.tran.pulse.auth.filter.WhiteListMatcher;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 预编译白名单与逐条 AntPathMatcher 匹配的结果一致性
+ */
+public class WhiteListMatcherTest {
+
+    static final List<String> PATTERNS = Arrays.asList(
+            "/auth/login", "/auth/register", "/auth/refresh", "/auth/jwks", "/user/captcha",
+            "/public/**", "/swagger-ui/**", "/v3/api-docs/**", "/swagger-resources/**", "/webjars/**",
+            "/static/**", "/favicon.ico", "/error", "/", "/*.html", "/actuator/health", "/actuator/info",
+            "/**/*.css", "/api/{version:v\\d+}/ping", "/files/?.txt", "/a/**/b", "/trailing/", "/one/*", "relative/**");
+
+    @Test
+    public void sameResultAsAntPathMatcher() {
+        AntPathMatcher pathMatcher = new AntPathMatcher();
+        WhiteListMatcher matcher = WhiteListMatcher.compile(PATTERNS);
+        List<String> paths = new ArrayList<>(Arrays.asList(
+                "", "/", "//", "/auth", "/auth/", "/auth/login", "/auth/login/", "//auth//login", "/auth/loginx",
+                "/auth/logout", "/public", "/public/", "/public/a/b/c", "/publicx", "/index.html", "/a/index.html",
+                "/x/y/site.css", "/site.css", "/site.cs", "/api/v1/ping", "/api/vx/ping", "/files/a.txt",
+                "/files/ab.txt", "/a/b", "/a/x/y/b", "/a/x/y/b/", "/a/x/y/c", "/trailing", "/trailing/",
+                "/one", "/one/", "/one/x", "/one/x/", "/one/x/y", "relative", "relative/x", "/relative/x",
+                "/motion/diet/timeline", "/home/summary", "/error/", "/favicon.ico/"));
+        for (String pattern : PATTERNS) {
+            paths.add(pattern.replace("**", "deep/er").replace("*", "x").replace("?", "q"));
+        }
+        for (String path : paths) {
+            boolean expected = PATTERNS.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+            Assert.assertEquals("path: " + path, expected, matcher.matches(path));
+        }
+    }
+}
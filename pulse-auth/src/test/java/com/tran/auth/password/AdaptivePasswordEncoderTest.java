@@ -0,0 +1,44 @@
+package com.tran.auth.password;
+
+import com.tran.pulse.auth.password.AdaptivePasswordEncoder;
+import com.tran.pulse.auth.properties.PasswordHashProperties;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AdaptivePasswordEncoderTest {
+
+    private static final String PASSWORD = "pulse123456";
+
+    @Test
+    public void adaptiveEncoding() {
+        PasswordHashProperties bcryptProperties = new PasswordHashProperties();
+        bcryptProperties.setBcryptStrength(5);
+        AdaptivePasswordEncoder bcrypt = new AdaptivePasswordEncoder(bcryptProperties);
+
+        PasswordHashProperties argon2Properties = new PasswordHashProperties();
+        argon2Properties.setAlgorithm("argon2");
+        argon2Properties.setArgon2MemoryKb(4096);
+        argon2Properties.setArgon2Iterations(1);
+        AdaptivePasswordEncoder argon2 = new AdaptivePasswordEncoder(argon2Properties);
+
+        PasswordHashProperties legacyProperties = new PasswordHashProperties();
+        legacyProperties.setBcryptStrength(4);
+        String legacy = new AdaptivePasswordEncoder(legacyProperties).encode(PASSWORD);
+        Assert.assertTrue(bcrypt.matches(PASSWORD, legacy));
+        Assert.assertTrue(bcrypt.upgradeEncoding(legacy));
+        Assert.assertFalse(bcrypt.upgradeEncoding(bcrypt.encode(PASSWORD)));
+
+        String hash = argon2.encode(PASSWORD);
+        Assert.assertTrue(hash.length() <= 100);
+        Assert.assertTrue(argon2.matches(PASSWORD, hash));
+        Assert.assertFalse(argon2.matches("wrong", hash));
+        Assert.assertFalse(argon2.upgradeEncoding(hash));
+        Assert.assertTrue(argon2.upgradeEncoding(legacy));
+        // 切回 BCrypt 后 Argon2 哈希仍可校验，并会被重新哈希
+        Assert.assertTrue(bcrypt.matches(PASSWORD, hash));
+        Assert.assertTrue(bcrypt.upgradeEncoding(hash));
+
+        argon2Properties.setArgon2Iterations(2);
+        Assert.assertTrue(new AdaptivePasswordEncoder(argon2Properties).upgradeEncoding(hash));
+    }
+}
@@ -0,0 +1,88 @@
+package com.tran.auth.password;
+
+import com.tran.pulse.auth.password.AdaptivePasswordEncoder;
+import com.tran.pulse.auth.password.PasswordHashExecutor;
+import com.tran.pulse.auth.password.PasswordHashRejectedException;
+import com.tran.pulse.auth.properties.PasswordHashProperties;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 登录密码校验吞吐对比：在请求线程上直接哈希 vs 有界哈希线程池
+ * 模拟 32 个 Web 容器线程同时登录，统计成功数、拒绝数和各自的平均耗时
+ */
+public class PasswordHashBenchmark {
+
+    private static final int CALLERS = 32;
+
+    private static final long DURATION_MILLIS = 2000;
+
+    private static final long RETRY_MILLIS = 50;
+
+    private static final String PASSWORD = "pulse123456";
+
+    @Test
+    public void compareLoginThroughput() throws Exception {
+        PasswordHashProperties properties = new PasswordHashProperties();
+        properties.setBcryptStrength(8);
+        properties.setQueueCapacity(8);
+        properties.setMaxQueueMillis(200);
+        AdaptivePasswordEncoder encoder = new AdaptivePasswordEncoder(properties);
+        String encoded = encoder.encode(PASSWORD);
+
+        PasswordHashExecutor executor = new PasswordHashExecutor(properties);
+        try {
+            run("direct", () -> encoder.matches(PASSWORD, encoded));
+            run("executor", () -> executor.execute(() -> encoder.matches(PASSWORD, encoded)));
+            Assert.assertTrue(executor.getRejectedCount() > 0);
+        } finally {
+            executor.destroy();
+        }
+    }
+
+    private static void run(String name, Supplier<Boolean> login) throws InterruptedException {
+        AtomicLong success = new AtomicLong();
+        AtomicLong successNanos = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong rejectedNanos = new AtomicLong();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DURATION_MILLIS);
+        CountDownLatch done = new CountDownLatch(CALLERS);
+        for (int i = 0; i < CALLERS; i++) {
+            new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        Assert.assertTrue(login.get());
+                        success.incrementAndGet();
+                        successNanos.addAndGet(System.nanoTime() - start);
+                    } catch (PasswordHashRejectedException e) {
+                        rejected.incrementAndGet();
+                        rejectedNanos.addAndGet(System.nanoTime() - start);
+                        // 客户端收到 429 后稍后重试
+                        sleep(RETRY_MILLIS);
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        System.out.printf("%-9s logins/s=%6.1f  avg=%6.1f ms  rejected=%6d  avg reject=%6.2f ms%n", name,
+                success.get() * 1000.0 / DURATION_MILLIS,
+                success.get() == 0 ? 0 : successNanos.get() / 1e6 / success.get(),
+                rejected.get(),
+                rejected.get() == 0 ? 0 : rejectedNanos.get() / 1e6 / rejected.get());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.tran.auth.password;
+
+import com.tran.pulse.auth.password.PasswordHashExecutor;
+import com.tran.pulse.auth.password.PasswordHashRejectedException;
+import com.tran.pulse.auth.properties.PasswordHashProperties;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class PasswordHashExecutorTest {
+
+    @Test
+    public void rejectsWhenSaturated() throws Exception {
+        PasswordHashProperties properties = new PasswordHashProperties();
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        properties.setMaxQueueMillis(100);
+        PasswordHashExecutor executor = new PasswordHashExecutor(properties);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            Future<Boolean> first = callers.submit(() -> executor.execute(() -> {
+                running.countDown();
+                release.await();
+                return true;
+            }));
+            Assert.assertTrue(running.await(5, TimeUnit.SECONDS));
+            Future<Boolean> queued = callers.submit(() -> executor.execute(() -> true));
+            while (executor.getQueueSize() == 0) {
+                Thread.sleep(5);
+            }
+
+            // 队列已满，立即拒绝
+            try {
+                executor.execute(() -> true);
+                Assert.fail();
+            } catch (PasswordHashRejectedException expected) {
+                // expected
+            }
+            Assert.assertFalse(executor.tryExecute(() -> { }));
+
+            // 排队超过 maxQueueMillis 的任务开始执行时放弃
+            Thread.sleep(200);
+            release.countDown();
+            Assert.assertTrue(first.get(5, TimeUnit.SECONDS));
+            try {
+                queued.get(5, TimeUnit.SECONDS);
+                Assert.fail();
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof PasswordHashRejectedException);
+            }
+            Assert.assertEquals(2, executor.getRejectedCount());
+            Assert.assertTrue(executor.execute(() -> true));
+        } finally {
+            callers.shutdownNow();
+            executor.destroy();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.tran.auth.session;
+
+import com.tran.pulse.auth.domain.LoginUser;
+import com.tran.pulse.auth.properties.SessionCacheProperties;
+import com.tran.pulse.auth.session.LocalSessionRevocationBus;
+import com.tran.pulse.auth.session.SessionCache;
+import org.junit.Test;
+
+/**
+ * 会话本地缓存命中时的查找耗时
+ */
+public class SessionCacheBenchmark {
+
+    private static final int ROUNDS = 1000000;
+
+    @Test
+    public void lookup() {
+        SessionCache cache = new SessionCache(new SessionCacheProperties(), new LocalSessionRevocationBus());
+        LoginUser loginUser = new LoginUser();
+        loginUser.setUserId(1L);
+        loginUser.setUsername("user1");
+        cache.get("s1", id -> loginUser);
+
+        // 先预热再计时
+        for (int round = 0; round < 2; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                cache.get("s1", id -> loginUser);
+            }
+            long elapsed = System.nanoTime() - start;
+            if (round == 1) {
+                System.out.println("session lookup avg: " + (elapsed / ROUNDS) + " ns/op");
+            }
+        }
+    }
+}
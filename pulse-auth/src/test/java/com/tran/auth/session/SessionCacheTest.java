@@ -0,0 +1,67 @@
+package com.tran.auth.session;
+
+import com.tran.pulse.auth.domain.LoginUser;
+import com.tran.pulse.auth.properties.SessionCacheProperties;
+import com.tran.pulse.auth.session.LocalSessionRevocationBus;
+import com.tran.pulse.auth.session.SessionCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SessionCacheTest {
+
+    private static LoginUser user(long userId) {
+        LoginUser loginUser = new LoginUser();
+        loginUser.setUserId(userId);
+        loginUser.setUsername("user" + userId);
+        return loginUser;
+    }
+
+    @Test
+    public void revokeAcrossNodes() {
+        // 两个节点共用一条本地总线，模拟 Redis 广播
+        LocalSessionRevocationBus bus = new LocalSessionRevocationBus();
+        SessionCache node1 = new SessionCache(new SessionCacheProperties(), bus);
+        SessionCache node2 = new SessionCache(new SessionCacheProperties(), bus);
+        AtomicInteger loads = new AtomicInteger();
+
+        Assert.assertNotNull(node1.get("s1", id -> { loads.incrementAndGet(); return user(1); }));
+        Assert.assertNotNull(node1.get("s1", id -> { loads.incrementAndGet(); return user(1); }));
+        Assert.assertEquals(1, loads.get());
+        node2.get("s1", id -> user(1));
+        node2.get("s2", id -> user(1));
+        node2.get("s3", id -> user(2));
+
+        node1.revokeSession("s1");
+        Assert.assertEquals(0, node1.size());
+        Assert.assertEquals(2, node2.size());
+
+        node1.revokeUser(1L);
+        Assert.assertEquals(1, node2.size());
+        Assert.assertNull(node2.get("s2", id -> null));
+    }
+
+    @Test
+    public void revokeDuringLoad() {
+        LocalSessionRevocationBus bus = new LocalSessionRevocationBus();
+        SessionCache cache = new SessionCache(new SessionCacheProperties(), bus);
+        // 加载期间收到撤销，读到的旧值不回填
+        cache.get("s1", id -> {
+            cache.revokeSession(id);
+            return user(1);
+        });
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void disabled() {
+        SessionCacheProperties properties = new SessionCacheProperties();
+        properties.setEnabled(false);
+        SessionCache cache = new SessionCache(properties, new LocalSessionRevocationBus());
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("s1", id -> { loads.incrementAndGet(); return user(1); });
+        cache.get("s1", id -> { loads.incrementAndGet(); return user(1); });
+        Assert.assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,100 @@
+package com.tran.auth.session;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.tran.pulse.auth.domain.LoginUser;
+import com.tran.pulse.auth.properties.AuthProperties;
+import com.tran.pulse.auth.properties.SessionCacheProperties;
+import com.tran.pulse.auth.session.LocalSessionRevocationBus;
+import com.tran.pulse.auth.session.SessionCache;
+import com.tran.pulse.auth.session.TokenDenyList;
+import com.tran.pulse.auth.util.JwtUtils;
+import com.tran.pulse.auth.util.ParsedToken;
+import com.tran.pulse.auth.util.TokenClaims;
+import com.tran.pulse.cache.codec.CacheValueCodec;
+import com.tran.pulse.cache.codec.JacksonCacheCodec;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * 无状态 Access Token 与会话缓存两种校验方式的单次请求耗时对比
+ * 会话缓存的 Redis 模式只统计解码，不含网络往返
+ */
+public class StatelessTokenBenchmark {
+
+    private static final int ROUNDS = 50000;
+
+    @Test
+    public void compareModes() throws IOException {
+        AuthProperties authProperties = new AuthProperties();
+        authProperties.setSecret("VeryStrongSecretAtLeast32Characters!");
+        JwtUtils.setAuthProperties(authProperties);
+
+        LoginUser loginUser = new LoginUser(1024L, "pulse_user");
+        loginUser.setStatus("1000");
+        for (String role : new String[]{"ROLE_USER", "ROLE_MEMBER"}) {
+            loginUser.addRole(role);
+        }
+        for (String module : new String[]{"diet", "weight", "chat", "tag", "home", "plan"}) {
+            for (String action : new String[]{"view", "create", "update", "delete"}) {
+                loginUser.addPermission(module + ":" + action);
+            }
+        }
+
+        LocalSessionRevocationBus bus = new LocalSessionRevocationBus();
+        TokenDenyList denyList = new TokenDenyList(bus, JwtUtils.getAccessTokenExpireMillis(authProperties));
+        SessionCache sessionCache = new SessionCache(new SessionCacheProperties(), bus);
+        CacheValueCodec codec = new CacheValueCodec(Arrays.asList(
+                new JacksonCacheCodec(JacksonCacheCodec.JSON_ID, JacksonCacheCodec.JSON,
+                        JacksonCacheCodec.configure(JsonMapper.builder()).build()),
+                new JacksonCacheCodec(JacksonCacheCodec.SMILE_ID, JacksonCacheCodec.SMILE,
+                        JacksonCacheCodec.configure(SmileMapper.builder()).build())), JacksonCacheCodec.SMILE, false, -1);
+        JavaType type = CacheValueCodec.typeOf(LoginUser.class);
+        byte[] stored = codec.encode(loginUser);
+
+        String statelessToken = JwtUtils.generateAccessToken("s1", TokenClaims.of(loginUser, System.currentTimeMillis()));
+        String sessionToken = JwtUtils.generateAccessToken("s1");
+        System.out.printf("token size: stateless=%d B  session=%d B%n", statelessToken.length(), sessionToken.length());
+
+        Function<String, LoginUser> stateless = token -> {
+            ParsedToken parsed = JwtUtils.parseToken(token);
+            if (denyList.isDenied(parsed.getSubject(), TokenClaims.userId(parsed), TokenClaims.version(parsed))) {
+                return null;
+            }
+            return TokenClaims.toLoginUser(parsed);
+        };
+        Function<String, LoginUser> decode = id -> {
+            try {
+                return codec.decode(stored, type);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        Function<String, LoginUser> sessionLocal = token -> sessionCache.get(JwtUtils.parseToken(token).getSubject(), decode);
+        Function<String, LoginUser> sessionDecode = token -> decode.apply(JwtUtils.parseToken(token).getSubject());
+
+        // 先全部预热再计时，避免先后顺序影响 JIT 结果
+        for (int round = 0; round < 2; round++) {
+            boolean print = round == 1;
+            run("stateless", stateless, statelessToken, print);
+            run("session+local", sessionLocal, sessionToken, print);
+            run("session+decode", sessionDecode, sessionToken, print);
+        }
+    }
+
+    private static void run(String name, Function<String, LoginUser> resolver, String token, boolean print) {
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            resolver.apply(token);
+        }
+        long nanos = (System.nanoTime() - start) / ROUNDS;
+        if (print) {
+            System.out.printf("%-15s %7d ns/op  %9.0f ops/s%n", name, nanos, 1e9 / nanos);
+        }
+    }
+}
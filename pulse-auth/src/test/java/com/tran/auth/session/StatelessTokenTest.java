@@ -0,0 +1,55 @@
+package com.tran.auth.session;
+
+import com.tran.pulse.auth.domain.LoginUser;
+import com.tran.pulse.auth.properties.AuthProperties;
+import com.tran.pulse.auth.session.LocalSessionRevocationBus;
+import com.tran.pulse.auth.session.SessionRevocation;
+import com.tran.pulse.auth.session.TokenDenyList;
+import com.tran.pulse.auth.util.JwtUtils;
+import com.tran.pulse.auth.util.ParsedToken;
+import com.tran.pulse.auth.util.TokenClaims;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.function.Function;
+
+public class StatelessTokenTest {
+
+    @Test
+    public void restoreAndRevoke() throws Exception {
+        AuthProperties authProperties = new AuthProperties();
+        authProperties.setSecret("VeryStrongSecretAtLeast32Characters!");
+        JwtUtils.setAuthProperties(authProperties);
+
+        LoginUser loginUser = new LoginUser(1024L, "pulse_user");
+        loginUser.setStatus("1000");
+        loginUser.addRole("ROLE_USER");
+        loginUser.addPermission("diet:view");
+        loginUser.addPermission("chat:create");
+
+        LocalSessionRevocationBus bus = new LocalSessionRevocationBus();
+        TokenDenyList denyList = new TokenDenyList(bus, JwtUtils.getAccessTokenExpireMillis(authProperties));
+        Function<String, LoginUser> stateless = token -> {
+            ParsedToken parsed = JwtUtils.parseToken(token);
+            if (denyList.isDenied(parsed.getSubject(), TokenClaims.userId(parsed), TokenClaims.version(parsed))) {
+                return null;
+            }
+            return TokenClaims.toLoginUser(parsed);
+        };
+
+        String token = JwtUtils.generateAccessToken("s1", TokenClaims.of(loginUser, System.currentTimeMillis()));
+        LoginUser restored = stateless.apply(token);
+        Assert.assertEquals(loginUser.getUserId(), restored.getUserId());
+        Assert.assertEquals(loginUser.getPermissions(), restored.getPermissions());
+        Assert.assertEquals(loginUser.getAuthorities().size(), restored.getAuthorities().size());
+
+        // 撤销之前签发的令牌被拒绝，之后签发的不受影响
+        bus.publish(SessionRevocation.of(SessionRevocation.Scope.USER, "1024", System.currentTimeMillis() + 1));
+        Assert.assertNull(stateless.apply(token));
+        Thread.sleep(2);
+        String reissued = JwtUtils.generateAccessToken("s1", TokenClaims.of(loginUser, System.currentTimeMillis()));
+        Assert.assertNotNull(stateless.apply(reissued));
+        bus.publish(SessionRevocation.of(SessionRevocation.Scope.SESSION, "s1", System.currentTimeMillis() + 1));
+        Assert.assertNull(stateless.apply(reissued));
+    }
+}
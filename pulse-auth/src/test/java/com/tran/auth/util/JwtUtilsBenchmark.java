@@ -0,0 +1,35 @@
+package com.tran.auth.util;
+
+import com.tran.pulse.auth.properties.AuthProperties;
+import com.tran.pulse.auth.util.JwtUtils;
+import com.tran.pulse.common.util.StringIdGenerator;
+import org.junit.Test;
+
+/**
+ * 令牌解析耗时，签名密钥已缓存，每次只做一次解析和验签
+ */
+public class JwtUtilsBenchmark {
+
+    private static final int ROUNDS = 10000;
+
+    @Test
+    public void parseToken() {
+        AuthProperties authProperties = new AuthProperties();
+        authProperties.setSecret("VeryStrongSecretAtLeast32Characters!");
+        authProperties.setExpireSeconds(1800);
+        JwtUtils.setAuthProperties(authProperties);
+        String token = JwtUtils.generateAccessToken(StringIdGenerator.next());
+
+        // 先预热再计时
+        for (int round = 0; round < 2; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                JwtUtils.parseToken(token);
+            }
+            long elapsed = System.nanoTime() - start;
+            if (round == 1) {
+                System.out.println("parseToken avg: " + (elapsed / ROUNDS) + " ns/op");
+            }
+        }
+    }
+}
@@ -1,10 +1,24 @@
 package com.tran.auth.util;
 
+import com.tran.pulse.auth.key.JwksKeyResolver;
+import com.tran.pulse.auth.key.JwtKey;
 import com.tran.pulse.auth.properties.AuthProperties;
+import com.tran.pulse.auth.properties.JwtSigningProperties;
 import com.tran.pulse.auth.util.JwtUtils;
+import com.tran.pulse.auth.util.ParsedToken;
+import com.tran.pulse.auth.util.TokenPair;
+import com.tran.pulse.common.util.JacksonUtils;
 import com.tran.pulse.common.util.StringIdGenerator;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Map;
+
 public class JwtUtilsTest {
 
 
@@ -25,4 +39,124 @@ public class JwtUtilsTest {
         System.out.println("Username from token: " + JwtUtils.getUsernameFromToken(token));
         System.out.println("Is token expired: " + JwtUtils.isTokenExpired(token));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void parseToken() {
+        AuthProperties authProperties = new AuthProperties();
+        authProperties.setSecret("VeryStrongSecretAtLeast32Characters!");
+        authProperties.setExpireSeconds(1800);
+
+        JwtUtils.setAuthProperties(authProperties);
+
+        String id = StringIdGenerator.next();
+        TokenPair tokenPair = JwtUtils.generateTokenPair(id);
+
+        ParsedToken access = JwtUtils.parseToken(tokenPair.getAccessToken());
+        Assert.assertEquals(id, access.getSubject());
+        Assert.assertTrue(access.isAccessToken());
+        Assert.assertFalse(access.isExpired());
+        Assert.assertTrue(access.getRemainingSeconds() > 1700);
+
+        ParsedToken refresh = JwtUtils.parseToken(tokenPair.getRefreshToken());
+        Assert.assertTrue(refresh.isRefreshToken());
+    }
+
+    @Test
+    public void asymmetricKeyRotation() {
+        for (SignatureAlgorithm algorithm : new SignatureAlgorithm[]{SignatureAlgorithm.ES256, SignatureAlgorithm.RS256}) {
+            JwtKey first = JwtKey.generate("k1", algorithm);
+            JwtSigningProperties.Key entry = new JwtSigningProperties.Key();
+            entry.setId(first.getId());
+            entry.setPrivateKey(Base64.getEncoder().encodeToString(first.getSigningKey().getEncoded()));
+            entry.setPublicKey(Base64.getEncoder().encodeToString(first.getVerifyKey().getEncoded()));
+
+            AuthProperties authProperties = new AuthProperties();
+            authProperties.setSecret("VeryStrongSecretAtLeast32Characters!");
+            authProperties.getSigning().setAlgorithm(algorithm.getValue());
+            authProperties.getSigning().setKeys(Collections.singletonList(entry));
+            JwtUtils.setAuthProperties(authProperties);
+
+            String id = StringIdGenerator.next();
+            String oldToken = JwtUtils.generateAccessToken(id);
+            Assert.assertEquals("k1", Jwts.parser().setSigningKey(first.getVerifyKey()).parseClaimsJws(oldToken).getHeader().getKeyId());
+            Assert.assertEquals(id, JwtUtils.parseToken(oldToken).getSubject());
+
+            // 轮换后新令牌使用新密钥，旧令牌仍可校验，JWKS 同时公开两把公钥
+            JwtUtils.getKeySet().rotate(JwtKey.generate("k2", algorithm));
+            String newToken = JwtUtils.generateAccessToken(id);
+            Assert.assertEquals(id, JwtUtils.parseToken(oldToken).getSubject());
+            Assert.assertEquals(id, JwtUtils.parseToken(newToken).getSubject());
+
+            // 只持有公钥的验签方通过 JWKS 在本地校验
+            String jwks = JacksonUtils.toJson(JwtUtils.getJwks());
+            JwksKeyResolver resolver = new JwksKeyResolver("http://issuer/auth/jwks", 300000, 0) {
+                @Override
+                protected String fetch() {
+                    return jwks;
+                }
+            };
+            for (String token : new String[]{oldToken, newToken}) {
+                JwtKey key = resolver.resolve(kidOf(token));
+                Assert.assertEquals(id, Jwts.parser().setSigningKey(key.getVerifyKey()).parseClaimsJws(token).getBody().getSubject());
+            }
+            Assert.assertEquals(2, resolver.size());
+            Assert.assertNull(resolver.resolve("unknown"));
+
+            // 移除旧密钥后旧令牌失效
+            JwtUtils.getKeySet().retire("k1");
+            try {
+                JwtUtils.parseToken(oldToken);
+                Assert.fail("已移除密钥签发的令牌不应通过校验");
+            } catch (JwtException expected) {
+                // expected
+            }
+        }
+
+        // 公钥不能被当作 HMAC 密钥使用
+        JwtKey rsa = JwtKey.generate("k3", SignatureAlgorithm.RS256);
+        AuthProperties authProperties = new AuthProperties();
+        authProperties.getSigning().setAlgorithm("RS256");
+        JwtUtils.setAuthProperties(authProperties);
+        JwtUtils.getKeySet().rotate(rsa);
+        String forged = Jwts.builder().setHeaderParam("kid", "k3").setSubject("attacker")
+                .signWith(SignatureAlgorithm.HS256, rsa.getVerifyKey().getEncoded()).compact();
+        try {
+            JwtUtils.parseToken(forged);
+            Assert.fail("算法与密钥不匹配的令牌不应通过校验");
+        } catch (JwtException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void legacyHs256AfterMigration() {
+        AuthProperties authProperties = new AuthProperties();
+        authProperties.setSecret("VeryStrongSecretAtLeast32Characters!");
+        JwtUtils.setAuthProperties(authProperties);
+        String id = StringIdGenerator.next();
+        String legacy = JwtUtils.generateAccessToken(id);
+
+        JwtKey key = JwtKey.generate("k1", SignatureAlgorithm.ES256);
+        authProperties.getSigning().setAlgorithm("ES256");
+        JwtUtils.setAuthProperties(authProperties);
+        JwtUtils.getKeySet().rotate(key);
+        // 默认不接受迁移前不带 kid 的 HS256 令牌
+        try {
+            JwtUtils.parseToken(legacy);
+            Assert.fail("未开启兼容时不应接受旧令牌");
+        } catch (JwtException expected) {
+            // expected
+        }
+
+        authProperties.getSigning().setAcceptLegacyHs256(true);
+        JwtUtils.setAuthProperties(authProperties);
+        JwtUtils.getKeySet().rotate(key);
+        Assert.assertEquals(id, JwtUtils.parseToken(legacy).getSubject());
+        Assert.assertEquals(id, JwtUtils.parseToken(JwtUtils.generateAccessToken(id)).getSubject());
+    }
+
+    private static String kidOf(String token) {
+        String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+        return String.valueOf(JacksonUtils.fromJson(header, Map.class).get("kid"));
+    }
+}
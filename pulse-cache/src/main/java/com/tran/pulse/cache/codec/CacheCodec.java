@@ -0,0 +1,66 @@
+package com.tran.pulse.cache.codec;
+
+import com.fasterxml.jackson.databind.JavaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 缓存值编解码器（SPI）
+ * Redis 缓存写入时用配置的编解码器编码，读取时按值头部记录的编号选择编解码器，
+ * 因此切换编解码器后已有缓存仍可读取。自定义实现注册为 Spring Bean 即可生效，编号不能与内置实现重复。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public interface CacheCodec {
+
+    /**
+     * 编解码器编号，写入值头部，发布后不能修改
+     */
+    byte getId();
+
+    /**
+     * 编解码器名称，用于 pulse.cache.redis.codec 配置
+     */
+    String getName();
+
+    /**
+     * 编码
+     *
+     * @param value 缓存值，不为 null
+     * @return 编码结果
+     */
+    byte[] encode(Object value) throws IOException;
+
+    /**
+     * 解码
+     *
+     * @param data   数据
+     * @param offset 起始位置
+     * @param length 长度
+     * @param type   目标类型
+     * @return 缓存值
+     */
+    Object decode(byte[] data, int offset, int length, JavaType type) throws IOException;
+
+    /**
+     * 从流中解码，供堆外缓存直接读取内存块；默认先读入数组，能直接解析流的实现应覆盖此方法
+     *
+     * @param in   数据流，读到末尾即为数据结束
+     * @param type 目标类型
+     * @return 缓存值
+     */
+    default Object decode(InputStream in, JavaType type) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            out.write(buffer, 0, n);
+        }
+        byte[] data = out.toByteArray();
+        return decode(data, 0, data.length, type);
+    }
+}
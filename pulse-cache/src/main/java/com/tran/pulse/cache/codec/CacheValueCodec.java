@@ -0,0 +1,242 @@
+package com.tran.pulse.cache.codec;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.Collection;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 缓存值编码
+ * 编码格式：魔数(1) + 格式版本(1) + 编解码器编号(1) + 标志位(1) + 数据，
+ * 数据超过阈值时使用 Deflate 压缩。读取时按头部选择编解码器，没有头部的值按旧版 JSON 字符串解析，
+ * 滚动升级期间新旧格式可以共存。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class CacheValueCodec {
+
+    /**
+     * 魔数，0xC0 不会出现在 UTF-8 文本中，可以与旧版 JSON 字符串区分
+     */
+    static final byte MAGIC = (byte) 0xC0;
+
+    /**
+     * 当前头部格式版本
+     */
+    static final byte FORMAT_VERSION = 1;
+
+    static final int HEADER_LENGTH = 4;
+
+    /**
+     * 标志位：数据经过 Deflate 压缩
+     */
+    static final byte FLAG_DEFLATE = 1;
+
+    private static final TypeFactory TYPE_FACTORY = TypeFactory.defaultInstance();
+
+    /**
+     * 按编号索引的编解码器
+     */
+    private final CacheCodec[] codecs = new CacheCodec[256];
+
+    /**
+     * 写入使用的编解码器
+     */
+    private final CacheCodec writer;
+
+    /**
+     * 旧版无头部数据使用的编解码器
+     */
+    private final CacheCodec legacy;
+
+    /**
+     * 是否按旧版格式写入（无头部 JSON）
+     */
+    private final boolean legacyWrite;
+
+    /**
+     * 压缩阈值（字节），<=0 表示不压缩
+     */
+    private final int compressThreshold;
+
+    /**
+     * @param codecs            可用的编解码器
+     * @param writerName        写入使用的编解码器名称
+     * @param legacyWrite       是否按旧版格式写入，滚动升级期间旧节点仍在运行时开启
+     * @param compressThreshold 压缩阈值（字节），<=0 表示不压缩
+     */
+    public CacheValueCodec(Collection<? extends CacheCodec> codecs, String writerName, boolean legacyWrite, int compressThreshold) {
+        CacheCodec writer = null;
+        for (CacheCodec codec : codecs) {
+            int index = codec.getId() & 0xFF;
+            if (this.codecs[index] != null) {
+                throw new IllegalStateException("缓存编解码器编号重复: " + codec.getId()
+                        + " (" + this.codecs[index].getName() + ", " + codec.getName() + ")");
+            }
+            this.codecs[index] = codec;
+            if (codec.getName().equalsIgnoreCase(writerName)) {
+                writer = codec;
+            }
+        }
+        if (writer == null) {
+            throw new IllegalStateException("未找到缓存编解码器: " + writerName);
+        }
+        this.legacy = this.codecs[JacksonCacheCodec.JSON_ID];
+        if (this.legacy == null) {
+            throw new IllegalStateException("缺少 JSON 缓存编解码器");
+        }
+        this.writer = legacyWrite ? this.legacy : writer;
+        this.legacyWrite = legacyWrite;
+        this.compressThreshold = compressThreshold;
+    }
+
+    public static JavaType typeOf(Class<?> clazz) {
+        return TYPE_FACTORY.constructType(clazz);
+    }
+
+    public static JavaType typeOf(TypeReference<?> typeReference) {
+        return TYPE_FACTORY.constructType(typeReference);
+    }
+
+    /**
+     * 编码缓存值
+     *
+     * @param value 缓存值，不为 null
+     * @return 带头部的数据（旧版格式时为 JSON 字节）
+     */
+    public byte[] encode(Object value) throws IOException {
+        byte[] body = writer.encode(value);
+        if (legacyWrite) {
+            return body;
+        }
+        byte flags = 0;
+        if (compressThreshold > 0 && body.length >= compressThreshold) {
+            byte[] compressed = deflate(body);
+            // 压缩收益不足时保留原文
+            if (compressed.length < body.length) {
+                body = compressed;
+                flags |= FLAG_DEFLATE;
+            }
+        }
+        byte[] data = new byte[HEADER_LENGTH + body.length];
+        data[0] = MAGIC;
+        data[1] = FORMAT_VERSION;
+        data[2] = writer.getId();
+        data[3] = flags;
+        System.arraycopy(body, 0, data, HEADER_LENGTH, body.length);
+        return data;
+    }
+
+    /**
+     * 解码缓存值
+     *
+     * @param data 数据
+     * @param type 目标类型
+     * @return 缓存值，data 为 null 时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T decode(byte[] data, JavaType type) throws IOException {
+        if (data == null) {
+            return null;
+        }
+        if (data.length < HEADER_LENGTH || data[0] != MAGIC) {
+            return (T) legacy.decode(data, 0, data.length, type);
+        }
+        if (data[1] > FORMAT_VERSION) {
+            throw new IOException("不支持的缓存格式版本: " + data[1]);
+        }
+        CacheCodec codec = codecs[data[2] & 0xFF];
+        if (codec == null) {
+            throw new IOException("未知的缓存编解码器编号: " + data[2]);
+        }
+        if ((data[3] & FLAG_DEFLATE) != 0) {
+            byte[] body = inflate(data, HEADER_LENGTH, data.length - HEADER_LENGTH);
+            return (T) codec.decode(body, 0, body.length, type);
+        }
+        return (T) codec.decode(data, HEADER_LENGTH, data.length - HEADER_LENGTH, type);
+    }
+
+    /**
+     * 从流中解码缓存值，不需要先把数据复制成数组
+     *
+     * @param in   数据流，读到末尾即为数据结束
+     * @param type 目标类型
+     * @return 缓存值
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T decode(InputStream in, JavaType type) throws IOException {
+        PushbackInputStream stream = new PushbackInputStream(in, HEADER_LENGTH);
+        byte[] header = new byte[HEADER_LENGTH];
+        int read = 0;
+        while (read < HEADER_LENGTH) {
+            int n = stream.read(header, read, HEADER_LENGTH - read);
+            if (n < 0) {
+                break;
+            }
+            read += n;
+        }
+        if (read < HEADER_LENGTH || header[0] != MAGIC) {
+            stream.unread(header, 0, read);
+            return (T) legacy.decode(stream, type);
+        }
+        if (header[1] > FORMAT_VERSION) {
+            throw new IOException("不支持的缓存格式版本: " + header[1]);
+        }
+        CacheCodec codec = codecs[header[2] & 0xFF];
+        if (codec == null) {
+            throw new IOException("未知的缓存编解码器编号: " + header[2]);
+        }
+        if ((header[3] & FLAG_DEFLATE) != 0) {
+            return (T) codec.decode(new InflaterInputStream(stream), type);
+        }
+        return (T) codec.decode(stream, type);
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 16);
+            byte[] buffer = new byte[Math.min(8192, data.length + 16)];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data, int offset, int length) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, offset, length);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(length * 3);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("压缩数据不完整");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IOException("解压缓存数据失败", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
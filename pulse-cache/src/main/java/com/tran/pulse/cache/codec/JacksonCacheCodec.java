@@ -0,0 +1,79 @@
+package com.tran.pulse.cache.codec;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 基于 Jackson 的编解码器，格式由 ObjectMapper 的底层工厂决定（JSON 或 Smile 二进制）
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class JacksonCacheCodec implements CacheCodec {
+
+    public static final byte JSON_ID = 1;
+
+    public static final byte SMILE_ID = 2;
+
+    public static final String JSON = "json";
+
+    public static final String SMILE = "smile";
+
+    private final byte id;
+
+    private final String name;
+
+    private final ObjectMapper objectMapper;
+
+    public JacksonCacheCodec(byte id, String name, ObjectMapper objectMapper) {
+        this.id = id;
+        this.name = name;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public byte getId() {
+        return id;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public byte[] encode(Object value) throws IOException {
+        return objectMapper.writeValueAsBytes(value);
+    }
+
+    @Override
+    public Object decode(byte[] data, int offset, int length, JavaType type) throws IOException {
+        return objectMapper.readValue(data, offset, length, type);
+    }
+
+    @Override
+    public Object decode(InputStream in, JavaType type) throws IOException {
+        return objectMapper.readValue(in, type);
+    }
+
+    /**
+     * 缓存使用的 JSON 与 Smile 保持相同的映射配置
+     */
+    public static <M extends ObjectMapper, B extends MapperBuilder<M, B>> B configure(B builder) {
+        return builder
+                // 忽略未知属性
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                // 添加 Java 8 时间模块支持
+                .addModule(new JavaTimeModule())
+                // 序列化时忽略 null
+                .serializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+}
@@ -1,10 +1,14 @@
 package com.tran.pulse.cache.configuration;
 
+import com.tran.pulse.cache.metrics.CacheMetrics;
 import com.tran.pulse.cache.properties.PulseCacheProperties;
 import com.tran.pulse.cache.service.CacheOperations;
 import com.tran.pulse.cache.service.CacheOperationsProxy;
 import com.tran.pulse.cache.service.GuavaCacheOperations;
 import com.tran.pulse.cache.util.SpringContextUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 
@@ -27,14 +31,23 @@ public class CacheConfiguration {
     }
 
 
+    /**
+     * 缓存指标，优先注册到应用的 MeterRegistry（如 actuator 提供的），没有时使用内存注册表
+     */
     @Bean
-    public CacheOperations guavaCacheOperations(PulseCacheProperties pulseCacheProperties) {
-        return new GuavaCacheOperations(pulseCacheProperties);
+    public CacheMetrics cacheMetrics(PulseCacheProperties pulseCacheProperties, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new CacheMetrics(meterRegistry.getIfAvailable(SimpleMeterRegistry::new), pulseCacheProperties.getMetrics());
     }
 
     @Bean
-    public CacheOperationsProxy cacheOperationsProxy(PulseCacheProperties pulseCacheProperties, List<CacheOperations> cacheOperations) {
-        return new CacheOperationsProxy(pulseCacheProperties, cacheOperations);
+    public CacheOperations guavaCacheOperations(PulseCacheProperties pulseCacheProperties, CacheMetrics cacheMetrics) {
+        return new GuavaCacheOperations(pulseCacheProperties, cacheMetrics);
+    }
+
+    @Bean
+    public CacheOperationsProxy cacheOperationsProxy(PulseCacheProperties pulseCacheProperties, List<CacheOperations> cacheOperations,
+                                                     CacheMetrics cacheMetrics) {
+        return new CacheOperationsProxy(pulseCacheProperties, cacheOperations, cacheMetrics);
     }
 
     @Bean
@@ -0,0 +1,27 @@
+package com.tran.pulse.cache.configuration;
+
+import com.tran.pulse.cache.metrics.CacheMetrics;
+import com.tran.pulse.cache.metrics.CacheMetricsEndpoint;
+import com.tran.pulse.cache.properties.PulseCacheProperties;
+import com.tran.pulse.cache.service.CacheOperationsProxy;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * 缓存指标端点配置
+ * 引入 spring-boot-actuator 时注册 pulsecache 端点
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+@ConditionalOnClass(Endpoint.class)
+public class CacheMetricsConfiguration {
+
+    @Bean
+    public CacheMetricsEndpoint cacheMetricsEndpoint(CacheMetrics cacheMetrics, CacheOperationsProxy cacheOperationsProxy,
+                                                     PulseCacheProperties pulseCacheProperties) {
+        return new CacheMetricsEndpoint(cacheMetrics, cacheOperationsProxy, pulseCacheProperties);
+    }
+}
@@ -0,0 +1,49 @@
+package com.tran.pulse.cache.configuration;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.tran.pulse.cache.codec.CacheCodec;
+import com.tran.pulse.cache.codec.CacheValueCodec;
+import com.tran.pulse.cache.codec.JacksonCacheCodec;
+import com.tran.pulse.cache.metrics.CacheMetrics;
+import com.tran.pulse.cache.properties.OffHeapProperties;
+import com.tran.pulse.cache.properties.PulseCacheProperties;
+import com.tran.pulse.cache.service.CacheOperations;
+import com.tran.pulse.cache.service.OffHeapCacheOperations;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 堆外缓存配置
+ * pulse.cache.mode 为 OFFHEAP 时生效
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+@ConditionalOnProperty(name = "pulse.cache.mode", havingValue = "OFFHEAP")
+public class OffHeapConfiguration {
+
+    /**
+     * 创建OffHeapCacheOperations Bean，编解码与 Redis 缓存一致，内置 json、smile，其余 CacheCodec Bean 作为扩展
+     */
+    @Bean
+    public CacheOperations offHeapCacheOperations(PulseCacheProperties cacheProperties,
+                                                  ObjectProvider<CacheCodec> customCodecs,
+                                                  CacheMetrics cacheMetrics) {
+        OffHeapProperties offHeapProperties = cacheProperties.getOffHeap();
+        List<CacheCodec> codecs = new ArrayList<>();
+        codecs.add(new JacksonCacheCodec(JacksonCacheCodec.JSON_ID, JacksonCacheCodec.JSON,
+                JacksonCacheCodec.configure(JsonMapper.builder()).build()));
+        codecs.add(new JacksonCacheCodec(JacksonCacheCodec.SMILE_ID, JacksonCacheCodec.SMILE,
+                JacksonCacheCodec.configure(SmileMapper.builder()).build()));
+        customCodecs.orderedStream().forEach(codecs::add);
+        CacheValueCodec codec = new CacheValueCodec(codecs, offHeapProperties.getCodec(), false,
+                offHeapProperties.getCompressThresholdBytes());
+        return new OffHeapCacheOperations(cacheProperties, codec, cacheMetrics);
+    }
+}
@@ -1,37 +1,54 @@
 package com.tran.pulse.cache.configuration;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.tran.pulse.cache.codec.CacheCodec;
+import com.tran.pulse.cache.codec.CacheValueCodec;
+import com.tran.pulse.cache.codec.JacksonCacheCodec;
+import com.tran.pulse.cache.metrics.CacheMetrics;
 import com.tran.pulse.cache.properties.PulseCacheProperties;
 import com.tran.pulse.cache.properties.RedisProperties;
 import com.tran.pulse.cache.service.CacheOperations;
 import com.tran.pulse.cache.service.RedisCacheOperations;
+import com.tran.pulse.cache.service.TieredCacheOperations;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisPassword;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Redis缓存配置类
+ * pulse.cache.mode 为 REDIS 或 TIERED 时生效，TIERED 时额外注册本地 + Redis 的多级缓存
  * @author tran
  * @version 1.0.0.0
  * @date 2025/6/24 15:48
  **/
-@ConditionalOnProperty(name = "pulse.cache.mode", havingValue = "REDIS")
+@Conditional(RedisModeCondition.class)
 public class RedisConfiguration {
 
     @Bean
-    public RedisConnectionFactory redisConnectionFactory(PulseCacheProperties cacheProperties) {
+    public LettuceConnectionFactory redisConnectionFactory(PulseCacheProperties cacheProperties) {
         RedisProperties cacheRedisProperties = cacheProperties.getRedis();
         LettuceClientConfiguration clientConfig = LettuceClientConfiguration.builder()
                 .commandTimeout(Duration.ofSeconds(cacheRedisProperties.getTimeoutSeconds()))
@@ -76,31 +93,96 @@ public class RedisConfiguration {
         return template;
     }
 
+    /**
+     * 缓存值使用的RedisTemplate，Key为字符串，Value为编码后的字节
+     */
+    @Bean
+    public RedisTemplate<String, byte[]> cacheRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(StringRedisSerializer.UTF_8);
+        template.setHashKeySerializer(StringRedisSerializer.UTF_8);
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.setHashValueSerializer(RedisSerializer.byteArray());
+        template.setEnableDefaultSerializer(false);
+        template.afterPropertiesSet();
+        return template;
+    }
+
     /**
      * 配置ObjectMapper用于JSON序列化
      * 专门用于缓存操作的JSON转换
      */
     @Bean("cacheObjectMapper")
     public ObjectMapper cacheObjectMapper() {
-        return JsonMapper.builder()
-                // 忽略未知属性
-                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-                // 添加 Java 8 时间模块支持
-                .addModule(new JavaTimeModule())
-                // 序列化时忽略 null
-                .serializationInclusion(JsonInclude.Include.NON_NULL)
-                .build();
+        return JacksonCacheCodec.configure(JsonMapper.builder()).build();
     }
 
+    /**
+     * 缓存值编解码，内置 json、smile，其余 CacheCodec Bean 作为扩展
+     */
+    @Bean
+    public CacheValueCodec cacheValueCodec(PulseCacheProperties cacheProperties,
+                                           @Qualifier("cacheObjectMapper") ObjectMapper cacheObjectMapper,
+                                           ObjectProvider<CacheCodec> customCodecs) {
+        RedisProperties redisProperties = cacheProperties.getRedis();
+        List<CacheCodec> codecs = new ArrayList<>();
+        codecs.add(new JacksonCacheCodec(JacksonCacheCodec.JSON_ID, JacksonCacheCodec.JSON, cacheObjectMapper));
+        codecs.add(new JacksonCacheCodec(JacksonCacheCodec.SMILE_ID, JacksonCacheCodec.SMILE,
+                JacksonCacheCodec.configure(SmileMapper.builder()).build()));
+        customCodecs.orderedStream().forEach(codecs::add);
+        return new CacheValueCodec(codecs, redisProperties.getCodec(), redisProperties.isLegacyFormat(),
+                redisProperties.getCompressThresholdBytes());
+    }
+
+    /**
+     * 缓存异步操作使用的独立连接，复用连接工厂的客户端和连接配置
+     */
+    @Bean(destroyMethod = "close")
+    public StatefulRedisConnection<String, byte[]> cacheAsyncConnection(LettuceConnectionFactory redisConnectionFactory) {
+        RedisClient client = (RedisClient) redisConnectionFactory.getRequiredNativeClient();
+        return client.connect(RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE));
+    }
 
     /**
      * 创建RedisCacheOperations Bean
      */
     @Bean
     public CacheOperations redisCacheOperations(
+            RedisTemplate<String, byte[]> cacheRedisTemplate,
+            PulseCacheProperties cacheProperties,
+            CacheValueCodec cacheValueCodec,
+            StatefulRedisConnection<String, byte[]> cacheAsyncConnection,
+            CacheMetrics cacheMetrics) {
+        return new RedisCacheOperations(cacheRedisTemplate, cacheProperties, cacheValueCodec, cacheAsyncConnection.async(),
+                cacheMetrics);
+    }
+
+    /**
+     * 多级缓存失效通知监听容器
+     */
+    @Bean
+    @ConditionalOnProperty(name = "pulse.cache.mode", havingValue = "TIERED")
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    /**
+     * 创建TieredCacheOperations Bean，以 RedisCacheOperations 作为二级缓存
+     */
+    @Bean
+    @ConditionalOnProperty(name = "pulse.cache.mode", havingValue = "TIERED")
+    public CacheOperations tieredCacheOperations(
+            @Qualifier("redisCacheOperations") CacheOperations redisCacheOperations,
             RedisTemplate<String, String> redisTemplate,
             PulseCacheProperties cacheProperties,
-            ObjectMapper objectMapper) {
-        return new RedisCacheOperations(redisTemplate, cacheProperties, objectMapper);
+            RedisMessageListenerContainer cacheInvalidationListenerContainer,
+            CacheMetrics cacheMetrics) {
+        TieredCacheOperations tiered = new TieredCacheOperations(redisCacheOperations, redisTemplate, cacheProperties,
+                cacheMetrics);
+        cacheInvalidationListenerContainer.addMessageListener(tiered, new ChannelTopic(tiered.getChannel()));
+        return tiered;
     }
 }
\ No newline at end of file
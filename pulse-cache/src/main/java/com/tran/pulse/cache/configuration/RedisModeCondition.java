@@ -0,0 +1,22 @@
+package com.tran.pulse.cache.configuration;
+
+import com.tran.pulse.cache.constants.CacheMode;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * 缓存模式需要 Redis 时生效：REDIS 或 TIERED
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class RedisModeCondition implements Condition {
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        String mode = context.getEnvironment().getProperty("pulse.cache.mode");
+        return CacheMode.REDIS.name().equalsIgnoreCase(mode) || CacheMode.TIERED.name().equalsIgnoreCase(mode);
+    }
+}
@@ -2,9 +2,10 @@ package com.tran.pulse.cache.constants;
 
 /**
  * 环境模式
+ * TIERED 为本地缓存 + Redis 的多级缓存，OFFHEAP 为序列化后存放在堆外内存的本地缓存
  *
  * @author tran
  */
 public enum CacheMode {
-    REDIS,GUAVA
+    REDIS,GUAVA,TIERED,OFFHEAP
 }
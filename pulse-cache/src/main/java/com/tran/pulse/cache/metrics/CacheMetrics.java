@@ -0,0 +1,336 @@
+package com.tran.pulse.cache.metrics;
+
+import com.tran.pulse.cache.constants.CacheMode;
+import com.tran.pulse.cache.properties.MetricsProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 缓存指标
+ * 命中、未命中、加载次数与耗时、移除次数、值大小按缓存方式和键前缀分组发布到 Micrometer
+ *
+ * <pre>
+ * pulse.cache.requests      计数  cache, prefix, result=hit|miss
+ * pulse.cache.loads         计数  cache, prefix, result=success|failure
+ * pulse.cache.load.duration 计时  cache, prefix（带百分位直方图）
+ * pulse.cache.evictions     计数  cache, prefix, cause
+ * pulse.cache.payload.size  分布  cache, prefix（字节）
+ * </pre>
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class CacheMetrics {
+
+    public static final String REQUESTS = "pulse.cache.requests";
+
+    public static final String LOADS = "pulse.cache.loads";
+
+    public static final String LOAD_DURATION = "pulse.cache.load.duration";
+
+    public static final String EVICTIONS = "pulse.cache.evictions";
+
+    public static final String PAYLOAD_SIZE = "pulse.cache.payload.size";
+
+    /**
+     * 超出前缀数量上限或无法推断时使用的前缀
+     */
+    public static final String OTHER = "other";
+
+    /**
+     * 超过该长度的分段视为 ID（token、UUID 等）
+     */
+    private static final int MAX_SEGMENT_LENGTH = 32;
+
+    private final MeterRegistry registry;
+
+    private final boolean enabled;
+
+    /**
+     * 显式前缀，按长度倒序以便最长匹配
+     */
+    private final List<String> prefixes;
+
+    private final int maxPrefixDepth;
+
+    private final int maxPrefixes;
+
+    /**
+     * 缓存方式 -> 前缀 -> 指标
+     */
+    private final Map<CacheMode, ConcurrentMap<String, PrefixMeters>> meters = new ConcurrentHashMap<>();
+
+    public CacheMetrics(MeterRegistry registry, MetricsProperties metricsProperties) {
+        this.registry = registry;
+        this.enabled = metricsProperties.isEnabled();
+        this.maxPrefixDepth = Math.max(1, metricsProperties.getMaxPrefixDepth());
+        this.maxPrefixes = Math.max(1, metricsProperties.getMaxPrefixes());
+        List<String> configured = new ArrayList<>();
+        if (metricsProperties.getPrefixes() != null) {
+            for (String prefix : metricsProperties.getPrefixes()) {
+                if (prefix != null && !prefix.isEmpty()) {
+                    configured.add(prefix);
+                }
+            }
+        }
+        configured.sort(Comparator.comparingInt(String::length).reversed());
+        this.prefixes = configured;
+    }
+
+    /**
+     * 不记录任何指标的实例，未配置指标时使用
+     */
+    public static CacheMetrics disabled() {
+        MetricsProperties properties = new MetricsProperties();
+        properties.setEnabled(false);
+        return new CacheMetrics(new SimpleMeterRegistry(), properties);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 计算键的逻辑前缀
+     * 优先取最长匹配的显式前缀，否则按 ':' 分段，遇到 ID 样式的分段或达到深度上限时截止
+     *
+     * @param key 缓存键（不含命名空间）
+     * @return 前缀，例如 home:advice_key:12 返回 home:advice_key
+     */
+    public String prefixOf(String key) {
+        if (key == null || key.isEmpty()) {
+            return OTHER;
+        }
+        for (String prefix : prefixes) {
+            if (key.startsWith(prefix)) {
+                return trimColon(prefix);
+            }
+        }
+        int depth = 0;
+        int end = 0;
+        int start = 0;
+        while (depth < maxPrefixDepth && start <= key.length()) {
+            int colon = key.indexOf(':', start);
+            int segmentEnd = colon < 0 ? key.length() : colon;
+            if (segmentEnd == start || isIdentifier(key, start, segmentEnd)) {
+                break;
+            }
+            end = segmentEnd;
+            depth++;
+            if (colon < 0) {
+                break;
+            }
+            start = colon + 1;
+        }
+        return end == 0 ? OTHER : key.substring(0, end);
+    }
+
+    public void recordHit(CacheMode mode, String key) {
+        if (enabled) {
+            meters(mode, key).hits.increment();
+        }
+    }
+
+    public void recordMiss(CacheMode mode, String key) {
+        if (enabled) {
+            meters(mode, key).misses.increment();
+        }
+    }
+
+    /**
+     * 记录一次回源加载
+     *
+     * @param nanos   加载耗时（纳秒）
+     * @param success 是否加载成功
+     */
+    public void recordLoad(CacheMode mode, String key, long nanos, boolean success) {
+        if (!enabled) {
+            return;
+        }
+        PrefixMeters prefixMeters = meters(mode, key);
+        (success ? prefixMeters.loadSuccess : prefixMeters.loadFailure).increment();
+        prefixMeters.loadDuration.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 记录一次非显式删除的移除（容量淘汰、过期等）
+     *
+     * @param cause 移除原因
+     */
+    public void recordEviction(CacheMode mode, String key, String cause) {
+        if (!enabled) {
+            return;
+        }
+        PrefixMeters prefixMeters = meters(mode, key);
+        prefixMeters.evictions.computeIfAbsent(cause.toLowerCase(Locale.ROOT), c -> Counter.builder(EVICTIONS)
+                .description("缓存移除次数")
+                .tags("cache", tagOf(mode), "prefix", prefixMeters.prefix, "cause", c)
+                .register(registry)).increment();
+    }
+
+    /**
+     * 记录写入的值大小
+     *
+     * @param bytes 编码后的字节数
+     */
+    public void recordPayload(CacheMode mode, String key, int bytes) {
+        if (enabled) {
+            meters(mode, key).payloadSize.record(bytes);
+        }
+    }
+
+    /**
+     * 当前所有前缀的统计快照
+     *
+     * @return 缓存方式 -> 前缀 -> 统计
+     */
+    public Map<CacheMode, Map<String, CachePrefixStats>> snapshot() {
+        Map<CacheMode, Map<String, CachePrefixStats>> result = new LinkedHashMap<>();
+        for (CacheMode mode : CacheMode.values()) {
+            ConcurrentMap<String, PrefixMeters> modeMeters = meters.get(mode);
+            if (modeMeters == null || modeMeters.isEmpty()) {
+                continue;
+            }
+            Map<String, CachePrefixStats> stats = new LinkedHashMap<>();
+            modeMeters.keySet().stream().sorted()
+                    .forEach(prefix -> stats.put(prefix, modeMeters.get(prefix).snapshot()));
+            result.put(mode, stats);
+        }
+        return result;
+    }
+
+    /**
+     * 单个前缀在各缓存方式下的统计快照
+     *
+     * @param prefix 前缀
+     * @return 缓存方式 -> 统计，前缀未出现过时为空
+     */
+    public Map<CacheMode, CachePrefixStats> snapshot(String prefix) {
+        Map<CacheMode, CachePrefixStats> result = new LinkedHashMap<>();
+        for (CacheMode mode : CacheMode.values()) {
+            ConcurrentMap<String, PrefixMeters> modeMeters = meters.get(mode);
+            PrefixMeters prefixMeters = modeMeters == null ? null : modeMeters.get(prefix);
+            if (prefixMeters != null) {
+                result.put(mode, prefixMeters.snapshot());
+            }
+        }
+        return result;
+    }
+
+    private PrefixMeters meters(CacheMode mode, String key) {
+        ConcurrentMap<String, PrefixMeters> modeMeters = meters.computeIfAbsent(mode, m -> new ConcurrentHashMap<>());
+        String prefix = prefixOf(key);
+        PrefixMeters prefixMeters = modeMeters.get(prefix);
+        if (prefixMeters != null) {
+            return prefixMeters;
+        }
+        // 限制前缀数量，防止动态键撑爆指标维度
+        if (modeMeters.size() >= maxPrefixes) {
+            prefix = OTHER;
+        }
+        return modeMeters.computeIfAbsent(prefix, p -> new PrefixMeters(registry, tagOf(mode), p));
+    }
+
+    private static boolean isIdentifier(String key, int start, int end) {
+        if (end - start > MAX_SEGMENT_LENGTH) {
+            return true;
+        }
+        for (int i = start; i < end; i++) {
+            if (Character.isDigit(key.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String trimColon(String prefix) {
+        return prefix.endsWith(":") ? prefix.substring(0, prefix.length() - 1) : prefix;
+    }
+
+    private static String tagOf(CacheMode mode) {
+        return mode.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 单个缓存方式 + 前缀的指标
+     */
+    private static final class PrefixMeters {
+
+        private final String prefix;
+
+        private final Counter hits;
+
+        private final Counter misses;
+
+        private final Counter loadSuccess;
+
+        private final Counter loadFailure;
+
+        private final Timer loadDuration;
+
+        private final DistributionSummary payloadSize;
+
+        private final ConcurrentMap<String, Counter> evictions = new ConcurrentHashMap<>();
+
+        private PrefixMeters(MeterRegistry registry, String cache, String prefix) {
+            this.prefix = prefix;
+            this.hits = Counter.builder(REQUESTS).description("缓存请求次数")
+                    .tags("cache", cache, "prefix", prefix, "result", "hit").register(registry);
+            this.misses = Counter.builder(REQUESTS).description("缓存请求次数")
+                    .tags("cache", cache, "prefix", prefix, "result", "miss").register(registry);
+            this.loadSuccess = Counter.builder(LOADS).description("缓存回源加载次数")
+                    .tags("cache", cache, "prefix", prefix, "result", "success").register(registry);
+            this.loadFailure = Counter.builder(LOADS).description("缓存回源加载次数")
+                    .tags("cache", cache, "prefix", prefix, "result", "failure").register(registry);
+            this.loadDuration = Timer.builder(LOAD_DURATION).description("缓存回源加载耗时")
+                    .tags("cache", cache, "prefix", prefix)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.payloadSize = DistributionSummary.builder(PAYLOAD_SIZE).description("缓存值编码后大小")
+                    .baseUnit("bytes")
+                    .tags("cache", cache, "prefix", prefix)
+                    .register(registry);
+        }
+
+        private CachePrefixStats snapshot() {
+            HistogramSnapshot load = loadDuration.takeSnapshot();
+            double p50 = 0D;
+            double p95 = 0D;
+            double p99 = 0D;
+            for (ValueAtPercentile value : load.percentileValues()) {
+                double millis = value.value(TimeUnit.MILLISECONDS);
+                if (value.percentile() == 0.5) {
+                    p50 = millis;
+                } else if (value.percentile() == 0.95) {
+                    p95 = millis;
+                } else if (value.percentile() == 0.99) {
+                    p99 = millis;
+                }
+            }
+            Map<String, Long> evictionCounts = new LinkedHashMap<>();
+            evictions.keySet().stream().sorted()
+                    .forEach(cause -> evictionCounts.put(cause, (long) evictions.get(cause).count()));
+            return new CachePrefixStats((long) hits.count(), (long) misses.count(),
+                    (long) loadSuccess.count(), (long) loadFailure.count(),
+                    load.mean(TimeUnit.MILLISECONDS), p50, p95, p99, load.max(TimeUnit.MILLISECONDS),
+                    evictionCounts, payloadSize.count(), payloadSize.mean(), payloadSize.max());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.tran.pulse.cache.metrics;
+
+import com.tran.pulse.cache.constants.CacheMode;
+import com.tran.pulse.cache.properties.PulseCacheProperties;
+import com.tran.pulse.cache.service.CacheOperations;
+import com.tran.pulse.cache.service.CacheOperationsProxy;
+import com.tran.pulse.cache.service.OffHeapCacheOperations;
+import com.tran.pulse.cache.service.TieredCacheOperations;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 缓存指标端点
+ * GET /actuator/pulsecache 返回所有前缀的统计，GET /actuator/pulsecache/{prefix} 返回单个前缀
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+@Endpoint(id = "pulsecache")
+public class CacheMetricsEndpoint {
+
+    private final CacheMetrics cacheMetrics;
+
+    private final CacheOperationsProxy cacheOperationsProxy;
+
+    private final PulseCacheProperties pulseCacheProperties;
+
+    public CacheMetricsEndpoint(CacheMetrics cacheMetrics, CacheOperationsProxy cacheOperationsProxy,
+                                PulseCacheProperties pulseCacheProperties) {
+        this.cacheMetrics = cacheMetrics;
+        this.cacheOperationsProxy = cacheOperationsProxy;
+        this.pulseCacheProperties = pulseCacheProperties;
+    }
+
+    @ReadOperation
+    public Map<String, Object> caches() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("mode", pulseCacheProperties.getMode());
+        result.put("enabled", cacheMetrics.isEnabled());
+        result.put("caches", cacheMetrics.snapshot());
+        CacheOperations tiered = unwrap(cacheOperationsProxy.getCacheOperations(CacheMode.TIERED));
+        if (tiered instanceof TieredCacheOperations) {
+            result.put("tiered", ((TieredCacheOperations) tiered).getStats());
+        }
+        CacheOperations offHeap = unwrap(cacheOperationsProxy.getCacheOperations(CacheMode.OFFHEAP));
+        if (offHeap instanceof OffHeapCacheOperations) {
+            OffHeapCacheOperations operations = (OffHeapCacheOperations) offHeap;
+            Map<String, Long> stats = new LinkedHashMap<>();
+            stats.put("size", operations.size());
+            stats.put("usedBytes", operations.getUsedBytes());
+            stats.put("allocatedBytes", operations.getAllocatedBytes());
+            stats.put("capacityBytes", operations.getCapacityBytes());
+            result.put("offHeap", stats);
+        }
+        return result;
+    }
+
+    @ReadOperation
+    public Map<CacheMode, CachePrefixStats> prefix(@Selector String prefix) {
+        return cacheMetrics.snapshot(prefix);
+    }
+
+    private static CacheOperations unwrap(CacheOperations operations) {
+        return operations instanceof InstrumentedCacheOperations
+                ? ((InstrumentedCacheOperations) operations).getDelegate() : operations;
+    }
+}
@@ -0,0 +1,138 @@
+package com.tran.pulse.cache.metrics;
+
+import java.util.Map;
+
+/**
+ * 单个键前缀的缓存统计
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class CachePrefixStats {
+
+    private final long hits;
+
+    private final long misses;
+
+    private final long loadSuccess;
+
+    private final long loadFailure;
+
+    /**
+     * 加载耗时（毫秒）
+     */
+    private final double loadMeanMillis;
+
+    private final double loadP50Millis;
+
+    private final double loadP95Millis;
+
+    private final double loadP99Millis;
+
+    private final double loadMaxMillis;
+
+    /**
+     * 移除原因 -> 次数
+     */
+    private final Map<String, Long> evictions;
+
+    /**
+     * 写入次数及值大小（字节）
+     */
+    private final long payloadCount;
+
+    private final double payloadMeanBytes;
+
+    private final double payloadMaxBytes;
+
+    public CachePrefixStats(long hits, long misses, long loadSuccess, long loadFailure,
+                            double loadMeanMillis, double loadP50Millis, double loadP95Millis, double loadP99Millis,
+                            double loadMaxMillis, Map<String, Long> evictions,
+                            long payloadCount, double payloadMeanBytes, double payloadMaxBytes) {
+        this.hits = hits;
+        this.misses = misses;
+        this.loadSuccess = loadSuccess;
+        this.loadFailure = loadFailure;
+        this.loadMeanMillis = loadMeanMillis;
+        this.loadP50Millis = loadP50Millis;
+        this.loadP95Millis = loadP95Millis;
+        this.loadP99Millis = loadP99Millis;
+        this.loadMaxMillis = loadMaxMillis;
+        this.evictions = evictions;
+        this.payloadCount = payloadCount;
+        this.payloadMeanBytes = payloadMeanBytes;
+        this.payloadMaxBytes = payloadMaxBytes;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getRequests() {
+        return hits + misses;
+    }
+
+    /**
+     * 命中率
+     */
+    public double getHitRatio() {
+        long requests = getRequests();
+        return requests == 0 ? 0D : (double) hits / requests;
+    }
+
+    public long getLoadSuccess() {
+        return loadSuccess;
+    }
+
+    public long getLoadFailure() {
+        return loadFailure;
+    }
+
+    public double getLoadMeanMillis() {
+        return loadMeanMillis;
+    }
+
+    public double getLoadP50Millis() {
+        return loadP50Millis;
+    }
+
+    public double getLoadP95Millis() {
+        return loadP95Millis;
+    }
+
+    public double getLoadP99Millis() {
+        return loadP99Millis;
+    }
+
+    public double getLoadMaxMillis() {
+        return loadMaxMillis;
+    }
+
+    public Map<String, Long> getEvictions() {
+        return evictions;
+    }
+
+    public long getPayloadCount() {
+        return payloadCount;
+    }
+
+    public double getPayloadMeanBytes() {
+        return payloadMeanBytes;
+    }
+
+    public double getPayloadMaxBytes() {
+        return payloadMaxBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "CachePrefixStats{hits=" + hits + ", misses=" + misses + ", loadSuccess=" + loadSuccess
+                + ", loadFailure=" + loadFailure + ", loadP95Millis=" + loadP95Millis + ", evictions=" + evictions
+                + ", payloadMeanBytes=" + payloadMeanBytes + '}';
+    }
+}
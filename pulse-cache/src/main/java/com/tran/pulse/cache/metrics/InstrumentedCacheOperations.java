@@ -0,0 +1,318 @@
+package com.tran.pulse.cache.metrics;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.tran.pulse.cache.constants.CacheMode;
+import com.tran.pulse.cache.service.CacheOperations;
+import com.tran.pulse.cache.support.ScanProgress;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 带指标记录的缓存操作
+ * 包装具体的 CacheOperations，读操作按结果记录命中/未命中，loader 被调用时记录为未命中并计时
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class InstrumentedCacheOperations implements CacheOperations {
+
+    private final CacheOperations delegate;
+
+    private final CacheMetrics metrics;
+
+    private final CacheMode mode;
+
+    public InstrumentedCacheOperations(CacheOperations delegate, CacheMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.mode = delegate.getCacheMode();
+    }
+
+    /**
+     * 被包装的缓存操作
+     */
+    public CacheOperations getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public CacheMode getCacheMode() {
+        return mode;
+    }
+
+    @Override
+    public <T> T get(String key) {
+        return record(key, delegate.get(key));
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> clazz) {
+        return record(key, delegate.get(key, clazz));
+    }
+
+    @Override
+    public <T> T get(String key, TypeReference<T> typeReference) {
+        return record(key, delegate.get(key, typeReference));
+    }
+
+    @Override
+    public <T> T get(String key, Callable<? extends T> loader) throws Exception {
+        TimedLoader<T> timed = new TimedLoader<>(key, loader);
+        return timed.record(delegate.get(key, timed));
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> clazz, Callable<? extends T> loader) throws Exception {
+        TimedLoader<T> timed = new TimedLoader<>(key, loader);
+        return timed.record(delegate.get(key, clazz, timed));
+    }
+
+    @Override
+    public <T> T get(String key, TypeReference<T> typeReference, Callable<? extends T> loader) throws Exception {
+        TimedLoader<T> timed = new TimedLoader<>(key, loader);
+        return timed.record(delegate.get(key, typeReference, timed));
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> clazz, Callable<? extends T> loader, long ttlSeconds) throws Exception {
+        TimedLoader<T> timed = new TimedLoader<>(key, loader);
+        return timed.record(delegate.get(key, clazz, timed, ttlSeconds));
+    }
+
+    @Override
+    public <T> T get(String key, TypeReference<T> typeReference, Callable<? extends T> loader, long ttlSeconds) throws Exception {
+        TimedLoader<T> timed = new TimedLoader<>(key, loader);
+        return timed.record(delegate.get(key, typeReference, timed, ttlSeconds));
+    }
+
+    @Override
+    public <T> void put(String key, T value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public <T> void put(String key, T value, long timeout, TimeUnit unit) {
+        delegate.put(key, value, timeout, unit);
+    }
+
+    @Override
+    public <T> void put(String key, T value, long ttlSeconds) {
+        delegate.put(key, value, ttlSeconds);
+    }
+
+    @Override
+    public boolean delete(String key) {
+        return delegate.delete(key);
+    }
+
+    @Override
+    public void deleteAll(Collection<? extends String> keys) {
+        delegate.deleteAll(keys);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public ScanProgress scan(String pattern, Consumer<List<String>> consumer) {
+        return delegate.scan(pattern, consumer);
+    }
+
+    @Override
+    public ScanProgress deleteByPattern(String pattern) {
+        return delegate.deleteByPattern(pattern);
+    }
+
+    @Override
+    public ScanProgress deleteByPattern(String pattern, Consumer<ScanProgress> listener) {
+        return delegate.deleteByPattern(pattern, listener);
+    }
+
+    @Override
+    public boolean expire(String key, long ttlSeconds) {
+        return delegate.expire(key, ttlSeconds);
+    }
+
+    @Override
+    public boolean expire(String key, long ttlSeconds, TimeUnit timeUnit) {
+        return delegate.expire(key, ttlSeconds, timeUnit);
+    }
+
+    @Override
+    public <T> Map<String, T> getAll(Collection<? extends String> keys, Class<T> clazz) {
+        return recordAll(keys, delegate.getAll(keys, clazz));
+    }
+
+    @Override
+    public <T> Map<String, T> getAll(Collection<? extends String> keys, TypeReference<T> typeReference) {
+        return recordAll(keys, delegate.getAll(keys, typeReference));
+    }
+
+    @Override
+    public <T> void putAll(Map<String, ? extends T> entries, long ttlSeconds) {
+        delegate.putAll(entries, ttlSeconds);
+    }
+
+    @Override
+    public long expireAll(Collection<? extends String> keys, long ttlSeconds) {
+        return delegate.expireAll(keys, ttlSeconds);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(String key, Class<T> clazz) {
+        return delegate.getAsync(key, clazz).thenApply(value -> record(key, value));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(String key, TypeReference<T> typeReference) {
+        return delegate.getAsync(key, typeReference).thenApply(value -> record(key, value));
+    }
+
+    @Override
+    public <T> CompletableFuture<Map<String, T>> getAllAsync(Collection<? extends String> keys, Class<T> clazz) {
+        return delegate.getAllAsync(keys, clazz).thenApply(values -> recordAll(keys, values));
+    }
+
+    @Override
+    public <T> CompletableFuture<Void> putAsync(String key, T value, long ttlSeconds) {
+        return delegate.putAsync(key, value, ttlSeconds);
+    }
+
+    @Override
+    public <T> CompletableFuture<Void> putAsync(String key, T value, long ttlSeconds, Collection<String> tags) {
+        return delegate.putAsync(key, value, ttlSeconds, tags);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteAsync(String key) {
+        return delegate.deleteAsync(key);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> expireAsync(String key, long ttlSeconds) {
+        return delegate.expireAsync(key, ttlSeconds);
+    }
+
+    @Override
+    public <T> boolean putIfAbsent(String key, T value, long ttlSeconds) {
+        return delegate.putIfAbsent(key, value, ttlSeconds);
+    }
+
+    @Override
+    public long increment(String key, long delta, long ttlSeconds) {
+        return delegate.increment(key, delta, ttlSeconds);
+    }
+
+    @Override
+    public <T> T getAndExpire(String key, Class<T> clazz, long ttlSeconds) {
+        return record(key, delegate.getAndExpire(key, clazz, ttlSeconds));
+    }
+
+    @Override
+    public <T> T getAndExpire(String key, TypeReference<T> typeReference, long ttlSeconds) {
+        return record(key, delegate.getAndExpire(key, typeReference, ttlSeconds));
+    }
+
+    @Override
+    public String tryLock(String key, long leaseMillis) {
+        return delegate.tryLock(key, leaseMillis);
+    }
+
+    @Override
+    public boolean renewLock(String key, String token, long leaseMillis) {
+        return delegate.renewLock(key, token, leaseMillis);
+    }
+
+    @Override
+    public boolean unlock(String key, String token) {
+        return delegate.unlock(key, token);
+    }
+
+    @Override
+    public <T> void put(String key, T value, long ttlSeconds, Collection<String> tags) {
+        delegate.put(key, value, ttlSeconds, tags);
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> clazz, Callable<? extends T> loader, long ttlSeconds, Collection<String> tags) throws Exception {
+        TimedLoader<T> timed = new TimedLoader<>(key, loader);
+        return timed.record(delegate.get(key, clazz, timed, ttlSeconds, tags));
+    }
+
+    @Override
+    public <T> T get(String key, TypeReference<T> typeReference, Callable<? extends T> loader, long ttlSeconds, Collection<String> tags) throws Exception {
+        TimedLoader<T> timed = new TimedLoader<>(key, loader);
+        return timed.record(delegate.get(key, typeReference, timed, ttlSeconds, tags));
+    }
+
+    @Override
+    public long invalidateTag(String tag) {
+        return delegate.invalidateTag(tag);
+    }
+
+    private <T> T record(String key, T value) {
+        if (value != null) {
+            metrics.recordHit(mode, key);
+        } else {
+            metrics.recordMiss(mode, key);
+        }
+        return value;
+    }
+
+    private <T> Map<String, T> recordAll(Collection<? extends String> keys, Map<String, T> values) {
+        if (keys != null) {
+            for (String key : keys) {
+                record(key, values.get(key));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 记录加载耗时的 loader，被调用即记为未命中，加载失败同样计入
+     */
+    private final class TimedLoader<T> implements Callable<T> {
+
+        private final String key;
+
+        private final Callable<? extends T> loader;
+
+        private volatile boolean invoked;
+
+        private TimedLoader(String key, Callable<? extends T> loader) {
+            this.key = key;
+            this.loader = loader;
+        }
+
+        @Override
+        public T call() throws Exception {
+            invoked = true;
+            metrics.recordMiss(mode, key);
+            long start = System.nanoTime();
+            boolean success = false;
+            try {
+                T value = loader.call();
+                success = true;
+                return value;
+            } finally {
+                metrics.recordLoad(mode, key, System.nanoTime() - start, success);
+            }
+        }
+
+        private T record(T value) {
+            if (!invoked) {
+                metrics.recordHit(mode, key);
+            }
+            return value;
+        }
+    }
+}
@@ -21,9 +21,9 @@ public class GuavaProperties {
     private long maximumSize = 2000;
 
     /**
-     * 调度线程池大小
+     * 缓存最大权重（按估算字节数），>0 时按权重限制容量并忽略 maximumSize
      */
-    private int schedulerPoolSize = 5;
+    private long maximumWeight = -1;
 
 
     public long getDefaultTtlSeconds() {
@@ -42,11 +42,11 @@ public class GuavaProperties {
         this.maximumSize = maximumSize;
     }
 
-    public int getSchedulerPoolSize() {
-        return schedulerPoolSize;
+    public long getMaximumWeight() {
+        return maximumWeight;
     }
 
-    public void setSchedulerPoolSize(int schedulerPoolSize) {
-        this.schedulerPoolSize = schedulerPoolSize;
+    public void setMaximumWeight(long maximumWeight) {
+        this.maximumWeight = maximumWeight;
     }
 }
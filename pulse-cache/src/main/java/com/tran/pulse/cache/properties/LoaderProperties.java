@@ -0,0 +1,78 @@
+package com.tran.pulse.cache.properties;
+
+/**
+ * 缓存加载配置
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class LoaderProperties {
+
+    /**
+     * 加载写入时 TTL 随机延长的最大比例，0 表示不抖动
+     */
+    private double ttlJitterRatio = 0.1;
+
+    /**
+     * 提前刷新系数，越大越早刷新，0 表示关闭提前刷新
+     */
+    private double earlyRefreshBeta = 1.0;
+
+    /**
+     * 分布式加载锁的持有时间（毫秒），应大于最慢的加载耗时
+     */
+    private long lockTimeoutMillis = 30000;
+
+    /**
+     * 未拿到分布式加载锁时等待其他节点加载结果的最长时间（毫秒），超时后自行加载；
+     * <=0 表示跟随 lockTimeoutMillis，锁仍被持有时一直等待，锁释放或过期后由等待者接手
+     */
+    private long lockWaitMillis = 0;
+
+    /**
+     * 等待其他节点加载结果时的轮询间隔（毫秒）
+     */
+    private long lockPollMillis = 50;
+
+
+    public double getTtlJitterRatio() {
+        return ttlJitterRatio;
+    }
+
+    public void setTtlJitterRatio(double ttlJitterRatio) {
+        this.ttlJitterRatio = ttlJitterRatio;
+    }
+
+    public double getEarlyRefreshBeta() {
+        return earlyRefreshBeta;
+    }
+
+    public void setEarlyRefreshBeta(double earlyRefreshBeta) {
+        this.earlyRefreshBeta = earlyRefreshBeta;
+    }
+
+    public long getLockTimeoutMillis() {
+        return lockTimeoutMillis;
+    }
+
+    public void setLockTimeoutMillis(long lockTimeoutMillis) {
+        this.lockTimeoutMillis = lockTimeoutMillis;
+    }
+
+    public long getLockWaitMillis() {
+        return lockWaitMillis;
+    }
+
+    public void setLockWaitMillis(long lockWaitMillis) {
+        this.lockWaitMillis = lockWaitMillis;
+    }
+
+    public long getLockPollMillis() {
+        return lockPollMillis;
+    }
+
+    public void setLockPollMillis(long lockPollMillis) {
+        this.lockPollMillis = lockPollMillis;
+    }
+}
@@ -0,0 +1,68 @@
+package com.tran.pulse.cache.properties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 缓存指标配置
+ * 指标按键的逻辑前缀分组，例如 home:advice_key:12 归入 home:advice_key
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class MetricsProperties {
+
+    /**
+     * 是否启用缓存指标
+     */
+    private boolean enabled = true;
+
+    /**
+     * 显式声明的键前缀，按最长匹配归组；未匹配的键按分段规则推断前缀
+     */
+    private List<String> prefixes = new ArrayList<>();
+
+    /**
+     * 推断前缀时最多保留的分段数，遇到含数字的分段（通常是 ID）提前截止
+     */
+    private int maxPrefixDepth = 3;
+
+    /**
+     * 前缀数量上限，超过后新前缀归入 other，避免指标维度无限增长
+     */
+    private int maxPrefixes = 200;
+
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getPrefixes() {
+        return prefixes;
+    }
+
+    public void setPrefixes(List<String> prefixes) {
+        this.prefixes = prefixes;
+    }
+
+    public int getMaxPrefixDepth() {
+        return maxPrefixDepth;
+    }
+
+    public void setMaxPrefixDepth(int maxPrefixDepth) {
+        this.maxPrefixDepth = maxPrefixDepth;
+    }
+
+    public int getMaxPrefixes() {
+        return maxPrefixes;
+    }
+
+    public void setMaxPrefixes(int maxPrefixes) {
+        this.maxPrefixes = maxPrefixes;
+    }
+}
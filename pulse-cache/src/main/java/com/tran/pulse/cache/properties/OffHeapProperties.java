@@ -0,0 +1,104 @@
+package com.tran.pulse.cache.properties;
+
+/**
+ * 堆外缓存配置
+ * 堆外内存受 -XX:MaxDirectMemorySize 限制（默认与最大堆相同），capacityBytes 不能超过该值
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class OffHeapProperties {
+
+    /**
+     * 默认过期时间（秒），<=0 则不过期
+     */
+    private long defaultTtlSeconds = -1;
+
+    /**
+     * 堆外内存总容量（字节），写满后按 LRU 淘汰
+     */
+    private long capacityBytes = 64L * 1024 * 1024;
+
+    /**
+     * 内存块大小（字节），条目按块分配，块越小浪费越少但块表越大
+     */
+    private int blockSize = 256;
+
+    /**
+     * 单个内存片大小（字节），内存片按需分配，每片切分为多个内存块
+     */
+    private int slabSize = 4 * 1024 * 1024;
+
+    /**
+     * 分段数（取 2 的幂），每段独立加锁和淘汰
+     */
+    private int segments = 16;
+
+    /**
+     * 编解码器名称
+     */
+    private String codec = "smile";
+
+    /**
+     * 压缩阈值（字节），<=0 表示不压缩
+     */
+    private int compressThresholdBytes = 1024;
+
+
+    public long getDefaultTtlSeconds() {
+        return defaultTtlSeconds;
+    }
+
+    public void setDefaultTtlSeconds(long defaultTtlSeconds) {
+        this.defaultTtlSeconds = defaultTtlSeconds;
+    }
+
+    public long getCapacityBytes() {
+        return capacityBytes;
+    }
+
+    public void setCapacityBytes(long capacityBytes) {
+        this.capacityBytes = capacityBytes;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public void setBlockSize(int blockSize) {
+        this.blockSize = blockSize;
+    }
+
+    public int getSlabSize() {
+        return slabSize;
+    }
+
+    public void setSlabSize(int slabSize) {
+        this.slabSize = slabSize;
+    }
+
+    public int getSegments() {
+        return segments;
+    }
+
+    public void setSegments(int segments) {
+        this.segments = segments;
+    }
+
+    public String getCodec() {
+        return codec;
+    }
+
+    public void setCodec(String codec) {
+        this.codec = codec;
+    }
+
+    public int getCompressThresholdBytes() {
+        return compressThresholdBytes;
+    }
+
+    public void setCompressThresholdBytes(int compressThresholdBytes) {
+        this.compressThresholdBytes = compressThresholdBytes;
+    }
+}
@@ -35,6 +35,31 @@ public class PulseCacheProperties {
      */
     private GuavaProperties guava = new GuavaProperties();
 
+    /**
+     * 堆外缓存配置
+     */
+    private OffHeapProperties offHeap = new OffHeapProperties();
+
+    /**
+     * 加载器配置
+     */
+    private LoaderProperties loader = new LoaderProperties();
+
+    /**
+     * 多级缓存配置
+     */
+    private TieredProperties tiered = new TieredProperties();
+
+    /**
+     * 键遍历配置
+     */
+    private ScanProperties scan = new ScanProperties();
+
+    /**
+     * 指标配置
+     */
+    private MetricsProperties metrics = new MetricsProperties();
+
 
     public RedisProperties getRedis() {
         return redis;
@@ -52,6 +77,46 @@ public class PulseCacheProperties {
         this.guava = guava;
     }
 
+    public LoaderProperties getLoader() {
+        return loader;
+    }
+
+    public void setLoader(LoaderProperties loader) {
+        this.loader = loader;
+    }
+
+    public TieredProperties getTiered() {
+        return tiered;
+    }
+
+    public void setTiered(TieredProperties tiered) {
+        this.tiered = tiered;
+    }
+
+    public ScanProperties getScan() {
+        return scan;
+    }
+
+    public void setScan(ScanProperties scan) {
+        this.scan = scan;
+    }
+
+    public OffHeapProperties getOffHeap() {
+        return offHeap;
+    }
+
+    public void setOffHeap(OffHeapProperties offHeap) {
+        this.offHeap = offHeap;
+    }
+
+    public MetricsProperties getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(MetricsProperties metrics) {
+        this.metrics = metrics;
+    }
+
     public CacheMode getMode() {
         return mode;
     }
@@ -40,6 +40,22 @@ public class RedisProperties {
      */
     private long defaultTtlSeconds = -1;
 
+    /**
+     * 缓存值编解码器：json、smile 或自定义编解码器名称，legacyFormat 开启时不生效
+     */
+    private String codec = "json";
+
+    /**
+     * 按旧版格式（无头部 JSON 字符串）写入，旧版本节点和回滚后的节点都能读取。
+     * 所有节点都升级到能识别格式头部的版本后才能关闭，关闭后不能再回滚到旧版本
+     */
+    private boolean legacyFormat = true;
+
+    /**
+     * 编码后超过该大小（字节）的值进行压缩，<=0 表示不压缩
+     */
+    private int compressThresholdBytes = 512;
+
 
     public String getHost() {
         return host;
@@ -89,4 +105,28 @@ public class RedisProperties {
     public void setDefaultTtlSeconds(long defaultTtlSeconds) {
         this.defaultTtlSeconds = defaultTtlSeconds;
     }
+
+    public String getCodec() {
+        return codec;
+    }
+
+    public void setCodec(String codec) {
+        this.codec = codec;
+    }
+
+    public boolean isLegacyFormat() {
+        return legacyFormat;
+    }
+
+    public void setLegacyFormat(boolean legacyFormat) {
+        this.legacyFormat = legacyFormat;
+    }
+
+    public int getCompressThresholdBytes() {
+        return compressThresholdBytes;
+    }
+
+    public void setCompressThresholdBytes(int compressThresholdBytes) {
+        this.compressThresholdBytes = compressThresholdBytes;
+    }
 }
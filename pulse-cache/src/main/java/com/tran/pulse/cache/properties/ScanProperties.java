@@ -0,0 +1,51 @@
+package com.tran.pulse.cache.properties;
+
+/**
+ * 键遍历（SCAN）配置，用于清空缓存和按模式删除
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class ScanProperties {
+
+    /**
+     * 每批遍历的键数量（SCAN COUNT），同时也是每次删除的键数量
+     */
+    private int batchSize = 500;
+
+    /**
+     * 每秒最多处理的批次数，<=0 表示不限速
+     */
+    private double maxBatchesPerSecond = 20;
+
+    /**
+     * 使用 UNLINK 异步释放内存，Redis 4.0 以下需关闭改用 DEL
+     */
+    private boolean unlink = true;
+
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public double getMaxBatchesPerSecond() {
+        return maxBatchesPerSecond;
+    }
+
+    public void setMaxBatchesPerSecond(double maxBatchesPerSecond) {
+        this.maxBatchesPerSecond = maxBatchesPerSecond;
+    }
+
+    public boolean isUnlink() {
+        return unlink;
+    }
+
+    public void setUnlink(boolean unlink) {
+        this.unlink = unlink;
+    }
+}
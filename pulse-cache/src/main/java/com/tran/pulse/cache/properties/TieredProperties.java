@@ -0,0 +1,51 @@
+package com.tran.pulse.cache.properties;
+
+/**
+ * 多级缓存配置（本地 L1 + Redis L2）
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class TieredProperties {
+
+    /**
+     * 本地缓存过期时间（秒），本地副本最多比 Redis 旧这么久
+     */
+    private long localTtlSeconds = 10;
+
+    /**
+     * 本地缓存最大容量
+     */
+    private long maximumSize = 10000;
+
+    /**
+     * 失效通知频道，实际频道会加上缓存命名空间前缀
+     */
+    private String invalidationChannel = "cache:invalidate";
+
+
+    public long getLocalTtlSeconds() {
+        return localTtlSeconds;
+    }
+
+    public void setLocalTtlSeconds(long localTtlSeconds) {
+        this.localTtlSeconds = localTtlSeconds;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public String getInvalidationChannel() {
+        return invalidationChannel;
+    }
+
+    public void setInvalidationChannel(String invalidationChannel) {
+        this.invalidationChannel = invalidationChannel;
+    }
+}
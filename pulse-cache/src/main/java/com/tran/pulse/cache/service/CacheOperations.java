@@ -2,10 +2,15 @@ package com.tran.pulse.cache.service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.tran.pulse.cache.constants.CacheMode;
+import com.tran.pulse.cache.support.ScanProgress;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * 通用缓存操作接口
@@ -45,7 +50,7 @@ public interface CacheOperations {
     <T> T get(String key, TypeReference<T> typeReference);
 
     /**
-     * 获取缓存；缓存未命中时用 loader 加载并写入缓存
+     * 获取缓存；缓存未命中时用 loader 加载并写入缓存，同一个 key 并发未命中时只有一个 loader 执行
      * 注意：返回类型可能需要强制转换，建议使用类型安全的get方法
      */
     <T> T get(String key, Callable<? extends T> loader) throws Exception;
@@ -74,6 +79,32 @@ public interface CacheOperations {
      */
     <T> T get(String key, TypeReference<T> typeReference, Callable<? extends T> loader) throws Exception;
 
+    /**
+     * 带类型信息和过期时间的get方法
+     * 缓存未命中时用 loader 加载并按指定过期时间写入缓存；同一个 key 并发未命中时只有一个 loader 执行，
+     * 写入时过期时间会加上随机抖动
+     *
+     * @param key 缓存键
+     * @param clazz 目标类型
+     * @param loader 加载器，用于缓存未命中时加载数据
+     * @param ttlSeconds 过期时间（秒）
+     * @return 缓存值
+     * @throws Exception 加载过程中的异常
+     */
+    <T> T get(String key, Class<T> clazz, Callable<? extends T> loader, long ttlSeconds) throws Exception;
+
+    /**
+     * 带TypeReference和过期时间的get方法（用于复杂泛型类型）
+     *
+     * @param key 缓存键
+     * @param typeReference 类型引用
+     * @param loader 加载器，用于缓存未命中时加载数据
+     * @param ttlSeconds 过期时间（秒）
+     * @return 缓存值
+     * @throws Exception 加载过程中的异常
+     */
+    <T> T get(String key, TypeReference<T> typeReference, Callable<? extends T> loader, long ttlSeconds) throws Exception;
+
     /**
      * 写入或更新缓存，使用默认过期时间
      */
@@ -104,13 +135,258 @@ public interface CacheOperations {
      */
     void clear();
 
+    /**
+     * 增量遍历当前命名空间下匹配的缓存键，按批回调，不会一次性加载全部键
+     * 遍历期间新增或删除的键可能被遗漏，同一个键也可能重复出现
+     *
+     * @param pattern 匹配模式（不含命名空间），支持 * 和 ? 通配
+     * @param consumer 每批键的回调，键不含命名空间
+     * @return 遍历结果，processed 为回调处理的键数量
+     */
+    ScanProgress scan(String pattern, Consumer<List<String>> consumer);
+
+    /**
+     * 按模式批量删除当前命名空间下的缓存，例如 home:*
+     *
+     * @param pattern 匹配模式（不含命名空间），支持 * 和 ? 通配
+     * @return 删除结果，processed 为删除的键数量
+     */
+    ScanProgress deleteByPattern(String pattern);
+
+    /**
+     * 按模式批量删除当前命名空间下的缓存，每删除一批回调一次进度
+     *
+     * @param pattern 匹配模式（不含命名空间），支持 * 和 ? 通配
+     * @param listener 进度回调，可为 null
+     * @return 删除结果，processed 为删除的键数量
+     */
+    ScanProgress deleteByPattern(String pattern, Consumer<ScanProgress> listener);
+
     /**
      * 续期（延长）Key 的过期时间（秒）
+     * 所有续期类方法（expire、expireAll、expireAsync、getAndExpire）对 ttlSeconds<=0 的处理一致：
+     * 不修改过期时间，既不删除 key 也不把 key 改为永不过期，仅按 key 是否存在返回结果
+     *
+     * @return key 是否存在
      */
     boolean expire(String key, long ttlSeconds);
 
     /**
-     * 续期（延长）Key 的过期时间
+     * 续期（延长）Key 的过期时间，ttlSeconds<=0 时不修改过期时间
+     *
+     * @return key 是否存在
      */
     public boolean expire(String key, long ttlSeconds, TimeUnit  timeUnit);
+
+    /**
+     * 批量获取缓存，Redis 下一次往返完成
+     *
+     * @param keys 缓存键集合
+     * @param clazz 目标类型
+     * @return 命中的键值，未命中的键不在结果中
+     */
+    <T> Map<String, T> getAll(Collection<? extends String> keys, Class<T> clazz);
+
+    /**
+     * 批量获取缓存（用于泛型类型），Redis 下一次往返完成
+     *
+     * @param keys 缓存键集合
+     * @param typeReference 类型引用
+     * @return 命中的键值，未命中的键不在结果中
+     */
+    <T> Map<String, T> getAll(Collection<? extends String> keys, TypeReference<T> typeReference);
+
+    /**
+     * 批量写入缓存，Redis 下通过管道一次往返完成
+     *
+     * @param entries 键值
+     * @param ttlSeconds 过期时间（秒），<=0 使用默认过期时间
+     */
+    <T> void putAll(Map<String, ? extends T> entries, long ttlSeconds);
+
+    /**
+     * 批量续期，Redis 下通过管道一次往返完成
+     *
+     * @param keys 缓存键集合
+     * @param ttlSeconds 过期时间（秒），<=0 时不修改过期时间
+     * @return 续期成功（<=0 时为存在）的键数量
+     */
+    long expireAll(Collection<? extends String> keys, long ttlSeconds);
+
+    /**
+     * 异步获取缓存
+     *
+     * @param key 缓存键
+     * @param clazz 目标类型
+     * @return 缓存值，不存在时为 null
+     */
+    <T> CompletableFuture<T> getAsync(String key, Class<T> clazz);
+
+    /**
+     * 异步获取缓存（用于泛型类型）
+     *
+     * @param key 缓存键
+     * @param typeReference 类型引用
+     * @return 缓存值，不存在时为 null
+     */
+    <T> CompletableFuture<T> getAsync(String key, TypeReference<T> typeReference);
+
+    /**
+     * 异步批量获取缓存
+     *
+     * @param keys 缓存键集合
+     * @param clazz 目标类型
+     * @return 命中的键值
+     */
+    <T> CompletableFuture<Map<String, T>> getAllAsync(Collection<? extends String> keys, Class<T> clazz);
+
+    /**
+     * 异步写入缓存
+     *
+     * @param key 缓存键
+     * @param value 缓存值
+     * @param ttlSeconds 过期时间（秒），<=0 使用默认过期时间
+     */
+    <T> CompletableFuture<Void> putAsync(String key, T value, long ttlSeconds);
+
+    /**
+     * 异步写入缓存并登记到失效标签下，Redis 下值和标签的写入在同一连接上流水线发送，
+     * 多次调用后统一等待即可在一次往返内完成多个带标签的写入
+     *
+     * @param key 缓存键
+     * @param value 缓存值
+     * @param ttlSeconds 过期时间（秒），<=0 使用默认过期时间
+     * @param tags 失效标签
+     */
+    <T> CompletableFuture<Void> putAsync(String key, T value, long ttlSeconds, Collection<String> tags);
+
+    /**
+     * 异步删除缓存
+     *
+     * @param key 缓存键
+     * @return 是否删除成功
+     */
+    CompletableFuture<Boolean> deleteAsync(String key);
+
+    /**
+     * 异步续期
+     *
+     * @param key 缓存键
+     * @param ttlSeconds 过期时间（秒），<=0 时不修改过期时间
+     * @return 是否续期成功（<=0 时为 key 是否存在）
+     */
+    CompletableFuture<Boolean> expireAsync(String key, long ttlSeconds);
+
+    /**
+     * 仅当 key 不存在时写入（原子操作），可用于去重标记
+     *
+     * @param key 缓存键
+     * @param value 缓存值
+     * @param ttlSeconds 过期时间（秒），<=0 使用默认过期时间
+     * @return 是否写入成功
+     */
+    <T> boolean putIfAbsent(String key, T value, long ttlSeconds);
+
+    /**
+     * 原子自增，key 不存在时从 0 开始；key 没有过期时间时设置过期时间，已有过期时间时保持不变（固定窗口计数）
+     *
+     * @param key 缓存键
+     * @param delta 增量，可为负数
+     * @param ttlSeconds 过期时间（秒），<=0 表示不设置
+     * @return 自增后的值
+     */
+    long increment(String key, long delta, long ttlSeconds);
+
+    /**
+     * 获取缓存并重置过期时间（原子操作，一次往返），用于滑动过期的会话
+     *
+     * @param key 缓存键
+     * @param clazz 目标类型
+     * @param ttlSeconds 新的过期时间（秒），<=0 时只读取不修改过期时间
+     * @return 缓存值，不存在时返回 null 且不做续期
+     */
+    <T> T getAndExpire(String key, Class<T> clazz, long ttlSeconds);
+
+    /**
+     * 获取缓存并重置过期时间（用于泛型类型）
+     *
+     * @param key 缓存键
+     * @param typeReference 类型引用
+     * @param ttlSeconds 新的过期时间（秒），<=0 时只读取不修改过期时间
+     * @return 缓存值，不存在时返回 null 且不做续期
+     */
+    <T> T getAndExpire(String key, TypeReference<T> typeReference, long ttlSeconds);
+
+    /**
+     * 尝试获取租约（互斥锁），租约到期自动释放
+     * 锁键只用于加锁，不要与普通缓存值共用
+     *
+     * @param key 锁键
+     * @param leaseMillis 租约时长（毫秒）
+     * @return 持有凭证，获取失败返回 null
+     */
+    String tryLock(String key, long leaseMillis);
+
+    /**
+     * 续约，仅当租约仍由凭证持有者持有时成功
+     *
+     * @param key 锁键
+     * @param token 持有凭证
+     * @param leaseMillis 新的租约时长（毫秒）
+     * @return 是否续约成功
+     */
+    boolean renewLock(String key, String token, long leaseMillis);
+
+    /**
+     * 释放租约，仅当租约仍由凭证持有者持有时释放
+     *
+     * @param key 锁键
+     * @param token 持有凭证
+     * @return 是否释放成功
+     */
+    boolean unlock(String key, String token);
+
+    /**
+     * 写入或更新缓存，并登记到失效标签下，之后可通过 invalidateTag 按标签整体删除
+     *
+     * @param key 缓存键
+     * @param value 缓存值
+     * @param ttlSeconds 过期时间（秒），<=0 使用默认过期时间
+     * @param tags 失效标签，例如 user:1001
+     */
+    <T> void put(String key, T value, long ttlSeconds, Collection<String> tags);
+
+    /**
+     * 带加载器的读取，加载写入的值登记到失效标签下；加载期间标签被失效时删除加载结果，下次读取重新加载
+     *
+     * @param key 缓存键
+     * @param clazz 目标类型
+     * @param loader 加载器，用于缓存未命中时加载数据
+     * @param ttlSeconds 过期时间（秒）
+     * @param tags 失效标签
+     * @return 缓存值
+     * @throws Exception 加载过程中的异常
+     */
+    <T> T get(String key, Class<T> clazz, Callable<? extends T> loader, long ttlSeconds, Collection<String> tags) throws Exception;
+
+    /**
+     * 带加载器的读取（用于泛型类型），加载写入的值登记到失效标签下；加载期间标签被失效时删除加载结果
+     *
+     * @param key 缓存键
+     * @param typeReference 类型引用
+     * @param loader 加载器，用于缓存未命中时加载数据
+     * @param ttlSeconds 过期时间（秒）
+     * @param tags 失效标签
+     * @return 缓存值
+     * @throws Exception 加载过程中的异常
+     */
+    <T> T get(String key, TypeReference<T> typeReference, Callable<? extends T> loader, long ttlSeconds, Collection<String> tags) throws Exception;
+
+    /**
+     * 删除标签下登记的所有缓存，按标签索引直接定位，不遍历键空间
+     *
+     * @param tag 失效标签
+     * @return 删除的缓存数量
+     */
+    long invalidateTag(String tag);
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.tran.pulse.cache.service;
 
 import com.tran.pulse.cache.constants.CacheMode;
+import com.tran.pulse.cache.metrics.CacheMetrics;
+import com.tran.pulse.cache.metrics.InstrumentedCacheOperations;
 import com.tran.pulse.cache.properties.PulseCacheProperties;
 
 import java.util.HashMap;
@@ -29,10 +31,14 @@ public class CacheOperationsProxy {
 
 
 
-    public CacheOperationsProxy(PulseCacheProperties pulseCacheProperties, List<CacheOperations> cacheOperations) {
+    public CacheOperationsProxy(PulseCacheProperties pulseCacheProperties, List<CacheOperations> cacheOperations,
+                                CacheMetrics cacheMetrics) {
         this.pulseCacheProperties = pulseCacheProperties;
         for (CacheOperations cacheOperation : cacheOperations) {
-            cacheOperationsMap.put(cacheOperation.getCacheMode(),cacheOperation);
+            // 启用指标时统一包装，记录命中、未命中与加载耗时
+            CacheOperations operations = cacheMetrics.isEnabled()
+                    ? new InstrumentedCacheOperations(cacheOperation, cacheMetrics) : cacheOperation;
+            cacheOperationsMap.put(cacheOperation.getCacheMode(), operations);
         }
     }
 
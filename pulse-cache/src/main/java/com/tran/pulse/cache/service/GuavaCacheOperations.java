@@ -1,21 +1,51 @@
 package com.tran.pulse.cache.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.tran.pulse.cache.constants.CacheMode;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.tran.pulse.cache.properties.GuavaProperties;
 import com.tran.pulse.cache.properties.PulseCacheProperties;
+import com.tran.pulse.cache.metrics.CacheMetrics;
+import com.tran.pulse.cache.support.EntryWeigher;
+import com.tran.pulse.cache.support.KeyPatterns;
+import com.tran.pulse.cache.support.LoadPolicy;
+import com.tran.pulse.cache.support.ScanProgress;
+import com.tran.pulse.cache.support.SingleFlight;
+import com.tran.pulse.cache.support.TagIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.concurrent.*;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
- * Guava 缓存实现，缓存参数可通过 Spring Boot 配置文件动态调整
+ * 本地缓存实现（GUAVA 模式），缓存参数可通过 Spring Boot 配置文件动态调整
  * 支持类型安全的缓存操作
+ *
+ * 底层使用 Caffeine：每个条目单独记录过期时间，由时间轮统一清理，
+ * 不再为每次写入创建调度任务，也不会出现旧的过期任务删除新值的问题；
+ * 可按条目数或按估算大小（权重）限制容量。
  * @author tran
  */
 public class GuavaCacheOperations implements CacheOperations {
@@ -28,21 +58,47 @@ public class GuavaCacheOperations implements CacheOperations {
     private final String namespace;
 
     /**
-     * Guava缓存实例
+     * 缓存实例
      */
     private final Cache<String, Object> cache;
 
     /**
-     * 调度器，用于自定义过期时间
+     * 按条目设置过期时间的策略
      */
-    private final ScheduledExecutorService scheduler;
+    private final Policy.VarExpiration<String, Object> varExpiration;
 
     /**
-     * 构造函数注入可配置参数，并初始化缓存和调度器
+     * 按移除原因统计的移除次数
+     */
+    private final Map<RemovalCause, LongAdder> removals = new EnumMap<>(RemovalCause.class);
+
+    /**
+     * 未命中时的单飞加载
+     */
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    /**
+     * 失效标签索引
+     */
+    private final TagIndex tagIndex = new TagIndex();
+
+    /**
+     * 加载策略（TTL 抖动）
+     */
+    private final LoadPolicy loadPolicy;
+
+    /**
+     * 遍历时每批的键数量
+     */
+    private final int scanBatchSize;
+
+    /**
+     * 构造函数注入可配置参数，并初始化缓存
      *
      * @param pulseCacheProperties 缓存配置
+     * @param cacheMetrics         缓存指标，记录淘汰与过期
      */
-    public GuavaCacheOperations(PulseCacheProperties pulseCacheProperties) {
+    public GuavaCacheOperations(PulseCacheProperties pulseCacheProperties, CacheMetrics cacheMetrics) {
         String namespace = pulseCacheProperties.getNamespace();
         GuavaProperties guavaProperties = pulseCacheProperties.getGuava();
 
@@ -53,22 +109,52 @@ public class GuavaCacheOperations implements CacheOperations {
             this.namespace = "";
         }
 
+        for (RemovalCause cause : RemovalCause.values()) {
+            removals.put(cause, new LongAdder());
+        }
+
         // 默认过期时间（秒），<=0 则不设置全局过期
-        long defaultTtlSeconds = guavaProperties.getDefaultTtlSeconds();
-        // 缓存最大容量
-        long maximumSize = guavaProperties.getMaximumSize();
-        // 调度线程池大小
-        int schedulerPoolSize = guavaProperties.getSchedulerPoolSize();
-
-        // 根据配置构建 CacheBuilder
-        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
-                .maximumSize(maximumSize);
-        if (defaultTtlSeconds > 0) {
-            builder.expireAfterWrite(defaultTtlSeconds, TimeUnit.SECONDS);
+        long defaultTtlNanos = guavaProperties.getDefaultTtlSeconds() > 0
+                ? TimeUnit.SECONDS.toNanos(guavaProperties.getDefaultTtlSeconds()) : Long.MAX_VALUE;
+
+        Caffeine<Object, Object> builder = Caffeine.newBuilder();
+        if (guavaProperties.getMaximumWeight() > 0) {
+            // 按估算大小限制容量
+            builder.maximumWeight(guavaProperties.getMaximumWeight()).weigher(new EntryWeigher());
+        } else {
+            builder.maximumSize(guavaProperties.getMaximumSize());
         }
-        this.cache = builder.build();
+        this.cache = builder
+                .expireAfter(new Expiry<Object, Object>() {
+                    @Override
+                    public long expireAfterCreate(Object key, Object value, long currentTime) {
+                        return defaultTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+                        return defaultTtlNanos;
+                    }
 
-        this.scheduler = Executors.newScheduledThreadPool(schedulerPoolSize);
+                    @Override
+                    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .removalListener((Object key, Object value, RemovalCause cause) -> {
+                    removals.get(cause).increment();
+                    if (cause.wasEvicted()) {
+                        cacheMetrics.recordEviction(CacheMode.GUAVA, stripNamespace((String) key), cause.name());
+                    }
+                    if (cause.wasEvicted() && logger.isDebugEnabled()) {
+                        logger.debug("本地缓存移除: {}, 原因: {}", key, cause);
+                    }
+                })
+                .<String, Object>build();
+        this.varExpiration = cache.policy().expireVariably()
+                .orElseThrow(() -> new IllegalStateException("缓存不支持按条目过期"));
+        this.loadPolicy = new LoadPolicy(pulseCacheProperties.getLoader());
+        this.scanBatchSize = Math.max(1, pulseCacheProperties.getScan().getBatchSize());
     }
 
     /**
@@ -78,6 +164,13 @@ public class GuavaCacheOperations implements CacheOperations {
         return namespace + key;
     }
 
+    /**
+     * 去掉命名空间，还原业务缓存键
+     */
+    private String stripNamespace(String realKey) {
+        return realKey.startsWith(namespace) ? realKey.substring(namespace.length()) : realKey;
+    }
+
     @Override
     public CacheMode getCacheMode() {
         return CacheMode.GUAVA;
@@ -151,18 +244,7 @@ public class GuavaCacheOperations implements CacheOperations {
     @SuppressWarnings("unchecked")
     @Override
     public <T> T get(String key, Callable<? extends T> loader) throws Exception {
-        String realKey = buildKey(key);
-        // 先尝试获取
-        T existing = (T) cache.getIfPresent(realKey);
-        if (existing != null) {
-            return existing;
-        }
-        // 缓存未命中，调用 loader
-        T loaded = loader.call();
-        if (loaded != null) {
-            cache.put(realKey, loaded);
-        }
-        return loaded;
+        return load(key, value -> (T) value, loader, -1);
     }
 
     /**
@@ -177,25 +259,7 @@ public class GuavaCacheOperations implements CacheOperations {
      */
     @Override
     public <T> T get(String key, Class<T> clazz, Callable<? extends T> loader) throws Exception {
-        String realKey = buildKey(key);
-        // 先尝试获取
-        Object existing = cache.getIfPresent(realKey);
-        if (existing != null) {
-            try {
-                return clazz.cast(existing);
-            } catch (ClassCastException e) {
-                logger.warn("缓存值类型不匹配，将重新加载。期望类型: {}, 实际类型: {}",
-                        clazz.getName(), existing.getClass().getName());
-                // 类型不匹配，删除错误的缓存
-                cache.invalidate(realKey);
-            }
-        }
-        // 缓存未命中或类型不匹配，调用 loader
-        T loaded = loader.call();
-        if (loaded != null) {
-            cache.put(realKey, loaded);
-        }
-        return loaded;
+        return get(key, clazz, loader, -1);
     }
 
     /**
@@ -208,27 +272,73 @@ public class GuavaCacheOperations implements CacheOperations {
      * @return 缓存值
      * @throws Exception 加载过程中的异常
      */
-    @SuppressWarnings("unchecked")
     @Override
     public <T> T get(String key, TypeReference<T> typeReference, Callable<? extends T> loader) throws Exception {
+        return get(key, typeReference, loader, -1);
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> clazz, Callable<? extends T> loader, long ttlSeconds) throws Exception {
+        return load(key, value -> {
+            if (clazz.isInstance(value)) {
+                return clazz.cast(value);
+            }
+            logger.warn("缓存值类型不匹配，将重新加载。期望类型: {}, 实际类型: {}",
+                    clazz.getName(), value.getClass().getName());
+            return null;
+        }, loader, ttlSeconds);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T get(String key, TypeReference<T> typeReference, Callable<? extends T> loader, long ttlSeconds) throws Exception {
+        // 对于Guava缓存，TypeReference主要用于接口一致性
+        return load(key, value -> (T) value, loader, ttlSeconds);
+    }
+
+    /**
+     * 读取缓存，未命中时单飞加载：同一个 key 只有一个线程执行 loader，其他线程等待其结果
+     *
+     * @param key 缓存键
+     * @param cast 类型转换，返回 null 表示类型不匹配
+     * @param loader 加载器
+     * @param ttlSeconds 过期时间（秒），<=0 使用默认过期时间
+     */
+    private <T> T load(String key, Function<Object, T> cast, Callable<? extends T> loader, long ttlSeconds) throws Exception {
         String realKey = buildKey(key);
-        // 先尝试获取
-        Object existing = cache.getIfPresent(realKey);
+        T existing = cached(realKey, cast);
         if (existing != null) {
-            try {
-                return (T) existing;
-            } catch (ClassCastException e) {
-                logger.warn("缓存值类型不匹配，将重新加载。TypeReference: {}", typeReference.getType());
-                // 类型不匹配，删除错误的缓存
-                cache.invalidate(realKey);
+            return existing;
+        }
+        return singleFlight.execute(realKey, () -> {
+            // 等待期间可能已被其他线程写入
+            T current = cached(realKey, cast);
+            if (current != null) {
+                return current;
+            }
+            T loaded = loader.call();
+            if (loaded != null) {
+                if (ttlSeconds > 0) {
+                    put(key, loaded, loadPolicy.jitter(ttlSeconds));
+                } else {
+                    cache.put(realKey, loaded);
+                }
             }
+            return loaded;
+        });
+    }
+
+    private <T> T cached(String realKey, Function<Object, T> cast) {
+        Object value = cache.getIfPresent(realKey);
+        if (value == null) {
+            return null;
         }
-        // 缓存未命中或类型不匹配，调用 loader
-        T loaded = loader.call();
-        if (loaded != null) {
-            cache.put(realKey, loaded);
+        T typed = cast.apply(value);
+        if (typed == null) {
+            // 类型不匹配，删除错误的缓存
+            cache.invalidate(realKey);
         }
-        return loaded;
+        return typed;
     }
 
     /**
@@ -244,9 +354,11 @@ public class GuavaCacheOperations implements CacheOperations {
      */
     @Override
     public <T> void put(String key, T value, long timeout, TimeUnit unit) {
-        String realKey = buildKey(key);
-        cache.put(realKey, value);
-        scheduler.schedule(() -> cache.invalidate(realKey), timeout, unit);
+        if (timeout <= 0) {
+            put(key, value);
+            return;
+        }
+        varExpiration.put(buildKey(key), value, timeout, unit);
     }
 
     /**
@@ -262,10 +374,7 @@ public class GuavaCacheOperations implements CacheOperations {
      */
     @Override
     public boolean delete(String key) {
-        String realKey = buildKey(key);
-        boolean existed = cache.getIfPresent(realKey) != null;
-        cache.invalidate(realKey);
-        return existed;
+        return cache.asMap().remove(buildKey(key)) != null;
     }
 
     /**
@@ -289,10 +398,68 @@ public class GuavaCacheOperations implements CacheOperations {
     @Override
     public void clear() {
         cache.invalidateAll();
+        tagIndex.clear();
+    }
+
+    /**
+     * 遍历本地缓存的键快照，本地遍历不需要限速
+     */
+    @Override
+    public ScanProgress scan(String pattern, Consumer<List<String>> consumer) {
+        ScanProgress progress = new ScanProgress(pattern);
+        Pattern matcher = KeyPatterns.compile(pattern);
+        List<String> batch = new ArrayList<>(scanBatchSize);
+        for (String realKey : cache.asMap().keySet()) {
+            if (!realKey.startsWith(namespace)) {
+                continue;
+            }
+            String key = realKey.substring(namespace.length());
+            if (matcher.matcher(key).matches()) {
+                batch.add(key);
+                if (batch.size() >= scanBatchSize) {
+                    consumer.accept(batch);
+                    progress.onBatch(batch.size(), batch.size());
+                    batch = new ArrayList<>(scanBatchSize);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            consumer.accept(batch);
+            progress.onBatch(batch.size(), batch.size());
+        }
+        progress.finish();
+        return progress;
+    }
+
+    @Override
+    public ScanProgress deleteByPattern(String pattern) {
+        return deleteByPattern(pattern, null);
+    }
+
+    @Override
+    public ScanProgress deleteByPattern(String pattern, Consumer<ScanProgress> listener) {
+        ScanProgress progress = new ScanProgress(pattern);
+        Pattern matcher = KeyPatterns.compile(pattern);
+        long matched = 0;
+        long removed = 0;
+        for (String realKey : cache.asMap().keySet()) {
+            if (realKey.startsWith(namespace) && matcher.matcher(realKey.substring(namespace.length())).matches()) {
+                matched++;
+                if (cache.asMap().remove(realKey) != null) {
+                    removed++;
+                }
+            }
+        }
+        progress.onBatch(matched, removed);
+        progress.finish();
+        if (listener != null) {
+            listener.accept(progress);
+        }
+        return progress;
     }
 
     /**
-     * 延长指定 key 的过期时间（秒），通过调度任务实现
+     * 重新设置指定 key 的过期时间（秒）
      */
     @Override
     public boolean expire(String key, long ttlSeconds) {
@@ -302,28 +469,239 @@ public class GuavaCacheOperations implements CacheOperations {
     @Override
     public boolean expire(String key, long ttlSeconds, TimeUnit timeUnit) {
         String realKey = buildKey(key);
-        Object value = cache.getIfPresent(realKey);
-        if (value == null) {
+        if (cache.getIfPresent(realKey) == null) {
             return false;
         }
-        scheduler.schedule(() -> cache.invalidate(realKey), ttlSeconds, timeUnit);
+        if (ttlSeconds > 0) {
+            varExpiration.setExpiresAfter(realKey, ttlSeconds, timeUnit);
+        }
         return true;
     }
 
+    @Override
+    public <T> Map<String, T> getAll(Collection<? extends String> keys, Class<T> clazz) {
+        Map<String, T> result = new LinkedHashMap<>();
+        for (String key : keys) {
+            T value = get(key, clazz);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public <T> Map<String, T> getAll(Collection<? extends String> keys, TypeReference<T> typeReference) {
+        Map<String, T> result = new LinkedHashMap<>();
+        for (String key : keys) {
+            T value = get(key, typeReference);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public <T> void putAll(Map<String, ? extends T> entries, long ttlSeconds) {
+        entries.forEach((key, value) -> put(key, value, ttlSeconds));
+    }
+
+    @Override
+    public long expireAll(Collection<? extends String> keys, long ttlSeconds) {
+        return keys.stream().filter(key -> expire(key, ttlSeconds)).count();
+    }
+
+    /*
+     * 本地缓存操作不涉及 IO，异步方法直接在调用线程执行并返回已完成的结果
+     */
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(String key, Class<T> clazz) {
+        return completed(() -> get(key, clazz));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(String key, TypeReference<T> typeReference) {
+        return completed(() -> get(key, typeReference));
+    }
+
+    @Override
+    public <T> CompletableFuture<Map<String, T>> getAllAsync(Collection<? extends String> keys, Class<T> clazz) {
+        return completed(() -> getAll(keys, clazz));
+    }
+
+    @Override
+    public <T> CompletableFuture<Void> putAsync(String key, T value, long ttlSeconds) {
+        return completed(() -> {
+            put(key, value, ttlSeconds);
+            return null;
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<Void> putAsync(String key, T value, long ttlSeconds, Collection<String> tags) {
+        return completed(() -> {
+            put(key, value, ttlSeconds, tags);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteAsync(String key) {
+        return completed(() -> delete(key));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> expireAsync(String key, long ttlSeconds) {
+        return completed(() -> expire(key, ttlSeconds));
+    }
+
+    @Override
+    public <T> boolean putIfAbsent(String key, T value, long ttlSeconds) {
+        if (ttlSeconds > 0) {
+            return varExpiration.putIfAbsent(buildKey(key), value, ttlSeconds, TimeUnit.SECONDS);
+        }
+        return cache.asMap().putIfAbsent(buildKey(key), value) == null;
+    }
+
     /**
-     * 关闭资源
-     */
-    public void shutdown() {
-        if (scheduler != null && !scheduler.isShutdown()) {
-            scheduler.shutdown();
-            try {
-                if (!scheduler.awaitTermination(60, TimeUnit.SECONDS)) {
-                    scheduler.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                scheduler.shutdownNow();
-                Thread.currentThread().interrupt();
+     * 自增，已有 key 保持原有剩余过期时间
+     */
+    @Override
+    public long increment(String key, long delta, long ttlSeconds) {
+        String realKey = buildKey(key);
+        OptionalLong remaining = varExpiration.getExpiresAfter(realKey, TimeUnit.NANOSECONDS);
+        AtomicBoolean created = new AtomicBoolean();
+        Object value = cache.asMap().compute(realKey, (k, old) -> {
+            if (old == null) {
+                created.set(true);
+                return delta;
+            }
+            if (!(old instanceof Long || old instanceof Integer)) {
+                throw new IllegalStateException("缓存值不是整数，无法自增: " + key);
+            }
+            return ((Number) old).longValue() + delta;
+        });
+        if (created.get()) {
+            if (ttlSeconds > 0) {
+                varExpiration.setExpiresAfter(realKey, ttlSeconds, TimeUnit.SECONDS);
             }
+        } else if (remaining.isPresent()) {
+            // 写入会按默认过期时间重新计时，恢复自增前的剩余时间
+            varExpiration.setExpiresAfter(realKey, remaining.getAsLong(), TimeUnit.NANOSECONDS);
+        }
+        return (Long) value;
+    }
+
+    @Override
+    public <T> T getAndExpire(String key, Class<T> clazz, long ttlSeconds) {
+        T value = get(key, clazz);
+        if (value != null && ttlSeconds > 0) {
+            varExpiration.setExpiresAfter(buildKey(key), ttlSeconds, TimeUnit.SECONDS);
+        }
+        return value;
+    }
+
+    @Override
+    public <T> T getAndExpire(String key, TypeReference<T> typeReference, long ttlSeconds) {
+        T value = get(key, typeReference);
+        if (value != null && ttlSeconds > 0) {
+            varExpiration.setExpiresAfter(buildKey(key), ttlSeconds, TimeUnit.SECONDS);
+        }
+        return value;
+    }
+
+    @Override
+    public String tryLock(String key, long leaseMillis) {
+        String token = UUID.randomUUID().toString();
+        return varExpiration.putIfAbsent(buildKey(key), token, leaseMillis, TimeUnit.MILLISECONDS) ? token : null;
+    }
+
+    @Override
+    public boolean renewLock(String key, String token, long leaseMillis) {
+        String realKey = buildKey(key);
+        if (!token.equals(cache.getIfPresent(realKey))) {
+            return false;
+        }
+        varExpiration.setExpiresAfter(realKey, leaseMillis, TimeUnit.MILLISECONDS);
+        return true;
+    }
+
+    @Override
+    public boolean unlock(String key, String token) {
+        return cache.asMap().remove(buildKey(key), token);
+    }
+
+    @Override
+    public <T> void put(String key, T value, long ttlSeconds, Collection<String> tags) {
+        tagIndex.add(key, tags, TagIndex.toMillis(ttlSeconds));
+        put(key, value, ttlSeconds);
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> clazz, Callable<? extends T> loader, long ttlSeconds, Collection<String> tags) throws Exception {
+        AtomicReference<long[]> versions = new AtomicReference<>();
+        T value = get(key, clazz, tagged(loader, tags, versions), ttlSeconds);
+        registerLoaded(key, tags, versions.get(), ttlSeconds);
+        return value;
+    }
+
+    @Override
+    public <T> T get(String key, TypeReference<T> typeReference, Callable<? extends T> loader, long ttlSeconds, Collection<String> tags) throws Exception {
+        AtomicReference<long[]> versions = new AtomicReference<>();
+        T value = get(key, typeReference, tagged(loader, tags, versions), ttlSeconds);
+        registerLoaded(key, tags, versions.get(), ttlSeconds);
+        return value;
+    }
+
+    @Override
+    public long invalidateTag(String tag) {
+        return tagIndex.remove(tag).stream().filter(this::delete).count();
+    }
+
+    /**
+     * 加载开始前记下标签版本，只有真正执行了加载的线程才会拿到版本
+     */
+    private <T> Callable<T> tagged(Callable<? extends T> loader, Collection<String> tags, AtomicReference<long[]> versions) {
+        return () -> {
+            versions.set(tagIndex.versions(tags));
+            return loader.call();
+        };
+    }
+
+    /**
+     * 写入后登记标签；加载期间标签被失效过时加载结果可能已过时，直接删除
+     */
+    private void registerLoaded(String key, Collection<String> tags, long[] versions, long ttlSeconds) {
+        if (versions != null && !tagIndex.addIfUnchanged(key, tags, versions, TagIndex.toMillis(loadPolicy.maxTtl(ttlSeconds)))) {
+            delete(key);
         }
     }
-}
\ No newline at end of file
+
+    private static <T> CompletableFuture<T> completed(Supplier<T> supplier) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            future.complete(supplier.get());
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 当前条目数（估算值）
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * 按原因统计的移除次数，例如 SIZE（容量淘汰）、EXPIRED（过期）、EXPLICIT（主动删除）、REPLACED（覆盖）
+     */
+    public Map<RemovalCause, Long> getRemovalCounts() {
+        Map<RemovalCause, Long> counts = new EnumMap<>(RemovalCause.class);
+        removals.forEach((cause, count) -> counts.put(cause, count.sum()));
+        return counts;
+    }
+}
@@ -0,0 +1,563 @@
+package com.tran.pulse.cache.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.tran.pulse.cache.codec.CacheValueCodec;
+import com.tran.pulse.cache.constants.CacheMode;
+import com.tran.pulse.cache.metrics.CacheMetrics;
+import com.tran.pulse.cache.properties.OffHeapProperties;
+import com.tran.pulse.cache.properties.PulseCacheProperties;
+import com.tran.pulse.cache.support.KeyPatterns;
+import com.tran.pulse.cache.support.LoadPolicy;
+import com.tran.pulse.cache.support.OffHeapStore;
+import com.tran.pulse.cache.support.ScanProgress;
+import com.tran.pulse.cache.support.SingleFlight;
+import com.tran.pulse.cache.support.TagIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * 堆外缓存实现（OFFHEAP 模式）
+ * 值经 CacheValueCodec 编码后存放在直接内存中，容量按字节限制，写满时按 LRU 淘汰，
+ * 读取时在内存块上直接解码。与 GUAVA 模式相比，缓存内容不占用堆，不增加 GC 压力，
+ * 代价是每次读取都要反序列化，返回的是新对象。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class OffHeapCacheOperations implements CacheOperations {
+
+    private static final Logger logger = LoggerFactory.getLogger(OffHeapCacheOperations.class);
+
+    private static final JavaType OBJECT_TYPE = CacheValueCodec.typeOf(Object.class);
+
+    private static final JavaType LONG_TYPE = CacheValueCodec.typeOf(Long.class);
+
+    /**
+     * 缓存命名空间前缀（含末尾冒号）
+     */
+    private final String namespace;
+
+    private final OffHeapStore store;
+
+    private final CacheValueCodec codec;
+
+    private final CacheMetrics cacheMetrics;
+
+    /**
+     * 默认过期时间（秒），<=0 则不过期
+     */
+    private final long defaultTtlSeconds;
+
+    /**
+     * 未命中时的单飞加载
+     */
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    /**
+     * 失效标签索引
+     */
+    private final TagIndex tagIndex = new TagIndex();
+
+    /**
+     * 加载策略（TTL 抖动）
+     */
+    private final LoadPolicy loadPolicy;
+
+    /**
+     * 遍历时每批的键数量
+     */
+    private final int scanBatchSize;
+
+    /**
+     * @param pulseCacheProperties 缓存配置
+     * @param codec                缓存值编解码
+     * @param cacheMetrics         缓存指标，记录淘汰、过期与值大小
+     */
+    public OffHeapCacheOperations(PulseCacheProperties pulseCacheProperties, CacheValueCodec codec, CacheMetrics cacheMetrics) {
+        String namespace = pulseCacheProperties.getNamespace();
+        OffHeapProperties offHeapProperties = pulseCacheProperties.getOffHeap();
+        if (namespace != null && !namespace.isEmpty()) {
+            this.namespace = namespace.endsWith(":") ? namespace : namespace + ":";
+        } else {
+            this.namespace = "";
+        }
+        this.codec = codec;
+        this.cacheMetrics = cacheMetrics;
+        this.defaultTtlSeconds = offHeapProperties.getDefaultTtlSeconds();
+        this.store = new OffHeapStore(offHeapProperties.getCapacityBytes(), offHeapProperties.getBlockSize(),
+                offHeapProperties.getSlabSize(), offHeapProperties.getSegments(),
+                (key, cause) -> cacheMetrics.recordEviction(CacheMode.OFFHEAP, stripNamespace(key), cause));
+        this.loadPolicy = new LoadPolicy(pulseCacheProperties.getLoader());
+        this.scanBatchSize = Math.max(1, pulseCacheProperties.getScan().getBatchSize());
+    }
+
+    private String buildKey(String key) {
+        return namespace + key;
+    }
+
+    private String stripNamespace(String realKey) {
+        return realKey.startsWith(namespace) ? realKey.substring(namespace.length()) : realKey;
+    }
+
+    @Override
+    public CacheMode getCacheMode() {
+        return CacheMode.OFFHEAP;
+    }
+
+    private byte[] encode(String key, Object value) {
+        byte[] data = encode(value);
+        cacheMetrics.recordPayload(CacheMode.OFFHEAP, key, data.length);
+        return data;
+    }
+
+    private byte[] encode(Object value) {
+        try {
+            return codec.encode(value);
+        } catch (IOException e) {
+            logger.error("序列化对象失败: {}", e.getMessage(), e);
+            throw new RuntimeException("序列化失败", e);
+        }
+    }
+
+    /**
+     * 读取并直接在堆外内存上解码，解码失败时删除该条目并按未命中处理
+     *
+     * @param ttlMillis 读取同时重设的存活时间（毫秒），<0 表示不变
+     */
+    private <T> T read(String key, JavaType type, long ttlMillis) {
+        String realKey = buildKey(key);
+        try {
+            return store.read(realKey, ttlMillis, (in, length) -> codec.decode(in, type));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("反序列化缓存值失败，将删除: {}, {}", key, e.getMessage());
+            store.remove(realKey);
+            return null;
+        }
+    }
+
+    private static long toMillis(long ttlSeconds) {
+        return ttlSeconds > 0 ? TimeUnit.SECONDS.toMillis(ttlSeconds) : 0;
+    }
+
+    @Override
+    public <T> T get(String key) {
+        return read(key, OBJECT_TYPE, -1);
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> clazz) {
+        return read(key, CacheValueCodec.typeOf(clazz), -1);
+    }
+
+    @Override
+    public <T> T get(String key, TypeReference<T> typeReference) {
+        return read(key, CacheValueCodec.typeOf(typeReference), -1);
+    }
+
+    @Override
+    public <T> T get(String key, Callable<? extends T> loader) throws Exception {
+        return load(key, OBJECT_TYPE, loader, -1);
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> clazz, Callable<? extends T> loader) throws Exception {
+        return load(key, CacheValueCodec.typeOf(clazz), loader, -1);
+    }
+
+    @Override
+    public <T> T get(String key, TypeReference<T> typeReference, Callable<? extends T> loader) throws Exception {
+        return load(key, CacheValueCodec.typeOf(typeReference), loader, -1);
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> clazz, Callable<? extends T> loader, long ttlSeconds) throws Exception {
+        return load(key, CacheValueCodec.typeOf(clazz), loader, ttlSeconds);
+    }
+
+    @Override
+    public <T> T get(String key, TypeReference<T> typeReference, Callable<? extends T> loader, long ttlSeconds) throws Exception {
+        return load(key, CacheValueCodec.typeOf(typeReference), loader, ttlSeconds);
+    }
+
+    /**
+     * 读取缓存，未命中时单飞加载：同一个 key 只有一个线程执行 loader，其他线程等待其结果
+     *
+     * @param ttlSeconds 过期时间（秒），<=0 使用默认过期时间
+     */
+    private <T> T load(String key, JavaType type, Callable<? extends T> loader, long ttlSeconds) throws Exception {
+        T existing = read(key, type, -1);
+        if (existing != null) {
+            return existing;
+        }
+        return singleFlight.execute(buildKey(key), () -> {
+            // 等待期间可能已被其他线程写入
+            T current = read(key, type, -1);
+            if (current != null) {
+                return current;
+            }
+            T loaded = loader.call();
+            if (loaded != null) {
+                long ttl = ttlSeconds > 0 ? ttlSeconds : defaultTtlSeconds;
+                put(key, loaded, ttl > 0 ? loadPolicy.jitter(ttl) : -1);
+            }
+            return loaded;
+        });
+    }
+
+    @Override
+    public <T> void put(String key, T value) {
+        put(key, value, defaultTtlSeconds);
+    }
+
+    @Override
+    public <T> void put(String key, T value, long timeout, TimeUnit unit) {
+        if (value == null) {
+            return;
+        }
+        long ttlMillis = timeout > 0 ? unit.toMillis(timeout) : 0;
+        if (!store.put(buildKey(key), encode(key, value), ttlMillis)) {
+            logger.warn("缓存值超过堆外缓存单段容量，未写入: {}", key);
+        }
+    }
+
+    @Override
+    public <T> void put(String key, T value, long ttlSeconds) {
+        put(key, value, ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public boolean delete(String key) {
+        return store.remove(buildKey(key));
+    }
+
+    @Override
+    public void deleteAll(Collection<? extends String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return;
+        }
+        for (String key : keys) {
+            store.remove(buildKey(key));
+        }
+    }
+
+    @Override
+    public void clear() {
+        store.clear();
+        tagIndex.clear();
+    }
+
+    /**
+     * 遍历键快照，本地遍历不需要限速
+     */
+    @Override
+    public ScanProgress scan(String pattern, Consumer<List<String>> consumer) {
+        ScanProgress progress = new ScanProgress(pattern);
+        Pattern matcher = KeyPatterns.compile(pattern);
+        List<String> batch = new ArrayList<>(scanBatchSize);
+        for (String realKey : store.keys()) {
+            if (!realKey.startsWith(namespace)) {
+                continue;
+            }
+            String key = realKey.substring(namespace.length());
+            if (matcher.matcher(key).matches()) {
+                batch.add(key);
+                if (batch.size() >= scanBatchSize) {
+                    consumer.accept(batch);
+                    progress.onBatch(batch.size(), batch.size());
+                    batch = new ArrayList<>(scanBatchSize);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            consumer.accept(batch);
+            progress.onBatch(batch.size(), batch.size());
+        }
+        progress.finish();
+        return progress;
+    }
+
+    @Override
+    public ScanProgress deleteByPattern(String pattern) {
+        return deleteByPattern(pattern, null);
+    }
+
+    @Override
+    public ScanProgress deleteByPattern(String pattern, Consumer<ScanProgress> listener) {
+        ScanProgress progress = new ScanProgress(pattern);
+        Pattern matcher = KeyPatterns.compile(pattern);
+        long matched = 0;
+        long removed = 0;
+        for (String realKey : store.keys()) {
+            if (realKey.startsWith(namespace) && matcher.matcher(realKey.substring(namespace.length())).matches()) {
+                matched++;
+                if (store.remove(realKey)) {
+                    removed++;
+                }
+            }
+        }
+        progress.onBatch(matched, removed);
+        progress.finish();
+        if (listener != null) {
+            listener.accept(progress);
+        }
+        return progress;
+    }
+
+    @Override
+    public boolean expire(String key, long ttlSeconds) {
+        return expire(key, ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public boolean expire(String key, long ttlSeconds, TimeUnit timeUnit) {
+        if (ttlSeconds <= 0) {
+            // 不修改过期时间，仅判断是否存在（store.expire 的 0 表示不过期）
+            return store.remainingMillis(buildKey(key)) != -2;
+        }
+        return store.expire(buildKey(key), timeUnit.toMillis(ttlSeconds));
+    }
+
+    @Override
+    public <T> Map<String, T> getAll(Collection<? extends String> keys, Class<T> clazz) {
+        return readAll(keys, CacheValueCodec.typeOf(clazz));
+    }
+
+    @Override
+    public <T> Map<String, T> getAll(Collection<? extends String> keys, TypeReference<T> typeReference) {
+        return readAll(keys, CacheValueCodec.typeOf(typeReference));
+    }
+
+    private <T> Map<String, T> readAll(Collection<? extends String> keys, JavaType type) {
+        Map<String, T> result = new LinkedHashMap<>();
+        for (String key : keys) {
+            T value = read(key, type, -1);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public <T> void putAll(Map<String, ? extends T> entries, long ttlSeconds) {
+        long ttl = ttlSeconds > 0 ? ttlSeconds : defaultTtlSeconds;
+        entries.forEach((key, value) -> put(key, value, ttl));
+    }
+
+    @Override
+    public long expireAll(Collection<? extends String> keys, long ttlSeconds) {
+        return keys.stream().filter(key -> expire(key, ttlSeconds)).count();
+    }
+
+    /*
+     * 堆外缓存操作不涉及 IO，异步方法直接在调用线程执行并返回已完成的结果
+     */
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(String key, Class<T> clazz) {
+        return completed(() -> get(key, clazz));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(String key, TypeReference<T> typeReference) {
+        return completed(() -> get(key, typeReference));
+    }
+
+    @Override
+    public <T> CompletableFuture<Map<String, T>> getAllAsync(Collection<? extends String> keys, Class<T> clazz) {
+        return completed(() -> getAll(keys, clazz));
+    }
+
+    @Override
+    public <T> CompletableFuture<Void> putAsync(String key, T value, long ttlSeconds) {
+        return completed(() -> {
+            put(key, value, ttlSeconds > 0 ? ttlSeconds : defaultTtlSeconds);
+            return null;
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<Void> putAsync(String key, T value, long ttlSeconds, Collection<String> tags) {
+        return completed(() -> {
+            put(key, value, ttlSeconds, tags);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteAsync(String key) {
+        return completed(() -> delete(key));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> expireAsync(String key, long ttlSeconds) {
+        return completed(() -> expire(key, ttlSeconds));
+    }
+
+    @Override
+    public <T> boolean putIfAbsent(String key, T value, long ttlSeconds) {
+        if (value == null) {
+            return false;
+        }
+        long ttl = ttlSeconds > 0 ? ttlSeconds : defaultTtlSeconds;
+        return store.putIfAbsent(buildKey(key), encode(key, value), toMillis(ttl));
+    }
+
+    /**
+     * 自增，已有 key 保持原有剩余过期时间
+     */
+    @Override
+    public long increment(String key, long delta, long ttlSeconds) {
+        long[] result = new long[1];
+        store.compute(buildKey(key), current -> {
+            long value = delta;
+            if (current != null) {
+                Long old = decodeLong(key, current);
+                value = old + delta;
+            }
+            result[0] = value;
+            return encode(key, value);
+        }, toMillis(ttlSeconds));
+        return result[0];
+    }
+
+    private Long decodeLong(String key, byte[] data) {
+        try {
+            Long value = codec.decode(data, LONG_TYPE);
+            if (value == null) {
+                throw new IllegalStateException("缓存值不是整数，无法自增: " + key);
+            }
+            return value;
+        } catch (IOException e) {
+            throw new IllegalStateException("缓存值不是整数，无法自增: " + key, e);
+        }
+    }
+
+    @Override
+    public <T> T getAndExpire(String key, Class<T> clazz, long ttlSeconds) {
+        return read(key, CacheValueCodec.typeOf(clazz), ttlSeconds > 0 ? toMillis(ttlSeconds) : -1);
+    }
+
+    @Override
+    public <T> T getAndExpire(String key, TypeReference<T> typeReference, long ttlSeconds) {
+        return read(key, CacheValueCodec.typeOf(typeReference), ttlSeconds > 0 ? toMillis(ttlSeconds) : -1);
+    }
+
+    @Override
+    public String tryLock(String key, long leaseMillis) {
+        String token = UUID.randomUUID().toString();
+        return store.putIfAbsent(buildKey(key), encode(key, token), leaseMillis) ? token : null;
+    }
+
+    @Override
+    public boolean renewLock(String key, String token, long leaseMillis) {
+        return store.expire(buildKey(key), encode(token), leaseMillis);
+    }
+
+    @Override
+    public boolean unlock(String key, String token) {
+        return store.remove(buildKey(key), encode(token));
+    }
+
+    @Override
+    public <T> void put(String key, T value, long ttlSeconds, Collection<String> tags) {
+        long ttl = ttlSeconds > 0 ? ttlSeconds : defaultTtlSeconds;
+        tagIndex.add(key, tags, toMillis(ttl));
+        put(key, value, ttl);
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> clazz, Callable<? extends T> loader, long ttlSeconds, Collection<String> tags) throws Exception {
+        AtomicReference<long[]> versions = new AtomicReference<>();
+        T value = load(key, CacheValueCodec.typeOf(clazz), tagged(loader, tags, versions), ttlSeconds);
+        registerLoaded(key, tags, versions.get(), ttlSeconds);
+        return value;
+    }
+
+    @Override
+    public <T> T get(String key, TypeReference<T> typeReference, Callable<? extends T> loader, long ttlSeconds, Collection<String> tags) throws Exception {
+        AtomicReference<long[]> versions = new AtomicReference<>();
+        T value = load(key, CacheValueCodec.typeOf(typeReference), tagged(loader, tags, versions), ttlSeconds);
+        registerLoaded(key, tags, versions.get(), ttlSeconds);
+        return value;
+    }
+
+    @Override
+    public long invalidateTag(String tag) {
+        return tagIndex.remove(tag).stream().filter(this::delete).count();
+    }
+
+    /**
+     * 加载开始前记下标签版本，只有真正执行了加载的线程才会拿到版本
+     */
+    private <T> Callable<T> tagged(Callable<? extends T> loader, Collection<String> tags, AtomicReference<long[]> versions) {
+        return () -> {
+            versions.set(tagIndex.versions(tags));
+            return loader.call();
+        };
+    }
+
+    /**
+     * 写入后登记标签；加载期间标签被失效过时加载结果可能已过时，直接删除
+     */
+    private void registerLoaded(String key, Collection<String> tags, long[] versions, long ttlSeconds) {
+        if (versions != null && !tagIndex.addIfUnchanged(key, tags, versions, toMillis(loadPolicy.maxTtl(ttlSeconds > 0 ? ttlSeconds : defaultTtlSeconds)))) {
+            delete(key);
+        }
+    }
+
+    private static <T> CompletableFuture<T> completed(Supplier<T> supplier) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            future.complete(supplier.get());
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 当前条目数（含尚未清理的过期条目）
+     */
+    public long size() {
+        return store.size();
+    }
+
+    /**
+     * 条目编码后占用的字节数
+     */
+    public long getUsedBytes() {
+        return store.usedBytes();
+    }
+
+    /**
+     * 已分配的堆外内存（字节）
+     */
+    public long getAllocatedBytes() {
+        return store.allocatedBytes();
+    }
+
+    /**
+     * 堆外内存容量（字节）
+     */
+    public long getCapacityBytes() {
+        return store.capacityBytes();
+    }
+}
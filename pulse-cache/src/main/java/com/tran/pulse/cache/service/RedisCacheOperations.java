@@ -1,24 +1,57 @@
 package com.tran.pulse.cache.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JavaType;
+import com.google.common.util.concurrent.RateLimiter;
+import com.tran.pulse.cache.codec.CacheValueCodec;
+import com.tran.pulse.cache.metrics.CacheMetrics;
 import com.tran.pulse.cache.constants.CacheMode;
+import com.tran.pulse.cache.properties.LoaderProperties;
 import com.tran.pulse.cache.properties.PulseCacheProperties;
 import com.tran.pulse.cache.properties.RedisProperties;
+import com.tran.pulse.cache.properties.ScanProperties;
+import com.tran.pulse.cache.support.ExclusiveLoader;
+import com.tran.pulse.cache.support.KeyPatterns;
+import com.tran.pulse.cache.support.LoadPolicy;
+import com.tran.pulse.cache.support.ScanProgress;
+import com.tran.pulse.cache.support.SingleFlight;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.api.async.RedisAsyncCommands;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.ValueOperations;
-
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 
 /**
- * 基于 RedisTemplate 的缓存实现，支持JSON序列化存储
+ * 基于 RedisTemplate 的缓存实现，值通过 CacheValueCodec 编码为字节存储（默认 Smile 二进制，超过阈值压缩）
  * @author tran
  */
 public class RedisCacheOperations implements CacheOperations {
@@ -26,19 +59,123 @@ public class RedisCacheOperations implements CacheOperations {
     private static final Logger logger = LoggerFactory.getLogger(RedisCacheOperations.class);
 
     /**
-     * Redis 操作模板，使用String类型存储
+     * 读取值、剩余存活时间（毫秒）和上次加载耗时
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> READ_SCRIPT = new DefaultRedisScript<>(
+            "return {redis.call('GET', KEYS[1]), redis.call('PTTL', KEYS[1]), redis.call('GET', KEYS[2])}", List.class);
+
+    /**
+     * 写入值并记录加载耗时，两者同时过期
+     */
+    private static final RedisScript<Long> WRITE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[3]) "
+                    + "redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[3]) return 1", Long.class);
+
+    /**
+     * 仅当锁仍由自己持有时释放
+     */
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) else return 0 end", Long.class);
+
+    /**
+     * 仅当锁仍由自己持有时续期
      */
-    private final RedisTemplate<String, String> redisTemplate;
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('PEXPIRE', KEYS[1], ARGV[2]) else return 0 end", Long.class);
+
+    /**
+     * 自增，key 没有过期时间时设置过期时间
+     */
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+            "local v = redis.call('INCRBY', KEYS[1], ARGV[1]) "
+                    + "if tonumber(ARGV[2]) > 0 and redis.call('PTTL', KEYS[1]) < 0 then redis.call('EXPIRE', KEYS[1], ARGV[2]) end "
+                    + "return v", Long.class);
+
+    /**
+     * 读取值，存在且 ttl>0 时重置过期时间（兼容不支持 GETEX 的 Redis 版本）
+     * ttl<=0 时不续期，避免 EXPIRE key 0 直接删除 key
+     */
+    private static final RedisScript<byte[]> GET_AND_EXPIRE_SCRIPT = new DefaultRedisScript<>(
+            "local v = redis.call('GET', KEYS[1]) "
+                    + "if v and tonumber(ARGV[1]) > 0 then redis.call('EXPIRE', KEYS[1], ARGV[1]) end "
+                    + "return v", byte[].class);
+
+    /**
+     * 把缓存键加入标签集合；标签集合的过期时间只延长不缩短，保证比成员活得更久
+     */
+    private static final RedisScript<Long> TAG_SCRIPT = new DefaultRedisScript<>(
+            "local ttl = tonumber(ARGV[2]) "
+                    + "local exists = redis.call('EXISTS', KEYS[1]) "
+                    + "redis.call('SADD', KEYS[1], ARGV[1]) "
+                    + "if ttl <= 0 then redis.call('PERSIST', KEYS[1]) "
+                    + "elseif exists == 0 then redis.call('PEXPIRE', KEYS[1], ttl) "
+                    + "else local pttl = redis.call('PTTL', KEYS[1]) "
+                    + "if pttl >= 0 and pttl < ttl then redis.call('PEXPIRE', KEYS[1], ttl) end end "
+                    + "return 1", Long.class);
+
+    /**
+     * 加载写入后登记标签：KEYS 为缓存键及各标签的（标签集合, 版本号）对，ARGV 为成员、存活毫秒数及加载前读到的版本。
+     * 任一标签版本已变化说明加载期间被失效过，删除刚写入的值；否则按 TAG_SCRIPT 的规则登记全部标签
+     */
+    private static final RedisScript<Long> TAG_LOADED_SCRIPT = new DefaultRedisScript<>(
+            "for i = 2, #KEYS, 2 do "
+                    + "local v = redis.call('GET', KEYS[i + 1]) or '0' "
+                    + "if v ~= ARGV[i / 2 + 2] then redis.call('DEL', KEYS[1]) return 0 end end "
+                    + "local ttl = tonumber(ARGV[2]) "
+                    + "for i = 2, #KEYS, 2 do "
+                    + "local exists = redis.call('EXISTS', KEYS[i]) "
+                    + "redis.call('SADD', KEYS[i], ARGV[1]) "
+                    + "if ttl <= 0 then redis.call('PERSIST', KEYS[i]) "
+                    + "elseif exists == 0 then redis.call('PEXPIRE', KEYS[i], ttl) "
+                    + "else local pttl = redis.call('PTTL', KEYS[i]) "
+                    + "if pttl >= 0 and pttl < ttl then redis.call('PEXPIRE', KEYS[i], ttl) end end end "
+                    + "return 1", Long.class);
+
+    /**
+     * 删除标签集合中的全部缓存键及标签集合本身并递增标签版本，返回删除的键数量
+     */
+    private static final RedisScript<Long> INVALIDATE_TAG_SCRIPT = new DefaultRedisScript<>(
+            "local members = redis.call('SMEMBERS', KEYS[1]) "
+                    + "local removed = 0 "
+                    + "for i = 1, #members, 500 do "
+                    + "removed = removed + redis.call(ARGV[1], unpack(members, i, math.min(i + 499, #members))) end "
+                    + "redis.call('DEL', KEYS[1]) "
+                    + "redis.call('INCR', KEYS[2]) "
+                    + "redis.call('PEXPIRE', KEYS[2], ARGV[2]) "
+                    + "return removed", Long.class);
+
+    /**
+     * 标签版本号的存活时间，只需覆盖最长的一次加载
+     */
+    private static final long TAG_VERSION_TTL_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private static final JavaType OBJECT_TYPE = CacheValueCodec.typeOf(Object.class);
+
+    /**
+     * Redis 操作模板，值为编码后的字节
+     */
+    private final RedisTemplate<String, byte[]> redisTemplate;
 
     /**
      * 简化的值操作
      */
-    private final ValueOperations<String, String> valueOps;
+    private final ValueOperations<String, byte[]> valueOps;
+
+    /**
+     * Lettuce 异步命令，供异步方法使用
+     */
+    private final RedisAsyncCommands<String, byte[]> asyncCommands;
 
     /**
-     * JSON序列化工具
+     * 缓存值编解码
      */
-    private final ObjectMapper objectMapper;
+    private final CacheValueCodec codec;
+
+    /**
+     * 缓存指标
+     */
+    private final CacheMetrics cacheMetrics;
 
     /**
      * 缓存命名空间前缀，确保以冒号结尾
@@ -50,22 +187,53 @@ public class RedisCacheOperations implements CacheOperations {
      */
     private final long defaultTtlSeconds;
 
+    /**
+     * 加载器配置
+     */
+    private final LoaderProperties loaderProperties;
+
+    /**
+     * 加载策略（TTL 抖动、提前刷新）
+     */
+    private final LoadPolicy loadPolicy;
+
+    /**
+     * 本节点内的单飞加载
+     */
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    /**
+     * 跨节点互斥加载
+     */
+    private final ExclusiveLoader exclusiveLoader;
+
+    /**
+     * 键遍历配置
+     */
+    private final ScanProperties scanProperties;
+
     /**
      * 构造函数注入 RedisTemplate 与可配置参数
      *
      * @param redisTemplate     RedisTemplate 实例
      * @param pulseCacheProperties 缓存配置
-     * @param objectMapper      JSON序列化工具
+     * @param codec             缓存值编解码
+     * @param asyncCommands     Lettuce 异步命令
+     * @param cacheMetrics      缓存指标，记录写入值大小
      */
     public RedisCacheOperations(
-            RedisTemplate<String, String> redisTemplate,
+            RedisTemplate<String, byte[]> redisTemplate,
             PulseCacheProperties pulseCacheProperties,
-            ObjectMapper objectMapper) {
+            CacheValueCodec codec,
+            RedisAsyncCommands<String, byte[]> asyncCommands,
+            CacheMetrics cacheMetrics) {
         String namespace = pulseCacheProperties.getNamespace();
         RedisProperties redisProperties = pulseCacheProperties.getRedis();
         this.redisTemplate = redisTemplate;
         this.valueOps = redisTemplate.opsForValue();
-        this.objectMapper = objectMapper;
+        this.codec = codec;
+        this.asyncCommands = asyncCommands;
+        this.cacheMetrics = cacheMetrics;
         // 处理命名空间末尾冒号
         if (namespace != null && !namespace.isEmpty()) {
             this.namespace = namespace.endsWith(":") ? namespace : namespace + ":";
@@ -73,6 +241,10 @@ public class RedisCacheOperations implements CacheOperations {
             this.namespace = "";
         }
         this.defaultTtlSeconds = redisProperties.getDefaultTtlSeconds();
+        this.loaderProperties = pulseCacheProperties.getLoader();
+        this.loadPolicy = new LoadPolicy(loaderProperties);
+        this.exclusiveLoader = new ExclusiveLoader(loaderProperties);
+        this.scanProperties = pulseCacheProperties.getScan();
     }
 
     /**
@@ -86,79 +258,50 @@ public class RedisCacheOperations implements CacheOperations {
     }
 
     /**
-     * 将对象序列化为JSON字符串
+     * 将对象编码为字节，并按键前缀记录编码后的大小
      *
-     * @param value 要序列化的对象
-     * @return JSON字符串
+     * @param key   缓存键（不含命名空间）
+     * @param value 要编码的对象
+     * @return 编码结果，value 为 null 时返回 null
      */
-    private String serialize(Object value) {
+    private byte[] serialize(String key, Object value) {
         if (value == null) {
             return null;
         }
         try {
-            return objectMapper.writeValueAsString(value);
-        } catch (JsonProcessingException e) {
+            byte[] data = codec.encode(value);
+            cacheMetrics.recordPayload(CacheMode.REDIS, key, data.length);
+            return data;
+        } catch (IOException e) {
             logger.error("序列化对象失败: {}", e.getMessage(), e);
             throw new RuntimeException("序列化失败", e);
         }
     }
 
     /**
-     * 将JSON字符串反序列化为对象
+     * 将字节解码为对象
      *
-     * @param json JSON字符串
-     * @param clazz 目标类型
-     * @return 反序列化后的对象
+     * @param data 编码后的字节
+     * @param type 目标类型
+     * @return 解码后的对象
      */
-    private <T> T deserialize(String json, Class<T> clazz) {
-        if (json == null) {
+    private <T> T deserialize(byte[] data, JavaType type) {
+        if (data == null) {
             return null;
         }
         try {
-            if (clazz == String.class) {
-                return clazz.cast(json);
-            }
-            return objectMapper.readValue(json, clazz);
-        } catch (JsonProcessingException e) {
-            logger.error("反序列化JSON失败: {}", e.getMessage(), e);
-            throw new RuntimeException("反序列化失败", e);
-        }
-    }
-
-    /**
-     * 将JSON字符串反序列化为对象（使用TypeReference）
-     *
-     * @param json JSON字符串
-     * @param typeReference 类型引用
-     * @return 反序列化后的对象
-     */
-    private <T> T deserialize(String json, TypeReference<T> typeReference) {
-        if (json == null) {
-            return null;
-        }
-        try {
-            return objectMapper.readValue(json, typeReference);
-        } catch (JsonProcessingException e) {
-            logger.error("反序列化JSON失败: {}", e.getMessage(), e);
+            return codec.decode(data, type);
+        } catch (IOException e) {
+            logger.error("反序列化缓存值失败: {}", e.getMessage(), e);
             throw new RuntimeException("反序列化失败", e);
         }
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <T> T get(String key) {
-        String json = valueOps.get(prefixedKey(key));
-        if (json == null) {
-            return null;
-        }
         // 注意：这里无法确定具体的类型，返回的是Object
         // 建议使用 get(String key, Class<T> clazz) 方法
-        try {
-            return (T) objectMapper.readValue(json, Object.class);
-        } catch (JsonProcessingException e) {
-            logger.error("反序列化JSON失败: {}", e.getMessage(), e);
-            throw new RuntimeException("反序列化失败", e);
-        }
+        return deserialize(valueOps.get(prefixedKey(key)), OBJECT_TYPE);
     }
 
     /**
@@ -169,8 +312,7 @@ public class RedisCacheOperations implements CacheOperations {
      * @return 缓存值
      */
     public <T> T get(String key, Class<T> clazz) {
-        String json = valueOps.get(prefixedKey(key));
-        return deserialize(json, clazz);
+        return deserialize(valueOps.get(prefixedKey(key)), CacheValueCodec.typeOf(clazz));
     }
 
     /**
@@ -181,45 +323,12 @@ public class RedisCacheOperations implements CacheOperations {
      * @return 缓存值
      */
     public <T> T get(String key, TypeReference<T> typeReference) {
-        String json = valueOps.get(prefixedKey(key));
-        return deserialize(json, typeReference);
+        return deserialize(valueOps.get(prefixedKey(key)), CacheValueCodec.typeOf(typeReference));
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <T> T get(String key, Callable<? extends T> loader) throws Exception {
-        String fullKey = prefixedKey(key);
-        // 尝试先获取缓存
-        String json = valueOps.get(fullKey);
-        T value = null;
-
-        if (json != null) {
-            // 缓存命中，反序列化
-            try {
-                value = (T) objectMapper.readValue(json, Object.class);
-            } catch (JsonProcessingException e) {
-                logger.warn("反序列化缓存值失败，将重新加载: {}", e.getMessage());
-                // 反序列化失败，删除错误的缓存
-                redisTemplate.delete(fullKey);
-            }
-        }
-
-        if (value == null) {
-            // 缓存未命中或反序列化失败，调用 loader 加载
-            value = loader.call();
-            if (value != null) {
-                // 序列化并写入缓存
-                String serializedValue = serialize(value);
-                if (serializedValue != null) {
-                    if (defaultTtlSeconds > 0) {
-                        valueOps.set(fullKey, serializedValue, defaultTtlSeconds, TimeUnit.SECONDS);
-                    } else {
-                        valueOps.set(fullKey, serializedValue);
-                    }
-                }
-            }
-        }
-        return value;
+        return load(key, OBJECT_TYPE, loader, -1);
     }
 
     /**
@@ -231,38 +340,7 @@ public class RedisCacheOperations implements CacheOperations {
      * @return 缓存值
      */
     public <T> T get(String key, Class<T> clazz, Callable<? extends T> loader) throws Exception {
-        String fullKey = prefixedKey(key);
-        // 尝试先获取缓存
-        String json = valueOps.get(fullKey);
-        T value = null;
-
-        if (json != null) {
-            // 缓存命中，反序列化
-            try {
-                value = deserialize(json, clazz);
-            } catch (RuntimeException e) {
-                logger.warn("反序列化缓存值失败，将重新加载: {}", e.getMessage());
-                // 反序列化失败，删除错误的缓存
-                redisTemplate.delete(fullKey);
-            }
-        }
-
-        if (value == null) {
-            // 缓存未命中或反序列化失败，调用 loader 加载
-            value = loader.call();
-            if (value != null) {
-                // 序列化并写入缓存
-                String serializedValue = serialize(value);
-                if (serializedValue != null) {
-                    if (defaultTtlSeconds > 0) {
-                        valueOps.set(fullKey, serializedValue, defaultTtlSeconds, TimeUnit.SECONDS);
-                    } else {
-                        valueOps.set(fullKey, serializedValue);
-                    }
-                }
-            }
-        }
-        return value;
+        return get(key, clazz, loader, -1);
     }
 
     /**
@@ -274,44 +352,154 @@ public class RedisCacheOperations implements CacheOperations {
      * @return 缓存值
      */
     public <T> T get(String key, TypeReference<T> typeReference, Callable<? extends T> loader) throws Exception {
+        return get(key, typeReference, loader, -1);
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> clazz, Callable<? extends T> loader, long ttlSeconds) throws Exception {
+        return load(key, CacheValueCodec.typeOf(clazz), loader, ttlSeconds);
+    }
+
+    @Override
+    public <T> T get(String key, TypeReference<T> typeReference, Callable<? extends T> loader, long ttlSeconds) throws Exception {
+        return load(key, CacheValueCodec.typeOf(typeReference), loader, ttlSeconds);
+    }
+
+    /**
+     * 读取缓存，命中时按 XFetch 概率提前刷新；未命中时本节点单飞，并通过分布式锁保证全集群只有一个节点执行 loader
+     *
+     * @param key 缓存键
+     * @param type 值类型
+     * @param loader 加载器
+     * @param ttlSeconds 过期时间（秒），<=0 使用默认过期时间
+     */
+    private <T> T load(String key, JavaType type, Callable<? extends T> loader, long ttlSeconds) throws Exception {
         String fullKey = prefixedKey(key);
-        // 尝试先获取缓存
-        String json = valueOps.get(fullKey);
-        T value = null;
+        // 一次往返读取值、剩余存活时间和上次加载耗时
+        List<?> entry = redisTemplate.execute(READ_SCRIPT, Arrays.asList(fullKey, deltaKey(fullKey)));
+        byte[] data = entry != null && !entry.isEmpty() ? (byte[]) entry.get(0) : null;
+        T value = decode(fullKey, data, type);
+        if (value != null) {
+            long remainingMillis = toLong(entry.get(1), -1);
+            long deltaMillis = toLong(entry.size() > 2 ? entry.get(2) : null, 0);
+            if (loadPolicy.shouldRefreshEarly(remainingMillis, deltaMillis)) {
+                // 提前刷新：拿到锁的请求重新加载，其他请求继续使用当前值
+                T refreshed = tryRefresh(fullKey, loader, ttlSeconds);
+                return refreshed != null ? refreshed : value;
+            }
+            return value;
+        }
+        return singleFlight.execute(fullKey, () -> loadExclusive(fullKey, type, loader, ttlSeconds));
+    }
 
-        if (json != null) {
-            // 缓存命中，反序列化
-            try {
-                value = deserialize(json, typeReference);
-            } catch (RuntimeException e) {
-                logger.warn("反序列化缓存值失败，将重新加载: {}", e.getMessage());
-                // 反序列化失败，删除错误的缓存
-                redisTemplate.delete(fullKey);
+    private <T> T loadExclusive(String fullKey, JavaType type, Callable<? extends T> loader, long ttlSeconds) throws Exception {
+        String token = UUID.randomUUID().toString();
+        String lockKey = lockKey(fullKey);
+        ExclusiveLoader.LoadLock lock = new ExclusiveLoader.LoadLock() {
+            @Override
+            public boolean tryAcquire() {
+                return acquireLoadLock(lockKey, token);
+            }
+
+            @Override
+            public void release() {
+                releaseLoadLock(lockKey, token);
             }
+        };
+        return exclusiveLoader.load(fullKey, lock, () -> decode(fullKey, valueOps.get(fullKey), type),
+                () -> loadAndStore(fullKey, loader, ttlSeconds));
+    }
+
+    private <T> T tryRefresh(String fullKey, Callable<? extends T> loader, long ttlSeconds) throws Exception {
+        String token = UUID.randomUUID().toString();
+        String lockKey = lockKey(fullKey);
+        if (!acquireLoadLock(lockKey, token)) {
+            return null;
         }
+        try {
+            return loadAndStore(fullKey, loader, ttlSeconds);
+        } finally {
+            releaseLoadLock(lockKey, token);
+        }
+    }
 
-        if (value == null) {
-            // 缓存未命中或反序列化失败，调用 loader 加载
-            value = loader.call();
-            if (value != null) {
-                // 序列化并写入缓存
-                String serializedValue = serialize(value);
-                if (serializedValue != null) {
-                    if (defaultTtlSeconds > 0) {
-                        valueOps.set(fullKey, serializedValue, defaultTtlSeconds, TimeUnit.SECONDS);
-                    } else {
-                        valueOps.set(fullKey, serializedValue);
-                    }
-                }
+    /**
+     * 调用 loader 并写入缓存，同时记录加载耗时供提前刷新使用
+     */
+    private <T> T loadAndStore(String fullKey, Callable<? extends T> loader, long ttlSeconds) throws Exception {
+        long start = System.nanoTime();
+        T value = loader.call();
+        long deltaMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        byte[] serializedValue = serialize(fullKey.substring(namespace.length()), value);
+        if (serializedValue != null) {
+            long ttl = loadPolicy.jitter(ttlSeconds > 0 ? ttlSeconds : defaultTtlSeconds);
+            if (ttl > 0) {
+                redisTemplate.execute(WRITE_SCRIPT, Arrays.asList(fullKey, deltaKey(fullKey)),
+                        serializedValue, toBytes(deltaMillis), toBytes(TimeUnit.SECONDS.toMillis(ttl)));
+            } else {
+                valueOps.set(fullKey, serializedValue);
             }
         }
         return value;
     }
 
+    private <T> T decode(String fullKey, byte[] data, JavaType type) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return codec.decode(data, type);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("反序列化缓存值失败，将重新加载: {}", e.getMessage());
+            // 反序列化失败，删除错误的缓存
+            redisTemplate.delete(fullKey);
+            return null;
+        }
+    }
+
+    private boolean acquireLoadLock(String lockKey, String token) {
+        return Boolean.TRUE.equals(valueOps.setIfAbsent(lockKey, token.getBytes(StandardCharsets.UTF_8),
+                loaderProperties.getLockTimeoutMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    private void releaseLoadLock(String lockKey, String token) {
+        try {
+            redisTemplate.execute(UNLOCK_SCRIPT, Collections.singletonList(lockKey), (Object) token.getBytes(StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            logger.warn("释放缓存加载锁失败: {}, {}", lockKey, e.getMessage());
+        }
+    }
+
+    private static String deltaKey(String fullKey) {
+        return fullKey + "#delta";
+    }
+
+    private static String lockKey(String fullKey) {
+        return fullKey + "#lock";
+    }
+
+    private static byte[] toBytes(long value) {
+        return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long toLong(Object value, long defaultValue) {
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof byte[]) {
+            try {
+                return Long.parseLong(new String((byte[]) value, StandardCharsets.UTF_8));
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+
     @Override
     public <T> void put(String key, T value) {
         String fullKey = prefixedKey(key);
-        String serializedValue = serialize(value);
+        byte[] serializedValue = serialize(key, value);
         if (serializedValue != null) {
             // 使用默认 TTL 或无过期策略
             if (defaultTtlSeconds > 0) {
@@ -324,7 +512,7 @@ public class RedisCacheOperations implements CacheOperations {
 
     @Override
     public <T> void put(String key, T value, long timeout, TimeUnit unit) {
-        String serializedValue = serialize(value);
+        byte[] serializedValue = serialize(key, value);
         if (serializedValue != null) {
             // 指定超时时间写入
             valueOps.set(prefixedKey(key), serializedValue, timeout, unit);
@@ -333,7 +521,7 @@ public class RedisCacheOperations implements CacheOperations {
 
     @Override
     public <T> void put(String key, T value, long ttlSeconds) {
-        String serializedValue = serialize(value);
+        byte[] serializedValue = serialize(key, value);
         if (serializedValue != null) {
             // 指定秒级 TTL 写入
             valueOps.set(prefixedKey(key), serializedValue, ttlSeconds, TimeUnit.SECONDS);
@@ -360,25 +548,412 @@ public class RedisCacheOperations implements CacheOperations {
 
     @Override
     public void clear() {
-        // 删除当前命名空间下所有缓存
-        String pattern = namespace + "*";
-        Set<String> keys = redisTemplate.keys(pattern);
-        if (!keys.isEmpty()) {
-            redisTemplate.delete(keys);
+        // 删除当前命名空间下所有缓存，使用 SCAN 分批删除，避免 KEYS 长时间阻塞 Redis
+        ScanProgress progress = deleteByPattern("*");
+        logger.info("清空缓存完成: namespace={}, {}", namespace, progress);
+    }
+
+    @Override
+    public ScanProgress scan(String pattern, Consumer<List<String>> consumer) {
+        return scanKeys(pattern, fullKeys -> {
+            List<String> keys = fullKeys.stream()
+                    .map(fullKey -> fullKey.substring(namespace.length()))
+                    .collect(Collectors.toList());
+            consumer.accept(keys);
+            return keys.size();
+        }, null);
+    }
+
+    @Override
+    public ScanProgress deleteByPattern(String pattern) {
+        return deleteByPattern(pattern, null);
+    }
+
+    @Override
+    public ScanProgress deleteByPattern(String pattern, Consumer<ScanProgress> listener) {
+        return scanKeys(pattern, this::removeKeys, listener);
+    }
+
+    /**
+     * 使用 SCAN 游标增量遍历匹配的键，攒满一批后交给 handler 处理，按配置限制每秒处理的批次数
+     *
+     * @param pattern 匹配模式（不含命名空间）
+     * @param handler 批处理，参数为完整键，返回实际处理的数量
+     * @param listener 进度回调，可为 null
+     */
+    private ScanProgress scanKeys(String pattern, ToLongFunction<List<String>> handler, Consumer<ScanProgress> listener) {
+        ScanProgress progress = new ScanProgress(pattern);
+        int batchSize = Math.max(1, scanProperties.getBatchSize());
+        RateLimiter rateLimiter = scanProperties.getMaxBatchesPerSecond() > 0
+                ? RateLimiter.create(scanProperties.getMaxBatchesPerSecond()) : null;
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(KeyPatterns.escape(namespace) + pattern)
+                .count(batchSize)
+                .build();
+        List<String> batch = new ArrayList<>(batchSize);
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= batchSize) {
+                    handleBatch(batch, handler, rateLimiter, progress, listener);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            handleBatch(batch, handler, rateLimiter, progress, listener);
+        }
+        progress.finish();
+        if (listener != null) {
+            listener.accept(progress);
         }
+        return progress;
+    }
+
+    private void handleBatch(List<String> batch, ToLongFunction<List<String>> handler, RateLimiter rateLimiter,
+                             ScanProgress progress, Consumer<ScanProgress> listener) {
+        if (rateLimiter != null) {
+            rateLimiter.acquire();
+        }
+        progress.onBatch(batch.size(), handler.applyAsLong(batch));
+        if (listener != null) {
+            listener.accept(progress);
+        }
+    }
+
+    /**
+     * 删除一批完整键，默认使用 UNLINK 由 Redis 后台线程释放内存
+     */
+    private long removeKeys(List<String> fullKeys) {
+        Long removed = scanProperties.isUnlink() ? redisTemplate.unlink(fullKeys) : redisTemplate.delete(fullKeys);
+        return removed != null ? removed : 0;
     }
 
     @Override
     public boolean expire(String key, long ttlSeconds) {
         // 为指定 key 设置过期时长
-        return expire(prefixedKey(key), ttlSeconds, TimeUnit.SECONDS);
+        return expire(key, ttlSeconds, TimeUnit.SECONDS);
     }
 
     public boolean expire(String key, long ttlSeconds, TimeUnit  timeUnit) {
+        if (ttlSeconds <= 0) {
+            // EXPIRE 0 会删除 key，按约定不修改过期时间
+            return Boolean.TRUE.equals(redisTemplate.hasKey(prefixedKey(key)));
+        }
         // 为指定 key 设置过期时长
-        return redisTemplate.expire(prefixedKey(key), ttlSeconds, timeUnit);
+        return Boolean.TRUE.equals(redisTemplate.expire(prefixedKey(key), ttlSeconds, timeUnit));
+    }
+
+
+    @Override
+    public <T> Map<String, T> getAll(Collection<? extends String> keys, Class<T> clazz) {
+        return multiGet(keys, CacheValueCodec.typeOf(clazz));
+    }
+
+    @Override
+    public <T> Map<String, T> getAll(Collection<? extends String> keys, TypeReference<T> typeReference) {
+        return multiGet(keys, CacheValueCodec.typeOf(typeReference));
+    }
+
+    /**
+     * 使用 MGET 一次往返读取
+     */
+    private <T> Map<String, T> multiGet(Collection<? extends String> keys, JavaType type) {
+        Map<String, T> result = new LinkedHashMap<>();
+        if (keys == null || keys.isEmpty()) {
+            return result;
+        }
+        List<String> keyList = new ArrayList<>(keys);
+        List<byte[]> values = valueOps.multiGet(keyList.stream().map(this::prefixedKey).collect(Collectors.toList()));
+        for (int i = 0; values != null && i < keyList.size(); i++) {
+            T value = deserialize(values.get(i), type);
+            if (value != null) {
+                result.put(keyList.get(i), value);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public <T> void putAll(Map<String, ? extends T> entries, long ttlSeconds) {
+        if (entries == null || entries.isEmpty()) {
+            return;
+        }
+        Expiration expiration = expirationOf(ttlSeconds);
+        Map<byte[], byte[]> encoded = new LinkedHashMap<>();
+        entries.forEach((key, value) -> {
+            byte[] serializedValue = serialize(key, value);
+            if (serializedValue != null) {
+                encoded.put(toBytes(prefixedKey(key)), serializedValue);
+            }
+        });
+        // 管道写入，一次往返
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            encoded.forEach((key, value) ->
+                    connection.stringCommands().set(key, value, expiration, RedisStringCommands.SetOption.upsert()));
+            return null;
+        });
+    }
+
+    @Override
+    public long expireAll(Collection<? extends String> keys, long ttlSeconds) {
+        if (keys == null || keys.isEmpty()) {
+            return 0;
+        }
+        if (ttlSeconds <= 0) {
+            Long existing = redisTemplate.countExistingKeys(keys.stream().map(this::prefixedKey).collect(Collectors.toList()));
+            return existing != null ? existing : 0;
+        }
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                connection.keyCommands().expire(toBytes(prefixedKey(key)), ttlSeconds);
+            }
+            return null;
+        });
+        return results.stream().filter(Boolean.TRUE::equals).count();
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(String key, Class<T> clazz) {
+        JavaType type = CacheValueCodec.typeOf(clazz);
+        return asyncCommands.get(prefixedKey(key)).toCompletableFuture()
+                .thenApply(data -> deserialize(data, type));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(String key, TypeReference<T> typeReference) {
+        JavaType type = CacheValueCodec.typeOf(typeReference);
+        return asyncCommands.get(prefixedKey(key)).toCompletableFuture()
+                .thenApply(data -> deserialize(data, type));
+    }
+
+    @Override
+    public <T> CompletableFuture<Map<String, T>> getAllAsync(Collection<? extends String> keys, Class<T> clazz) {
+        if (keys == null || keys.isEmpty()) {
+            return CompletableFuture.completedFuture(new LinkedHashMap<>());
+        }
+        JavaType type = CacheValueCodec.typeOf(clazz);
+        String[] fullKeys = keys.stream().map(this::prefixedKey).toArray(String[]::new);
+        return asyncCommands.mget(fullKeys).toCompletableFuture().thenApply(values -> {
+            Map<String, T> result = new LinkedHashMap<>();
+            for (KeyValue<String, byte[]> keyValue : values) {
+                if (keyValue.hasValue()) {
+                    T value = deserialize(keyValue.getValue(), type);
+                    if (value != null) {
+                        result.put(keyValue.getKey().substring(namespace.length()), value);
+                    }
+                }
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<Void> putAsync(String key, T value, long ttlSeconds) {
+        byte[] serializedValue = serialize(key, value);
+        if (serializedValue == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long ttl = ttlSeconds > 0 ? ttlSeconds : defaultTtlSeconds;
+        SetArgs args = ttl > 0 ? SetArgs.Builder.ex(ttl) : new SetArgs();
+        return asyncCommands.set(prefixedKey(key), serializedValue, args).toCompletableFuture()
+                .thenApply(reply -> null);
+    }
+
+    @Override
+    public <T> CompletableFuture<Void> putAsync(String key, T value, long ttlSeconds, Collection<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return putAsync(key, value, ttlSeconds);
+        }
+        long ttl = ttlSeconds > 0 ? ttlSeconds : defaultTtlSeconds;
+        byte[] member = toBytes(prefixedKey(key));
+        byte[] ttlMillis = toBytes(ttl > 0 ? TimeUnit.SECONDS.toMillis(ttl) : -1);
+        // 与同步版本相同先登记标签再写值，命令在同一连接上按顺序流水线发送，不等待中间结果
+        List<CompletableFuture<?>> futures = new ArrayList<>(tags.size() + 1);
+        for (String tag : tags) {
+            futures.add(asyncCommands.<Long>eval(TAG_SCRIPT.getScriptAsString(), ScriptOutputType.INTEGER,
+                    new String[]{tagKey(tag)}, member, ttlMillis).toCompletableFuture());
+        }
+        futures.add(putAsync(key, value, ttl));
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteAsync(String key) {
+        return asyncCommands.del(prefixedKey(key)).toCompletableFuture()
+                .thenApply(count -> count != null && count > 0);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> expireAsync(String key, long ttlSeconds) {
+        if (ttlSeconds <= 0) {
+            return asyncCommands.exists(prefixedKey(key)).toCompletableFuture()
+                    .thenApply(count -> count != null && count > 0);
+        }
+        return asyncCommands.expire(prefixedKey(key), ttlSeconds).toCompletableFuture()
+                .thenApply(Boolean.TRUE::equals);
+    }
+
+    @Override
+    public <T> boolean putIfAbsent(String key, T value, long ttlSeconds) {
+        byte[] serializedValue = serialize(key, value);
+        if (serializedValue == null) {
+            return false;
+        }
+        long ttl = ttlSeconds > 0 ? ttlSeconds : defaultTtlSeconds;
+        Boolean stored = ttl > 0
+                ? valueOps.setIfAbsent(prefixedKey(key), serializedValue, ttl, TimeUnit.SECONDS)
+                : valueOps.setIfAbsent(prefixedKey(key), serializedValue);
+        return Boolean.TRUE.equals(stored);
+    }
+
+    @Override
+    public long increment(String key, long delta, long ttlSeconds) {
+        Long value = redisTemplate.execute(INCREMENT_SCRIPT, Collections.singletonList(prefixedKey(key)),
+                toBytes(delta), toBytes(ttlSeconds));
+        return value != null ? value : 0;
+    }
+
+    @Override
+    public <T> T getAndExpire(String key, Class<T> clazz, long ttlSeconds) {
+        return deserialize(executeGetAndExpire(key, ttlSeconds), CacheValueCodec.typeOf(clazz));
+    }
+
+    @Override
+    public <T> T getAndExpire(String key, TypeReference<T> typeReference, long ttlSeconds) {
+        return deserialize(executeGetAndExpire(key, ttlSeconds), CacheValueCodec.typeOf(typeReference));
+    }
+
+    private byte[] executeGetAndExpire(String key, long ttlSeconds) {
+        return redisTemplate.execute(GET_AND_EXPIRE_SCRIPT, Collections.singletonList(prefixedKey(key)), toBytes(ttlSeconds));
+    }
+
+    @Override
+    public String tryLock(String key, long leaseMillis) {
+        String token = UUID.randomUUID().toString();
+        Boolean locked = valueOps.setIfAbsent(prefixedKey(key), toBytes(token), leaseMillis, TimeUnit.MILLISECONDS);
+        return Boolean.TRUE.equals(locked) ? token : null;
+    }
+
+    @Override
+    public boolean renewLock(String key, String token, long leaseMillis) {
+        Long renewed = redisTemplate.execute(RENEW_SCRIPT, Collections.singletonList(prefixedKey(key)),
+                toBytes(token), toBytes(leaseMillis));
+        return renewed != null && renewed > 0;
+    }
+
+    @Override
+    public boolean unlock(String key, String token) {
+        Long released = redisTemplate.execute(UNLOCK_SCRIPT, Collections.singletonList(prefixedKey(key)), (Object) toBytes(token));
+        return released != null && released > 0;
+    }
+
+    @Override
+    public <T> void put(String key, T value, long ttlSeconds, Collection<String> tags) {
+        long ttl = ttlSeconds > 0 ? ttlSeconds : defaultTtlSeconds;
+        // 先登记标签再写值，避免值已写入但标签失效找不到它
+        tag(prefixedKey(key), tags, ttl);
+        if (ttl > 0) {
+            put(key, value, ttl);
+        } else {
+            put(key, value);
+        }
     }
 
+    @Override
+    public <T> T get(String key, Class<T> clazz, Callable<? extends T> loader, long ttlSeconds, Collection<String> tags) throws Exception {
+        AtomicReference<List<byte[]>> versions = new AtomicReference<>();
+        T value = load(key, CacheValueCodec.typeOf(clazz), tagged(loader, tags, versions), ttlSeconds);
+        registerLoaded(key, tags, versions.get(), ttlSeconds);
+        return value;
+    }
+
+    @Override
+    public <T> T get(String key, TypeReference<T> typeReference, Callable<? extends T> loader, long ttlSeconds, Collection<String> tags) throws Exception {
+        AtomicReference<List<byte[]>> versions = new AtomicReference<>();
+        T value = load(key, CacheValueCodec.typeOf(typeReference), tagged(loader, tags, versions), ttlSeconds);
+        registerLoaded(key, tags, versions.get(), ttlSeconds);
+        return value;
+    }
+
+    @Override
+    public long invalidateTag(String tag) {
+        Long removed = redisTemplate.execute(INVALIDATE_TAG_SCRIPT, Arrays.asList(tagKey(tag), tagVersionKey(tag)),
+                toBytes(scanProperties.isUnlink() ? "UNLINK" : "DEL"), toBytes(TAG_VERSION_TTL_MILLIS));
+        return removed == null ? 0 : removed;
+    }
+
+    /**
+     * 加载开始前读取标签版本，只有真正执行了加载的请求才会拿到版本
+     */
+    private <T> Callable<T> tagged(Callable<? extends T> loader, Collection<String> tags, AtomicReference<List<byte[]>> versions) {
+        return () -> {
+            if (tags != null && !tags.isEmpty()) {
+                List<byte[]> current = valueOps.multiGet(tags.stream().map(this::tagVersionKey).collect(Collectors.toList()));
+                versions.set(current != null ? current : Collections.nCopies(tags.size(), null));
+            }
+            return loader.call();
+        };
+    }
+
+    /**
+     * 写入后登记标签，版本比较和登记在同一个脚本内完成；加载期间标签被失效过时删除刚写入的值，
+     * 避免旧数据以不在任何标签集合中的状态存活到过期
+     */
+    private void registerLoaded(String key, Collection<String> tags, List<byte[]> versions, long ttlSeconds) {
+        if (versions == null) {
+            return;
+        }
+        long ttl = loadPolicy.maxTtl(ttlSeconds > 0 ? ttlSeconds : defaultTtlSeconds);
+        String fullKey = prefixedKey(key);
+        List<String> keys = new ArrayList<>(1 + tags.size() * 2);
+        List<byte[]> args = new ArrayList<>(2 + tags.size());
+        keys.add(fullKey);
+        args.add(toBytes(fullKey));
+        args.add(toBytes(ttl > 0 ? TimeUnit.SECONDS.toMillis(ttl) : -1));
+        int i = 0;
+        for (String tag : tags) {
+            keys.add(tagKey(tag));
+            keys.add(tagVersionKey(tag));
+            byte[] version = versions.get(i++);
+            args.add(version != null ? version : toBytes("0"));
+        }
+        Long registered = redisTemplate.execute(TAG_LOADED_SCRIPT, keys, args.toArray());
+        if (registered != null && registered == 0) {
+            logger.debug("加载期间标签已失效，丢弃加载结果: {}", fullKey);
+        }
+    }
+
+    /**
+     * 逐个标签登记，每个标签集合是独立的键
+     */
+    private void tag(String fullKey, Collection<String> tags, long ttlSeconds) {
+        if (tags == null || tags.isEmpty()) {
+            return;
+        }
+        byte[] member = toBytes(fullKey);
+        byte[] ttlMillis = toBytes(ttlSeconds > 0 ? TimeUnit.SECONDS.toMillis(ttlSeconds) : -1);
+        for (String tag : tags) {
+            redisTemplate.execute(TAG_SCRIPT, Collections.singletonList(tagKey(tag)), member, ttlMillis);
+        }
+    }
+
+    private String tagKey(String tag) {
+        return namespace + "tag:" + tag;
+    }
+
+    private String tagVersionKey(String tag) {
+        return namespace + "tagver:" + tag;
+    }
+
+    private Expiration expirationOf(long ttlSeconds) {
+        long ttl = ttlSeconds > 0 ? ttlSeconds : defaultTtlSeconds;
+        return ttl > 0 ? Expiration.seconds(ttl) : Expiration.persistent();
+    }
+
+    private static byte[] toBytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
 
     @Override
     public CacheMode getCacheMode() {
@@ -0,0 +1,589 @@
+package com.tran.pulse.cache.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.tran.pulse.cache.constants.CacheMode;
+import com.tran.pulse.cache.metrics.CacheMetrics;
+import com.tran.pulse.cache.properties.PulseCacheProperties;
+import com.tran.pulse.cache.properties.TieredProperties;
+import com.tran.pulse.cache.support.KeyPatterns;
+import com.tran.pulse.cache.support.ScanProgress;
+import com.tran.pulse.cache.support.TagIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * 多级缓存实现
+ * 读取先查本地 L1，未命中再查 Redis L2 并回填本地；写入和删除直接作用于 Redis，
+ * 同时清除本地副本并通过 Redis 发布订阅通知其他节点清除各自的本地副本。
+ * 本地副本按读取时的类型分别缓存，过期时间较短，作为通知丢失时的兜底。
+ * 注意：本地命中返回的是共享对象，调用方不应修改。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class TieredCacheOperations implements CacheOperations, MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TieredCacheOperations.class);
+
+    /**
+     * 无类型读取时的类型标记
+     */
+    private static final Object UNTYPED = new Object();
+
+    private static final String OP_KEY = "K";
+
+    private static final String OP_CLEAR = "C";
+
+    private static final String OP_PATTERN = "P";
+
+    private static final String OP_TAG = "T";
+
+    /**
+     * Redis 缓存（L2）
+     */
+    private final CacheOperations remote;
+
+    /**
+     * 本地缓存（L1）
+     */
+    private final Cache<String, LocalEntry> local;
+
+    /**
+     * 用于发布失效通知
+     */
+    private final RedisTemplate<String, String> redisTemplate;
+
+    /**
+     * 失效通知频道
+     */
+    private final String channel;
+
+    /**
+     * 本节点标识，忽略自己发出的通知
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * 本地副本的失效标签索引，只记录带标签读取时回填的副本
+     */
+    private final TagIndex localTags = new TagIndex();
+
+    /**
+     * 本地副本存活时间（毫秒）
+     */
+    private final long localTtlMillis;
+
+    private final LongAdder l1Hits = new LongAdder();
+
+    private final LongAdder l2Hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    public TieredCacheOperations(CacheOperations remote, RedisTemplate<String, String> redisTemplate,
+                                 PulseCacheProperties pulseCacheProperties, CacheMetrics cacheMetrics) {
+        TieredProperties tieredProperties = pulseCacheProperties.getTiered();
+        this.remote = remote;
+        this.redisTemplate = redisTemplate;
+        this.local = CacheBuilder.newBuilder()
+                .maximumSize(tieredProperties.getMaximumSize())
+                .expireAfterWrite(tieredProperties.getLocalTtlSeconds(), TimeUnit.SECONDS)
+                .<String, LocalEntry>removalListener(notification -> {
+                    // 只统计本地缓存的淘汰与过期，主动失效不计入
+                    if (notification.wasEvicted()) {
+                        cacheMetrics.recordEviction(CacheMode.TIERED, notification.getKey(), notification.getCause().name());
+                    }
+                })
+                .build();
+        this.channel = channelOf(pulseCacheProperties);
+        this.localTtlMillis = TimeUnit.SECONDS.toMillis(tieredProperties.getLocalTtlSeconds());
+    }
+
+    /**
+     * 失效通知频道
+     */
+    public static String channelOf(PulseCacheProperties pulseCacheProperties) {
+        String namespace = pulseCacheProperties.getNamespace();
+        String prefix = namespace == null || namespace.isEmpty() ? "" : (namespace.endsWith(":") ? namespace : namespace + ":");
+        return prefix + pulseCacheProperties.getTiered().getInvalidationChannel();
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    @Override
+    public CacheMode getCacheMode() {
+        return CacheMode.TIERED;
+    }
+
+    @Override
+    public <T> T get(String key) {
+        return read(key, UNTYPED, () -> remote.get(key));
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> clazz) {
+        return read(key, clazz, () -> remote.get(key, clazz));
+    }
+
+    @Override
+    public <T> T get(String key, TypeReference<T> typeReference) {
+        return read(key, typeReference.getType(), () -> remote.get(key, typeReference));
+    }
+
+    @Override
+    public <T> T get(String key, Callable<? extends T> loader) throws Exception {
+        return readThrough(key, UNTYPED, counted -> remote.get(key, counted), loader);
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> clazz, Callable<? extends T> loader) throws Exception {
+        return get(key, clazz, loader, -1);
+    }
+
+    @Override
+    public <T> T get(String key, TypeReference<T> typeReference, Callable<? extends T> loader) throws Exception {
+        return get(key, typeReference, loader, -1);
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> clazz, Callable<? extends T> loader, long ttlSeconds) throws Exception {
+        return this.<T>readThrough(key, clazz, counted -> remote.get(key, clazz, counted, ttlSeconds), loader);
+    }
+
+    @Override
+    public <T> T get(String key, TypeReference<T> typeReference, Callable<? extends T> loader, long ttlSeconds) throws Exception {
+        return this.<T>readThrough(key, typeReference.getType(), counted -> remote.get(key, typeReference, counted, ttlSeconds), loader);
+    }
+
+    @Override
+    public <T> void put(String key, T value) {
+        remote.put(key, value);
+        invalidate(key);
+    }
+
+    @Override
+    public <T> void put(String key, T value, long timeout, TimeUnit unit) {
+        remote.put(key, value, timeout, unit);
+        invalidate(key);
+    }
+
+    @Override
+    public <T> void put(String key, T value, long ttlSeconds) {
+        remote.put(key, value, ttlSeconds);
+        invalidate(key);
+    }
+
+    @Override
+    public boolean delete(String key) {
+        boolean deleted = remote.delete(key);
+        invalidate(key);
+        return deleted;
+    }
+
+    @Override
+    public void deleteAll(Collection<? extends String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return;
+        }
+        remote.deleteAll(keys);
+        for (String key : keys) {
+            invalidate(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        localTags.clear();
+        publish(OP_CLEAR, "");
+    }
+
+    @Override
+    public ScanProgress scan(String pattern, Consumer<List<String>> consumer) {
+        return remote.scan(pattern, consumer);
+    }
+
+    @Override
+    public ScanProgress deleteByPattern(String pattern) {
+        return deleteByPattern(pattern, null);
+    }
+
+    @Override
+    public ScanProgress deleteByPattern(String pattern, Consumer<ScanProgress> listener) {
+        ScanProgress progress = remote.deleteByPattern(pattern, listener);
+        invalidateLocal(pattern);
+        publish(OP_PATTERN, pattern);
+        return progress;
+    }
+
+    @Override
+    public boolean expire(String key, long ttlSeconds) {
+        return remote.expire(key, ttlSeconds);
+    }
+
+    @Override
+    public boolean expire(String key, long ttlSeconds, TimeUnit timeUnit) {
+        return remote.expire(key, ttlSeconds, timeUnit);
+    }
+
+    @Override
+    public <T> Map<String, T> getAll(Collection<? extends String> keys, Class<T> clazz) {
+        return readAll(keys, clazz, misses -> remote.getAll(misses, clazz));
+    }
+
+    @Override
+    public <T> Map<String, T> getAll(Collection<? extends String> keys, TypeReference<T> typeReference) {
+        return readAll(keys, typeReference.getType(), misses -> remote.getAll(misses, typeReference));
+    }
+
+    @Override
+    public <T> void putAll(Map<String, ? extends T> entries, long ttlSeconds) {
+        remote.putAll(entries, ttlSeconds);
+        for (String key : entries.keySet()) {
+            invalidate(key);
+        }
+    }
+
+    @Override
+    public long expireAll(Collection<? extends String> keys, long ttlSeconds) {
+        return remote.expireAll(keys, ttlSeconds);
+    }
+
+    /*
+     * 异步方法：本地命中直接返回；远程操作完成后的本地失效和通知发布切换到公共线程池执行，
+     * 避免在 Redis 客户端的 IO 线程上发起同步调用
+     */
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> getAsync(String key, Class<T> clazz) {
+        LocalEntry entry = local.getIfPresent(key);
+        if (entry != null && Objects.equals(entry.type, clazz)) {
+            l1Hits.increment();
+            return CompletableFuture.completedFuture((T) entry.value);
+        }
+        return remote.getAsync(key, clazz).thenApply(value -> fill(key, clazz, value));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> getAsync(String key, TypeReference<T> typeReference) {
+        LocalEntry entry = local.getIfPresent(key);
+        if (entry != null && Objects.equals(entry.type, typeReference.getType())) {
+            l1Hits.increment();
+            return CompletableFuture.completedFuture((T) entry.value);
+        }
+        return remote.getAsync(key, typeReference).thenApply(value -> fill(key, typeReference.getType(), value));
+    }
+
+    @Override
+    public <T> CompletableFuture<Map<String, T>> getAllAsync(Collection<? extends String> keys, Class<T> clazz) {
+        Map<String, T> result = new LinkedHashMap<>();
+        List<String> missed = readLocal(keys, clazz, result);
+        if (missed.isEmpty()) {
+            return CompletableFuture.completedFuture(result);
+        }
+        return remote.getAllAsync(missed, clazz).thenApply(loaded -> fillAll(missed, clazz, loaded, result));
+    }
+
+    @Override
+    public <T> CompletableFuture<Void> putAsync(String key, T value, long ttlSeconds) {
+        local.invalidate(key);
+        return remote.putAsync(key, value, ttlSeconds).thenRunAsync(() -> invalidate(key));
+    }
+
+    @Override
+    public <T> CompletableFuture<Void> putAsync(String key, T value, long ttlSeconds, Collection<String> tags) {
+        local.invalidate(key);
+        return remote.putAsync(key, value, ttlSeconds, tags).thenRunAsync(() -> invalidate(key));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteAsync(String key) {
+        local.invalidate(key);
+        return remote.deleteAsync(key).thenApplyAsync(deleted -> {
+            invalidate(key);
+            return deleted;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> expireAsync(String key, long ttlSeconds) {
+        return remote.expireAsync(key, ttlSeconds);
+    }
+
+    @Override
+    public <T> boolean putIfAbsent(String key, T value, long ttlSeconds) {
+        boolean stored = remote.putIfAbsent(key, value, ttlSeconds);
+        if (stored) {
+            invalidate(key);
+        }
+        return stored;
+    }
+
+    @Override
+    public long increment(String key, long delta, long ttlSeconds) {
+        long value = remote.increment(key, delta, ttlSeconds);
+        invalidate(key);
+        return value;
+    }
+
+    @Override
+    public <T> T getAndExpire(String key, Class<T> clazz, long ttlSeconds) {
+        // 续期必须作用于 Redis，不走本地缓存
+        return fill(key, clazz, remote.getAndExpire(key, clazz, ttlSeconds));
+    }
+
+    @Override
+    public <T> T getAndExpire(String key, TypeReference<T> typeReference, long ttlSeconds) {
+        return fill(key, typeReference.getType(), remote.getAndExpire(key, typeReference, ttlSeconds));
+    }
+
+    @Override
+    public String tryLock(String key, long leaseMillis) {
+        return remote.tryLock(key, leaseMillis);
+    }
+
+    @Override
+    public boolean renewLock(String key, String token, long leaseMillis) {
+        return remote.renewLock(key, token, leaseMillis);
+    }
+
+    @Override
+    public boolean unlock(String key, String token) {
+        return remote.unlock(key, token);
+    }
+
+    @Override
+    public <T> void put(String key, T value, long ttlSeconds, Collection<String> tags) {
+        remote.put(key, value, ttlSeconds, tags);
+        invalidate(key);
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> clazz, Callable<? extends T> loader, long ttlSeconds, Collection<String> tags) throws Exception {
+        // 回填前记下标签版本，回填后版本已变说明期间收到过失效通知，丢弃本地副本
+        long[] versions = localTags.versions(tags);
+        T value = this.<T>readThrough(key, clazz, counted -> remote.get(key, clazz, counted, ttlSeconds, tags), loader);
+        if (!localTags.addIfUnchanged(key, tags, versions, localTtlMillis)) {
+            local.invalidate(key);
+        }
+        return value;
+    }
+
+    @Override
+    public <T> T get(String key, TypeReference<T> typeReference, Callable<? extends T> loader, long ttlSeconds, Collection<String> tags) throws Exception {
+        // 回填前记下标签版本，回填后版本已变说明期间收到过失效通知，丢弃本地副本
+        long[] versions = localTags.versions(tags);
+        T value = this.<T>readThrough(key, typeReference.getType(), counted -> remote.get(key, typeReference, counted, ttlSeconds, tags), loader);
+        if (!localTags.addIfUnchanged(key, tags, versions, localTtlMillis)) {
+            local.invalidate(key);
+        }
+        return value;
+    }
+
+    @Override
+    public long invalidateTag(String tag) {
+        long removed = remote.invalidateTag(tag);
+        invalidateLocalTag(tag);
+        publish(OP_TAG, tag);
+        return removed;
+    }
+
+    /**
+     * 当前命中统计
+     */
+    public TieredCacheStats getStats() {
+        return new TieredCacheStats(l1Hits.sum(), l2Hits.sum(), misses.sum(), local.size());
+    }
+
+    /**
+     * 其他节点发来的失效通知
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\n", 3);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        if (OP_CLEAR.equals(parts[1])) {
+            local.invalidateAll();
+        } else if (OP_PATTERN.equals(parts[1])) {
+            invalidateLocal(parts[2]);
+        } else if (OP_TAG.equals(parts[1])) {
+            invalidateLocalTag(parts[2]);
+        } else {
+            local.invalidate(parts[2]);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T read(String key, Object type, Supplier<T> remoteRead) {
+        LocalEntry entry = local.getIfPresent(key);
+        if (entry != null && Objects.equals(entry.type, type)) {
+            l1Hits.increment();
+            return (T) entry.value;
+        }
+        T value = remoteRead.get();
+        if (value != null) {
+            l2Hits.increment();
+            local.put(key, new LocalEntry(value, type));
+        } else {
+            misses.increment();
+        }
+        return value;
+    }
+
+    /**
+     * 批量读取：先查本地，未命中的键一次性查 Redis 并回填本地
+     */
+    private <T> Map<String, T> readAll(Collection<? extends String> keys, Object type,
+                                       Function<List<String>, Map<String, T>> remoteRead) {
+        Map<String, T> result = new LinkedHashMap<>();
+        List<String> missed = readLocal(keys, type, result);
+        if (!missed.isEmpty()) {
+            fillAll(missed, type, remoteRead.apply(missed), result);
+        }
+        return result;
+    }
+
+    /**
+     * 本地命中的值放入 result，返回未命中的键
+     */
+    @SuppressWarnings("unchecked")
+    private <T> List<String> readLocal(Collection<? extends String> keys, Object type, Map<String, T> result) {
+        List<String> missed = new ArrayList<>();
+        for (String key : keys) {
+            LocalEntry entry = local.getIfPresent(key);
+            if (entry != null && Objects.equals(entry.type, type)) {
+                l1Hits.increment();
+                result.put(key, (T) entry.value);
+            } else {
+                missed.add(key);
+            }
+        }
+        return missed;
+    }
+
+    /**
+     * Redis 批量读取的结果回填本地并合并到 result
+     */
+    private <T> Map<String, T> fillAll(List<String> missed, Object type, Map<String, T> loaded, Map<String, T> result) {
+        for (String key : missed) {
+            T value = loaded.get(key);
+            if (value != null) {
+                l2Hits.increment();
+                local.put(key, new LocalEntry(value, type));
+                result.put(key, value);
+            } else {
+                misses.increment();
+            }
+        }
+        return result;
+    }
+
+    private <T> T fill(String key, Object type, T value) {
+        if (value != null) {
+            l2Hits.increment();
+            local.put(key, new LocalEntry(value, type));
+        } else {
+            misses.increment();
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T readThrough(String key, Object type, RemoteLoad<T> remoteLoad, Callable<? extends T> loader) throws Exception {
+        LocalEntry entry = local.getIfPresent(key);
+        if (entry != null && Objects.equals(entry.type, type)) {
+            l1Hits.increment();
+            return (T) entry.value;
+        }
+        AtomicBoolean loaded = new AtomicBoolean();
+        T value = remoteLoad.get(() -> {
+            loaded.set(true);
+            return loader.call();
+        });
+        if (loaded.get()) {
+            misses.increment();
+        } else {
+            l2Hits.increment();
+        }
+        if (value != null) {
+            local.put(key, new LocalEntry(value, type));
+        }
+        return value;
+    }
+
+    private void invalidateLocal(String pattern) {
+        Pattern matcher = KeyPatterns.compile(pattern);
+        local.asMap().keySet().removeIf(key -> matcher.matcher(key).matches());
+    }
+
+    private void invalidateLocalTag(String tag) {
+        local.invalidateAll(localTags.remove(tag));
+    }
+
+    private void invalidate(String key) {
+        local.invalidate(key);
+        publish(OP_KEY, key);
+    }
+
+    private void publish(String op, String key) {
+        try {
+            redisTemplate.convertAndSend(channel, nodeId + "\n" + op + "\n" + key);
+        } catch (Exception e) {
+            // 通知失败时其他节点的本地副本在 localTtlSeconds 后过期
+            logger.warn("发布缓存失效通知失败: {}, {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 带加载器的 Redis 读取
+     */
+    @FunctionalInterface
+    private interface RemoteLoad<T> {
+        T get(Callable<T> loader) throws Exception;
+    }
+
+    /**
+     * 本地缓存条目，记录读取时的类型
+     */
+    private static final class LocalEntry {
+
+        private final Object value;
+
+        private final Object type;
+
+        private LocalEntry(Object value, Object type) {
+            this.value = value;
+            this.type = type;
+        }
+    }
+}
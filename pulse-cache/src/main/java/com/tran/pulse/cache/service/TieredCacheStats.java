@@ -0,0 +1,88 @@
+package com.tran.pulse.cache.service;
+
+/**
+ * 多级缓存命中统计
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class TieredCacheStats {
+
+    /**
+     * 本地缓存命中次数
+     */
+    private final long l1Hits;
+
+    /**
+     * 本地未命中、Redis 命中次数
+     */
+    private final long l2Hits;
+
+    /**
+     * 两级都未命中次数
+     */
+    private final long misses;
+
+    /**
+     * 本地缓存当前条目数
+     */
+    private final long l1Size;
+
+    public TieredCacheStats(long l1Hits, long l2Hits, long misses, long l1Size) {
+        this.l1Hits = l1Hits;
+        this.l2Hits = l2Hits;
+        this.misses = misses;
+        this.l1Size = l1Size;
+    }
+
+    public long getL1Hits() {
+        return l1Hits;
+    }
+
+    public long getL2Hits() {
+        return l2Hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getL1Size() {
+        return l1Size;
+    }
+
+    public long getRequests() {
+        return l1Hits + l2Hits + misses;
+    }
+
+    /**
+     * 本地缓存命中率
+     */
+    public double getL1HitRatio() {
+        long requests = getRequests();
+        return requests == 0 ? 0D : (double) l1Hits / requests;
+    }
+
+    /**
+     * Redis 命中率（仅统计本地未命中的请求）
+     */
+    public double getL2HitRatio() {
+        long l2Requests = l2Hits + misses;
+        return l2Requests == 0 ? 0D : (double) l2Hits / l2Requests;
+    }
+
+    /**
+     * 整体命中率
+     */
+    public double getHitRatio() {
+        long requests = getRequests();
+        return requests == 0 ? 0D : (double) (l1Hits + l2Hits) / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "TieredCacheStats{l1Hits=" + l1Hits + ", l2Hits=" + l2Hits + ", misses=" + misses
+                + ", l1Size=" + l1Size + ", l1HitRatio=" + getL1HitRatio() + ", l2HitRatio=" + getL2HitRatio() + '}';
+    }
+}
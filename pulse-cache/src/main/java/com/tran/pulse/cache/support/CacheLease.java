@@ -0,0 +1,82 @@
+package com.tran.pulse.cache.support;
+
+import com.tran.pulse.cache.service.CacheOperations;
+
+/**
+ * 缓存租约（互斥锁），配合 try-with-resources 使用：
+ * <pre>
+ * try (CacheLease lease = CacheLease.tryAcquire(ops, "job:daily", 60000)) {
+ *     if (lease != null) { ... }
+ * }
+ * </pre>
+ * 可用于多节点下定时任务的单节点执行、跨节点互斥等场景
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class CacheLease implements AutoCloseable {
+
+    private final CacheOperations cacheOperations;
+
+    private final String key;
+
+    private final String token;
+
+    private volatile boolean released;
+
+    private CacheLease(CacheOperations cacheOperations, String key, String token) {
+        this.cacheOperations = cacheOperations;
+        this.key = key;
+        this.token = token;
+    }
+
+    /**
+     * 尝试获取租约
+     *
+     * @param cacheOperations 缓存实现
+     * @param key 锁键
+     * @param leaseMillis 租约时长（毫秒）
+     * @return 租约，已被其他持有者持有时返回 null
+     */
+    public static CacheLease tryAcquire(CacheOperations cacheOperations, String key, long leaseMillis) {
+        String token = cacheOperations.tryLock(key, leaseMillis);
+        return token != null ? new CacheLease(cacheOperations, key, token) : null;
+    }
+
+    /**
+     * 续约
+     *
+     * @param leaseMillis 新的租约时长（毫秒）
+     * @return 是否续约成功，租约已过期被他人获取时返回 false
+     */
+    public boolean renew(long leaseMillis) {
+        return !released && cacheOperations.renewLock(key, token, leaseMillis);
+    }
+
+    /**
+     * 释放租约
+     *
+     * @return 是否释放成功，租约已过期时返回 false
+     */
+    public boolean release() {
+        if (released) {
+            return false;
+        }
+        released = true;
+        return cacheOperations.unlock(key, token);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    @Override
+    public void close() {
+        release();
+    }
+}
@@ -0,0 +1,55 @@
+package com.tran.pulse.cache.support;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 缓存条目权重估算（近似字节数）
+ * 只做粗略估算，用于在值大小差异较大时按内存而不是条目数限制本地缓存
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class EntryWeigher implements Weigher<Object, Object> {
+
+    /**
+     * 对象头及引用的大致开销
+     */
+    private static final int OBJECT_OVERHEAD = 16;
+
+    /**
+     * 无法估算的对象按该值计算
+     */
+    private static final int DEFAULT_WEIGHT = 64;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long weight = OBJECT_OVERHEAD + estimate(key) + estimate(value);
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    private static long estimate(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof CharSequence) {
+            return OBJECT_OVERHEAD + 2L * ((CharSequence) value).length();
+        }
+        if (value instanceof byte[]) {
+            return OBJECT_OVERHEAD + ((byte[]) value).length;
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+            return OBJECT_OVERHEAD;
+        }
+        if (value instanceof Collection) {
+            return OBJECT_OVERHEAD + (long) ((Collection<?>) value).size() * DEFAULT_WEIGHT;
+        }
+        if (value instanceof Map) {
+            return OBJECT_OVERHEAD + (long) ((Map<?, ?>) value).size() * DEFAULT_WEIGHT * 2;
+        }
+        return DEFAULT_WEIGHT;
+    }
+}
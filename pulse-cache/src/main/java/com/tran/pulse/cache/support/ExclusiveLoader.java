@@ -0,0 +1,90 @@
+package com.tran.pulse.cache.support;
+
+import com.tran.pulse.cache.properties.LoaderProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 分布式互斥加载
+ * 拿到加载锁的节点回源，其他节点轮询等待其结果；持锁节点加载失败或锁过期后，由等待者接手加载。
+ * 等待时长默认跟随锁的持有时间，只要锁仍被持有就继续等待，慢加载（如调用大模型）不会让等待者提前回源。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class ExclusiveLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExclusiveLoader.class);
+
+    /**
+     * 加载锁
+     */
+    public interface LoadLock {
+
+        /**
+         * 尝试加锁，不阻塞
+         */
+        boolean tryAcquire();
+
+        /**
+         * 释放本次持有的锁
+         */
+        void release();
+    }
+
+    private final long waitMillis;
+
+    private final long pollMillis;
+
+    public ExclusiveLoader(LoaderProperties loaderProperties) {
+        this.pollMillis = Math.max(1, loaderProperties.getLockPollMillis());
+        // 锁过期后下一次轮询即可接手，多等一个轮询间隔
+        this.waitMillis = loaderProperties.getLockWaitMillis() > 0
+                ? loaderProperties.getLockWaitMillis()
+                : loaderProperties.getLockTimeoutMillis() + pollMillis;
+    }
+
+    /**
+     * 互斥加载
+     *
+     * @param key    缓存键，仅用于日志
+     * @param lock   加载锁
+     * @param lookup 读取当前缓存值，不存在返回 null
+     * @param loader 回源并写入缓存
+     * @return 缓存值或加载结果
+     * @throws Exception 加载器抛出的异常
+     */
+    public <T> T load(String key, LoadLock lock, Callable<? extends T> lookup, Callable<? extends T> loader) throws Exception {
+        if (lock.tryAcquire()) {
+            try {
+                // 加锁前可能已有其他节点写入
+                T current = lookup.call();
+                return current != null ? current : loader.call();
+            } finally {
+                lock.release();
+            }
+        }
+        // 其他节点正在加载，等待其结果
+        long deadline = System.currentTimeMillis() + waitMillis;
+        while (System.currentTimeMillis() < deadline) {
+            Thread.sleep(pollMillis);
+            T current = lookup.call();
+            if (current != null) {
+                return current;
+            }
+            if (lock.tryAcquire()) {
+                // 持锁节点加载失败或锁已过期，由本节点加载
+                try {
+                    return loader.call();
+                } finally {
+                    lock.release();
+                }
+            }
+        }
+        logger.warn("等待缓存加载超时，自行加载: {}", key);
+        return loader.call();
+    }
+}
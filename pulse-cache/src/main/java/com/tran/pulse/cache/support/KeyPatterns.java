@@ -0,0 +1,57 @@
+package com.tran.pulse.cache.support;
+
+import java.util.regex.Pattern;
+
+/**
+ * 键匹配模式工具，语义与 Redis SCAN MATCH 的 * 和 ? 通配一致，供本地缓存遍历使用
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public final class KeyPatterns {
+
+    private KeyPatterns() {
+    }
+
+    /**
+     * 转义通配字符，使文本（如命名空间）在匹配模式中按字面匹配
+     *
+     * @param text 文本
+     * @return 转义后的模式
+     */
+    public static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 4);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == ']' || c == '\\') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * 将通配模式编译为正则，* 匹配任意字符序列，? 匹配单个字符，\ 转义下一个字符
+     *
+     * @param glob 通配模式
+     * @return 正则
+     */
+    public static Pattern compile(String glob) {
+        StringBuilder regex = new StringBuilder(glob.length() + 8);
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else if (c == '\\' && i + 1 < glob.length()) {
+                regex.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+}
@@ -0,0 +1,71 @@
+package com.tran.pulse.cache.support;
+
+import com.tran.pulse.cache.properties.LoaderProperties;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 加载策略
+ * TTL 抖动：加载写入的缓存在 TTL 基础上随机延长一段时间，避免同一批写入的 key 同时过期；
+ * 提前刷新（XFetch）：剩余时间越短、加载越慢，越可能在过期前被某个请求提前重新加载，
+ * 热点 key 通常在过期前就已刷新，不会出现所有请求同时回源。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class LoadPolicy {
+
+    private final double ttlJitterRatio;
+
+    private final double earlyRefreshBeta;
+
+    public LoadPolicy(LoaderProperties loaderProperties) {
+        this.ttlJitterRatio = Math.max(0D, loaderProperties.getTtlJitterRatio());
+        this.earlyRefreshBeta = Math.max(0D, loaderProperties.getEarlyRefreshBeta());
+    }
+
+    /**
+     * 为 TTL 增加随机抖动，只延长不缩短
+     *
+     * @param ttlSeconds 原始 TTL（秒），<=0 表示不过期，原样返回
+     * @return 抖动后的 TTL（秒）
+     */
+    public long jitter(long ttlSeconds) {
+        if (ttlSeconds <= 0 || ttlJitterRatio <= 0) {
+            return ttlSeconds;
+        }
+        long bound = (long) (ttlSeconds * ttlJitterRatio);
+        return bound <= 0 ? ttlSeconds : ttlSeconds + ThreadLocalRandom.current().nextLong(bound + 1);
+    }
+
+    /**
+     * 抖动后可能的最大 TTL，用于让关联数据（如失效标签）比缓存值活得更久
+     *
+     * @param ttlSeconds 原始 TTL（秒），<=0 原样返回
+     */
+    public long maxTtl(long ttlSeconds) {
+        if (ttlSeconds <= 0) {
+            return ttlSeconds;
+        }
+        return ttlSeconds + (long) (ttlSeconds * ttlJitterRatio);
+    }
+
+    /**
+     * XFetch 判断是否提前刷新：-delta * beta * ln(rand) >= 剩余时间
+     *
+     * @param remainingMillis 剩余存活时间（毫秒），<0 表示不过期
+     * @param deltaMillis     上次加载耗时（毫秒）
+     * @return 是否应提前刷新
+     */
+    public boolean shouldRefreshEarly(long remainingMillis, long deltaMillis) {
+        if (remainingMillis < 0 || deltaMillis <= 0 || earlyRefreshBeta <= 0) {
+            return false;
+        }
+        double random = ThreadLocalRandom.current().nextDouble();
+        if (random <= 0D) {
+            return true;
+        }
+        return -deltaMillis * earlyRefreshBeta * Math.log(random) >= remainingMillis;
+    }
+}
@@ -0,0 +1,625 @@
+package com.tran.pulse.cache.support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * 堆外字节存储
+ * 数据存放在按需分配的直接内存片（slab）中，每片切分为固定大小的内存块，条目占用若干块；
+ * 堆上只保留键和块表。按键哈希分段，每段独立加锁，容量按字节限制，写满时按 LRU 淘汰，过期条目在访问时清理。
+ * 读取时直接在内存块上构造输入流交给解码器，不复制成数组。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class OffHeapStore {
+
+    /**
+     * 移除原因：容量淘汰
+     */
+    public static final String CAUSE_SIZE = "size";
+
+    /**
+     * 移除原因：过期
+     */
+    public static final String CAUSE_EXPIRED = "expired";
+
+    /**
+     * 读取条目内容
+     */
+    @FunctionalInterface
+    public interface Reader<T> {
+
+        /**
+         * @param in     条目内容，只能在回调内使用
+         * @param length 内容长度
+         */
+        T read(InputStream in, int length) throws IOException;
+    }
+
+    /**
+     * 非主动删除的移除通知（淘汰、过期），在段锁内回调，不能再访问存储
+     */
+    @FunctionalInterface
+    public interface RemovalListener {
+
+        void onRemoval(String key, String cause);
+    }
+
+    private final Segment[] segments;
+
+    private final int segmentMask;
+
+    private final RemovalListener removalListener;
+
+    private final long capacityBytes;
+
+    /**
+     * @param capacityBytes   总容量（字节）
+     * @param blockSize       内存块大小（字节）
+     * @param slabSize        内存片大小（字节），向下取整为块大小的整数倍
+     * @param segments        分段数，向上取整为 2 的幂
+     * @param removalListener 移除通知，可为 null
+     */
+    public OffHeapStore(long capacityBytes, int blockSize, int slabSize, int segments, RemovalListener removalListener) {
+        if (blockSize <= 0 || slabSize < blockSize) {
+            throw new IllegalArgumentException("内存块大小必须大于 0 且不超过内存片大小");
+        }
+        int segmentCount = 1;
+        while (segmentCount < segments) {
+            segmentCount <<= 1;
+        }
+        long blocksPerSegment = capacityBytes / segmentCount / blockSize;
+        if (blocksPerSegment <= 0 || blocksPerSegment > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("堆外缓存容量无效: " + capacityBytes);
+        }
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            this.segments[i] = new Segment((int) blocksPerSegment, blockSize, slabSize / blockSize);
+        }
+        this.segmentMask = segmentCount - 1;
+        this.removalListener = removalListener;
+        this.capacityBytes = blocksPerSegment * blockSize * segmentCount;
+    }
+
+    /**
+     * 写入，覆盖已有条目
+     *
+     * @param ttlMillis 存活时间（毫秒），<=0 表示不过期
+     * @return 条目超过单段容量时不写入并返回 false
+     */
+    public boolean put(String key, byte[] data, long ttlMillis) {
+        Segment segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            return segment.store(key, data, expireAt(ttlMillis), System.nanoTime());
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 不存在（或已过期）时写入
+     *
+     * @return 是否写入
+     */
+    public boolean putIfAbsent(String key, byte[] data, long ttlMillis) {
+        Segment segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            long now = System.nanoTime();
+            if (segment.live(key, now) != null) {
+                return false;
+            }
+            return segment.store(key, data, expireAt(ttlMillis), now);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 读取条目，reader 在段锁内执行
+     *
+     * @return reader 的结果，条目不存在时返回 null
+     */
+    public <T> T read(String key, Reader<T> reader) throws IOException {
+        return read(key, -1, reader);
+    }
+
+    /**
+     * 读取条目并重新设置存活时间
+     *
+     * @param ttlMillis 新的存活时间（毫秒），<0 表示保持不变，0 表示不过期
+     */
+    public <T> T read(String key, long ttlMillis, Reader<T> reader) throws IOException {
+        Segment segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            Entry entry = segment.live(key, System.nanoTime());
+            if (entry == null) {
+                return null;
+            }
+            if (ttlMillis >= 0) {
+                entry.expireAt = expireAt(ttlMillis);
+            }
+            return reader.read(new BlockInputStream(segment, entry), entry.length);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 原子地更新条目：remapping 收到当前内容的副本（不存在时为 null），返回新内容，返回 null 表示删除；
+     * 已有条目保持原有过期时间，新建条目使用 ttlMillis
+     *
+     * @return 更新后的内容
+     */
+    public byte[] compute(String key, UnaryOperator<byte[]> remapping, long ttlMillis) {
+        Segment segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            long now = System.nanoTime();
+            Entry entry = segment.live(key, now);
+            byte[] current = entry != null ? segment.copy(entry) : null;
+            byte[] updated = remapping.apply(current);
+            if (updated == null) {
+                if (entry != null) {
+                    segment.remove(key);
+                }
+            } else if (entry == null || !Arrays.equals(current, updated)) {
+                segment.store(key, updated, entry != null ? entry.expireAt : expireAt(ttlMillis), now);
+            }
+            return updated;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 删除条目
+     *
+     * @return 删除前是否存在
+     */
+    public boolean remove(String key) {
+        Segment segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            return segment.live(key, System.nanoTime()) != null && segment.remove(key);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 内容与 expected 相同时删除
+     */
+    public boolean remove(String key, byte[] expected) {
+        Segment segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            Entry entry = segment.live(key, System.nanoTime());
+            return entry != null && segment.contentEquals(entry, expected) && segment.remove(key);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 重新设置存活时间
+     *
+     * @param ttlMillis 存活时间（毫秒），<=0 表示不过期
+     * @return 条目是否存在
+     */
+    public boolean expire(String key, long ttlMillis) {
+        return expire(key, null, ttlMillis);
+    }
+
+    /**
+     * 内容与 expected 相同时重新设置存活时间，expected 为 null 时不比较
+     */
+    public boolean expire(String key, byte[] expected, long ttlMillis) {
+        Segment segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            Entry entry = segment.live(key, System.nanoTime());
+            if (entry == null || (expected != null && !segment.contentEquals(entry, expected))) {
+                return false;
+            }
+            entry.expireAt = expireAt(ttlMillis);
+            return true;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 剩余存活时间（毫秒），不存在返回 -2，不过期返回 -1
+     */
+    public long remainingMillis(String key) {
+        Segment segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            long now = System.nanoTime();
+            Entry entry = segment.live(key, now);
+            if (entry == null) {
+                return -2;
+            }
+            return entry.expireAt == 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(entry.expireAt - now);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * 所有键的快照，不包含已过期的条目
+     */
+    public List<String> keys() {
+        List<String> keys = new ArrayList<>();
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                long now = System.nanoTime();
+                for (Map.Entry<String, Entry> e : segment.index.entrySet()) {
+                    if (!e.getValue().isExpired(now)) {
+                        keys.add(e.getKey());
+                    }
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * 清空所有条目，已分配的内存片保留复用
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.clear();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 当前条目数（含尚未清理的过期条目）
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.index.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 条目实际占用的字节数
+     */
+    public long usedBytes() {
+        long used = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                used += segment.usedBytes;
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return used;
+    }
+
+    /**
+     * 已分配的堆外内存（字节）
+     */
+    public long allocatedBytes() {
+        long allocated = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                allocated += segment.allocatedBytes;
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return allocated;
+    }
+
+    public long capacityBytes() {
+        return capacityBytes;
+    }
+
+    private Segment segmentFor(String key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & segmentMask];
+    }
+
+    private static long expireAt(long ttlMillis) {
+        if (ttlMillis <= 0) {
+            return 0;
+        }
+        long expireAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        // 0 表示不过期，避开这个值
+        return expireAt == 0 ? 1 : expireAt;
+    }
+
+    /**
+     * 条目元数据，内容存放在 blocks 指向的内存块中
+     */
+    private static final class Entry {
+
+        private final int[] blocks;
+
+        private final int length;
+
+        /**
+         * 过期时间（System.nanoTime），0 表示不过期
+         */
+        private long expireAt;
+
+        private Entry(int[] blocks, int length, long expireAt) {
+            this.blocks = blocks;
+            this.length = length;
+            this.expireAt = expireAt;
+        }
+
+        private boolean isExpired(long now) {
+            return expireAt != 0 && now - expireAt >= 0;
+        }
+    }
+
+    /**
+     * 分段，所有方法都在持有 lock 时调用
+     */
+    private final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * 按访问顺序排列，头部为最久未使用
+         */
+        private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>(64, 0.75f, true);
+
+        private final ByteBuffer[] slabs;
+
+        private final int blockSize;
+
+        private final int blocksPerSlab;
+
+        private final int totalBlocks;
+
+        /**
+         * 空闲块栈
+         */
+        private final int[] freeBlocks;
+
+        private int freeCount;
+
+        private long usedBytes;
+
+        private long allocatedBytes;
+
+        private Segment(int totalBlocks, int blockSize, int blocksPerSlab) {
+            this.totalBlocks = totalBlocks;
+            this.blockSize = blockSize;
+            this.blocksPerSlab = blocksPerSlab;
+            this.slabs = new ByteBuffer[(totalBlocks + blocksPerSlab - 1) / blocksPerSlab];
+            this.freeBlocks = new int[totalBlocks];
+            resetFreeBlocks();
+        }
+
+        /**
+         * 未过期的条目，已过期的顺带删除
+         */
+        private Entry live(String key, long now) {
+            Entry entry = index.get(key);
+            if (entry != null && entry.isExpired(now)) {
+                evict(key, CAUSE_EXPIRED);
+                return null;
+            }
+            return entry;
+        }
+
+        private boolean store(String key, byte[] data, long expireAt, long now) {
+            int needed = Math.max(1, (data.length + blockSize - 1) / blockSize);
+            Entry old = index.remove(key);
+            if (old != null) {
+                release(old);
+            }
+            if (needed > totalBlocks) {
+                return false;
+            }
+            // 空间不足时从最久未使用的条目开始淘汰
+            Iterator<Map.Entry<String, Entry>> iterator = index.entrySet().iterator();
+            while (freeCount < needed && iterator.hasNext()) {
+                Map.Entry<String, Entry> eldest = iterator.next();
+                iterator.remove();
+                release(eldest.getValue());
+                notifyRemoval(eldest.getKey(), eldest.getValue().isExpired(now) ? CAUSE_EXPIRED : CAUSE_SIZE);
+            }
+            int[] blocks = new int[needed];
+            int offset = 0;
+            for (int i = 0; i < needed; i++) {
+                int block = freeBlocks[--freeCount];
+                blocks[i] = block;
+                int n = Math.min(blockSize, data.length - offset);
+                if (n > 0) {
+                    ByteBuffer slab = slabOf(block);
+                    slab.position(offsetOf(block));
+                    slab.put(data, offset, n);
+                    offset += n;
+                }
+            }
+            index.put(key, new Entry(blocks, data.length, expireAt));
+            usedBytes += data.length;
+            return true;
+        }
+
+        private boolean remove(String key) {
+            Entry entry = index.remove(key);
+            if (entry == null) {
+                return false;
+            }
+            release(entry);
+            return true;
+        }
+
+        private void evict(String key, String cause) {
+            if (remove(key)) {
+                notifyRemoval(key, cause);
+            }
+        }
+
+        private void release(Entry entry) {
+            for (int block : entry.blocks) {
+                freeBlocks[freeCount++] = block;
+            }
+            usedBytes -= entry.length;
+        }
+
+        private void clear() {
+            index.clear();
+            usedBytes = 0;
+            resetFreeBlocks();
+        }
+
+        private void resetFreeBlocks() {
+            // 倒序入栈，优先使用编号小的块，内存片按顺序分配
+            for (int i = 0; i < totalBlocks; i++) {
+                freeBlocks[i] = totalBlocks - 1 - i;
+            }
+            freeCount = totalBlocks;
+        }
+
+        private ByteBuffer slabOf(int block) {
+            int index = block / blocksPerSlab;
+            ByteBuffer slab = slabs[index];
+            if (slab == null) {
+                int blocks = Math.min(blocksPerSlab, totalBlocks - index * blocksPerSlab);
+                slab = ByteBuffer.allocateDirect(blocks * blockSize);
+                slabs[index] = slab;
+                allocatedBytes += slab.capacity();
+            }
+            return slab;
+        }
+
+        private int offsetOf(int block) {
+            return (block % blocksPerSlab) * blockSize;
+        }
+
+        private byte[] copy(Entry entry) {
+            byte[] data = new byte[entry.length];
+            int offset = 0;
+            for (int block : entry.blocks) {
+                int n = Math.min(blockSize, entry.length - offset);
+                if (n <= 0) {
+                    break;
+                }
+                ByteBuffer slab = slabOf(block);
+                slab.position(offsetOf(block));
+                slab.get(data, offset, n);
+                offset += n;
+            }
+            return data;
+        }
+
+        private boolean contentEquals(Entry entry, byte[] expected) {
+            if (entry.length != expected.length) {
+                return false;
+            }
+            int offset = 0;
+            for (int block : entry.blocks) {
+                ByteBuffer slab = slabOf(block);
+                int base = offsetOf(block);
+                int n = Math.min(blockSize, entry.length - offset);
+                for (int i = 0; i < n; i++) {
+                    if (slab.get(base + i) != expected[offset + i]) {
+                        return false;
+                    }
+                }
+                offset += n;
+            }
+            return true;
+        }
+
+        private void notifyRemoval(String key, String cause) {
+            if (removalListener != null) {
+                removalListener.onRemoval(key, cause);
+            }
+        }
+    }
+
+    /**
+     * 顺序读取条目所在内存块的输入流，只能在段锁内使用
+     */
+    private static final class BlockInputStream extends InputStream {
+
+        private final Segment segment;
+
+        private final Entry entry;
+
+        private int position;
+
+        private BlockInputStream(Segment segment, Entry entry) {
+            this.segment = segment;
+            this.entry = entry;
+        }
+
+        @Override
+        public int read() {
+            if (position >= entry.length) {
+                return -1;
+            }
+            int block = entry.blocks[position / segment.blockSize];
+            int value = segment.slabOf(block).get(segment.offsetOf(block) + position % segment.blockSize) & 0xFF;
+            position++;
+            return value;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= entry.length) {
+                return -1;
+            }
+            int total = 0;
+            while (total < len && position < entry.length) {
+                int inBlock = position % segment.blockSize;
+                int block = entry.blocks[position / segment.blockSize];
+                int n = Math.min(Math.min(segment.blockSize - inBlock, entry.length - position), len - total);
+                ByteBuffer slab = segment.slabOf(block);
+                slab.position(segment.offsetOf(block) + inBlock);
+                slab.get(b, off + total, n);
+                position += n;
+                total += n;
+            }
+            return total;
+        }
+
+        @Override
+        public int available() {
+            return entry.length - position;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.tran.pulse.cache.support;
+
+/**
+ * 键遍历进度
+ * 每处理完一批键更新一次，遍历结束后 isFinished 为 true
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class ScanProgress {
+
+    /**
+     * 匹配模式（不含命名空间）
+     */
+    private final String pattern;
+
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * 已遍历的键数量
+     */
+    private long scanned;
+
+    /**
+     * 已处理（如删除）的键数量
+     */
+    private long processed;
+
+    /**
+     * 已处理的批次数
+     */
+    private long batches;
+
+    private boolean finished;
+
+    public ScanProgress(String pattern) {
+        this.pattern = pattern;
+    }
+
+    /**
+     * 记录一批键的处理结果
+     *
+     * @param scannedKeys   本批遍历的键数量
+     * @param processedKeys 本批实际处理的键数量
+     */
+    public void onBatch(long scannedKeys, long processedKeys) {
+        this.scanned += scannedKeys;
+        this.processed += processedKeys;
+        this.batches++;
+    }
+
+    public void finish() {
+        this.finished = true;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public long getScanned() {
+        return scanned;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public long getElapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+
+    @Override
+    public String toString() {
+        return "ScanProgress{pattern='" + pattern + "', scanned=" + scanned + ", processed=" + processed
+                + ", batches=" + batches + ", finished=" + finished + ", elapsedMillis=" + getElapsedMillis() + '}';
+    }
+}
@@ -0,0 +1,66 @@
+package com.tran.pulse.cache.support;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 单飞加载
+ * 同一个 key 同一时刻只有一个线程执行加载，其他线程等待并共享其结果（包括异常）
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class SingleFlight {
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 执行加载
+     *
+     * @param key    加载键
+     * @param loader 加载器
+     * @return 加载结果
+     * @throws Exception 加载器抛出的异常
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Callable<? extends T> loader) throws Exception {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return (T) await(existing);
+        }
+        try {
+            T value = loader.call();
+            future.complete(value);
+            return value;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * 当前正在加载的 key 数量
+     */
+    public int size() {
+        return inFlight.size();
+    }
+
+    private static Object await(CompletableFuture<Object> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw (Error) cause;
+        }
+    }
+}
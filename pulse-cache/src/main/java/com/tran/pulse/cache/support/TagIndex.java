@@ -0,0 +1,173 @@
+package com.tran.pulse.cache.support;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * 本地缓存的失效标签索引：标签 -> 缓存键
+ * 每个键记录登记时的过期时间，标签下的键较多时顺带清理已过期的键，避免索引无限增长。
+ * 每次按标签失效时递增该标签的版本号：加载前记下版本，写入后用 {@link #addIfUnchanged} 登记，
+ * 版本已变说明加载期间标签被失效过，加载结果可能是旧数据，由调用方删除。
+ * 版本号按标签哈希分槽存放，不随标签数量增长，哈希冲突只会导致多删一次。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class TagIndex {
+
+    /**
+     * 标签下的键超过该数量时，登记新键前清理已过期的键
+     */
+    private static final int PRUNE_THRESHOLD = 32;
+
+    /**
+     * 标签版本号槽位数，2 的幂
+     */
+    private static final int VERSION_SLOTS = 1024;
+
+    /**
+     * 标签 -> (缓存键 -> 过期时间毫秒，Long.MAX_VALUE 表示不过期)
+     */
+    private final ConcurrentMap<String, ConcurrentMap<String, Long>> index = new ConcurrentHashMap<>();
+
+    /**
+     * 标签版本号，按标签哈希分槽
+     */
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_SLOTS);
+
+    /**
+     * 登记键
+     *
+     * @param key       缓存键
+     * @param tags      失效标签
+     * @param ttlMillis 键的存活时间（毫秒），<=0 表示不过期
+     */
+    public void add(String key, Collection<String> tags, long ttlMillis) {
+        if (tags == null || tags.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long expireAt = ttlMillis > 0 ? now + ttlMillis : Long.MAX_VALUE;
+        for (String tag : tags) {
+            index.compute(tag, (t, keys) -> {
+                ConcurrentMap<String, Long> current = keys != null ? keys : new ConcurrentHashMap<>();
+                if (current.size() >= PRUNE_THRESHOLD) {
+                    current.values().removeIf(time -> time <= now);
+                }
+                current.merge(key, expireAt, Math::max);
+                return current;
+            });
+        }
+    }
+
+    /**
+     * 在加载前读取标签的当前版本
+     *
+     * @param tags 失效标签
+     * @return 与 tags 迭代顺序一致的版本号
+     */
+    public long[] versions(Collection<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return new long[0];
+        }
+        long[] result = new long[tags.size()];
+        int i = 0;
+        for (String tag : tags) {
+            result[i++] = versions.get(slot(tag));
+        }
+        return result;
+    }
+
+    /**
+     * 标签版本自 {@link #versions} 以来未变化时登记键
+     * 版本检查和登记在同一标签的原子操作内完成，与 {@link #remove} 互斥
+     *
+     * @param key       缓存键
+     * @param tags      失效标签
+     * @param expected  加载前读取的版本
+     * @param ttlMillis 键的存活时间（毫秒），<=0 表示不过期
+     * @return 全部标签都登记成功时返回 true，否则调用方应删除刚写入的值
+     */
+    public boolean addIfUnchanged(String key, Collection<String> tags, long[] expected, long ttlMillis) {
+        if (tags == null || tags.isEmpty()) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        long expireAt = ttlMillis > 0 ? now + ttlMillis : Long.MAX_VALUE;
+        AtomicBoolean unchanged = new AtomicBoolean(true);
+        int i = 0;
+        for (String tag : tags) {
+            long version = expected[i++];
+            index.compute(tag, (t, keys) -> {
+                if (versions.get(slot(t)) != version) {
+                    unchanged.set(false);
+                    return keys;
+                }
+                ConcurrentMap<String, Long> current = keys != null ? keys : new ConcurrentHashMap<>();
+                if (current.size() >= PRUNE_THRESHOLD) {
+                    current.values().removeIf(time -> time <= now);
+                }
+                current.merge(key, expireAt, Math::max);
+                return current;
+            });
+            if (!unchanged.get()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 移除标签并返回其下未过期的键，同时递增标签版本
+     */
+    public Set<String> remove(String tag) {
+        AtomicReference<ConcurrentMap<String, Long>> removed = new AtomicReference<>();
+        index.compute(tag, (t, keys) -> {
+            versions.incrementAndGet(slot(t));
+            removed.set(keys);
+            return null;
+        });
+        ConcurrentMap<String, Long> keys = removed.get();
+        if (keys == null) {
+            return Collections.emptySet();
+        }
+        long now = System.currentTimeMillis();
+        return keys.entrySet().stream()
+                .filter(e -> e.getValue() > now)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    public void clear() {
+        index.clear();
+    }
+
+    /**
+     * 当前标签数量
+     */
+    public int size() {
+        return index.size();
+    }
+
+    private static int slot(String tag) {
+        int h = tag.hashCode();
+        return (h ^ (h >>> 16)) & (VERSION_SLOTS - 1);
+    }
+
+    /**
+     * 秒转毫秒，<=0 表示不过期
+     */
+    public static long toMillis(long ttlSeconds) {
+        return ttlSeconds > 0 ? TimeUnit.SECONDS.toMillis(ttlSeconds) : 0;
+    }
+}
@@ -4,10 +4,16 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.tran.pulse.cache.constants.CacheMode;
 import com.tran.pulse.cache.service.CacheOperations;
 import com.tran.pulse.cache.service.CacheOperationsProxy;
+import com.tran.pulse.cache.support.CacheLease;
+import com.tran.pulse.cache.support.ScanProgress;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * 缓存工具类
@@ -157,6 +163,39 @@ public class CacheUtil {
         return getCacheOperations().get(key, typeReference, loader);
     }
 
+    /**
+     * 带类型信息和过期时间的get方法
+     * 
+     * 缓存未命中时用 loader 加载并按指定过期时间写入缓存，同一个 key 并发未命中时只有一个 loader 执行
+     * 
+     *
+     * @param key        缓存键
+     * @param clazz      目标类型
+     * @param loader     数据加载器
+     * @param ttlSeconds 过期时间（秒）
+     * @param <T>        返回值类型
+     * @return 缓存值或新加载的值
+     * @throws Exception 如果 loader 执行失败
+     */
+    public static <T> T get(String key, Class<T> clazz, Callable<? extends T> loader, long ttlSeconds) throws Exception {
+        return getCacheOperations().get(key, clazz, loader, ttlSeconds);
+    }
+
+    /**
+     * 带TypeReference和过期时间的get方法（用于复杂泛型类型）
+     *
+     * @param key           缓存键
+     * @param typeReference 类型引用
+     * @param loader        数据加载器
+     * @param ttlSeconds    过期时间（秒）
+     * @param <T>           返回值类型
+     * @return 缓存值或新加载的值
+     * @throws Exception 如果 loader 执行失败
+     */
+    public static <T> T get(String key, TypeReference<T> typeReference, Callable<? extends T> loader, long ttlSeconds) throws Exception {
+        return getCacheOperations().get(key, typeReference, loader, ttlSeconds);
+    }
+
     // ========== 写入方法 ==========
 
     /**
@@ -226,11 +265,276 @@ public class CacheUtil {
         getCacheOperations().clear();
     }
 
+    /**
+     * 批量获取缓存，Redis 下一次往返完成
+     *
+     * @param keys  缓存键集合
+     * @param clazz 目标类型
+     * @return 命中的键值
+     */
+    public static <T> Map<String, T> getAll(Collection<? extends String> keys, Class<T> clazz) {
+        return getCacheOperations().getAll(keys, clazz);
+    }
+
+    /**
+     * 批量获取缓存（用于泛型类型）
+     *
+     * @param keys          缓存键集合
+     * @param typeReference 类型引用
+     * @return 命中的键值
+     */
+    public static <T> Map<String, T> getAll(Collection<? extends String> keys, TypeReference<T> typeReference) {
+        return getCacheOperations().getAll(keys, typeReference);
+    }
+
+    /**
+     * 批量写入缓存，Redis 下通过管道一次往返完成
+     *
+     * @param entries    键值
+     * @param ttlSeconds 过期时间（秒），<=0 使用默认过期时间
+     */
+    public static <T> void putAll(Map<String, ? extends T> entries, long ttlSeconds) {
+        getCacheOperations().putAll(entries, ttlSeconds);
+    }
+
+    /**
+     * 批量续期，Redis 下通过管道一次往返完成
+     *
+     * @param keys       缓存键集合
+     * @param ttlSeconds 过期时间（秒），<=0 时不修改过期时间
+     * @return 续期成功的键数量
+     */
+    public static long expireAll(Collection<? extends String> keys, long ttlSeconds) {
+        return getCacheOperations().expireAll(keys, ttlSeconds);
+    }
+
+    /**
+     * 异步获取缓存
+     *
+     * @param key   缓存键
+     * @param clazz 目标类型
+     * @return 缓存值
+     */
+    public static <T> CompletableFuture<T> getAsync(String key, Class<T> clazz) {
+        return getCacheOperations().getAsync(key, clazz);
+    }
+
+    /**
+     * 异步获取缓存（用于泛型类型）
+     *
+     * @param key           缓存键
+     * @param typeReference 类型引用
+     * @return 缓存值
+     */
+    public static <T> CompletableFuture<T> getAsync(String key, TypeReference<T> typeReference) {
+        return getCacheOperations().getAsync(key, typeReference);
+    }
+
+    /**
+     * 异步批量获取缓存
+     *
+     * @param keys  缓存键集合
+     * @param clazz 目标类型
+     * @return 命中的键值
+     */
+    public static <T> CompletableFuture<Map<String, T>> getAllAsync(Collection<? extends String> keys, Class<T> clazz) {
+        return getCacheOperations().getAllAsync(keys, clazz);
+    }
+
+    /**
+     * 异步写入缓存
+     *
+     * @param key        缓存键
+     * @param value      缓存值
+     * @param ttlSeconds 过期时间（秒），<=0 使用默认过期时间
+     */
+    public static <T> CompletableFuture<Void> putAsync(String key, T value, long ttlSeconds) {
+        return getCacheOperations().putAsync(key, value, ttlSeconds);
+    }
+
+    /**
+     * 异步写入缓存并关联失效标签
+     *
+     * @param key        缓存键
+     * @param value      缓存值
+     * @param ttlSeconds 过期时间（秒），<=0 使用默认过期时间
+     * @param tags       失效标签，例如 user:1
+     */
+    public static <T> CompletableFuture<Void> putAsync(String key, T value, long ttlSeconds, Collection<String> tags) {
+        return getCacheOperations().putAsync(key, value, ttlSeconds, tags);
+    }
+
+    /**
+     * 异步删除缓存
+     *
+     * @param key 缓存键
+     * @return 是否删除成功
+     */
+    public static CompletableFuture<Boolean> deleteAsync(String key) {
+        return getCacheOperations().deleteAsync(key);
+    }
+
+    /**
+     * 异步续期
+     *
+     * @param key        缓存键
+     * @param ttlSeconds 过期时间（秒），<=0 时不修改过期时间
+     * @return 是否续期成功
+     */
+    public static CompletableFuture<Boolean> expireAsync(String key, long ttlSeconds) {
+        return getCacheOperations().expireAsync(key, ttlSeconds);
+    }
+
+    /**
+     * 仅当 key 不存在时写入（原子操作）
+     *
+     * @param key        缓存键
+     * @param value      缓存值
+     * @param ttlSeconds 过期时间（秒），<=0 使用默认过期时间
+     * @return 是否写入成功
+     */
+    public static <T> boolean putIfAbsent(String key, T value, long ttlSeconds) {
+        return getCacheOperations().putIfAbsent(key, value, ttlSeconds);
+    }
+
+    /**
+     * 原子自增，key 不存在时从 0 开始，首次创建时设置过期时间
+     *
+     * @param key        缓存键
+     * @param delta      增量
+     * @param ttlSeconds 过期时间（秒），<=0 表示不设置
+     * @return 自增后的值
+     */
+    public static long increment(String key, long delta, long ttlSeconds) {
+        return getCacheOperations().increment(key, delta, ttlSeconds);
+    }
+
+    /**
+     * 获取缓存并重置过期时间（原子操作）
+     *
+     * @param key        缓存键
+     * @param clazz      目标类型
+     * @param ttlSeconds 新的过期时间（秒），<=0 时不修改过期时间
+     * @return 缓存值
+     */
+    public static <T> T getAndExpire(String key, Class<T> clazz, long ttlSeconds) {
+        return getCacheOperations().getAndExpire(key, clazz, ttlSeconds);
+    }
+
+    /**
+     * 获取缓存并重置过期时间（用于泛型类型）
+     *
+     * @param key           缓存键
+     * @param typeReference 类型引用
+     * @param ttlSeconds    新的过期时间（秒）
+     * @return 缓存值
+     */
+    public static <T> T getAndExpire(String key, TypeReference<T> typeReference, long ttlSeconds) {
+        return getCacheOperations().getAndExpire(key, typeReference, ttlSeconds);
+    }
+
+    /**
+     * 尝试获取租约（互斥锁）
+     *
+     * @param key         锁键
+     * @param leaseMillis 租约时长（毫秒）
+     * @return 租约，已被其他持有者持有时返回 null
+     */
+    public static CacheLease tryLease(String key, long leaseMillis) {
+        return CacheLease.tryAcquire(getCacheOperations(), key, leaseMillis);
+    }
+
+    /**
+     * 增量遍历当前命名空间下匹配的缓存键，按批回调
+     *
+     * @param pattern  匹配模式（不含命名空间），支持 * 和 ? 通配
+     * @param consumer 每批键的回调，键不含命名空间
+     * @return 遍历结果
+     */
+    public static ScanProgress scan(String pattern, Consumer<List<String>> consumer) {
+        return getCacheOperations().scan(pattern, consumer);
+    }
+
+    /**
+     * 按模式批量删除缓存，例如 home:*
+     *
+     * @param pattern 匹配模式（不含命名空间），支持 * 和 ? 通配
+     * @return 删除结果
+     */
+    public static ScanProgress deleteByPattern(String pattern) {
+        return getCacheOperations().deleteByPattern(pattern);
+    }
+
+    /**
+     * 按模式批量删除缓存，每删除一批回调一次进度
+     *
+     * @param pattern  匹配模式（不含命名空间），支持 * 和 ? 通配
+     * @param listener 进度回调
+     * @return 删除结果
+     */
+    public static ScanProgress deleteByPattern(String pattern, Consumer<ScanProgress> listener) {
+        return getCacheOperations().deleteByPattern(pattern, listener);
+    }
+
+    /**
+     * 设置缓存并关联失效标签
+     *
+     * @param key        缓存键
+     * @param value      缓存值
+     * @param ttlSeconds 过期时间（秒），<=0 使用默认过期时间
+     * @param tags       失效标签，例如 user:1
+     */
+    public static <T> void put(String key, T value, long ttlSeconds, Collection<String> tags) {
+        getCacheOperations().put(key, value, ttlSeconds, tags);
+    }
+
+    /**
+     * 获取缓存，不存在时加载并关联失效标签（类型安全）
+     *
+     * @param key        缓存键
+     * @param clazz      目标类型
+     * @param loader     数据加载器
+     * @param ttlSeconds 过期时间（秒），<=0 使用默认过期时间
+     * @param tags       失效标签
+     * @return 缓存值或新加载的值
+     * @throws Exception 如果 loader 执行失败
+     */
+    public static <T> T get(String key, Class<T> clazz, Callable<? extends T> loader, long ttlSeconds,
+                            Collection<String> tags) throws Exception {
+        return getCacheOperations().get(key, clazz, loader, ttlSeconds, tags);
+    }
+
+    /**
+     * 获取缓存，不存在时加载并关联失效标签（TypeReference）
+     *
+     * @param key           缓存键
+     * @param typeReference 类型引用
+     * @param loader        数据加载器
+     * @param ttlSeconds    过期时间（秒），<=0 使用默认过期时间
+     * @param tags          失效标签
+     * @return 缓存值或新加载的值
+     * @throws Exception 如果 loader 执行失败
+     */
+    public static <T> T get(String key, TypeReference<T> typeReference, Callable<? extends T> loader, long ttlSeconds,
+                            Collection<String> tags) throws Exception {
+        return getCacheOperations().get(key, typeReference, loader, ttlSeconds, tags);
+    }
+
+    /**
+     * 删除关联了指定标签的全部缓存，代替按模式 SCAN 删除
+     *
+     * @param tag 失效标签
+     * @return 删除的键数量
+     */
+    public static long invalidateTag(String tag) {
+        return getCacheOperations().invalidateTag(tag);
+    }
+
     /**
      * 续期（延长）缓存的过期时间
      *
      * @param key        缓存键
-     * @param ttlSeconds 新的过期时间（秒）
+     * @param ttlSeconds 新的过期时间（秒），<=0 时不修改过期时间
      * @return 是否续期成功
      */
     public static boolean expire(String key, long ttlSeconds) {
@@ -241,7 +545,7 @@ public class CacheUtil {
      * 续期（延长）缓存的过期时间
      *
      * @param key        缓存键
-     * @param ttlSeconds 新的过期时间
+     * @param ttlSeconds 新的过期时间，<=0 时不修改过期时间
      * @param timeUnit 单位
      * @return 是否续期成功
      */
@@ -334,6 +638,38 @@ public class CacheUtil {
         return getCacheOperations(cacheMode).get(key, typeReference, loader);
     }
 
+    /**
+     * 使用指定的缓存模式获取缓存，如果不存在则使用 loader 加载并按指定过期时间写入（类型安全）
+     *
+     * @param cacheMode  缓存模式
+     * @param key        缓存键
+     * @param clazz      目标类型
+     * @param loader     数据加载器
+     * @param ttlSeconds 过期时间（秒）
+     * @param <T>        返回值类型
+     * @return 缓存值或新加载的值
+     * @throws Exception 如果 loader 执行失败
+     */
+    public static <T> T get(CacheMode cacheMode, String key, Class<T> clazz, Callable<? extends T> loader, long ttlSeconds) throws Exception {
+        return getCacheOperations(cacheMode).get(key, clazz, loader, ttlSeconds);
+    }
+
+    /**
+     * 使用指定的缓存模式获取缓存，如果不存在则使用 loader 加载并按指定过期时间写入（TypeReference）
+     *
+     * @param cacheMode     缓存模式
+     * @param key           缓存键
+     * @param typeReference 类型引用
+     * @param loader        数据加载器
+     * @param ttlSeconds    过期时间（秒）
+     * @param <T>           返回值类型
+     * @return 缓存值或新加载的值
+     * @throws Exception 如果 loader 执行失败
+     */
+    public static <T> T get(CacheMode cacheMode, String key, TypeReference<T> typeReference, Callable<? extends T> loader, long ttlSeconds) throws Exception {
+        return getCacheOperations(cacheMode).get(key, typeReference, loader, ttlSeconds);
+    }
+
     /**
      * 使用指定的缓存模式写入缓存
      *
@@ -403,12 +739,23 @@ public class CacheUtil {
         getCacheOperations(cacheMode).clear();
     }
 
+    /**
+     * 使用指定的缓存模式按模式批量删除缓存
+     *
+     * @param cacheMode 缓存模式
+     * @param pattern   匹配模式（不含命名空间），支持 * 和 ? 通配
+     * @return 删除结果
+     */
+    public static ScanProgress deleteByPattern(CacheMode cacheMode, String pattern) {
+        return getCacheOperations(cacheMode).deleteByPattern(pattern);
+    }
+
     /**
      * 使用指定的缓存模式续期缓存
      *
      * @param cacheMode  缓存模式
      * @param key        缓存键
-     * @param ttlSeconds 新的过期时间（秒）
+     * @param ttlSeconds 新的过期时间（秒），<=0 时不修改过期时间
      * @return 是否续期成功
      */
     public static boolean expire(CacheMode cacheMode, String key, long ttlSeconds) {
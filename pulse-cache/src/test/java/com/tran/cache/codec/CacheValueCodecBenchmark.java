@@ -0,0 +1,47 @@
+package com.tran.cache.codec;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.tran.pulse.cache.codec.CacheCodec;
+import com.tran.pulse.cache.codec.CacheValueCodec;
+import com.tran.pulse.cache.codec.JacksonCacheCodec;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * 缓存编解码对比：不同编码下的大小与编解码耗时
+ */
+public class CacheValueCodecBenchmark {
+
+    private static final int ROUNDS = 20000;
+
+    @Test
+    public void compareCodecs() throws Exception {
+        List<CacheCodec> codecs = CacheValueCodecTest.codecs();
+        CacheValueCodecTest.Sample sample = CacheValueCodecTest.Sample.create();
+        run("legacy-json", new CacheValueCodec(codecs, JacksonCacheCodec.JSON, true, -1), sample);
+        run("json", new CacheValueCodec(codecs, JacksonCacheCodec.JSON, false, -1), sample);
+        run("smile", new CacheValueCodec(codecs, JacksonCacheCodec.SMILE, false, -1), sample);
+        run("smile+deflate", new CacheValueCodec(codecs, JacksonCacheCodec.SMILE, false, 256), sample);
+    }
+
+    private static void run(String name, CacheValueCodec codec, Object value) throws Exception {
+        JavaType type = CacheValueCodec.typeOf(value.getClass());
+        byte[] data = codec.encode(value);
+        for (int i = 0; i < ROUNDS; i++) {
+            codec.decode(codec.encode(value), type);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            data = codec.encode(value);
+        }
+        long encodeNanos = (System.nanoTime() - start) / ROUNDS;
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            codec.decode(data, type);
+        }
+        long decodeNanos = (System.nanoTime() - start) / ROUNDS;
+        System.out.printf("%-14s size=%5d B  encode=%6d ns/op  decode=%6d ns/op%n",
+                name, data.length, encodeNanos, decodeNanos);
+    }
+}
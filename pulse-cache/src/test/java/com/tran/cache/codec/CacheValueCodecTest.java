@@ -0,0 +1,215 @@
+package com.tran.cache.codec;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.tran.pulse.cache.codec.CacheCodec;
+import com.tran.pulse.cache.codec.CacheValueCodec;
+import com.tran.pulse.cache.codec.JacksonCacheCodec;
+import com.tran.pulse.cache.configuration.RedisConfiguration;
+import com.tran.pulse.cache.properties.PulseCacheProperties;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+public class CacheValueCodecTest {
+
+    /**
+     * 头部：魔数(1) + 格式版本(1) + 编解码器编号(1) + 标志位(1)
+     */
+    private static final int HEADER_LENGTH = 4;
+
+    private static final byte MAGIC = (byte) 0xC0;
+
+    private static final byte FLAG_DEFLATE = 1;
+
+    private static final JavaType SAMPLE_TYPE = CacheValueCodec.typeOf(Sample.class);
+
+    /**
+     * 与 RedisConfiguration 相同的内置编解码器
+     */
+    static List<CacheCodec> codecs() {
+        return Arrays.asList(
+                new JacksonCacheCodec(JacksonCacheCodec.JSON_ID, JacksonCacheCodec.JSON,
+                        JacksonCacheCodec.configure(JsonMapper.builder()).build()),
+                new JacksonCacheCodec(JacksonCacheCodec.SMILE_ID, JacksonCacheCodec.SMILE,
+                        JacksonCacheCodec.configure(SmileMapper.builder()).build()));
+    }
+
+    @Test
+    public void headerRoundTrip() throws IOException {
+        Sample sample = Sample.create();
+        for (String writer : new String[]{JacksonCacheCodec.JSON, JacksonCacheCodec.SMILE}) {
+            CacheValueCodec codec = new CacheValueCodec(codecs(), writer, false, -1);
+            byte[] data = codec.encode(sample);
+            Assert.assertEquals(MAGIC, data[0]);
+            Assert.assertEquals(1, data[1]);
+            Assert.assertEquals(JacksonCacheCodec.JSON.equals(writer) ? JacksonCacheCodec.JSON_ID : JacksonCacheCodec.SMILE_ID, data[2]);
+            Assert.assertEquals(0, data[3]);
+            Assert.assertEquals(sample, codec.decode(data, SAMPLE_TYPE));
+            Assert.assertEquals(sample, codec.decode(new ByteArrayInputStream(data), SAMPLE_TYPE));
+        }
+        // 任一写入格式都能被其他配置的节点读取
+        CacheValueCodec json = new CacheValueCodec(codecs(), JacksonCacheCodec.JSON, false, -1);
+        CacheValueCodec smile = new CacheValueCodec(codecs(), JacksonCacheCodec.SMILE, false, -1);
+        Assert.assertEquals(sample, json.decode(smile.encode(sample), SAMPLE_TYPE));
+        Assert.assertEquals("text", json.<String>decode(smile.encode("text"), CacheValueCodec.typeOf(String.class)));
+        Assert.assertNull(json.decode((byte[]) null, SAMPLE_TYPE));
+    }
+
+    @Test
+    public void deflateThreshold() throws IOException {
+        Sample sample = Sample.create();
+        CacheValueCodec plain = new CacheValueCodec(codecs(), JacksonCacheCodec.SMILE, false, -1);
+        int bodyLength = plain.encode(sample).length - HEADER_LENGTH;
+
+        // 未达到阈值不压缩
+        CacheValueCodec above = new CacheValueCodec(codecs(), JacksonCacheCodec.SMILE, false, bodyLength + 1);
+        Assert.assertEquals(0, above.encode(sample)[3] & FLAG_DEFLATE);
+
+        // 达到阈值时压缩，其他节点不论配置如何都能读取
+        CacheValueCodec at = new CacheValueCodec(codecs(), JacksonCacheCodec.SMILE, false, bodyLength);
+        byte[] compressed = at.encode(sample);
+        Assert.assertEquals(FLAG_DEFLATE, compressed[3] & FLAG_DEFLATE);
+        Assert.assertTrue(compressed.length < bodyLength + HEADER_LENGTH);
+        Assert.assertEquals(sample, plain.decode(compressed, SAMPLE_TYPE));
+        Assert.assertEquals(sample, plain.decode(new ByteArrayInputStream(compressed), SAMPLE_TYPE));
+
+        // 压缩后反而更大时保留原文
+        CacheValueCodec tiny = new CacheValueCodec(codecs(), JacksonCacheCodec.SMILE, false, 1);
+        byte[] small = tiny.encode("x");
+        Assert.assertEquals(0, small[3] & FLAG_DEFLATE);
+        Assert.assertEquals("x", tiny.<String>decode(small, CacheValueCodec.typeOf(String.class)));
+    }
+
+    @Test
+    public void legacyValues() throws IOException {
+        Sample sample = Sample.create();
+        CacheValueCodec legacy = new CacheValueCodec(codecs(), JacksonCacheCodec.SMILE, true, 1);
+        CacheValueCodec current = new CacheValueCodec(codecs(), JacksonCacheCodec.SMILE, false, 1);
+
+        // 旧版格式写入的是不带头部的 JSON，忽略写入格式和压缩配置
+        byte[] data = legacy.encode(sample);
+        Assert.assertEquals('{', data[0]);
+        Assert.assertEquals(sample, current.decode(data, SAMPLE_TYPE));
+        Assert.assertEquals(sample, current.decode(new ByteArrayInputStream(data), SAMPLE_TYPE));
+        Assert.assertEquals(sample, legacy.decode(current.encode(sample), SAMPLE_TYPE));
+
+        // 短于头部长度的旧值
+        JavaType intType = CacheValueCodec.typeOf(Integer.class);
+        byte[] shortValue = "42".getBytes(StandardCharsets.UTF_8);
+        Assert.assertEquals(Integer.valueOf(42), current.decode(shortValue, intType));
+        Assert.assertEquals(Integer.valueOf(42), current.decode(new ByteArrayInputStream(shortValue), intType));
+    }
+
+    @Test
+    public void defaultsReadableByLegacyNodes() throws IOException {
+        RedisConfiguration configuration = new RedisConfiguration();
+        CacheValueCodec codec = configuration.cacheValueCodec(new PulseCacheProperties(),
+                configuration.cacheObjectMapper(), new DefaultListableBeanFactory().getBeanProvider(CacheCodec.class));
+        // 旧版本节点使用 StringRedisSerializer 读出字符串，再交给普通 ObjectMapper 解析
+        ObjectMapper legacyMapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .registerModule(new JavaTimeModule());
+        Sample sample = Sample.create();
+        String json = new String(codec.encode(sample), StandardCharsets.UTF_8);
+        Assert.assertEquals(sample, legacyMapper.readValue(json, Sample.class));
+        Assert.assertEquals("text", legacyMapper.readValue(new String(codec.encode("text"), StandardCharsets.UTF_8), String.class));
+    }
+
+    @Test
+    public void rejectsUnknownHeaders() {
+        CacheValueCodec codec = new CacheValueCodec(codecs(), JacksonCacheCodec.JSON, false, -1);
+        byte[] futureVersion = {MAGIC, 2, JacksonCacheCodec.JSON_ID, 0, '1'};
+        byte[] unknownCodec = {MAGIC, 1, 99, 0, '1'};
+        for (byte[] data : new byte[][]{futureVersion, unknownCodec}) {
+            try {
+                codec.decode(data, SAMPLE_TYPE);
+                Assert.fail();
+            } catch (IOException expected) {
+                // expected
+            }
+        }
+        try {
+            new CacheValueCodec(codecs(), "protobuf", false, -1);
+            Assert.fail();
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+        try {
+            new CacheValueCodec(Arrays.asList(codecs().get(0), codecs().get(0)), JacksonCacheCodec.JSON, false, -1);
+            Assert.fail();
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+    }
+
+    /**
+     * 与登录用户结构相近的缓存值
+     */
+    static class Sample {
+
+        public Long userId;
+
+        public String username;
+
+        public String email;
+
+        public LocalDateTime loginTime;
+
+        public Set<String> roles = new LinkedHashSet<>();
+
+        public Set<String> permissions = new LinkedHashSet<>();
+
+        public Map<String, String> attributes = new LinkedHashMap<>();
+
+        static Sample create() {
+            Sample sample = new Sample();
+            sample.userId = 1024L;
+            sample.username = "pulse_user";
+            sample.email = "pulse_user@example.com";
+            sample.loginTime = LocalDateTime.of(2025, 10, 16, 9, 30);
+            sample.roles.addAll(Arrays.asList("ROLE_USER", "ROLE_MEMBER", "ROLE_COACH"));
+            for (String module : new String[]{"diet", "weight", "chat", "tag", "home", "plan"}) {
+                for (String action : new String[]{"view", "create", "update", "delete"}) {
+                    sample.permissions.add(module + ":" + action);
+                }
+            }
+            sample.attributes.put("tenant", "default");
+            sample.attributes.put("device", "ios");
+            return sample;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Sample)) {
+                return false;
+            }
+            Sample other = (Sample) o;
+            return Objects.equals(userId, other.userId) && Objects.equals(username, other.username)
+                    && Objects.equals(email, other.email) && Objects.equals(loginTime, other.loginTime)
+                    && Objects.equals(roles, other.roles) && Objects.equals(permissions, other.permissions)
+                    && Objects.equals(attributes, other.attributes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, username);
+        }
+    }
+}
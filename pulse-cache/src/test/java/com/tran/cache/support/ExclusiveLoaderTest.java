@@ -0,0 +1,168 @@
+package com.tran.cache.support;
+
+import com.tran.pulse.cache.properties.LoaderProperties;
+import com.tran.pulse.cache.support.ExclusiveLoader;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ExclusiveLoaderTest {
+
+    private static LoaderProperties properties(long lockTimeoutMillis, long lockWaitMillis) {
+        LoaderProperties properties = new LoaderProperties();
+        properties.setLockTimeoutMillis(lockTimeoutMillis);
+        properties.setLockWaitMillis(lockWaitMillis);
+        properties.setLockPollMillis(10);
+        return properties;
+    }
+
+    @Test
+    public void holderReadsCacheBeforeLoading() throws Exception {
+        ExclusiveLoader loader = new ExclusiveLoader(properties(1000, 0));
+        SharedLock shared = new SharedLock(1000);
+        Assert.assertEquals("cached", loader.load("k", shared.handle(), () -> "cached", () -> {
+            throw new AssertionError("不应回源");
+        }));
+        Assert.assertEquals("loaded", loader.load("k", shared.handle(), () -> null, () -> "loaded"));
+        Assert.assertFalse(shared.isHeld());
+    }
+
+    @Test
+    public void waiterOutlastsSlowLoad() throws Exception {
+        // 加载耗时远超轮询间隔，等待者仍等到持锁节点的结果，不自行回源
+        ExclusiveLoader loader = new ExclusiveLoader(properties(2000, 0));
+        SharedLock shared = new SharedLock(2000);
+        AtomicReference<String> cache = new AtomicReference<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> holder = executor.submit(() -> loader.load("k", shared.handle(), cache::get, () -> {
+                loads.incrementAndGet();
+                started.countDown();
+                Thread.sleep(600);
+                cache.set("v");
+                return "v";
+            }));
+            Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> waiter = executor.submit(() -> loader.load("k", shared.handle(), cache::get, () -> {
+                loads.incrementAndGet();
+                return "waiter";
+            }));
+            Assert.assertEquals("v", holder.get(5, TimeUnit.SECONDS));
+            Assert.assertEquals("v", waiter.get(5, TimeUnit.SECONDS));
+            Assert.assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void waiterTakesOverAfterHolderFails() throws Exception {
+        ExclusiveLoader loader = new ExclusiveLoader(properties(2000, 0));
+        SharedLock shared = new SharedLock(2000);
+        CountDownLatch started = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> holder = executor.submit(() -> loader.load("k", shared.handle(), () -> null, () -> {
+                started.countDown();
+                Thread.sleep(200);
+                throw new IllegalStateException("boom");
+            }));
+            Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+            long start = System.nanoTime();
+            String value = loader.load("k", shared.handle(), () -> null, () -> "waiter");
+            Assert.assertEquals("waiter", value);
+            // 持锁节点释放锁后立即接手，不等到锁过期
+            Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1500);
+            try {
+                holder.get(5, TimeUnit.SECONDS);
+                Assert.fail();
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void waiterTakesOverAfterLockExpires() throws Exception {
+        // 持锁节点宕机，不释放锁，锁过期后由等待者加载
+        ExclusiveLoader loader = new ExclusiveLoader(properties(300, 0));
+        SharedLock shared = new SharedLock(300);
+        Assert.assertTrue(shared.handle().tryAcquire());
+        long start = System.nanoTime();
+        Assert.assertEquals("waiter", loader.load("k", shared.handle(), () -> null, () -> "waiter"));
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Assert.assertTrue(elapsed >= 250);
+        Assert.assertFalse(shared.isHeld());
+    }
+
+    @Test
+    public void explicitWaitLimit() throws Exception {
+        ExclusiveLoader loader = new ExclusiveLoader(properties(5000, 100));
+        SharedLock shared = new SharedLock(5000);
+        Assert.assertTrue(shared.handle().tryAcquire());
+        long start = System.nanoTime();
+        Assert.assertEquals("fallback", loader.load("k", shared.handle(), () -> null, () -> "fallback"));
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+        // 超时自行加载时不持有锁，也不会释放别人的锁
+        Assert.assertTrue(shared.isHeld());
+    }
+
+    /**
+     * 模拟带过期时间和持有者校验的分布式锁
+     */
+    private static final class SharedLock {
+
+        private final long ttlMillis;
+
+        private String owner;
+
+        private long expireAt;
+
+        private SharedLock(long ttlMillis) {
+            this.ttlMillis = ttlMillis;
+        }
+
+        private synchronized boolean isHeld() {
+            return owner != null && System.currentTimeMillis() < expireAt;
+        }
+
+        private ExclusiveLoader.LoadLock handle() {
+            String token = UUID.randomUUID().toString();
+            return new ExclusiveLoader.LoadLock() {
+                @Override
+                public boolean tryAcquire() {
+                    synchronized (SharedLock.this) {
+                        if (isHeld()) {
+                            return false;
+                        }
+                        owner = token;
+                        expireAt = System.currentTimeMillis() + ttlMillis;
+                        return true;
+                    }
+                }
+
+                @Override
+                public void release() {
+                    synchronized (SharedLock.this) {
+                        if (token.equals(owner)) {
+                            owner = null;
+                        }
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.tran.cache.support;
+
+import com.tran.pulse.cache.support.OffHeapStore;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class OffHeapStoreTest {
+
+    private static final int BLOCK = 16;
+
+    private static byte[] bytes(int length, int seed) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i * 31 + seed);
+        }
+        return data;
+    }
+
+    private static byte[] get(OffHeapStore store, String key) throws IOException {
+        return store.read(key, (in, length) -> {
+            // 分别用单字节和批量读取，覆盖跨块的两种读法
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            int first = in.read();
+            if (first >= 0) {
+                out.write(first);
+            }
+            byte[] buffer = new byte[7];
+            int n;
+            while ((n = in.read(buffer, 0, buffer.length)) > 0) {
+                out.write(buffer, 0, n);
+            }
+            Assert.assertEquals(-1, in.read());
+            Assert.assertEquals(length, out.size());
+            return out.toByteArray();
+        });
+    }
+
+    /**
+     * 单段存储，淘汰顺序可预测
+     */
+    private static OffHeapStore store(int blocks, List<String> removals) {
+        return new OffHeapStore((long) blocks * BLOCK, BLOCK, BLOCK * 4, 1,
+                (key, cause) -> removals.add(key + ":" + cause));
+    }
+
+    @Test
+    public void multiBlockValues() throws IOException {
+        OffHeapStore store = store(64, new ArrayList<>());
+        for (int length : new int[]{0, 1, BLOCK - 1, BLOCK, BLOCK + 1, BLOCK * 5 + 3}) {
+            byte[] data = bytes(length, length);
+            Assert.assertTrue(store.put("k" + length, data, 0));
+            Assert.assertArrayEquals(data, get(store, "k" + length));
+        }
+        Assert.assertNull(get(store, "missing"));
+        // 跨内存片（每片 4 块）的条目
+        byte[] large = bytes(BLOCK * 9, 7);
+        store.put("large", large, 0);
+        Assert.assertArrayEquals(large, get(store, "large"));
+        // 超过单段容量时不写入
+        Assert.assertFalse(store.put("huge", bytes(BLOCK * 65, 1), 0));
+        Assert.assertNull(get(store, "huge"));
+    }
+
+    @Test
+    public void overwriteReleasesBlocks() throws IOException {
+        OffHeapStore store = store(8, new ArrayList<>());
+        byte[] big = bytes(BLOCK * 6, 1);
+        store.put("k", big, 0);
+        Assert.assertEquals(big.length, store.usedBytes());
+
+        byte[] small = "small".getBytes(StandardCharsets.UTF_8);
+        store.put("k", small, 0);
+        Assert.assertArrayEquals(small, get(store, "k"));
+        Assert.assertEquals(small.length, store.usedBytes());
+        Assert.assertEquals(1, store.size());
+
+        // 覆盖释放的块可以被再次使用，7 块放得下说明旧条目的 6 块已归还
+        Assert.assertTrue(store.put("other", bytes(BLOCK * 7, 2), 0));
+        Assert.assertArrayEquals(small, get(store, "k"));
+
+        Assert.assertTrue(store.remove("other"));
+        Assert.assertFalse(store.remove("other"));
+        Assert.assertEquals(small.length, store.usedBytes());
+        Assert.assertTrue(store.allocatedBytes() <= store.capacityBytes());
+
+        store.clear();
+        Assert.assertEquals(0, store.size());
+        Assert.assertEquals(0, store.usedBytes());
+        Assert.assertTrue(store.put("again", bytes(BLOCK * 8, 3), 0));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() throws IOException {
+        List<String> removals = new ArrayList<>();
+        OffHeapStore store = store(4, removals);
+        store.put("a", bytes(BLOCK, 1), 0);
+        store.put("b", bytes(BLOCK, 2), 0);
+        store.put("c", bytes(BLOCK, 3), 0);
+        store.put("d", bytes(BLOCK, 4), 0);
+        // 访问 a 后最久未使用的是 b
+        Assert.assertNotNull(get(store, "a"));
+
+        store.put("e", bytes(BLOCK * 2, 5), 0);
+        Assert.assertEquals(2, removals.size());
+        Assert.assertEquals("b:" + OffHeapStore.CAUSE_SIZE, removals.get(0));
+        Assert.assertEquals("c:" + OffHeapStore.CAUSE_SIZE, removals.get(1));
+        Assert.assertNotNull(get(store, "a"));
+        Assert.assertNotNull(get(store, "d"));
+        Assert.assertArrayEquals(bytes(BLOCK * 2, 5), get(store, "e"));
+        Assert.assertEquals(3, store.size());
+    }
+
+    @Test
+    public void expiry() throws Exception {
+        List<String> removals = new ArrayList<>();
+        OffHeapStore store = store(8, removals);
+        store.put("short", bytes(10, 1), 50);
+        store.put("forever", bytes(10, 2), 0);
+        Assert.assertEquals(-1, store.remainingMillis("forever"));
+        long remaining = store.remainingMillis("short");
+        Assert.assertTrue(remaining > 0 && remaining <= 50);
+        Assert.assertTrue(store.putIfAbsent("short2", bytes(10, 3), 50));
+        Assert.assertFalse(store.putIfAbsent("short2", bytes(10, 4), 50));
+
+        // 读取时可以续期
+        Assert.assertNotNull(store.read("short2", 10000, (in, length) -> length));
+        Thread.sleep(100);
+
+        Assert.assertNull(get(store, "short"));
+        Assert.assertEquals(-2, store.remainingMillis("short"));
+        Assert.assertTrue(removals.contains("short:" + OffHeapStore.CAUSE_EXPIRED));
+        Assert.assertNotNull(get(store, "short2"));
+        Assert.assertFalse(store.keys().contains("short"));
+
+        // 过期后可以重新写入
+        Assert.assertTrue(store.putIfAbsent("short", bytes(10, 5), 0));
+        Assert.assertTrue(store.expire("short", 50));
+        Assert.assertFalse(store.expire("missing", 50));
+        Thread.sleep(100);
+        Assert.assertFalse(store.remove("short"));
+    }
+
+    @Test
+    public void compute() throws IOException {
+        OffHeapStore store = store(16, new ArrayList<>());
+        byte[] created = store.compute("counter", current -> {
+            Assert.assertNull(current);
+            return new byte[]{1};
+        }, 10000);
+        Assert.assertArrayEquals(new byte[]{1}, created);
+        long remaining = store.remainingMillis("counter");
+
+        // 已有条目保持原有过期时间，内容可以变长跨块
+        byte[] grown = bytes(BLOCK * 3, 9);
+        store.compute("counter", current -> {
+            Assert.assertArrayEquals(new byte[]{1}, current);
+            return grown;
+        }, 0);
+        Assert.assertArrayEquals(grown, get(store, "counter"));
+        long after = store.remainingMillis("counter");
+        Assert.assertTrue(after > 0 && after <= remaining);
+
+        Assert.assertNull(store.compute("counter", current -> null, 0));
+        Assert.assertNull(get(store, "counter"));
+        Assert.assertEquals(0, store.usedBytes());
+        Assert.assertNull(store.compute("missing", current -> null, 0));
+        Assert.assertEquals(0, store.size());
+    }
+
+    @Test
+    public void conditionalRemove() throws IOException {
+        OffHeapStore store = store(16, new ArrayList<>());
+        byte[] value = bytes(BLOCK * 2 + 5, 1);
+        store.put("k", value, 0);
+
+        byte[] sameLengthDifferentTail = value.clone();
+        sameLengthDifferentTail[value.length - 1]++;
+        Assert.assertFalse(store.remove("k", sameLengthDifferentTail));
+        Assert.assertFalse(store.remove("k", bytes(BLOCK, 1)));
+        Assert.assertFalse(store.expire("k", sameLengthDifferentTail, 1000));
+        Assert.assertEquals(-1, store.remainingMillis("k"));
+        Assert.assertTrue(store.expire("k", value, 1000));
+        Assert.assertTrue(store.remainingMillis("k") > 0);
+
+        Assert.assertTrue(store.remove("k", value.clone()));
+        Assert.assertNull(get(store, "k"));
+        Assert.assertFalse(store.remove("k", value));
+    }
+
+    @Test
+    public void segmentsAreIndependent() throws IOException {
+        OffHeapStore store = new OffHeapStore(BLOCK * 256, BLOCK, BLOCK * 4, 3, null);
+        // 分段数向上取整为 4，每段 64 块
+        Assert.assertEquals(BLOCK * 256, store.capacityBytes());
+        for (int i = 0; i < 40; i++) {
+            store.put("k" + i, bytes(BLOCK, i), 0);
+        }
+        Assert.assertEquals(40, store.size());
+        for (int i = 0; i < 40; i++) {
+            Assert.assertArrayEquals(bytes(BLOCK, i), get(store, "k" + i));
+        }
+        Assert.assertEquals(40, store.keys().size());
+    }
+}
@@ -0,0 +1,98 @@
+package com.tran.cache.support;
+
+import com.tran.pulse.cache.support.SingleFlight;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+public class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    @Test
+    public void concurrentCallersShareOneLoad() throws Exception {
+        SingleFlight singleFlight = new SingleFlight();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("k", () -> {
+                    loads.incrementAndGet();
+                    release.await();
+                    return "v";
+                })));
+            }
+            // 等所有调用方都进入等待后再放行加载
+            waitUntil(() -> singleFlight.size() == 1 && loads.get() == 1);
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> result : results) {
+                Assert.assertEquals("v", result.get(5, TimeUnit.SECONDS));
+            }
+            Assert.assertEquals(1, loads.get());
+            Assert.assertEquals(0, singleFlight.size());
+
+            // 加载结束后再次调用会重新加载
+            Assert.assertEquals("v2", singleFlight.execute("k", () -> "v2"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void failureIsSharedAndNotCached() throws Exception {
+        SingleFlight singleFlight = new SingleFlight();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> leader = executor.submit(() -> singleFlight.execute("k", () -> {
+                release.await();
+                throw new IllegalStateException("boom");
+            }));
+            waitUntil(() -> singleFlight.size() == 1);
+            Future<Object> follower = executor.submit(() -> singleFlight.execute("k", () -> "unused"));
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<Object> future : new Future[]{leader, follower}) {
+                try {
+                    future.get(5, TimeUnit.SECONDS);
+                    Assert.fail();
+                } catch (ExecutionException e) {
+                    Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+                }
+            }
+            Assert.assertEquals(0, singleFlight.size());
+            Assert.assertEquals("ok", singleFlight.execute("k", () -> "ok"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void keysAreIndependent() throws Exception {
+        SingleFlight singleFlight = new SingleFlight();
+        Assert.assertEquals("b", singleFlight.execute("a", () -> singleFlight.execute("b", () -> "b")));
+        Assert.assertNull(singleFlight.execute("c", () -> null));
+        Assert.assertEquals(0, singleFlight.size());
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            Assert.assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(5);
+        }
+    }
+}
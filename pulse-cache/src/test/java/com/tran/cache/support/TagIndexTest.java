@@ -0,0 +1,50 @@
+package com.tran.cache.support;
+
+import com.tran.pulse.cache.support.TagIndex;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 标签索引：加载期间标签被失效时拒绝登记
+ */
+public class TagIndexTest {
+
+    @Test
+    public void addAndRemove() {
+        TagIndex index = new TagIndex();
+        index.add("a", Arrays.asList("user:1", "shared"), 0);
+        index.add("b", Collections.singletonList("user:1"), 0);
+        Assert.assertEquals(2, index.remove("user:1").size());
+        Assert.assertEquals(Collections.singleton("a"), index.remove("shared"));
+        Assert.assertTrue(index.remove("user:1").isEmpty());
+    }
+
+    @Test
+    public void expiredKeysAreNotReturned() throws InterruptedException {
+        TagIndex index = new TagIndex();
+        index.add("a", Collections.singletonList("t"), 1);
+        Thread.sleep(5);
+        Assert.assertTrue(index.remove("t").isEmpty());
+    }
+
+    @Test
+    public void addIfUnchanged() {
+        TagIndex index = new TagIndex();
+        List<String> tags = Arrays.asList("user:1", "user:2");
+
+        long[] versions = index.versions(tags);
+        Assert.assertTrue(index.addIfUnchanged("a", tags, versions, 0));
+        Assert.assertEquals(Collections.singleton("a"), index.remove("user:2"));
+
+        // 加载期间标签被失效，结果不登记
+        versions = index.versions(tags);
+        index.remove("user:2");
+        Assert.assertFalse(index.addIfUnchanged("b", tags, versions, 0));
+        Assert.assertTrue(index.addIfUnchanged("b", tags, index.versions(tags), 0));
+        Assert.assertTrue(index.addIfUnchanged("c", null, new long[0], 0));
+    }
+}
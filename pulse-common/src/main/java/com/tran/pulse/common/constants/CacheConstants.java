@@ -12,4 +12,14 @@ public class CacheConstants {
      */
     public static final String SESSION_PREFIX = "ws:session:";
 
+    /**
+     * 用户在线节点记录
+     */
+    public static final String NODE_PREFIX = "ws:node:";
+
+    /**
+     * AI业务配置目录版本号
+     */
+    public static final String AI_CATALOG_VERSION = "ai:catalog:version";
+
 }
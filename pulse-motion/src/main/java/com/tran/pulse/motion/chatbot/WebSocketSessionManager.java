@@ -1,7 +1,11 @@
 package  com.tran.pulse.motion.chatbot;
 
-import com.tran.pulse.cache.util.CacheUtil;
-import com.tran.pulse.common.constants.CacheConstants;
+import com.tran.pulse.motion.chatbot.outbound.OutboundQueueStats;
+import com.tran.pulse.motion.chatbot.outbound.OutboundSession;
+import com.tran.pulse.motion.chatbot.properties.ChatbotProperties;
+import com.tran.pulse.motion.chatbot.properties.OutboundProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.CloseStatus;
@@ -9,28 +13,46 @@ import org.springframework.stereotype.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 
 /**
  * WebSocket会话管理器
  * 用于管理用户WebSocket连接，确保一个用户只有一个活跃连接
+ * 注册的会话统一包装为 OutboundSession，所有发送都经过会话自己的有界出站队列，
+ * 调用线程只负责入队，不会被慢客户端阻塞，也不会对同一会话并发写
  */
 @Component
-public class WebSocketSessionManager {
+public class WebSocketSessionManager implements DisposableBean {
 
     private static final Logger logger = LoggerFactory.getLogger(WebSocketSessionManager.class);
 
     // 用户ID -> WebSocket会话映射
-    private final ConcurrentMap<String, WebSocketSession> userSessions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, OutboundSession> userSessions = new ConcurrentHashMap<>();
 
     // WebSocket会话ID -> 用户ID映射（反向映射，便于清理）
     private final ConcurrentMap<String, String> sessionUsers = new ConcurrentHashMap<>();
 
+    // 出站消息发送线程池
+    private final ExecutorService sender;
+
+    private final OutboundProperties outboundProperties;
+
+    public WebSocketSessionManager(ChatbotProperties chatbotProperties) {
+        this.outboundProperties = chatbotProperties.getOutbound();
+        this.sender = Executors.newFixedThreadPool(Math.max(1, outboundProperties.getSenderThreads()),
+                new CustomizableThreadFactory("pulse-ws-send-"));
+    }
+
     /**
      * 添加用户会话
      * 如果用户已有连接，会先关闭旧连接再建立新连接
@@ -45,7 +67,12 @@ public class WebSocketSessionManager {
         }
 
         // 建立新连接
-        userSessions.put(userId, session);
+        OutboundSession outboundSession = new OutboundSession(session, sender,
+                outboundProperties.getSendTimeLimitMillis(),
+                outboundProperties.getBufferSizeLimit(),
+                outboundProperties.getQueueLimit(),
+                closed -> removeSessionById(closed.getId()));
+        userSessions.put(userId, outboundSession);
         sessionUsers.put(session.getId(), userId);
 
         logger.info("用户 {} 建立WebSocket连接，会话ID: {}", userId, session.getId());
@@ -61,8 +88,7 @@ public class WebSocketSessionManager {
             return;
         }
 
-        WebSocketSession session = userSessions.remove(userId);
-        CacheUtil.delete(builderKey(userId));
+        OutboundSession session = userSessions.remove(userId);
         if (session != null) {
             sessionUsers.remove(session.getId());
             logger.info("移除用户 {} 的WebSocket会话", userId);
@@ -80,10 +106,12 @@ public class WebSocketSessionManager {
         }
 
         String userId = sessionUsers.remove(sessionId);
-        CacheUtil.delete(builderKey(userId));
         if (userId != null) {
-            userSessions.remove(userId);
-            logger.info("移除会话 {} 对应的用户 {} 连接", sessionId, userId);
+            // 仅当映射仍指向该会话时移除，避免误删用户的新连接
+            OutboundSession current = userSessions.get(userId);
+            if (current != null && sessionId.equals(current.getId()) && userSessions.remove(userId, current)) {
+                logger.info("移除会话 {} 对应的用户 {} 连接", sessionId, userId);
+            }
         }
     }
 
@@ -94,11 +122,22 @@ public class WebSocketSessionManager {
      * @return WebSocket会话，如果不存在或已关闭则返回null
      */
     public WebSocketSession getUserSession(String userId) {
+        OutboundSession session = getOutboundSession(userId);
+        return session != null ? session.getDelegate() : null;
+    }
+
+    /**
+     * 获取用户的出站会话
+     *
+     * @param userId 用户ID
+     * @return 出站会话，如果不存在或已关闭则返回null
+     */
+    private OutboundSession getOutboundSession(String userId) {
         if (userId == null) {
             return null;
         }
 
-        WebSocketSession session = userSessions.get(userId);
+        OutboundSession session = userSessions.get(userId);
         // 检查会话是否仍然有效
         if (session != null && !session.isOpen()) {
             // 会话已关闭，清理映射
@@ -124,59 +163,32 @@ public class WebSocketSessionManager {
      *
      * @param userId 用户ID
      * @param message 消息内容
-     * @return 是否发送成功
+     * @return 是否已进入发送队列
      */
     public boolean sendMessageToUser(String userId, String message) {
-        WebSocketSession session = getUserSession(userId);
-        if (session == null) {
-            logger.warn("用户 {} 没有活跃的WebSocket连接", userId);
-            return false;
-        }
-
-        try {
-            session.sendMessage(new TextMessage(message));
-            logger.debug("向用户 {} 发送消息: {}", userId, message);
-            return true;
-        } catch (IOException e) {
-            logger.error("向用户 {} 发送消息失败", userId, e);
-            // 发送失败，移除无效会话
-            removeUserSession(userId);
-            return false;
-        }
+        return sendMessageToUser(userId, message, false);
     }
 
     /**
-     * 向所有在线用户发送消息（广播）
+     * 向指定用户发送消息
      *
+     * @param userId 用户ID
      * @param message 消息内容
-     * @return 成功发送的用户数量
+     * @param droppable 是否可丢弃，出站缓冲紧张时优先丢弃（如输入状态）
+     * @return 是否已进入发送队列
      */
-    public int broadcastMessage(String message) {
-        int successCount = 0;
-        Set<String> failedUsers = new HashSet<>();
-
-        for (Map.Entry<String, WebSocketSession> entry : userSessions.entrySet()) {
-            String userId = entry.getKey();
-            WebSocketSession session = entry.getValue();
-
-            if (session.isOpen()) {
-                try {
-                    session.sendMessage(new TextMessage(message));
-                    successCount++;
-                } catch (IOException e) {
-                    logger.error("向用户 {} 广播消息失败", userId, e);
-                    failedUsers.add(userId);
-                }
-            } else {
-                failedUsers.add(userId);
-            }
+    public boolean sendMessageToUser(String userId, String message, boolean droppable) {
+        OutboundSession session = getOutboundSession(userId);
+        if (session == null) {
+            logger.warn("用户 {} 没有活跃的WebSocket连接", userId);
+            return false;
         }
 
-        // 清理失败的会话
-        failedUsers.forEach(this::removeUserSession);
-
-        logger.info("广播消息完成，成功发送给 {} 个用户", successCount);
-        return successCount;
+        boolean queued = session.send(new TextMessage(message), droppable);
+        if (queued) {
+            logger.debug("向用户 {} 发送消息: {}", userId, message);
+        }
+        return queued;
     }
 
     /**
@@ -218,9 +230,9 @@ public class WebSocketSessionManager {
      * @param reason 断开原因
      */
     public void disconnectUser(String userId, String reason) {
-        WebSocketSession session = getUserSession(userId);
+        OutboundSession session = getOutboundSession(userId);
         if (session != null) {
-            closeSession(session, CloseStatus.NORMAL.withReason(reason));
+            session.close(CloseStatus.NORMAL.withReason(reason));
             removeUserSession(userId);
             logger.info("强制断开用户 {} 的连接，原因: {}", userId, reason);
         }
@@ -232,18 +244,9 @@ public class WebSocketSessionManager {
     public void closeAllSessions() {
         logger.info("开始关闭所有WebSocket连接，当前连接数: {}", userSessions.size());
 
-        for (Map.Entry<String, WebSocketSession> entry : userSessions.entrySet()) {
-            String userId = entry.getKey();
-            WebSocketSession session = entry.getValue();
-
-            try {
-                if (session.isOpen()) {
-                    session.close(CloseStatus.GOING_AWAY.withReason("服务器关闭"));
-                }
-                logger.debug("关闭用户 {} 的连接", userId);
-            } catch (IOException e) {
-                logger.error("关闭用户 {} 连接时发生错误", userId, e);
-            }
+        for (Map.Entry<String, OutboundSession> entry : userSessions.entrySet()) {
+            entry.getValue().close(CloseStatus.GOING_AWAY.withReason("服务器关闭"));
+            logger.debug("关闭用户 {} 的连接", entry.getKey());
         }
 
         userSessions.clear();
@@ -257,7 +260,7 @@ public class WebSocketSessionManager {
     public void cleanupInvalidSessions() {
         Set<String> invalidUsers = new HashSet<>();
 
-        for (Map.Entry<String, WebSocketSession> entry : userSessions.entrySet()) {
+        for (Map.Entry<String, OutboundSession> entry : userSessions.entrySet()) {
             if (!entry.getValue().isOpen()) {
                 invalidUsers.add(entry.getKey());
             }
@@ -271,30 +274,48 @@ public class WebSocketSessionManager {
     }
 
     /**
-     * 安全关闭WebSocket会话
+     * 获取所有已注册会话的快照
      *
-     * @param session WebSocket会话
-     * @param status 关闭状态
+     * @return 出站会话列表
      */
-    private void closeSession(WebSocketSession session, CloseStatus status) {
-        try {
-            if (session.isOpen()) {
-                session.close(status);
-            }
-        } catch (IOException e) {
-            logger.error("关闭WebSocket会话时发生错误: {}", e.getMessage());
-        }
+    public List<OutboundSession> getOutboundSessions() {
+        return new ArrayList<>(userSessions.values());
     }
 
+    /**
+     * 获取用户出站队列统计
+     *
+     * @param userId 用户ID
+     * @return 队列统计，用户不在线返回null
+     */
+    public OutboundQueueStats getQueueStats(String userId) {
+        OutboundSession session = userSessions.get(userId);
+        return session != null ? session.getStats() : null;
+    }
 
     /**
-     * 编译存储Key
+     * 获取所有在线用户的出站队列统计
      *
-     * @param userId
-     * @return
+     * @return 用户ID -> 队列统计
      */
-    public String builderKey(String userId) {
-        return CacheConstants.SESSION_PREFIX + userId;
+    public Map<String, OutboundQueueStats> getAllQueueStats() {
+        Map<String, OutboundQueueStats> stats = new HashMap<>();
+        userSessions.forEach((userId, session) -> stats.put(userId, session.getStats()));
+        return stats;
+    }
+
+    @Override
+    public void destroy() {
+        closeAllSessions();
+        sender.shutdown();
+        try {
+            if (!sender.awaitTermination(10, TimeUnit.SECONDS)) {
+                sender.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            sender.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
     }
 
 }
\ No newline at end of file
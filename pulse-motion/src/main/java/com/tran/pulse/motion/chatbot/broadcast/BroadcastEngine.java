@@ -0,0 +1,113 @@
+package com.tran.pulse.motion.chatbot.broadcast;
+
+import com.tran.pulse.motion.chatbot.WebSocketSessionManager;
+import com.tran.pulse.motion.chatbot.outbound.OutboundSession;
+import com.tran.pulse.motion.chatbot.properties.ChatbotProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 广播引擎
+ * 消息只编码一次，所有会话共用同一个 TextMessage；在线会话按分片交给分片线程并行投递，
+ * 投递本身只是写入各会话的出站队列，单个慢连接不会拖慢整个广播。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+@Component
+public class BroadcastEngine implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(BroadcastEngine.class);
+
+    private final WebSocketSessionManager webSocketSessionManager;
+
+    private final int shardCount;
+
+    private final ExecutorService executor;
+
+    public BroadcastEngine(WebSocketSessionManager webSocketSessionManager, ChatbotProperties chatbotProperties) {
+        this.webSocketSessionManager = webSocketSessionManager;
+        this.shardCount = Math.max(1, chatbotProperties.getBroadcast().getShards());
+        this.executor = Executors.newFixedThreadPool(shardCount, new CustomizableThreadFactory("pulse-broadcast-"));
+    }
+
+    /**
+     * 向本节点所有在线用户广播
+     *
+     * @param payload 已序列化的消息
+     * @return 广播任务
+     */
+    public BroadcastTask broadcast(String payload) {
+        return broadcast(payload, BroadcastSegment.all());
+    }
+
+    /**
+     * 向本节点指定分组的在线用户广播
+     *
+     * @param payload 已序列化的消息
+     * @param segment 目标分组
+     * @return 广播任务，可查询分片进度并异步获取汇总结果
+     */
+    public BroadcastTask broadcast(String payload, BroadcastSegment segment) {
+        TextMessage message = new TextMessage(payload);
+        List<List<OutboundSession>> shards = partition(webSocketSessionManager.getOutboundSessions());
+
+        int[] sizes = new int[shards.size()];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = shards.get(i).size();
+        }
+        BroadcastTask task = new BroadcastTask(sizes);
+
+        for (int i = 0; i < shards.size(); i++) {
+            int shard = i;
+            List<OutboundSession> sessions = shards.get(i);
+            executor.execute(() -> {
+                try {
+                    for (OutboundSession session : sessions) {
+                        if (!segment.matches(session.getDelegate())) {
+                            task.skipped(shard);
+                        } else if (session.send(message, false)) {
+                            task.delivered(shard);
+                        } else {
+                            task.failed(shard);
+                        }
+                    }
+                } catch (Exception e) {
+                    logger.error("广播分片 {} 投递异常", shard, e);
+                } finally {
+                    task.shardDone();
+                }
+            });
+        }
+
+        task.getResult().thenAccept(report -> logger.info("广播完成: {}", report));
+        return task;
+    }
+
+    private List<List<OutboundSession>> partition(List<OutboundSession> sessions) {
+        int count = Math.min(shardCount, sessions.size());
+        List<List<OutboundSession>> shards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            shards.add(new ArrayList<>(sessions.size() / count + 1));
+        }
+        for (int i = 0; i < sessions.size(); i++) {
+            shards.get(i % count).add(sessions.get(i));
+        }
+        return shards;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,52 @@
+package com.tran.pulse.motion.chatbot.broadcast;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 广播结果统计（整体或单个分片）
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+@Getter
+@ToString
+@AllArgsConstructor
+public class BroadcastReport {
+
+    /**
+     * 会话总数
+     */
+    private final int total;
+
+    /**
+     * 已处理会话数
+     */
+    private final int processed;
+
+    /**
+     * 成功进入发送队列的会话数
+     */
+    private final int delivered;
+
+    /**
+     * 投递失败的会话数（已关闭或出站队列溢出）
+     */
+    private final int failed;
+
+    /**
+     * 不属于目标分组而跳过的会话数
+     */
+    private final int skipped;
+
+    /**
+     * 耗时（毫秒）
+     */
+    private final long elapsedMillis;
+
+    public boolean isDone() {
+        return processed >= total;
+    }
+}
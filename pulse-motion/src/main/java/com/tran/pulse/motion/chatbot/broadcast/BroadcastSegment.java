@@ -0,0 +1,57 @@
+package com.tran.pulse.motion.chatbot.broadcast;
+
+import com.tran.pulse.common.constants.BusinessCode;
+import com.tran.pulse.common.constants.Constants;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 广播目标分组
+ * 根据会话属性判断会话是否属于本次广播的目标，仅在本节点内使用；
+ * 跨节点广播使用可序列化的 {@link BroadcastTarget}，由各节点还原为分组
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+@FunctionalInterface
+public interface BroadcastSegment {
+
+    /**
+     * 会话是否属于该分组
+     *
+     * @param session WebSocket会话
+     * @return 是否投递
+     */
+    boolean matches(WebSocketSession session);
+
+    /**
+     * 所有在线用户
+     */
+    static BroadcastSegment all() {
+        return session -> true;
+    }
+
+    /**
+     * 指定业务代码的用户
+     *
+     * @param businessCode 业务代码
+     */
+    static BroadcastSegment businessCode(String businessCode) {
+        return session -> Objects.equals(businessCode, session.getAttributes().get(BusinessCode.HEADER));
+    }
+
+    /**
+     * 指定用户
+     *
+     * @param userIds 用户ID集合
+     */
+    static BroadcastSegment users(Collection<Long> userIds) {
+        Set<Long> targets = new HashSet<>(userIds);
+        return session -> targets.contains(session.getAttributes().get(Constants.USER_ID));
+    }
+}
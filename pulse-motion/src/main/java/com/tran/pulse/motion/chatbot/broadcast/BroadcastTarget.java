@@ -0,0 +1,77 @@
+package com.tran.pulse.motion.chatbot.broadcast;
+
+import com.tran.pulse.common.util.StringUtils;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 可序列化的广播目标描述
+ * BroadcastSegment 是本地判断逻辑，无法跨节点传递；集群广播时在信封中携带该描述，
+ * 各节点收到后还原出相同的分组，保证定向广播在所有节点上的投递范围一致。
+ * 业务代码和用户ID同时指定时取交集，均为空表示所有在线用户。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastTarget {
+
+    /**
+     * 目标业务代码，为空表示不限
+     */
+    private String businessCode;
+
+    /**
+     * 目标用户ID，为空表示不限
+     */
+    private List<Long> userIds;
+
+    /**
+     * 所有在线用户
+     */
+    public static BroadcastTarget all() {
+        return new BroadcastTarget(null, null);
+    }
+
+    /**
+     * 指定业务代码的用户
+     *
+     * @param businessCode 业务代码，为空表示所有在线用户
+     */
+    public static BroadcastTarget businessCode(String businessCode) {
+        return new BroadcastTarget(businessCode, null);
+    }
+
+    /**
+     * 指定用户
+     *
+     * @param userIds 用户ID集合
+     */
+    public static BroadcastTarget users(Collection<Long> userIds) {
+        return new BroadcastTarget(null, new ArrayList<>(userIds));
+    }
+
+    /**
+     * 还原为本地广播分组
+     */
+    public BroadcastSegment toSegment() {
+        BroadcastSegment segment = BroadcastSegment.all();
+        if (StringUtils.isNotBlank(businessCode)) {
+            segment = BroadcastSegment.businessCode(businessCode);
+        }
+        if (userIds != null) {
+            BroadcastSegment byBusiness = segment;
+            BroadcastSegment byUser = BroadcastSegment.users(userIds);
+            segment = session -> byBusiness.matches(session) && byUser.matches(session);
+        }
+        return segment;
+    }
+}
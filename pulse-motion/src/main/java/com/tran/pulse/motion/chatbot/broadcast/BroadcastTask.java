@@ -0,0 +1,109 @@
+package com.tran.pulse.motion.chatbot.broadcast;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 一次广播任务
+ * 提供按分片的实时进度，全部分片完成后 getResult 返回汇总结果
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class BroadcastTask {
+
+    private final long startMillis = System.currentTimeMillis();
+
+    private final Shard[] shards;
+
+    private final AtomicInteger remainingShards;
+
+    private final CompletableFuture<BroadcastReport> result = new CompletableFuture<>();
+
+    BroadcastTask(int[] shardSizes) {
+        this.shards = new Shard[shardSizes.length];
+        for (int i = 0; i < shardSizes.length; i++) {
+            shards[i] = new Shard(shardSizes[i]);
+        }
+        this.remainingShards = new AtomicInteger(shardSizes.length);
+        if (shardSizes.length == 0) {
+            result.complete(getSummary());
+        }
+    }
+
+    /**
+     * 汇总结果，全部分片完成后完成
+     */
+    public CompletableFuture<BroadcastReport> getResult() {
+        return result;
+    }
+
+    /**
+     * 各分片当前进度
+     */
+    public List<BroadcastReport> getProgress() {
+        List<BroadcastReport> progress = new ArrayList<>(shards.length);
+        long elapsed = System.currentTimeMillis() - startMillis;
+        for (Shard shard : shards) {
+            progress.add(shard.snapshot(elapsed));
+        }
+        return progress;
+    }
+
+    /**
+     * 当前汇总进度
+     */
+    public BroadcastReport getSummary() {
+        int total = 0, processed = 0, delivered = 0, failed = 0, skipped = 0;
+        for (Shard shard : shards) {
+            total += shard.total;
+            delivered += shard.delivered.get();
+            failed += shard.failed.get();
+            skipped += shard.skipped.get();
+        }
+        processed = delivered + failed + skipped;
+        return new BroadcastReport(total, processed, delivered, failed, skipped,
+                System.currentTimeMillis() - startMillis);
+    }
+
+    void delivered(int shard) {
+        shards[shard].delivered.incrementAndGet();
+    }
+
+    void failed(int shard) {
+        shards[shard].failed.incrementAndGet();
+    }
+
+    void skipped(int shard) {
+        shards[shard].skipped.incrementAndGet();
+    }
+
+    void shardDone() {
+        if (remainingShards.decrementAndGet() == 0) {
+            result.complete(getSummary());
+        }
+    }
+
+    private static final class Shard {
+
+        private final int total;
+
+        private final AtomicInteger delivered = new AtomicInteger();
+
+        private final AtomicInteger failed = new AtomicInteger();
+
+        private final AtomicInteger skipped = new AtomicInteger();
+
+        private Shard(int total) {
+            this.total = total;
+        }
+
+        private BroadcastReport snapshot(long elapsed) {
+            int d = delivered.get(), f = failed.get(), s = skipped.get();
+            return new BroadcastReport(total, d + f + s, d, f, s, elapsed);
+        }
+    }
+}
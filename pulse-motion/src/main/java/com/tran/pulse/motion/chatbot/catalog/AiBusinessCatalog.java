@@ -0,0 +1,197 @@
+package com.tran.pulse.motion.chatbot.catalog;
+
+import com.chaincraft.ai.client.common.model.entity.AiModel;
+import com.chaincraft.ai.client.core.service.AiModelService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.tran.pulse.cache.util.CacheUtil;
+import com.tran.pulse.common.constants.CacheConstants;
+import com.tran.pulse.common.domain.entity.AiBusiness;
+import com.tran.pulse.common.exception.PulseException;
+import com.tran.pulse.motion.chatbot.mapper.AiBusinessMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * AI 业务配置目录
+ * 启动时加载全部业务配置及其模型到内存，读取不再访问数据库；
+ * 配置修改后通过 invalidate 更新全局版本号，其他节点定时比对版本号发现变化后整体重新加载。
+ * 内存中的数据以不可变快照整体替换，读取无锁。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+@Component
+public class AiBusinessCatalog implements InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(AiBusinessCatalog.class);
+
+    private static final TypeReference<String> VERSION_TYPE = new TypeReference<String>() {};
+
+    private final AiBusinessMapper aiBusinessMapper;
+
+    private final AiModelService aiModelService;
+
+    private volatile Snapshot snapshot = new Snapshot(null, Collections.emptyMap(), Collections.emptyMap());
+
+    public AiBusinessCatalog(AiBusinessMapper aiBusinessMapper, AiModelService aiModelService) {
+        this.aiBusinessMapper = aiBusinessMapper;
+        this.aiModelService = aiModelService;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            // 启动时加载失败不影响启动，读取时按需加载
+            logger.warn("AI业务配置预加载失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 获取业务配置，返回的对象为共享实例，调用方不得修改
+     *
+     * @param businessCode 业务代码
+     * @return 业务配置，不存在时返回 null
+     */
+    public AiBusiness getBusiness(String businessCode) {
+        return businessCode == null ? null : load(businessCode);
+    }
+
+    /**
+     * 获取业务配置使用的模型
+     *
+     * @param businessCode 业务代码
+     * @return 模型
+     */
+    public AiModel getModel(String businessCode) {
+        AiBusiness business = getBusiness(businessCode);
+        if (business == null) {
+            throw new PulseException("AI业务配置不存在: " + businessCode);
+        }
+        return getModelById(business.getAiModelId());
+    }
+
+    /**
+     * 按ID获取模型
+     *
+     * @param modelId 模型ID
+     * @return 模型
+     */
+    public AiModel getModelById(Long modelId) {
+        AiModel model = snapshot.models.get(modelId);
+        if (model != null) {
+            return model;
+        }
+        model = aiModelService.getById(modelId);
+        if (model != null) {
+            synchronized (this) {
+                Map<Long, AiModel> models = new HashMap<>(snapshot.models);
+                models.put(modelId, model);
+                snapshot = new Snapshot(snapshot.version, snapshot.businesses, models);
+            }
+        }
+        return model;
+    }
+
+    /**
+     * 业务配置已修改，更新全局版本号并重新加载本节点目录
+     *
+     * @param businessCode 业务代码
+     */
+    public void invalidate(String businessCode) {
+        String version = UUID.randomUUID().toString();
+        CacheUtil.put(CacheConstants.AI_CATALOG_VERSION, version);
+        reload(version);
+        logger.info("AI业务配置已更新: {}, 版本: {}", businessCode, version);
+    }
+
+    /**
+     * 比对全局版本号，有变化时重新加载
+     */
+    public void refreshIfStale() {
+        String version = CacheUtil.get(CacheConstants.AI_CATALOG_VERSION, VERSION_TYPE);
+        if (!Objects.equals(version, snapshot.version)) {
+            reload(version);
+            logger.info("AI业务配置版本变化，已重新加载，版本: {}", version);
+        }
+    }
+
+    /**
+     * 按当前全局版本号重新加载全部配置
+     */
+    public void refresh() {
+        reload(CacheUtil.get(CacheConstants.AI_CATALOG_VERSION, VERSION_TYPE));
+    }
+
+    /**
+     * 当前目录版本
+     */
+    public String getVersion() {
+        return snapshot.version;
+    }
+
+    private synchronized void reload(String version) {
+        List<AiBusiness> list = aiBusinessMapper.selectAll();
+        Map<String, AiBusiness> businesses = new HashMap<>(list.size() * 2);
+        Map<Long, AiModel> models = new HashMap<>();
+        for (AiBusiness business : list) {
+            businesses.put(business.getBusinessId(), business);
+            Long modelId = business.getAiModelId();
+            if (modelId != null && !models.containsKey(modelId)) {
+                AiModel model = aiModelService.getById(modelId);
+                if (model != null) {
+                    models.put(modelId, model);
+                }
+            }
+        }
+        snapshot = new Snapshot(version, businesses, models);
+    }
+
+    /**
+     * 快照中不存在时按需从数据库加载，兼容启动后新增的配置
+     */
+    private AiBusiness load(String businessCode) {
+        AiBusiness business = snapshot.businesses.get(businessCode);
+        if (business != null) {
+            return business;
+        }
+        business = aiBusinessMapper.selectById(businessCode);
+        if (business != null) {
+            synchronized (this) {
+                Map<String, AiBusiness> businesses = new HashMap<>(snapshot.businesses);
+                businesses.put(businessCode, business);
+                snapshot = new Snapshot(snapshot.version, businesses, snapshot.models);
+            }
+        }
+        return business;
+    }
+
+    /**
+     * 不可变目录快照
+     */
+    private static final class Snapshot {
+
+        private final String version;
+
+        private final Map<String, AiBusiness> businesses;
+
+        private final Map<Long, AiModel> models;
+
+        private Snapshot(String version, Map<String, AiBusiness> businesses, Map<Long, AiModel> models) {
+            this.version = version;
+            this.businesses = businesses;
+            this.models = models;
+        }
+    }
+}
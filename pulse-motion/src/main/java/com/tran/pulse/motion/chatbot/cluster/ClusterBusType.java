@@ -0,0 +1,12 @@
+package com.tran.pulse.motion.chatbot.cluster;
+
+/**
+ * 集群消息总线类型
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public enum ClusterBusType {
+    LOCAL, REDIS
+}
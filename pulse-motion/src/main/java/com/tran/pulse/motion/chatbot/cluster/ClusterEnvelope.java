@@ -0,0 +1,67 @@
+package com.tran.pulse.motion.chatbot.cluster;
+
+import com.tran.pulse.motion.chatbot.broadcast.BroadcastTarget;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 跨节点投递的消息信封
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterEnvelope {
+
+    /**
+     * 定向投递给某个用户
+     */
+    public static final String TYPE_USER = "user";
+
+    /**
+     * 广播给所有在线用户
+     */
+    public static final String TYPE_BROADCAST = "broadcast";
+
+    /**
+     * 信封类型
+     */
+    private String type;
+
+    /**
+     * 发送方节点ID
+     */
+    private String sourceNode;
+
+    /**
+     * 目标用户ID，广播时为空
+     */
+    private String userId;
+
+    /**
+     * 已序列化的消息内容
+     */
+    private String payload;
+
+    /**
+     * 是否可丢弃
+     */
+    private boolean droppable;
+
+    /**
+     * 广播目标，为空表示所有在线用户
+     */
+    private BroadcastTarget target;
+
+    public static ClusterEnvelope toUser(String sourceNode, String userId, String payload, boolean droppable) {
+        return new ClusterEnvelope(TYPE_USER, sourceNode, userId, payload, droppable, null);
+    }
+
+    public static ClusterEnvelope broadcast(String sourceNode, String payload, BroadcastTarget target) {
+        return new ClusterEnvelope(TYPE_BROADCAST, sourceNode, null, payload, false, target);
+    }
+}
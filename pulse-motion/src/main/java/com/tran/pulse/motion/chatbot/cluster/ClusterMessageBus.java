@@ -0,0 +1,37 @@
+package com.tran.pulse.motion.chatbot.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * 集群消息总线
+ * 负责在节点之间投递 WebSocket 消息，具体传输方式可替换
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public interface ClusterMessageBus {
+
+    /**
+     * 投递给指定节点
+     *
+     * @param nodeId   目标节点ID
+     * @param envelope 消息信封
+     */
+    void publish(String nodeId, ClusterEnvelope envelope);
+
+    /**
+     * 广播给所有节点（不含发送方自身）
+     *
+     * @param envelope 消息信封
+     */
+    void broadcast(ClusterEnvelope envelope);
+
+    /**
+     * 订阅发给指定节点的消息和广播消息
+     *
+     * @param nodeId   当前节点ID
+     * @param listener 消息处理回调
+     */
+    void subscribe(String nodeId, Consumer<ClusterEnvelope> listener);
+}
@@ -0,0 +1,180 @@
+package com.tran.pulse.motion.chatbot.cluster;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.tran.pulse.cache.util.CacheUtil;
+import com.tran.pulse.common.constants.CacheConstants;
+import com.tran.pulse.common.util.StringUtils;
+import com.tran.pulse.motion.chatbot.WebSocketSessionManager;
+import com.tran.pulse.motion.chatbot.broadcast.BroadcastEngine;
+import com.tran.pulse.motion.chatbot.broadcast.BroadcastTarget;
+import com.tran.pulse.motion.chatbot.broadcast.BroadcastTask;
+import com.tran.pulse.motion.chatbot.properties.ChatbotProperties;
+import com.tran.pulse.motion.chatbot.properties.ClusterProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.UUID;
+
+/**
+ * 集群会话路由
+ * 用户连接建立时在缓存中记录 用户 -> 节点，发送消息时本节点在线则直接投递，
+ * 否则查找用户所在节点并通过消息总线转发；广播同时投递本节点并经总线扩散到其他节点。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+@Component
+public class ClusterSessionRouter implements InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterSessionRouter.class);
+
+    private static final TypeReference<String> NODE_TYPE = new TypeReference<String>() {};
+
+    private final WebSocketSessionManager webSocketSessionManager;
+
+    private final ClusterMessageBus clusterMessageBus;
+
+    private final BroadcastEngine broadcastEngine;
+
+    private final String nodeId;
+
+    private final long presenceTtlSeconds;
+
+    public ClusterSessionRouter(WebSocketSessionManager webSocketSessionManager,
+                                ClusterMessageBus clusterMessageBus,
+                                BroadcastEngine broadcastEngine,
+                                ChatbotProperties chatbotProperties) {
+        ClusterProperties cluster = chatbotProperties.getCluster();
+        this.webSocketSessionManager = webSocketSessionManager;
+        this.clusterMessageBus = clusterMessageBus;
+        this.broadcastEngine = broadcastEngine;
+        this.nodeId = StringUtils.isNotBlank(cluster.getNodeId()) ? cluster.getNodeId() : generateNodeId();
+        this.presenceTtlSeconds = cluster.getPresenceTtlSeconds();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        clusterMessageBus.subscribe(nodeId, this::onEnvelope);
+        logger.info("聊天集群路由初始化完成，节点ID: {}", nodeId);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 记录用户在线节点
+     *
+     * @param userId 用户ID
+     */
+    public void registerPresence(String userId) {
+        CacheUtil.put(presenceKey(userId), nodeId, presenceTtlSeconds);
+    }
+
+    /**
+     * 清除用户在线节点记录，仅当记录仍指向本节点时清除，避免误删用户在其他节点的新连接
+     *
+     * @param userId 用户ID
+     */
+    public void unregisterPresence(String userId) {
+        String key = presenceKey(userId);
+        if (nodeId.equals(CacheUtil.get(key, NODE_TYPE))) {
+            CacheUtil.delete(key);
+        }
+    }
+
+    /**
+     * 为本节点所有在线用户续期在线记录
+     */
+    public void refreshPresence() {
+        for (String userId : webSocketSessionManager.getOnlineUsers()) {
+            registerPresence(userId);
+        }
+    }
+
+    /**
+     * 向用户发送消息，用户不在本节点时转发到其所在节点
+     *
+     * @param userId    用户ID
+     * @param payload   已序列化的消息
+     * @param droppable 是否可丢弃
+     * @return 是否已投递（本节点入队或已转发）
+     */
+    public boolean sendToUser(String userId, String payload, boolean droppable) {
+        if (webSocketSessionManager.isUserOnline(userId)) {
+            return webSocketSessionManager.sendMessageToUser(userId, payload, droppable);
+        }
+        String targetNode = CacheUtil.get(presenceKey(userId), NODE_TYPE);
+        if (targetNode == null || nodeId.equals(targetNode)) {
+            logger.debug("用户 {} 不在线", userId);
+            return false;
+        }
+        clusterMessageBus.publish(targetNode, ClusterEnvelope.toUser(nodeId, userId, payload, droppable));
+        return true;
+    }
+
+    /**
+     * 向全集群在线用户广播
+     *
+     * @param payload 已序列化的消息
+     * @return 本节点的广播任务
+     */
+    public BroadcastTask broadcast(String payload) {
+        return broadcast(payload, BroadcastTarget.all());
+    }
+
+    /**
+     * 向全集群指定业务代码的在线用户广播
+     *
+     * @param payload      已序列化的消息
+     * @param businessCode 业务代码，为空表示所有在线用户
+     * @return 本节点的广播任务，其他节点各自统计
+     */
+    public BroadcastTask broadcast(String payload, String businessCode) {
+        return broadcast(payload, BroadcastTarget.businessCode(businessCode));
+    }
+
+    /**
+     * 向全集群指定目标的在线用户广播，目标随信封传到其他节点，各节点按相同分组投递
+     *
+     * @param payload 已序列化的消息
+     * @param target  广播目标
+     * @return 本节点的广播任务，其他节点各自统计
+     */
+    public BroadcastTask broadcast(String payload, BroadcastTarget target) {
+        clusterMessageBus.broadcast(ClusterEnvelope.broadcast(nodeId, payload, target));
+        return broadcastEngine.broadcast(payload, target.toSegment());
+    }
+
+    /**
+     * 处理其他节点转发过来的消息，只投递给本节点的会话
+     */
+    private void onEnvelope(ClusterEnvelope envelope) {
+        if (ClusterEnvelope.TYPE_USER.equals(envelope.getType())) {
+            if (!webSocketSessionManager.sendMessageToUser(envelope.getUserId(), envelope.getPayload(), envelope.isDroppable())) {
+                logger.debug("转发消息投递失败，用户 {} 不在本节点", envelope.getUserId());
+            }
+        } else if (ClusterEnvelope.TYPE_BROADCAST.equals(envelope.getType())) {
+            BroadcastTarget target = envelope.getTarget() != null ? envelope.getTarget() : BroadcastTarget.all();
+            broadcastEngine.broadcast(envelope.getPayload(), target.toSegment());
+        }
+    }
+
+    private String presenceKey(String userId) {
+        return CacheConstants.NODE_PREFIX + userId;
+    }
+
+    private static String generateNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
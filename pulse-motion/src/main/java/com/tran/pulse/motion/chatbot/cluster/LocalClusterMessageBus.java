@@ -0,0 +1,40 @@
+package com.tran.pulse.motion.chatbot.cluster;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 进程内消息总线
+ * 单节点部署时使用；测试中多个路由实例共享同一个总线即可模拟多节点
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class LocalClusterMessageBus implements ClusterMessageBus {
+
+    private final Map<String, Consumer<ClusterEnvelope>> listeners = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(String nodeId, ClusterEnvelope envelope) {
+        Consumer<ClusterEnvelope> listener = listeners.get(nodeId);
+        if (listener != null) {
+            listener.accept(envelope);
+        }
+    }
+
+    @Override
+    public void broadcast(ClusterEnvelope envelope) {
+        listeners.forEach((nodeId, listener) -> {
+            if (!nodeId.equals(envelope.getSourceNode())) {
+                listener.accept(envelope);
+            }
+        });
+    }
+
+    @Override
+    public void subscribe(String nodeId, Consumer<ClusterEnvelope> listener) {
+        listeners.put(nodeId, listener);
+    }
+}
@@ -0,0 +1,73 @@
+package com.tran.pulse.motion.chatbot.cluster;
+
+import com.tran.pulse.common.util.JacksonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * 基于 Redis 发布订阅的消息总线
+ * 每个节点订阅自己的节点频道和公共广播频道
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class RedisClusterMessageBus implements ClusterMessageBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisClusterMessageBus.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final String channelPrefix;
+
+    public RedisClusterMessageBus(StringRedisTemplate redisTemplate,
+                                  RedisMessageListenerContainer listenerContainer,
+                                  String channelPrefix) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.channelPrefix = channelPrefix;
+    }
+
+    @Override
+    public void publish(String nodeId, ClusterEnvelope envelope) {
+        redisTemplate.convertAndSend(nodeChannel(nodeId), JacksonUtils.toJson(envelope));
+    }
+
+    @Override
+    public void broadcast(ClusterEnvelope envelope) {
+        redisTemplate.convertAndSend(broadcastChannel(), JacksonUtils.toJson(envelope));
+    }
+
+    @Override
+    public void subscribe(String nodeId, Consumer<ClusterEnvelope> listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                String body = new String(message.getBody(), StandardCharsets.UTF_8);
+                ClusterEnvelope envelope = JacksonUtils.fromJson(body, ClusterEnvelope.class);
+                // 广播频道会收到自己发出的消息，忽略
+                if (!nodeId.equals(envelope.getSourceNode())) {
+                    listener.accept(envelope);
+                }
+            } catch (Exception e) {
+                logger.error("处理集群消息失败", e);
+            }
+        }, Arrays.asList(new ChannelTopic(nodeChannel(nodeId)), new ChannelTopic(broadcastChannel())));
+    }
+
+    private String nodeChannel(String nodeId) {
+        return channelPrefix + "node:" + nodeId;
+    }
+
+    private String broadcastChannel() {
+        return channelPrefix + "broadcast";
+    }
+}
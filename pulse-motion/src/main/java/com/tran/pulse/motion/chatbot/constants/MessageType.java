@@ -13,6 +13,12 @@ public final class MessageType {
     /** 文本消息（可选，和 CHAT 区分开） */
     public static final String TEXT = "text";
 
+    /** 流式文本增量片段，同一回复的片段共用 messageId */
+    public static final String TEXT_CHUNK = "text_chunk";
+
+    /** 流式文本结束，content 为完整回复（已经过后置处理） */
+    public static final String TEXT_COMPLETE = "text_complete";
+
     /** 数据操作响应 */
     public static final String DATA_OPERATION_RESPONSE = "data_operation_response";
 
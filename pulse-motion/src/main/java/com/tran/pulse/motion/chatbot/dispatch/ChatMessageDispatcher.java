@@ -0,0 +1,189 @@
+package com.tran.pulse.motion.chatbot.dispatch;
+
+import com.tran.pulse.motion.chatbot.properties.ChatbotProperties;
+import com.tran.pulse.motion.chatbot.properties.DispatchProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 聊天消息分发器
+ * 每个会话一个邮箱（mailbox），消息进入邮箱后由有界线程池调度执行：
+ * 同一会话同一时刻最多只有一个线程在处理，保证消息严格按到达顺序执行；
+ * 不同会话之间并行处理，慢的大模型调用不再占用 WebSocket 容器线程。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+@Component
+public class ChatMessageDispatcher implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatMessageDispatcher.class);
+
+    /**
+     * 会话ID -> 邮箱
+     */
+    private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    /**
+     * 消息处理线程池
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * 单个会话允许积压的消息数
+     */
+    private final int sessionQueueLimit;
+
+    /**
+     * 关闭时等待时间（秒）
+     */
+    private final int shutdownAwaitSeconds;
+
+    public ChatMessageDispatcher(ChatbotProperties chatbotProperties) {
+        DispatchProperties dispatch = chatbotProperties.getDispatch();
+        this.sessionQueueLimit = Math.max(1, dispatch.getSessionQueueLimit());
+        this.shutdownAwaitSeconds = dispatch.getShutdownAwaitSeconds();
+        int workerThreads = Math.max(1, dispatch.getWorkerThreads());
+        this.executor = new ThreadPoolExecutor(workerThreads, workerThreads,
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, dispatch.getQueueCapacity())),
+                new CustomizableThreadFactory("pulse-chat-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        logger.info("聊天消息分发器初始化完成，工作线程: {}, 队列容量: {}, 单会话积压上限: {}",
+                workerThreads, dispatch.getQueueCapacity(), sessionQueueLimit);
+    }
+
+    /**
+     * 提交会话消息
+     *
+     * @param sessionId 会话ID，同一会话的任务按提交顺序串行执行
+     * @param task      处理任务
+     * @return 是否受理，false 表示会话积压或线程池已满，调用方应回复繁忙提示
+     */
+    public boolean dispatch(String sessionId, Runnable task) {
+        Mailbox mailbox = mailboxes.computeIfAbsent(sessionId, id -> new Mailbox());
+        if (!mailbox.offer(task)) {
+            logger.warn("会话消息积压超过上限，拒绝处理: sessionId={}, limit={}", sessionId, sessionQueueLimit);
+            return false;
+        }
+        try {
+            mailbox.schedule();
+            return true;
+        } catch (RejectedExecutionException e) {
+            // 线程池已满，撤回刚入队的消息
+            mailbox.withdraw(task);
+            logger.warn("消息处理线程池已满，拒绝处理: sessionId={}, active={}, queued={}",
+                    sessionId, executor.getActiveCount(), executor.getQueue().size());
+            return false;
+        }
+    }
+
+    /**
+     * 释放会话邮箱，在连接关闭时调用；已入队的消息仍会执行完
+     *
+     * @param sessionId 会话ID
+     */
+    public void release(String sessionId) {
+        mailboxes.remove(sessionId);
+    }
+
+    /**
+     * 获取会话当前积压的消息数
+     */
+    public int getPendingCount(String sessionId) {
+        Mailbox mailbox = mailboxes.get(sessionId);
+        return mailbox == null ? 0 : mailbox.pending.get();
+    }
+
+    /**
+     * 获取正在处理消息的线程数
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(shutdownAwaitSeconds, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 会话邮箱
+     * running 标记保证同一时刻只有一个线程在消费该邮箱
+     */
+    private final class Mailbox implements Runnable {
+
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        boolean offer(Runnable task) {
+            if (pending.incrementAndGet() > sessionQueueLimit) {
+                pending.decrementAndGet();
+                return false;
+            }
+            queue.offer(task);
+            return true;
+        }
+
+        void withdraw(Runnable task) {
+            if (queue.remove(task)) {
+                pending.decrementAndGet();
+            }
+        }
+
+        void schedule() {
+            if (running.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    running.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            do {
+                Runnable task;
+                while ((task = queue.poll()) != null) {
+                    pending.decrementAndGet();
+                    try {
+                        task.run();
+                    } catch (Throwable e) {
+                        logger.error("会话消息处理异常", e);
+                    }
+                }
+                running.set(false);
+                // 释放标记后再检查一次，防止与 offer 之间的竞争导致消息滞留
+            } while (!queue.isEmpty() && running.compareAndSet(false, true));
+        }
+    }
+}
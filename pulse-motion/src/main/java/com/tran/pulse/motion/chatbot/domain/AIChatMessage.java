@@ -164,6 +164,41 @@ public class AIChatMessage {
                 .build();
     }
 
+    /**
+     * 创建流式文本片段消息
+     *
+     * @param messageId 回复消息ID，同一回复的所有片段相同
+     * @param content 增量内容
+     * @param index 片段序号，从0开始
+     * @return AIChatMessage实例
+     */
+    public static AIChatMessage createTextChunkMessage(String messageId, String content, int index) {
+        Map<String, Object> chunkData = new HashMap<>();
+        chunkData.put("index", index);
+
+        return AIChatMessage.builder()
+                .type(MessageType.TEXT_CHUNK)
+                .messageId(messageId)
+                .content(content)
+                .data(chunkData)
+                .build();
+    }
+
+    /**
+     * 创建流式文本结束消息
+     *
+     * @param messageId 回复消息ID
+     * @param content 完整回复内容
+     * @return AIChatMessage实例
+     */
+    public static AIChatMessage createTextCompleteMessage(String messageId, String content) {
+        return AIChatMessage.builder()
+                .type(MessageType.TEXT_COMPLETE)
+                .messageId(messageId)
+                .content(content)
+                .build();
+    }
+
     /**
      * 创建数据操作响应消息
      *
@@ -290,6 +325,18 @@ public class AIChatMessage {
         return createErrorMessage("消息处理失败", null);
     }
 
+    /**
+     * 创建繁忙提示消息，消息积压或处理线程已满时回复
+     *
+     * @param sessionId 会话ID
+     * @return AIChatMessage实例
+     */
+    public static AIChatMessage createOverloadMessage(String sessionId) {
+        AIChatMessage message = createErrorMessage("当前咨询人数较多，请稍后再试", sessionId);
+        message.addData("overloaded", true);
+        return message;
+    }
+
     /**
      * 创建连接成功消息
      *
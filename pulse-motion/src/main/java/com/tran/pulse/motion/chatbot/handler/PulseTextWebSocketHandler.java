@@ -5,6 +5,7 @@ import com.tran.pulse.common.constants.Constants;
 import com.tran.pulse.common.util.JacksonUtils;
 import com.tran.pulse.common.util.StringUtils;
 import com.tran.pulse.motion.chatbot.constants.MessageType;
+import com.tran.pulse.motion.chatbot.dispatch.ChatMessageDispatcher;
 import com.tran.pulse.motion.chatbot.processor.PreProcessResult;
 import com.tran.pulse.motion.chatbot.processor.PreProcessorManager;
 import com.tran.pulse.motion.chatbot.service.UserSessionService;
@@ -47,8 +48,12 @@ public class PulseTextWebSocketHandler extends TextWebSocketHandler {
     private final List<PostMassageHandler> postMassageHandlers;
 
 
-    public PulseTextWebSocketHandler(UserSessionService userSessionService, List<PreMassageHandler> preMassageHandlers, List<PostMassageHandler> postMassageHandlers) {
+    private final ChatMessageDispatcher chatMessageDispatcher;
+
+
+    public PulseTextWebSocketHandler(UserSessionService userSessionService, ChatMessageDispatcher chatMessageDispatcher, List<PreMassageHandler> preMassageHandlers, List<PostMassageHandler> postMassageHandlers) {
         this.userSessionService = userSessionService;
+        this.chatMessageDispatcher = chatMessageDispatcher;
         for (PreMassageHandler preMassageHandler : preMassageHandlers) {
             massageHandlerMap.put(preMassageHandler.getMessageType(), preMassageHandler);
         }
@@ -68,8 +73,25 @@ public class PulseTextWebSocketHandler extends TextWebSocketHandler {
         logger.info("用户连接建立: userId: {}", userId);
     }
 
+    /**
+     * 容器线程只负责把消息投递到会话邮箱，实际处理在分发线程池中按会话顺序执行
+     */
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        Long userId = (Long) session.getAttributes().get(Constants.USER_ID);
+        boolean accepted = chatMessageDispatcher.dispatch(session.getId(), () -> processMessage(session, message));
+        if (!accepted) {
+            userSessionService.sendUserMessage(userId, AIChatMessage.createOverloadMessage(session.getId()));
+        }
+    }
+
+    /**
+     * 处理单条消息：前置处理、消息处理器、后置处理并回复
+     */
+    private void processMessage(WebSocketSession session, TextMessage message) {
+        if (!session.isOpen()) {
+            return;
+        }
         Long userId = (Long) session.getAttributes().get(Constants.USER_ID);
         try {
             if (message.getPayload().startsWith("CONNECT")){
@@ -121,6 +143,10 @@ public class PulseTextWebSocketHandler extends TextWebSocketHandler {
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
         Long userId = (Long) session.getAttributes().get(Constants.USER_ID);
+        chatMessageDispatcher.release(session.getId());
+        if (userId != null) {
+            userSessionService.removeConnection(userId, session);
+        }
 
         logger.info("用户连接关闭: userId: {}", userId);
     }
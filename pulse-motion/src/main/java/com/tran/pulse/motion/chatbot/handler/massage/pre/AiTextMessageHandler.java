@@ -5,15 +5,16 @@ import com.chaincraft.ai.client.common.model.entity.AiModel;
 import com.chaincraft.ai.client.common.model.request.AiRequest;
 import com.chaincraft.ai.client.common.model.request.Message;
 import com.chaincraft.ai.client.common.model.response.AiResponse;
-import com.chaincraft.ai.client.core.service.AiModelService;
 import com.tran.pulse.common.constants.BusinessCode;
 import com.tran.pulse.common.constants.Constants;
 import com.tran.pulse.common.domain.entity.AiBusiness;
 import com.tran.pulse.motion.chatbot.constants.MessageType;
 import com.tran.pulse.motion.chatbot.domain.AIChatMessage;
 import com.tran.pulse.motion.chatbot.handler.PreMassageHandler;
+import com.tran.pulse.motion.chatbot.properties.ChatbotProperties;
 import com.tran.pulse.motion.chatbot.service.ChatbotService;
 import com.tran.pulse.motion.chatbot.service.UserSessionService;
+import com.tran.pulse.motion.chatbot.stream.StreamingChatClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -24,6 +25,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author tran
@@ -38,16 +41,19 @@ public class AiTextMessageHandler implements PreMassageHandler {
     private final UserSessionService userSessionService;
     private final ChatbotService chatbotService;
     private final AiClient aiClient;
-    private final AiModelService aiModelService;
+    private final StreamingChatClient streamingChatClient;
+    private final ChatbotProperties chatbotProperties;
 
     public AiTextMessageHandler(UserSessionService userSessionService,
                                 ChatbotService chatbotService,
                                 AiClient aiClient,
-                                AiModelService aiModelService) {
+                                StreamingChatClient streamingChatClient,
+                                ChatbotProperties chatbotProperties) {
         this.userSessionService = userSessionService;
         this.chatbotService = chatbotService;
         this.aiClient = aiClient;
-        this.aiModelService = aiModelService;
+        this.streamingChatClient = streamingChatClient;
+        this.chatbotProperties = chatbotProperties;
     }
 
     @Override
@@ -63,9 +69,9 @@ public class AiTextMessageHandler implements PreMassageHandler {
 
         // 2) 读取业务与模型并校验
         AiBusiness aiBusiness = chatbotService.getAiBusiness(businessCode);
-        AiModel aiModel = aiModelService.getById(aiBusiness.getAiModelId());
+        AiModel aiModel = chatbotService.getAiModel(aiBusiness);
         // 3) 获取对话 sessionId
-        String sessionId = userSessionService.getSessionId(userId);
+        String sessionId = userSessionService.getSessionId(userId, businessCode);
         // 4) 组装请求（使用不可变列表，命名 messages）
         List<Message> messages = Collections.singletonList(Message.user(message.getContent()));
         AiRequest aiRequest = AiRequest.builder()
@@ -77,6 +83,9 @@ public class AiTextMessageHandler implements PreMassageHandler {
 
         // 5) 调用模型并兜底异常
         try {
+            if (chatbotProperties.isStreamEnabled()) {
+                return streamChat(userId, aiRequest);
+            }
             AiResponse resp = aiClient.chat(aiRequest);
             String content = (resp != null) ? resp.getContent() : null;
             return AIChatMessage.createTextMessage(content);
@@ -86,6 +95,21 @@ public class AiTextMessageHandler implements PreMassageHandler {
         }
     }
 
+    /**
+     * 流式调用：增量片段到达即推送给用户，返回的结束消息携带完整内容，交由后置处理器处理后发送
+     */
+    private AIChatMessage streamChat(Long userId, AiRequest aiRequest) throws Exception {
+        String messageId = UUID.randomUUID().toString();
+        AtomicInteger index = new AtomicInteger();
+        StringBuilder assembled = new StringBuilder();
+        String content = streamingChatClient.stream(aiRequest, chunk -> {
+            assembled.append(chunk);
+            userSessionService.sendUserMessage(userId,
+                    AIChatMessage.createTextChunkMessage(messageId, chunk, index.getAndIncrement()));
+        });
+        return AIChatMessage.createTextCompleteMessage(messageId, content != null ? content : assembled.toString());
+    }
+
     @Override
     public String getMessageType() {
         return MessageType.TEXT;
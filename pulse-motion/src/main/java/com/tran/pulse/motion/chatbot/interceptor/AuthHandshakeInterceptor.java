@@ -132,8 +132,8 @@ public class AuthHandshakeInterceptor implements HandshakeInterceptor {
                 return Optional.empty();
             }
 
-            LoginUser loginUser = jwtService.getLoginUser(token);
-            return Optional.ofNullable(loginUser);
+            // 只解析一次，基于解析结果校验会话并获取用户
+            return jwtService.parseToken(token).flatMap(jwtService::validateAndGetUser);
 
         } catch (Exception e) {
             logger.warn("Token验证失败: {}", e.getMessage());
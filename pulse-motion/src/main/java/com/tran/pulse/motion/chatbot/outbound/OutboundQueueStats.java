@@ -0,0 +1,53 @@
+package com.tran.pulse.motion.chatbot.outbound;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 会话出站队列统计快照
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+@Getter
+@ToString
+@AllArgsConstructor
+public class OutboundQueueStats {
+
+    /**
+     * 当前排队消息数
+     */
+    private final int queued;
+
+    /**
+     * 当前缓冲大小（字符数）
+     */
+    private final long bufferedSize;
+
+    /**
+     * 累计入队消息数
+     */
+    private final long enqueued;
+
+    /**
+     * 累计发送成功消息数
+     */
+    private final long sent;
+
+    /**
+     * 累计丢弃消息数（缓冲紧张时丢弃的可丢弃帧）
+     */
+    private final long dropped;
+
+    /**
+     * 累计发送失败消息数
+     */
+    private final long failed;
+
+    /**
+     * 历史最大排队消息数
+     */
+    private final int maxQueued;
+}
@@ -0,0 +1,356 @@
+package com.tran.pulse.motion.chatbot.outbound;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import javax.websocket.RemoteEndpoint;
+import java.io.IOException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 带出站缓冲队列的 WebSocket 会话
+ * 任意线程调用 send 只做入队，真正的写出由发送线程池串行发起，保证同一会话不会并发写；
+ * 底层为 JSR-356 会话时使用异步写，发送线程只负责发起写出，写完成回调后再发起下一帧，
+ * 慢客户端不会占住共享的发送线程；其他会话退化为阻塞写。
+ * 队列超过消息数或缓冲大小上限时，先丢弃队列中可丢弃的帧（如输入状态），仍放不下则断开连接；
+ * 单帧写出超过发送时限（新消息入队时、写完成时或容器的写超时）视为慢客户端，同样断开连接。
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class OutboundSession {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboundSession.class);
+
+    /**
+     * Tomcat 阻塞发送超时参数，限制单次写出在慢客户端上阻塞的时间
+     */
+    private static final String BLOCKING_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    private final WebSocketSession delegate;
+
+    /**
+     * 异步写端点，底层不是 JSR-356 会话时为 null，此时使用阻塞写
+     */
+    private final RemoteEndpoint.Async asyncRemote;
+
+    private final Executor sender;
+
+    private final long sendTimeLimitNanos;
+
+    private final int bufferSizeLimit;
+
+    private final int queueLimit;
+
+    /**
+     * 因溢出或发送失败关闭时的回调
+     */
+    private final Consumer<OutboundSession> onClosed;
+
+    private final Deque<Frame> queue = new ConcurrentLinkedDeque<>();
+
+    private final AtomicInteger queuedCount = new AtomicInteger();
+
+    private final AtomicLong bufferedSize = new AtomicLong();
+
+    private final AtomicBoolean flushing = new AtomicBoolean();
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * 当前正在写出的消息开始时间，0 表示空闲
+     */
+    private volatile long sendStartNanos;
+
+    private final AtomicLong enqueuedCount = new AtomicLong();
+
+    private final AtomicLong sentCount = new AtomicLong();
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private final AtomicLong failedCount = new AtomicLong();
+
+    private final AtomicInteger maxQueuedCount = new AtomicInteger();
+
+    public OutboundSession(WebSocketSession delegate, Executor sender, long sendTimeLimitMillis,
+                           int bufferSizeLimit, int queueLimit, Consumer<OutboundSession> onClosed) {
+        this.delegate = delegate;
+        this.sender = sender;
+        this.sendTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMillis);
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.queueLimit = queueLimit;
+        this.onClosed = onClosed;
+        this.asyncRemote = asyncRemote(delegate, sendTimeLimitMillis);
+        if (asyncRemote == null) {
+            applyBlockingSendTimeout(delegate, sendTimeLimitMillis);
+        }
+    }
+
+    public WebSocketSession getDelegate() {
+        return delegate;
+    }
+
+    public String getId() {
+        return delegate.getId();
+    }
+
+    public boolean isOpen() {
+        return !closed.get() && delegate.isOpen();
+    }
+
+    /**
+     * 入队发送，不阻塞调用线程
+     *
+     * @param message   消息
+     * @param droppable 是否可丢弃（如输入状态帧），缓冲紧张时优先丢弃
+     * @return 是否已入队
+     */
+    public boolean send(TextMessage message, boolean droppable) {
+        if (!isOpen()) {
+            return false;
+        }
+        long startNanos = sendStartNanos;
+        if (startNanos != 0 && System.nanoTime() - startNanos > sendTimeLimitNanos) {
+            overflow("发送超时");
+            return false;
+        }
+
+        int size = message.getPayloadLength();
+        if (exceedsLimit(size)) {
+            dropDroppableFrames();
+            if (exceedsLimit(size)) {
+                if (droppable) {
+                    droppedCount.incrementAndGet();
+                    return false;
+                }
+                overflow("缓冲区溢出");
+                return false;
+            }
+        }
+
+        queue.offer(new Frame(message, droppable));
+        bufferedSize.addAndGet(size);
+        int queued = queuedCount.incrementAndGet();
+        enqueuedCount.incrementAndGet();
+        maxQueuedCount.accumulateAndGet(queued, Math::max);
+        scheduleFlush();
+        return true;
+    }
+
+    /**
+     * 关闭会话并丢弃未发送的消息
+     */
+    public void close(CloseStatus status) {
+        if (closed.compareAndSet(false, true)) {
+            discardQueue();
+            try {
+                if (delegate.isOpen()) {
+                    delegate.close(status);
+                }
+            } catch (IOException e) {
+                logger.debug("关闭WebSocket会话时发生错误: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 当前出站队列统计
+     */
+    public OutboundQueueStats getStats() {
+        return new OutboundQueueStats(queuedCount.get(), bufferedSize.get(), enqueuedCount.get(),
+                sentCount.get(), droppedCount.get(), failedCount.get(), maxQueuedCount.get());
+    }
+
+    private boolean exceedsLimit(int size) {
+        return queuedCount.get() + 1 > queueLimit || bufferedSize.get() + size > bufferSizeLimit;
+    }
+
+    /**
+     * 丢弃队列中尚未发送的可丢弃帧
+     */
+    private void dropDroppableFrames() {
+        Iterator<Frame> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            Frame frame = iterator.next();
+            if (frame.droppable && queue.removeFirstOccurrence(frame)) {
+                release(frame);
+                droppedCount.incrementAndGet();
+            }
+        }
+    }
+
+    private void overflow(String reason) {
+        logger.warn("WebSocket会话 {} 出站{}，断开连接，队列: {}", getId(), reason, getStats());
+        close(CloseStatus.SESSION_NOT_RELIABLE);
+        onClosed.accept(this);
+    }
+
+    private void scheduleFlush() {
+        if (flushing.compareAndSet(false, true)) {
+            dispatchFlush();
+        }
+    }
+
+    /**
+     * 在发送线程池中继续写出，调用前需已持有 flushing
+     */
+    private void dispatchFlush() {
+        try {
+            sender.execute(this::flush);
+        } catch (RejectedExecutionException e) {
+            flushing.set(false);
+            logger.warn("WebSocket发送线程池已关闭，会话: {}", getId());
+        }
+    }
+
+    private void flush() {
+        do {
+            Frame frame;
+            while ((frame = queue.poll()) != null) {
+                release(frame);
+                if (closed.get()) {
+                    continue;
+                }
+                if (asyncRemote != null) {
+                    // 写完成回调中继续写出下一帧，期间仍持有 flushing
+                    sendAsync(frame);
+                    return;
+                }
+                sendBlocking(frame);
+            }
+            flushing.set(false);
+        } while (!queue.isEmpty() && flushing.compareAndSet(false, true));
+    }
+
+    private void sendBlocking(Frame frame) {
+        long startNanos = System.nanoTime();
+        sendStartNanos = startNanos;
+        try {
+            delegate.sendMessage(frame.message);
+            sent(startNanos);
+        } catch (Exception e) {
+            failed(e);
+        } finally {
+            sendStartNanos = 0;
+        }
+    }
+
+    private void sendAsync(Frame frame) {
+        long startNanos = System.nanoTime();
+        sendStartNanos = startNanos;
+        try {
+            asyncRemote.sendText(frame.message.getPayload(), result -> {
+                sendStartNanos = 0;
+                if (result.isOK()) {
+                    sent(startNanos);
+                } else {
+                    failed(result.getException());
+                }
+                // 回调可能在容器线程上同步执行，回到发送线程池继续，避免递归
+                dispatchFlush();
+            });
+        } catch (Exception e) {
+            sendStartNanos = 0;
+            failed(e);
+            dispatchFlush();
+        }
+    }
+
+    /**
+     * 写出完成，耗时超过发送时限时按慢客户端断开
+     */
+    private void sent(long startNanos) {
+        sentCount.incrementAndGet();
+        if (System.nanoTime() - startNanos > sendTimeLimitNanos && !closed.get()) {
+            overflow("发送超时");
+        }
+    }
+
+    private void failed(Throwable e) {
+        if (closed.get()) {
+            return;
+        }
+        failedCount.incrementAndGet();
+        logger.warn("WebSocket会话 {} 发送消息失败: {}", getId(), e != null ? e.getMessage() : null);
+        close(CloseStatus.SESSION_NOT_RELIABLE);
+        onClosed.accept(this);
+    }
+
+    private void discardQueue() {
+        Frame frame;
+        while ((frame = queue.poll()) != null) {
+            release(frame);
+        }
+    }
+
+    private void release(Frame frame) {
+        queuedCount.decrementAndGet();
+        bufferedSize.addAndGet(-frame.message.getPayloadLength());
+    }
+
+    /**
+     * 取底层 JSR-356 会话的异步写端点，并设置容器侧的写超时
+     */
+    private static RemoteEndpoint.Async asyncRemote(WebSocketSession session, long sendTimeLimitMillis) {
+        if (!(session instanceof NativeWebSocketSession)) {
+            return null;
+        }
+        try {
+            javax.websocket.Session nativeSession =
+                    ((NativeWebSocketSession) session).getNativeSession(javax.websocket.Session.class);
+            if (nativeSession == null) {
+                return null;
+            }
+            RemoteEndpoint.Async async = nativeSession.getAsyncRemote();
+            async.setSendTimeout(sendTimeLimitMillis);
+            return async;
+        } catch (Exception e) {
+            logger.debug("获取异步发送端点失败，使用阻塞发送: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static void applyBlockingSendTimeout(WebSocketSession session, long sendTimeLimitMillis) {
+        if (!(session instanceof NativeWebSocketSession)) {
+            return;
+        }
+        try {
+            javax.websocket.Session nativeSession =
+                    ((NativeWebSocketSession) session).getNativeSession(javax.websocket.Session.class);
+            if (nativeSession != null) {
+                nativeSession.getUserProperties().put(BLOCKING_SEND_TIMEOUT, sendTimeLimitMillis);
+            }
+        } catch (Exception e) {
+            logger.debug("设置阻塞发送超时失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 出站帧
+     */
+    private static final class Frame {
+
+        private final TextMessage message;
+
+        private final boolean droppable;
+
+        private Frame(TextMessage message, boolean droppable) {
+            this.message = message;
+            this.droppable = droppable;
+        }
+    }
+}
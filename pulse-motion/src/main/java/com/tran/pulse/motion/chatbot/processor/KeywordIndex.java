@@ -0,0 +1,121 @@
+package com.tran.pulse.motion.chatbot.processor;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * 关键字索引（Aho-Corasick 自动机）
+ * 启动时把所有预处理器的关键字构建成一个自动机，每条消息只扫描一遍，
+ * 即可得到命中了哪些预处理器，扫描开销与预处理器数量无关
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class KeywordIndex {
+
+    private final Node root = new Node();
+
+    /**
+     * 参与索引的预处理器数量
+     */
+    private final int size;
+
+    /**
+     * 构建索引
+     *
+     * @param keywords 下标为预处理器序号，元素为该预处理器的关键字
+     */
+    public KeywordIndex(List<? extends Iterable<String>> keywords) {
+        this.size = keywords.size();
+        for (int i = 0; i < keywords.size(); i++) {
+            for (String keyword : keywords.get(i)) {
+                if (keyword != null && !keyword.isEmpty()) {
+                    insert(keyword, i);
+                }
+            }
+        }
+        buildFailureLinks();
+    }
+
+    /**
+     * 单遍扫描文本
+     *
+     * @param text 消息内容
+     * @return 命中关键字的预处理器序号集合
+     */
+    public BitSet match(String text) {
+        BitSet matched = new BitSet(size);
+        if (text == null || text.isEmpty()) {
+            return matched;
+        }
+        Node node = root;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            Node next;
+            while ((next = node.children.get(c)) == null && node != root) {
+                node = node.fail;
+            }
+            node = next != null ? next : root;
+            if (node.outputs != null) {
+                matched.or(node.outputs);
+            }
+        }
+        return matched;
+    }
+
+    private void insert(String keyword, int owner) {
+        Node node = root;
+        for (int i = 0; i < keyword.length(); i++) {
+            node = node.children.computeIfAbsent(keyword.charAt(i), c -> new Node());
+        }
+        if (node.outputs == null) {
+            node.outputs = new BitSet(size);
+        }
+        node.outputs.set(owner);
+    }
+
+    /**
+     * 广度优先构建失配指针，并把失配链上的输出合并到当前节点，匹配时无需再沿失配链收集
+     */
+    private void buildFailureLinks() {
+        Queue<Node> queue = new ArrayDeque<>();
+        for (Node child : root.children.values()) {
+            child.fail = root;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            for (Map.Entry<Character, Node> entry : node.children.entrySet()) {
+                char c = entry.getKey();
+                Node child = entry.getValue();
+                Node fail = node.fail;
+                while (fail != root && !fail.children.containsKey(c)) {
+                    fail = fail.fail;
+                }
+                Node target = fail.children.get(c);
+                child.fail = target != null && target != child ? target : root;
+                if (child.fail.outputs != null) {
+                    if (child.outputs == null) {
+                        child.outputs = new BitSet(size);
+                    }
+                    child.outputs.or(child.fail.outputs);
+                }
+                queue.add(child);
+            }
+        }
+    }
+
+    private static final class Node {
+
+        private final Map<Character, Node> children = new HashMap<>();
+
+        private Node fail;
+
+        private BitSet outputs;
+    }
+}
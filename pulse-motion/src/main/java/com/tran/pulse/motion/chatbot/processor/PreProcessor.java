@@ -4,6 +4,9 @@ import com.tran.pulse.motion.chatbot.domain.AIChatMessage;
 import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
 
+import java.util.Collection;
+import java.util.Collections;
+
 /**
  * @author tran
  * @version 1.0.0.0
@@ -28,4 +31,13 @@ public interface PreProcessor {
     default int getOrder() {
         return 100;
     }
+
+    /**
+     * 获取触发关键字
+     * 消息包含任一关键字时才会调用 apply，返回空集合表示每条消息都调用
+     * @return 关键字集合，默认为空
+     */
+    default Collection<String> getKeywords() {
+        return Collections.emptyList();
+    }
 }
\ No newline at end of file
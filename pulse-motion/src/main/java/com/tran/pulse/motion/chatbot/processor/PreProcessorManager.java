@@ -1,11 +1,11 @@
 package com.tran.pulse.motion.chatbot.processor;
 
 import com.tran.pulse.motion.chatbot.domain.AIChatMessage;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
 
+import java.util.BitSet;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
@@ -26,6 +26,12 @@ public class PreProcessorManager {
     /** 所有预处理器实例，按执行顺序排序 */
     private final List<PreProcessor> processors;
 
+    /** 所有预处理器关键字构成的索引，下标与 processors 一致 */
+    private final KeywordIndex keywordIndex;
+
+    /** 声明了关键字的预处理器，未命中关键字时跳过 */
+    private final BitSet keywordProcessors = new BitSet();
+
     /**
      * 构造器注入所有预处理器实例并按order排序
      *
@@ -36,11 +42,20 @@ public class PreProcessorManager {
         this.processors = processors.stream()
                 .sorted(Comparator.comparingInt(PreProcessor::getOrder))
                 .collect(Collectors.toList());
+        for (int i = 0; i < this.processors.size(); i++) {
+            if (!this.processors.get(i).getKeywords().isEmpty()) {
+                keywordProcessors.set(i);
+            }
+        }
+        this.keywordIndex = new KeywordIndex(this.processors.stream()
+                .map(PreProcessor::getKeywords)
+                .collect(Collectors.toList()));
     }
 
     /**
      * 执行所有预处理器的处理逻辑
-     * 按照优先级顺序依次执行，遇到非PROCEED结果时立即返回
+     * 按照优先级顺序依次执行，遇到非PROCEED结果时立即返回；
+     * 消息先经关键字索引扫描一遍，声明了关键字但未命中的预处理器直接跳过
      *
      * @param session WebSocket会话
      * @param webSocketMessage WebSocket消息
@@ -49,7 +64,12 @@ public class PreProcessorManager {
      */
     public PreProcessResult process(WebSocketSession session,WebSocketMessage<?> webSocketMessage, AIChatMessage message) {
         Map<String, Object> meatDate = new HashMap<>();
-        for (PreProcessor processor : processors) {
+        BitSet matched = keywordIndex.match(message.getContent());
+        for (int i = 0; i < processors.size(); i++) {
+            if (keywordProcessors.get(i) && !matched.get(i)) {
+                continue;
+            }
+            PreProcessor processor = processors.get(i);
             try {
                 PreProcessResult result = processor.apply(session, webSocketMessage, message);
                 meatDate.putAll(result.meatDate());
@@ -18,6 +18,7 @@ import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -50,9 +51,6 @@ public class OperationPreProcessor implements PreProcessor {
 
     @Override
     public PreProcessResult apply(WebSocketSession session, WebSocketMessage<?> webSocketMessage, AIChatMessage message) {
-        if (validateInput(message.getContent())){
-            return PreProcessResult.proceed();
-        }
         Map<String, Object> attrs = session.getAttributes();
         Long userId = (Long) attrs.get(Constants.USER_ID);
         String userMassage = message.getContent();
@@ -92,24 +90,11 @@ public class OperationPreProcessor implements PreProcessor {
     }
 
     /**
-     * 判断输入字符串中是否包含任何一个关键字
-     * @param input 用户输入
-     * @return 包含返回 true，否则 false
+     * 关键字由 PreProcessorManager 统一索引，消息包含任一关键字时才会调用 apply
      */
-    public static boolean containsKeyword(String input) {
-        if (input == null || input.isEmpty()) {
-            return false;
-        }
-        for (String keyword : KEYWORDS) {
-            if (input.contains(keyword)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    public boolean validateInput(String content) {
-        return !containsKeyword(content);
+    @Override
+    public Collection<String> getKeywords() {
+        return KEYWORDS;
     }
 
 
@@ -5,7 +5,6 @@ import com.chaincraft.ai.client.common.model.entity.AiModel;
 import com.chaincraft.ai.client.common.model.request.AiRequest;
 import com.chaincraft.ai.client.common.model.request.Message;
 import com.chaincraft.ai.client.common.model.response.AiResponse;
-import com.chaincraft.ai.client.core.service.AiModelService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.tran.pulse.common.constants.BusinessCode;
 import com.tran.pulse.common.constants.Constants;
@@ -16,8 +15,12 @@ import com.tran.pulse.common.util.JacksonUtils;
 import com.tran.pulse.motion.chatbot.domain.AIChatMessage;
 import com.tran.pulse.motion.chatbot.processor.PreProcessResult;
 import com.tran.pulse.motion.chatbot.processor.PreProcessor;
+import com.tran.pulse.motion.chatbot.processor.wellness.WellnessMessageParser;
+import com.tran.pulse.motion.chatbot.processor.wellness.WellnessParseResult;
+import com.tran.pulse.motion.chatbot.properties.ChatbotProperties;
 import com.tran.pulse.motion.chatbot.service.ChatbotService;
 import com.tran.pulse.motion.chatbot.service.UserSessionService;
+import com.tran.pulse.motion.home.service.HomeService;
 import com.tran.pulse.motion.tag.service.TagHistoryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,21 +62,29 @@ public class WellnessPreProcessor implements PreProcessor {
     private AiClient aiClient;
 
     @Autowired
-    private AiModelService aiModelService;
+    private TagHistoryService tagHistoryService;
 
     @Autowired
-    private TagHistoryService tagHistoryService;
+    private WellnessMessageParser wellnessMessageParser;
+
+    @Autowired
+    private ChatbotProperties chatbotProperties;
+
+    @Autowired
+    private HomeService homeService;
 
     @Override
     public PreProcessResult apply(WebSocketSession session, WebSocketMessage<?> webSocketMessage, AIChatMessage message) {
-        if (validateInput(message.getContent())){
-            return PreProcessResult.proceed();
-        }
         Map<String, Object> attrs = session.getAttributes();
         Long userId = (Long) attrs.get(Constants.USER_ID);
         try {
+            // 常见记录先本地解析，置信度足够时不再调用大模型
+            WellnessParseResult local = wellnessMessageParser.parse(message.getContent(), LocalDate.now());
+            if (local.getType() != null && local.getConfidence() >= chatbotProperties.getWellnessParseThreshold()) {
+                return handle(userId, local, message.getContent());
+            }
             AiBusiness aiBusiness = chatbotService.getAiBusiness(BusinessCode.BODY_CHANGE_BIZ_KEY);
-            AiModel aiModel = aiModelService.getById(aiBusiness.getAiModelId());
+            AiModel aiModel = chatbotService.getAiModel(aiBusiness);
             // 4) 组装请求（使用不可变列表，命名 messages）
             List<Message> messages = Collections.singletonList(Message.user(message.getContent() + "今天日期为: " + LocalDate.now()));
             AiRequest aiRequest = AiRequest.builder()
@@ -86,18 +97,10 @@ public class WellnessPreProcessor implements PreProcessor {
             content = cleanCodeBlock(content);
             JsonNode root = JacksonUtils.readTree(content);
             String type = root.get("type").asText();
-            switch (type) {
-                case "weight":
-                    return saveWeight(userId, root,message.getContent());
-                case "weight_v":
-                    return PreProcessResult.blockWithReply(AIChatMessage.createChatMessage("⚠ 请输入体重，例如：今天体重65kg 或 昨天体重130斤", userId.toString()));
-                case "consume":
-                    return saveConsume(userId,root,message.getContent());
-                case "consume_v":
-                    return PreProcessResult.blockWithReply(AIChatMessage.createChatMessage("⚠ 请输入消耗热量，例如：今天消耗300kcal 或 跑步消耗200卡路里", userId.toString()));
-                default:
-                    return PreProcessResult.proceed();
-            }
+            JsonNode reply = root.get("message");
+            WellnessParseResult result = new WellnessParseResult(type, entries(root.get(type)),
+                    reply != null ? reply.asText() : null, 1D);
+            return handle(userId, result, message.getContent());
 
         } catch (Exception e) {
             logger.error(e.getMessage(), e);
@@ -109,24 +112,42 @@ public class WellnessPreProcessor implements PreProcessor {
 
 
     /**
-     * 判断输入字符串中是否包含任何一个关键字
-     * @param input 用户输入
-     * @return 包含返回 true，否则 false
+     * 关键字由 PreProcessorManager 统一索引，消息包含任一关键字时才会调用 apply
      */
-    public static boolean containsKeyword(String input) {
-        if (input == null || input.isEmpty()) {
-            return false;
-        }
-        for (String keyword : KEYWORDS) {
-            if (input.contains(keyword)) {
-                return true;
-            }
+    @Override
+    public Collection<String> getKeywords() {
+        return KEYWORDS;
+    }
+
+    /**
+     * 按解析结果保存记录或回复提示
+     */
+    private PreProcessResult handle(Long userId, WellnessParseResult result, String content) {
+        switch (result.getType()) {
+            case WellnessParseResult.TYPE_WEIGHT:
+                return saveWeight(userId, result.getEntries(), result.getMessage(), content);
+            case WellnessParseResult.TYPE_WEIGHT_V:
+                return PreProcessResult.blockWithReply(AIChatMessage.createChatMessage("⚠ 请输入体重，例如：今天体重65kg 或 昨天体重130斤", userId.toString()));
+            case WellnessParseResult.TYPE_CONSUME:
+                return saveConsume(userId, result.getEntries(), result.getMessage(), content);
+            case WellnessParseResult.TYPE_CONSUME_V:
+                return PreProcessResult.blockWithReply(AIChatMessage.createChatMessage("⚠ 请输入消耗热量，例如：今天消耗300kcal 或 跑步消耗200卡路里", userId.toString()));
+            default:
+                return PreProcessResult.proceed();
         }
-        return false;
     }
 
-    public boolean validateInput(String content) {
-        return !containsKeyword(content);
+    /**
+     * 大模型返回的记录数组转为记录项
+     */
+    private static List<WellnessParseResult.Entry> entries(JsonNode array) {
+        List<WellnessParseResult.Entry> entries = new ArrayList<>();
+        if (array != null && array.isArray()) {
+            for (JsonNode node : array) {
+                entries.add(new WellnessParseResult.Entry(node.get("date").asText(), node.get("value").asText()));
+            }
+        }
+        return entries;
     }
 
     /**
@@ -143,32 +164,28 @@ public class WellnessPreProcessor implements PreProcessor {
     /**
      * 记录消耗
      * @param userId
-     * @param root
+     * @param entries
+     * @param message
      * @return
      */
-    private PreProcessResult saveConsume(Long userId, JsonNode root,String content) {
+    private PreProcessResult saveConsume(Long userId, List<WellnessParseResult.Entry> entries, String message, String content) {
         if (!hasDigit(content)){
             return PreProcessResult.blockWithReply(AIChatMessage.createChatMessage("⚠ 请输入消耗热量，例如：“今天消耗300kcal” 或 “跑步消耗200卡路里”", userId.toString()));
         }
-        JsonNode weightArray = root.get("consume");
-        if (weightArray.isArray() && !weightArray.isEmpty()) {
-            for (JsonNode w : weightArray) {
-
-                String date = w.get("date").asText();
-                String value = w.get("value").asText();
-                TagHistory tagHistory = new TagHistory();
-                tagHistory.setTagCode(TagCode.CONSUME);
-                tagHistory.setUserId(userId);
-                tagHistory.setRecordTime(date);
-                List<TagHistory> histories = tagHistoryService.getHistory(tagHistory);
-                for (TagHistory history : histories) {
-                    tagHistoryService.delete(history.getId());
-                }
-                tagHistory.setTagValue(value);
-                tagHistoryService.insert(tagHistory);
+        for (WellnessParseResult.Entry entry : entries) {
+            String date = entry.getDate();
+            String value = entry.getValue();
+            TagHistory tagHistory = new TagHistory();
+            tagHistory.setTagCode(TagCode.CONSUME);
+            tagHistory.setUserId(userId);
+            tagHistory.setRecordTime(date);
+            List<TagHistory> histories = tagHistoryService.getHistory(tagHistory);
+            for (TagHistory history : histories) {
+                tagHistoryService.delete(history.getId());
             }
+            tagHistory.setTagValue(value);
+            tagHistoryService.insert(tagHistory);
         }
-        String message = root.get("message").asText();
         return PreProcessResult.blockWithReply(AIChatMessage.createDataOperationResponse(true,message, userId.toString(),null));
     }
 
@@ -177,32 +194,30 @@ public class WellnessPreProcessor implements PreProcessor {
      * 记录饮食
      *
      * @param userId
-     * @param root
+     * @param entries
+     * @param message
      * @return
      */
-    private PreProcessResult saveWeight(Long userId, JsonNode root, String content) {
+    private PreProcessResult saveWeight(Long userId, List<WellnessParseResult.Entry> entries, String message, String content) {
         if (!hasDigit(content)){
             return PreProcessResult.blockWithReply(AIChatMessage.createChatMessage("⚠ 请输入体重，例如：“今天体重65kg” 或 “昨天体重130斤", userId.toString()));
         }
-        JsonNode weightArray = root.get("weight");
-        if (weightArray.isArray() && !weightArray.isEmpty()) {
-            for (JsonNode w : weightArray) {
-
-                String date = w.get("date").asText();
-                String value = w.get("value").asText();
-                TagHistory tagHistory = new TagHistory();
-                tagHistory.setTagCode(TagCode.WEIGHT);
-                tagHistory.setRecordTime(date);
-                tagHistory.setUserId(userId);
-                List<TagHistory> histories = tagHistoryService.getHistory(tagHistory);
-                for (TagHistory history : histories) {
-                    tagHistoryService.delete(history.getId());
-                }
-                tagHistory.setTagValue(value);
-                tagHistoryService.insert(tagHistory);
+        for (WellnessParseResult.Entry entry : entries) {
+            String date = entry.getDate();
+            String value = entry.getValue();
+            TagHistory tagHistory = new TagHistory();
+            tagHistory.setTagCode(TagCode.WEIGHT);
+            tagHistory.setRecordTime(date);
+            tagHistory.setUserId(userId);
+            List<TagHistory> histories = tagHistoryService.getHistory(tagHistory);
+            for (TagHistory history : histories) {
+                tagHistoryService.delete(history.getId());
             }
+            tagHistory.setTagValue(value);
+            tagHistoryService.insert(tagHistory);
         }
-        String message = root.get("message").asText();
+        // 首页建议和进度依赖体重记录
+        homeService.evictCache(userId);
         return PreProcessResult.blockWithReply(AIChatMessage.createDataOperationResponse(true,message, userId.toString(),null));
 
     }
@@ -0,0 +1,252 @@
+package com.tran.pulse.motion.chatbot.processor.wellness;
+
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 体重/消耗记录本地解析器
+ * 按出现顺序扫描日期、类型关键字和带单位的数字，每个数字生成一条记录，
+ * 日期和类型沿用前面最近一次出现的值；常见的记录类消息无需调用大模型。
+ * 遇到疑问句、无法识别的单位、数值越界、未来日期或同时出现体重和消耗等情况时降低置信度，由调用方回退到大模型。
+ * 热量单位本身不区分摄入和消耗，只有出现消耗类关键字且没有饮食类关键字时才直接记为消耗，
+ * 例如“午餐吃了500大卡”不会被记成运动消耗。
+ *
+ * 支持示例：今天体重65kg、昨天体重130斤、跑步消耗200卡路里、周一64.5公斤，周三64kg
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+@Component
+public class WellnessMessageParser {
+
+    private static final String WEIGHT = WellnessParseResult.TYPE_WEIGHT;
+
+    private static final String CONSUME = WellnessParseResult.TYPE_CONSUME;
+
+    /**
+     * 依次匹配：完整日期、月日、相对日期、星期、类型关键字、饮食关键字、数字及单位
+     */
+    private static final Pattern TOKEN_PATTERN = Pattern.compile(
+            "(?<ymd>(\\d{4})[-/.年](\\d{1,2})[-/.月](\\d{1,2})[日号]?)"
+                    + "|(?<md>(\\d{1,2})月(\\d{1,2})[日号])"
+                    + "|(?<rel>大前天|前天|昨天|昨日|今天|今日)"
+                    + "|(?<week>(上)?(?:周|星期|礼拜)([一二三四五六日天]))"
+                    + "|(?<weight>体重)"
+                    + "|(?<consume>消耗|燃烧|运动)"
+                    + "|(?<intake>摄入|吃|喝|餐|饭|零食|夜宵)"
+                    + "|(?<num>\\d{1,3}(?:,\\d{3})+(?:\\.\\d+)?|\\d+(?:\\.\\d+)?)\\s*"
+                    + "(?<unit>kg|KG|Kg|公斤|千克|斤|kcal|KCAL|Kcal|千卡|大卡|卡路里|卡|公里|km|KM|米|分钟|小时|步|千焦|kj|KJ)?");
+
+    /**
+     * 疑问、估计类表述，出现时不直接记录
+     */
+    private static final Pattern UNCERTAIN_PATTERN = Pattern.compile("[?？吗呢]|多少|怎么|大概|左右|应该|是不是|目标|想要|减到");
+
+    private static final String WEEK_DAYS = "一二三四五六日";
+
+    /**
+     * 体重合理范围（kg）
+     */
+    private static final double MIN_WEIGHT = 20, MAX_WEIGHT = 300;
+
+    /**
+     * 单次消耗合理范围（kcal）
+     */
+    private static final double MIN_CONSUME = 1, MAX_CONSUME = 5000;
+
+    /**
+     * 解析消息
+     *
+     * @param content 用户消息
+     * @param today   当天日期，用于解析相对日期
+     * @return 解析结果，无法识别时置信度为 0
+     */
+    public WellnessParseResult parse(String content, LocalDate today) {
+        if (content == null || content.trim().isEmpty()) {
+            return WellnessParseResult.unknown();
+        }
+        double confidence = 1D;
+        if (UNCERTAIN_PATTERN.matcher(content).find()) {
+            confidence = 0.4D;
+        }
+
+        LocalDate date = today;
+        String kind = null;
+        boolean sawWeight = false, sawConsume = false, sawNumber = false;
+        // 消耗关键字和饮食关键字，用于判断热量的方向
+        boolean sawBurnWord = false, sawIntakeWord = false;
+        List<WellnessParseResult.Entry> weights = new ArrayList<>();
+        List<WellnessParseResult.Entry> consumes = new ArrayList<>();
+
+        Matcher m = TOKEN_PATTERN.matcher(content);
+        while (m.find()) {
+            if (m.group("ymd") != null) {
+                date = dateOf(Integer.parseInt(m.group(2)), Integer.parseInt(m.group(3)), Integer.parseInt(m.group(4)));
+            } else if (m.group("md") != null) {
+                // 未写年份的日期按今年处理；晚于今天时不猜测年份，由下方的未来日期检查交给大模型
+                date = dateOf(today.getYear(), Integer.parseInt(m.group(6)), Integer.parseInt(m.group(7)));
+            } else if (m.group("rel") != null) {
+                date = relativeDate(m.group("rel"), today);
+            } else if (m.group("week") != null) {
+                date = weekDate(m.group(10) != null, m.group(11), today);
+            } else if (m.group("weight") != null) {
+                kind = WEIGHT;
+                sawWeight = true;
+            } else if (m.group("consume") != null) {
+                kind = CONSUME;
+                sawConsume = true;
+                sawBurnWord = true;
+            } else if (m.group("intake") != null) {
+                sawIntakeWord = true;
+            } else if (m.group("num") != null) {
+                sawNumber = true;
+                String unit = m.group("unit");
+                String entryKind = kindOfUnit(unit);
+                if (unit != null && entryKind == null) {
+                    // 距离、时长等与记录无关的数量，例如“跑步5公里”，千焦等未支持的单位交给大模型
+                    if (unit.equalsIgnoreCase("kj") || "千焦".equals(unit)) {
+                        confidence = Math.min(confidence, 0.3D);
+                    }
+                    continue;
+                }
+                if (entryKind == null) {
+                    entryKind = kind;
+                    // 没有单位时依赖上下文关键字
+                    confidence = Math.min(confidence, entryKind == null ? 0D : 0.85D);
+                }
+                if (entryKind == null) {
+                    continue;
+                }
+                if (date == null || date.isAfter(today)) {
+                    confidence = 0D;
+                    continue;
+                }
+                BigDecimal value = new BigDecimal(m.group("num").replace(",", ""));
+                if (WEIGHT.equals(entryKind)) {
+                    sawWeight = true;
+                    if ("斤".equals(unit)) {
+                        value = value.multiply(new BigDecimal("0.5")).setScale(1, RoundingMode.HALF_UP);
+                    }
+                    if (value.doubleValue() < MIN_WEIGHT || value.doubleValue() > MAX_WEIGHT) {
+                        confidence = Math.min(confidence, 0.3D);
+                    }
+                    weights.add(new WellnessParseResult.Entry(date.toString(), value.stripTrailingZeros().toPlainString()));
+                } else {
+                    sawConsume = true;
+                    if (value.doubleValue() < MIN_CONSUME || value.doubleValue() > MAX_CONSUME) {
+                        confidence = Math.min(confidence, 0.3D);
+                    }
+                    consumes.add(new WellnessParseResult.Entry(date.toString(), value.stripTrailingZeros().toPlainString()));
+                }
+            }
+        }
+
+        if (!sawNumber) {
+            // 与大模型规则一致：没有数字时只提示用户补充数值
+            if (sawWeight == sawConsume) {
+                return WellnessParseResult.unknown();
+            }
+            return new WellnessParseResult(sawWeight ? WellnessParseResult.TYPE_WEIGHT_V : WellnessParseResult.TYPE_CONSUME_V,
+                    new ArrayList<>(), null, confidence);
+        }
+        if (!weights.isEmpty() && !consumes.isEmpty()) {
+            // 一条消息同时记录体重和消耗，交给大模型处理
+            return new WellnessParseResult(null, new ArrayList<>(), null, 0D);
+        }
+        if (weights.isEmpty() && consumes.isEmpty()) {
+            return WellnessParseResult.unknown();
+        }
+        if (!consumes.isEmpty() && (sawIntakeWord || !sawBurnWord)) {
+            // 热量方向不明确：饮食摄入（如“早餐300卡”）或只有单位没有消耗关键字，交给大模型判断
+            confidence = Math.min(confidence, sawIntakeWord ? 0.3D : 0.6D);
+        }
+        boolean weight = !weights.isEmpty();
+        List<WellnessParseResult.Entry> entries = weight ? weights : consumes;
+        return new WellnessParseResult(weight ? WEIGHT : CONSUME, entries,
+                confirmMessage(weight, entries, today), confidence);
+    }
+
+    private static String kindOfUnit(String unit) {
+        if (unit == null) {
+            return null;
+        }
+        switch (unit) {
+            case "kg":
+            case "KG":
+            case "Kg":
+            case "公斤":
+            case "千克":
+            case "斤":
+                return WEIGHT;
+            case "kcal":
+            case "KCAL":
+            case "Kcal":
+            case "千卡":
+            case "大卡":
+            case "卡路里":
+            case "卡":
+                return CONSUME;
+            default:
+                return null;
+        }
+    }
+
+    private static LocalDate relativeDate(String word, LocalDate today) {
+        switch (word) {
+            case "大前天":
+                return today.minusDays(3);
+            case "前天":
+                return today.minusDays(2);
+            case "昨天":
+            case "昨日":
+                return today.minusDays(1);
+            default:
+                return today;
+        }
+    }
+
+    /**
+     * 星期解析为最近一次（含今天）的该日，“上周X”解析为上一自然周的该日
+     */
+    private static LocalDate weekDate(boolean lastWeek, String day, LocalDate today) {
+        int index = "天".equals(day) ? 6 : WEEK_DAYS.indexOf(day);
+        DayOfWeek dayOfWeek = DayOfWeek.of(index + 1);
+        if (lastWeek) {
+            return today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).minusWeeks(1)
+                    .with(TemporalAdjusters.nextOrSame(dayOfWeek));
+        }
+        return today.with(TemporalAdjusters.previousOrSame(dayOfWeek));
+    }
+
+    private static LocalDate dateOf(int year, int month, int day) {
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static String confirmMessage(boolean weight, List<WellnessParseResult.Entry> entries, LocalDate today) {
+        StringBuilder sb = new StringBuilder(weight ? "已记录体重：" : "已记录消耗：");
+        for (int i = 0; i < entries.size(); i++) {
+            WellnessParseResult.Entry entry = entries.get(i);
+            if (i > 0) {
+                sb.append("，");
+            }
+            sb.append(today.toString().equals(entry.getDate()) ? "今天" : entry.getDate())
+                    .append(' ').append(entry.getValue()).append(weight ? "kg" : "kcal");
+        }
+        return sb.toString();
+    }
+}
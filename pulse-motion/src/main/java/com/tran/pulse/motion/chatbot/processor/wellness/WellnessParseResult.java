@@ -0,0 +1,73 @@
+package com.tran.pulse.motion.chatbot.processor.wellness;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 体重/消耗记录解析结果
+ * type 与大模型返回的类型一致：weight / weight_v / consume / consume_v，无法识别时为 null
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+@Getter
+@ToString
+@AllArgsConstructor
+public class WellnessParseResult {
+
+    public static final String TYPE_WEIGHT = "weight";
+
+    public static final String TYPE_WEIGHT_V = "weight_v";
+
+    public static final String TYPE_CONSUME = "consume";
+
+    public static final String TYPE_CONSUME_V = "consume_v";
+
+    /**
+     * 记录类型
+     */
+    private final String type;
+
+    /**
+     * 记录项
+     */
+    private final List<Entry> entries;
+
+    /**
+     * 回复给用户的确认语
+     */
+    private final String message;
+
+    /**
+     * 置信度 0~1，低于阈值时交给大模型解析
+     */
+    private final double confidence;
+
+    public static WellnessParseResult unknown() {
+        return new WellnessParseResult(null, Collections.emptyList(), null, 0D);
+    }
+
+    /**
+     * 记录项
+     */
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static class Entry {
+
+        /**
+         * 日期 YYYY-MM-DD
+         */
+        private final String date;
+
+        /**
+         * 数值，体重为 kg，消耗为 kcal
+         */
+        private final String value;
+    }
+}
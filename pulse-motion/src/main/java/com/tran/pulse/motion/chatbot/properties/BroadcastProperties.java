@@ -0,0 +1,19 @@
+package com.tran.pulse.motion.chatbot.properties;
+
+import lombok.Data;
+
+/**
+ * 广播配置
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+@Data
+public class BroadcastProperties {
+
+    /**
+     * 分片数，在线会话按分片并行投递，每个分片一个线程
+     */
+    private int shards = 4;
+}
@@ -1,6 +1,7 @@
 package com.tran.pulse.motion.chatbot.properties;
 
 import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
  * @author tran
@@ -8,14 +9,45 @@ import lombok.Data;
  * @date 2025/9/18 16:36
  **/
 @Data
+@ConfigurationProperties(prefix = "pulse.chatbot")
 public class ChatbotProperties {
 
     /**
      * 会话过期时间 默认10分钟
+     * 同一用户同一业务在该空闲时间内复用同一个AI对话
      */
     private Long sessionExpireSeconds = 600L;
 
+    /**
+     * 是否开启流式回复，开启后文本回复以 text_chunk 片段下发，最后以 text_complete 结束
+     * 只有注册了真正流式输出的 StreamingChatClient 才能降低首字延迟，默认的同步适配器仍整段下发
+     */
+    private boolean streamEnabled = false;
+
+    /**
+     * 体重/消耗本地解析的置信度阈值，低于该值时交给大模型解析
+     */
+    private double wellnessParseThreshold = 0.8D;
+
+    /**
+     * 消息分发配置
+     */
+    private DispatchProperties dispatch = new DispatchProperties();
 
+    /**
+     * 出站发送队列配置
+     */
+    private OutboundProperties outbound = new OutboundProperties();
+
+    /**
+     * 集群路由配置
+     */
+    private ClusterProperties cluster = new ClusterProperties();
+
+    /**
+     * 广播配置
+     */
+    private BroadcastProperties broadcast = new BroadcastProperties();
 
 
 }
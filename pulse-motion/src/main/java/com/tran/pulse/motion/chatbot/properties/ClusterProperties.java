@@ -0,0 +1,36 @@
+package com.tran.pulse.motion.chatbot.properties;
+
+import com.tran.pulse.motion.chatbot.cluster.ClusterBusType;
+import lombok.Data;
+
+/**
+ * 聊天集群配置
+ * 用户所在节点记录在缓存中，跨节点消息通过消息总线投递
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+@Data
+public class ClusterProperties {
+
+    /**
+     * 当前节点ID，为空时自动生成（主机名 + 随机后缀）
+     */
+    private String nodeId;
+
+    /**
+     * 消息总线类型，LOCAL 为进程内实现（单节点/测试），REDIS 使用 Redis 发布订阅
+     */
+    private ClusterBusType bus = ClusterBusType.LOCAL;
+
+    /**
+     * 用户在线节点记录的过期时间（秒），由定时任务续期
+     */
+    private long presenceTtlSeconds = 300;
+
+    /**
+     * 总线频道前缀
+     */
+    private String channelPrefix = "pulse:ws:";
+}
@@ -0,0 +1,35 @@
+package com.tran.pulse.motion.chatbot.properties;
+
+import lombok.Data;
+
+/**
+ * 聊天消息分发配置
+ * 消息从 WebSocket 容器线程转交到有界工作线程池处理，同一会话的消息按到达顺序串行执行
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+@Data
+public class DispatchProperties {
+
+    /**
+     * 工作线程数，消息处理以等待大模型响应为主，线程数可明显大于 CPU 核数
+     */
+    private int workerThreads = 32;
+
+    /**
+     * 线程池等待队列容量（等待调度的会话数），超过后新消息直接返回繁忙提示
+     */
+    private int queueCapacity = 1000;
+
+    /**
+     * 单个会话允许积压的消息数，超过后该会话的新消息直接返回繁忙提示
+     */
+    private int sessionQueueLimit = 20;
+
+    /**
+     * 关闭时等待在途消息处理完成的时间（秒）
+     */
+    private int shutdownAwaitSeconds = 30;
+}
@@ -0,0 +1,36 @@
+package com.tran.pulse.motion.chatbot.properties;
+
+import lombok.Data;
+
+/**
+ * WebSocket 出站发送队列配置
+ * 每个会话的出站消息先进入有界队列，由发送线程池串行发起异步写出，慢客户端不会阻塞调用方和其他会话
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+@Data
+public class OutboundProperties {
+
+    /**
+     * 单条消息发送耗时上限（毫秒），超过该时间视为慢客户端并断开连接；
+     * 异步写时同时作为容器侧的写超时，阻塞写时作为 Tomcat 阻塞发送超时
+     */
+    private long sendTimeLimitMillis = 10000;
+
+    /**
+     * 单会话出站缓冲上限（字符数）
+     */
+    private int bufferSizeLimit = 512 * 1024;
+
+    /**
+     * 单会话出站队列消息数上限
+     */
+    private int queueLimit = 256;
+
+    /**
+     * 发送线程数，异步写时线程只负责发起写出，不随连接数和客户端速度增长
+     */
+    private int senderThreads = 4;
+}
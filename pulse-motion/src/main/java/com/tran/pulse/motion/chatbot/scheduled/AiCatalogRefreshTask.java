@@ -0,0 +1,34 @@
+package com.tran.pulse.motion.chatbot.scheduled;
+
+import com.tran.pulse.motion.chatbot.catalog.AiBusinessCatalog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * AI业务配置目录版本检查
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+@Component
+public class AiCatalogRefreshTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(AiCatalogRefreshTask.class);
+
+    @Autowired
+    private AiBusinessCatalog aiBusinessCatalog;
+
+    // 每分钟比对一次全局版本号，其他节点修改配置后在此重新加载
+    @Scheduled(fixedDelayString = "${pulse.chatbot.catalog-refresh-millis:60000}")
+    public void refreshCatalog() {
+        try {
+            aiBusinessCatalog.refreshIfStale();
+        } catch (Exception e) {
+            logger.warn("AI业务配置目录刷新失败: {}", e.getMessage());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.tran.pulse.motion.chatbot.scheduled;
 
 import com.tran.pulse.motion.chatbot.WebSocketSessionManager;
+import com.tran.pulse.motion.chatbot.cluster.ClusterSessionRouter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -17,9 +18,14 @@ public class WebSocketCleanupTask {
     @Autowired
     private WebSocketSessionManager webSocketSessionManager;
 
+    @Autowired
+    private ClusterSessionRouter clusterSessionRouter;
+
     // 每2分钟检查一次非活跃连接
     @Scheduled(fixedRate = 120000)
     public void cleanupInactiveSessions() {
         webSocketSessionManager.cleanupInvalidSessions();
+        // 续期本节点在线用户的节点记录
+        clusterSessionRouter.refreshPresence();
     }
 }
@@ -6,6 +6,7 @@ import com.chaincraft.ai.client.core.mapper.AiModelMapper;
 import com.chaincraft.ai.client.core.service.AiModelService;
 import com.chaincraft.ai.client.core.service.ConversationService;
 import com.tran.pulse.common.domain.entity.AiBusiness;
+import com.tran.pulse.motion.chatbot.catalog.AiBusinessCatalog;
 import com.tran.pulse.motion.chatbot.mapper.AiBusinessMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -26,6 +27,9 @@ public class ChatbotService {
     @Autowired
     private ConversationService conversationService;
 
+    @Autowired
+    private AiBusinessCatalog aiBusinessCatalog;
+
 
 
     /**
@@ -35,7 +39,7 @@ public class ChatbotService {
      * @return
      */
    public Long getAiConversation(Long userid, String businessKey) {
-       AiBusiness aiBusiness = aiBusinessMapper.selectById(businessKey);
+       AiBusiness aiBusiness = aiBusinessCatalog.getBusiness(businessKey);
        AiConversation conversation = conversationService.createConversation(businessKey, aiBusiness.getSystem(), userid);
        return conversation.getId();
    }
@@ -48,7 +52,27 @@ public class ChatbotService {
      * @return
      */
    public AiBusiness getAiBusiness(String businessKey) {
-       return aiBusinessMapper.selectById(businessKey);
+       return aiBusinessCatalog.getBusiness(businessKey);
+   }
+
+    /**
+     * 获取业务使用的模型
+     * @param aiBusiness
+     * @return
+     */
+   public AiModel getAiModel(AiBusiness aiBusiness) {
+       return aiBusinessCatalog.getModelById(aiBusiness.getAiModelId());
+   }
+
+    /**
+     * 修改业务信息，并使业务配置目录失效
+     * @param aiBusiness
+     * @return
+     */
+   public int updateAiBusiness(AiBusiness aiBusiness) {
+       int rows = aiBusinessMapper.updateById(aiBusiness);
+       aiBusinessCatalog.invalidate(aiBusiness.getBusinessId());
+       return rows;
    }
 
 
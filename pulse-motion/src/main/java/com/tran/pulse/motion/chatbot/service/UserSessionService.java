@@ -1,8 +1,11 @@
 package com.tran.pulse.motion.chatbot.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.tran.pulse.cache.util.CacheUtil;
 import com.tran.pulse.common.constants.CacheConstants;
 import com.tran.pulse.motion.chatbot.WebSocketSessionManager;
+import com.tran.pulse.motion.chatbot.cluster.ClusterSessionRouter;
+import com.tran.pulse.motion.chatbot.constants.MessageType;
 import com.tran.pulse.motion.chatbot.domain.AIChatMessage;
 import com.tran.pulse.motion.chatbot.properties.ChatbotProperties;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +21,7 @@ import org.springframework.web.socket.WebSocketSession;
 @Service
 public class UserSessionService {
 
+    private static final TypeReference<String> CONVERSATION_TYPE = new TypeReference<String>() {};
 
     @Autowired
     private WebSocketSessionManager webSocketSessionManager;
@@ -26,12 +30,17 @@ public class UserSessionService {
     @Autowired
     private ChatbotService chatbotService;
 
-    // 添加连接信息
+    @Autowired
+    private ClusterSessionRouter clusterSessionRouter;
+
+    @Autowired
+    private ChatbotProperties chatbotProperties;
+
+    // 添加连接信息，AI对话在收到第一条消息时才创建
     public void addConnection(String businessCode, Long userId, WebSocketSession session) {
-        Long sessionId = chatbotService.getAiConversation(userId, businessCode);
-        // 存储WebSocket会话到内存中（注意：集群环境需要考虑会话共享）
-        CacheUtil.put(builderKey(userId), sessionId);
+        // 会话保存在本节点内存中，同时在缓存中记录用户所在节点，供其他节点路由消息
         webSocketSessionManager.addUserSession(userId.toString(),session);
+        clusterSessionRouter.registerPresence(userId.toString());
     }
 
 
@@ -41,7 +50,20 @@ public class UserSessionService {
      */
     public void removeConnection(Long userId) {
         webSocketSessionManager.removeUserSession(userId.toString());
-        CacheUtil.delete(builderKey(userId));
+        clusterSessionRouter.unregisterPresence(userId.toString());
+    }
+
+    /**
+     * 连接关闭时移除对应会话，用户已在本节点建立新连接时保留新连接
+     *
+     * @param userId 用户ID
+     * @param session 已关闭的会话
+     */
+    public void removeConnection(Long userId, WebSocketSession session) {
+        webSocketSessionManager.removeSessionById(session.getId());
+        if (!webSocketSessionManager.isUserOnline(userId.toString())) {
+            clusterSessionRouter.unregisterPresence(userId.toString());
+        }
     }
 
     /**
@@ -51,26 +73,38 @@ public class UserSessionService {
      * @return
      */
     public boolean sendUserMessage(Long userId, AIChatMessage message) {
-        return webSocketSessionManager.sendMessageToUser(userId.toString(), message.toJson());
+        // 输入状态帧可丢弃，出站缓冲紧张时优先丢弃
+        boolean droppable = MessageType.TYPING.equals(message.getType());
+        return clusterSessionRouter.sendToUser(userId.toString(), message.toJson(), droppable);
     }
 
     /**
-     * 获取会话id
+     * 获取会话id，不存在时创建
+     * 同一用户同一业务在空闲 sessionExpireSeconds 内复用同一个对话，每条消息顺延空闲时间；
+     * 断线重连不会新建对话
      * @param userId
+     * @param businessCode
      * @return
      */
-    public String getSessionId(Long userId) {
-        return CacheUtil.get(builderKey(userId),String.class);
+    public String getSessionId(Long userId, String businessCode) {
+        String key = builderKey(userId, businessCode);
+        String sessionId = CacheUtil.get(key, CONVERSATION_TYPE);
+        if (sessionId == null) {
+            sessionId = String.valueOf(chatbotService.getAiConversation(userId, businessCode));
+        }
+        CacheUtil.put(key, sessionId, chatbotProperties.getSessionExpireSeconds());
+        return sessionId;
     }
 
     /**
      * 编译存储Key
      *
      * @param userId
+     * @param businessCode
      * @return
      */
-    public String builderKey(Long userId) {
-        return CacheConstants.SESSION_PREFIX + userId;
+    public String builderKey(Long userId, String businessCode) {
+        return CacheConstants.SESSION_PREFIX + userId + ":" + businessCode;
     }
 }
 
@@ -0,0 +1,36 @@
+package com.tran.pulse.motion.chatbot.stream;
+
+import com.chaincraft.ai.client.common.client.AiClient;
+import com.chaincraft.ai.client.common.model.request.AiRequest;
+import com.chaincraft.ai.client.common.model.response.AiResponse;
+
+import java.util.function.Consumer;
+
+/**
+ * 基于同步 AiClient 的临时适配器，并不是真正的流式实现
+ * AiClient 只提供一次性返回的 chat 接口，这里等模型生成完毕后把完整回复作为唯一的一段增量下发，
+ * 首字延迟与非流式相同；当前只打通了 text_chunk / text_complete 的下发链路。
+ * 接入支持流式输出的模型客户端后，注册自定义的 StreamingChatClient Bean 替换本类，届时删除本类
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public class BlockingStreamingChatClient implements StreamingChatClient {
+
+    private final AiClient aiClient;
+
+    public BlockingStreamingChatClient(AiClient aiClient) {
+        this.aiClient = aiClient;
+    }
+
+    @Override
+    public String stream(AiRequest request, Consumer<String> onChunk) throws Exception {
+        AiResponse resp = aiClient.chat(request);
+        String content = resp != null ? resp.getContent() : null;
+        if (content != null && !content.isEmpty()) {
+            onChunk.accept(content);
+        }
+        return content;
+    }
+}
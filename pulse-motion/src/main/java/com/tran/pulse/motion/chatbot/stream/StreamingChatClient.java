@@ -0,0 +1,26 @@
+package com.tran.pulse.motion.chatbot.stream;
+
+import com.chaincraft.ai.client.common.model.request.AiRequest;
+
+import java.util.function.Consumer;
+
+/**
+ * 流式大模型调用
+ * 生成过程中每收到一段增量内容就回调一次 onChunk，全部生成完成后返回完整内容
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+public interface StreamingChatClient {
+
+    /**
+     * 流式调用大模型
+     *
+     * @param request 请求
+     * @param onChunk 增量内容回调，在调用线程上按生成顺序执行
+     * @return 完整的回复内容
+     * @throws Exception 调用失败
+     */
+    String stream(AiRequest request, Consumer<String> onChunk) throws Exception;
+}
@@ -0,0 +1,34 @@
+package com.tran.pulse.motion.config;
+
+import com.chaincraft.ai.client.common.client.AiClient;
+import com.tran.pulse.motion.chatbot.properties.ChatbotProperties;
+import com.tran.pulse.motion.chatbot.stream.BlockingStreamingChatClient;
+import com.tran.pulse.motion.chatbot.stream.StreamingChatClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 流式回复配置
+ * 未注册流式模型客户端时使用 {@link BlockingStreamingChatClient} 临时适配，回复仍整段下发
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+@Configuration
+public class ChatStreamConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatStreamConfig.class);
+
+    @Bean
+    @ConditionalOnMissingBean(StreamingChatClient.class)
+    public StreamingChatClient streamingChatClient(AiClient aiClient, ChatbotProperties chatbotProperties) {
+        if (chatbotProperties.isStreamEnabled()) {
+            logger.warn("已开启流式回复但未注册流式模型客户端，使用同步适配器，回复将在生成完毕后整段下发");
+        }
+        return new BlockingStreamingChatClient(aiClient);
+    }
+}
@@ -0,0 +1,49 @@
+package com.tran.pulse.motion.config;
+
+import com.tran.pulse.motion.chatbot.cluster.ClusterMessageBus;
+import com.tran.pulse.motion.chatbot.cluster.LocalClusterMessageBus;
+import com.tran.pulse.motion.chatbot.cluster.RedisClusterMessageBus;
+import com.tran.pulse.motion.chatbot.properties.ChatbotProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * 聊天集群消息总线配置
+ * pulse.chatbot.cluster.bus=REDIS 时使用 Redis 发布订阅（需要 pulse.cache.mode=REDIS 或 TIERED 提供连接），
+ * 否则使用进程内总线
+ *
+ * @author tran
+ * @version 1.0.0.0
+ * @date 2025/10/16
+ **/
+@Configuration
+public class ClusterBusConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "pulse.chatbot.cluster.bus", havingValue = "REDIS")
+    public RedisMessageListenerContainer chatClusterListenerContainer(RedisConnectionFactory redisConnectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "pulse.chatbot.cluster.bus", havingValue = "REDIS")
+    public ClusterMessageBus redisClusterMessageBus(RedisConnectionFactory redisConnectionFactory,
+                                                   RedisMessageListenerContainer chatClusterListenerContainer,
+                                                   ChatbotProperties chatbotProperties) {
+        return new RedisClusterMessageBus(new StringRedisTemplate(redisConnectionFactory),
+                chatClusterListenerContainer, chatbotProperties.getCluster().getChannelPrefix());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(ClusterMessageBus.class)
+    public ClusterMessageBus localClusterMessageBus() {
+        return new LocalClusterMessageBus();
+    }
+}
@@ -2,7 +2,9 @@ package com.tran.pulse.motion.config;
 
 import com.tran.pulse.motion.chatbot.interceptor.AuthHandshakeInterceptor;
 import com.tran.pulse.motion.chatbot.handler.PulseTextWebSocketHandler;
+import com.tran.pulse.motion.chatbot.properties.ChatbotProperties;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
@@ -15,6 +17,7 @@ import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry
  **/
 @Configuration
 @EnableWebSocket
+@EnableConfigurationProperties(ChatbotProperties.class)
 public class WebSocketConfig implements WebSocketConfigurer {
 
     @Autowired
@@ -8,7 +8,6 @@ import com.chaincraft.ai.client.common.model.request.AiRequest;
 import com.chaincraft.ai.client.common.model.request.Message;
 import com.chaincraft.ai.client.common.model.response.AiResponse;
 import com.chaincraft.ai.client.common.template.TemplateContext;
-import com.chaincraft.ai.client.core.service.AiModelService;
 import com.tran.pulse.auth.context.LoginUserContext;
 import com.tran.pulse.cache.util.CacheUtil;
 import com.tran.pulse.common.constants.BusinessCode;
@@ -25,6 +24,7 @@ import com.tran.pulse.motion.diet.mapper.DietMealsMapper;
 import com.tran.pulse.motion.diet.mapper.DietWaterMapper;
 import com.tran.pulse.motion.diet.service.DietTimelineService;
 import com.tran.pulse.motion.home.domain.ProgressDto;
+import com.tran.pulse.motion.home.service.HomeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -61,12 +61,12 @@ public class DietTimelineServiceImpl implements DietTimelineService {
 
     private final ChatbotService chatbotService;
 
-    private final AiModelService aiModelService;
-
     private final  AiClient aiClient;
 
     private final DietWaterMapper dietWaterMapper;
 
+    private final HomeService homeService;
+
     @Override
     public Map<String, List<MealDTO>> getMealRecords(String startDate, String endDate) {
         Long userId = LoginUserContext.getUserId();
@@ -96,6 +96,8 @@ public class DietTimelineServiceImpl implements DietTimelineService {
         entity.setCaloriesKcal(daily.getCaloriesKcal());
         int rows = dietMealsMapper.addDietMeals(entity);
         log.info("用户 {} 添加饮食记录，影响行数：{}", userId, rows);
+        // 首页内容依赖用户记录
+        homeService.evictCache(userId);
 
         return rows > 0;
     }
@@ -124,6 +126,7 @@ public class DietTimelineServiceImpl implements DietTimelineService {
         entity.setCaloriesKcal(daily.getCaloriesKcal());
         int rows = dietMealsMapper.updateDietMeals(entity);
         log.info("用户 {} 更新饮食记录 {}，影响行数：{}", userId, mealDTO.getId(), rows);
+        homeService.evictCache(userId);
 
         return rows > 0;
     }
@@ -144,6 +147,7 @@ public class DietTimelineServiceImpl implements DietTimelineService {
 
         int rows = dietMealsMapper.deleteDietMeals(mealId);
         log.info("用户 {} 删除饮食记录 {}，影响行数：{}", userId, mealId, rows);
+        homeService.evictCache(userId);
 
         return rows > 0;
     }
@@ -301,7 +305,7 @@ public class DietTimelineServiceImpl implements DietTimelineService {
 
     private DietMeals getDaily(String message){
         AiBusiness aiBusiness = chatbotService.getAiBusiness(BusinessCode.DAILY_CALORIES_RECOMMENDED);
-        AiModel aiModel = aiModelService.getById(aiBusiness.getAiModelId());
+        AiModel aiModel = chatbotService.getAiModel(aiBusiness);
         List<Message> messages = Collections.singletonList(Message.user(message));
         AiRequest aiRequest = AiRequest.builder()
                 .modelCode(aiModel.getModelCode())
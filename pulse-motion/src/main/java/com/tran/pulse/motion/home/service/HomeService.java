@@ -25,4 +25,13 @@ public interface HomeService {
      */
     public ProgressDto getProgress();
 
+
+    /**
+     * 清除用户的首页缓存，用户数据变化后调用，下次访问重新生成
+     * 在事务中调用时延迟到事务提交后执行，避免提交前的并发读取把旧数据重新写回缓存
+     *
+     * @param userId 用户ID
+     */
+    void evictCache(Long userId);
+
 }
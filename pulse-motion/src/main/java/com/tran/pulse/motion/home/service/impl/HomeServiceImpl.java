@@ -6,7 +6,7 @@ import com.chaincraft.ai.client.common.model.request.AiRequest;
 import com.chaincraft.ai.client.common.model.request.Message;
 import com.chaincraft.ai.client.common.model.response.AiResponse;
 import com.chaincraft.ai.client.common.template.TemplateContext;
-import com.chaincraft.ai.client.core.service.AiModelService;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.tran.pulse.auth.context.LoginUserContext;
 import com.tran.pulse.cache.util.CacheUtil;
 import com.tran.pulse.common.constants.BusinessCode;
@@ -28,6 +28,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.text.SimpleDateFormat;
 import java.util.*;
@@ -47,15 +49,29 @@ public class HomeServiceImpl implements HomeService {
     public static final String HOME_ADVICE_KEY = "home:advice_key:";
     public static final String HOME_TODAY_SUMMARY_KEY = "home:today_summary:";
 
+    /**
+     * 用户级缓存的失效标签前缀，用户数据变化时按标签整体失效
+     */
+    private static final String USER_TAG = "user:";
+
+    /**
+     * 首页建议缓存时间 3天，数据变化时按标签失效
+     */
+    private static final long HOME_ADVICE_TTL_SECONDS = 259200;
+
+    /**
+     * 今日总结缓存时间 12小时，内容与日期相关，不宜更长
+     */
+    private static final long HOME_SUMMARY_TTL_SECONDS = 43200;
+
+    private static final TypeReference<List<RecommendationDto>> RECOMMENDATION_TYPE = new TypeReference<List<RecommendationDto>>() {};
+
     @Autowired
     private TagHistoryService tagHistoryService;
     
     @Autowired
     private AiClient aiClient;
 
-    @Autowired
-    private AiModelService aiModelService;
-
     @Autowired
     private ChatbotService chatbotService;
 
@@ -68,27 +84,15 @@ public class HomeServiceImpl implements HomeService {
         if (userId == null) {
             throw new PulseException("请登录后访问");
         }
-        if (CacheUtil.get(HOME_ADVICE_KEY + userId) != null){
-            String adviceStr = CacheUtil.get(HOME_ADVICE_KEY + userId, String.class);
-            List<RecommendationDto> recommendationDtos = JacksonUtils.fromJsonToList(adviceStr, RecommendationDto.class);
-            return  recommendationDtos;
-        }
-
-        Map<String, Object> userInfo = getUserInfo();
-        // 2) 读取业务与模型并校验
-        AiBusiness aiBusiness = chatbotService.getAiBusiness(BusinessCode.TODAY_ADVICE);
-        AiRequest aiRequest = getAiRequest(aiBusiness, userInfo);
+        // 同一用户并发请求或缓存过期时只调用一次大模型
         try {
-            AiResponse resp = aiClient.chat(aiRequest);
-            String content = (resp != null) ? resp.getContent() : null;
-            content = cleanCodeBlock(content);
-            List<RecommendationDto> progressDto = JacksonUtils.fromJsonToList(content, RecommendationDto.class);
-            CacheUtil.put(HOME_ADVICE_KEY + userId, progressDto,43200);
-            return progressDto;
+            return CacheUtil.get(HOME_ADVICE_KEY + userId, RECOMMENDATION_TYPE, this::loadRecommendation,
+                    HOME_ADVICE_TTL_SECONDS, userTags(userId));
+        } catch (PulseException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("获取首页信息失败",e);
             throw new PulseException("获取首页信息失败");
-
         }
     }
 
@@ -98,31 +102,61 @@ public class HomeServiceImpl implements HomeService {
         if (userId == null) {
             throw new PulseException("请登录后访问");
         }
-        if (CacheUtil.get(HOME_TODAY_SUMMARY_KEY + userId) != null){
-            ProgressDto summary = CacheUtil.get(HOME_TODAY_SUMMARY_KEY + userId, ProgressDto.class);
-            return  summary;
-        }
-
-        Map<String, Object> userInfo = getUserInfo();
-        // 2) 读取业务与模型并校验
-        AiBusiness aiBusiness = chatbotService.getAiBusiness(BusinessCode.TODAY_SUMMARY);
-        AiRequest aiRequest = getAiRequest(aiBusiness, userInfo);
         try {
-            AiResponse resp = aiClient.chat(aiRequest);
-            String content = (resp != null) ? resp.getContent() : null;
-            content = cleanCodeBlock(content);
-            ProgressDto progressDto = JacksonUtils.fromJson(content, ProgressDto.class);
-            CacheUtil.put(HOME_TODAY_SUMMARY_KEY + userId, progressDto,43200);
-            return progressDto;
+            return CacheUtil.get(HOME_TODAY_SUMMARY_KEY + userId, ProgressDto.class, this::loadProgress,
+                    HOME_SUMMARY_TTL_SECONDS, userTags(userId));
+        } catch (PulseException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("获取首页信息失败",e);
             throw new PulseException("获取首页信息失败");
+        }
+    }
 
+    @Override
+    public void evictCache(Long userId) {
+        String tag = USER_TAG + userId;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            CacheUtil.invalidateTag(tag);
+            return;
         }
+        // 提交前清除的话，并发请求会读到未提交的旧数据并重新缓存，因此等提交后再清除；回滚时数据未变，无需清除
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                CacheUtil.invalidateTag(tag);
+            }
+        });
+    }
+
+    private static List<String> userTags(Long userId) {
+        return Collections.singletonList(USER_TAG + userId);
+    }
+
+    private List<RecommendationDto> loadRecommendation() throws Exception {
+        Map<String, Object> userInfo = getUserInfo();
+        // 2) 读取业务与模型并校验
+        AiBusiness aiBusiness = chatbotService.getAiBusiness(BusinessCode.TODAY_ADVICE);
+        AiRequest aiRequest = getAiRequest(aiBusiness, userInfo);
+        AiResponse resp = aiClient.chat(aiRequest);
+        String content = (resp != null) ? resp.getContent() : null;
+        content = cleanCodeBlock(content);
+        return JacksonUtils.fromJsonToList(content, RecommendationDto.class);
+    }
+
+    private ProgressDto loadProgress() throws Exception {
+        Map<String, Object> userInfo = getUserInfo();
+        // 2) 读取业务与模型并校验
+        AiBusiness aiBusiness = chatbotService.getAiBusiness(BusinessCode.TODAY_SUMMARY);
+        AiRequest aiRequest = getAiRequest(aiBusiness, userInfo);
+        AiResponse resp = aiClient.chat(aiRequest);
+        String content = (resp != null) ? resp.getContent() : null;
+        content = cleanCodeBlock(content);
+        return JacksonUtils.fromJson(content, ProgressDto.class);
     }
 
     private AiRequest getAiRequest(AiBusiness aiBusiness, Map<String, Object> userInfo) {
-        AiModel aiModel = aiModelService.getById(aiBusiness.getAiModelId());
+        AiModel aiModel = chatbotService.getAiModel(aiBusiness);
         List<Message> messages = Collections.singletonList(Message.user("我的信息如下: 性别：#{gender}；出生日期：#{birth_date}；身高：#{height}；今日体重：#{current_weight}kg；#{delta_7d_kg}；"));
         AiRequest aiRequest = AiRequest.builder()
                 .modelCode(aiModel.getModelCode())
@@ -1,5 +1,6 @@
 package com.tran.pulse.motion.tag.scheduler;
 
+import com.tran.pulse.cache.util.CacheUtil;
 import com.tran.pulse.common.constants.TagCode;
 import com.tran.pulse.common.domain.entity.TagHistory;
 import com.tran.pulse.common.domain.entity.TagUser;
@@ -17,12 +18,19 @@ import java.util.List;
 
 /**
  * 体重历史记录定时任务
- * 每天凌晨1点执行，将当前体重记录保存到历史表中
+ * 每天凌晨1点执行，将当前体重记录保存到历史表中；多节点部署时通过缓存租约保证只有一个节点执行
  */
 @Component
 public class WeightHistoryScheduler {
     
     private static final Logger logger = LoggerFactory.getLogger(WeightHistoryScheduler.class);
+
+    private static final String LEASE_KEY = "scheduler:weight_history";
+
+    /**
+     * 租约时长，执行完不主动释放，覆盖各节点触发时间的偏差，避免稍晚触发的节点重复执行
+     */
+    private static final long LEASE_MILLIS = 30 * 60 * 1000L;
     
 
     @Autowired
@@ -37,6 +45,10 @@ public class WeightHistoryScheduler {
      */
     @Scheduled(cron = "0 0 1 * * ?")
     public void recordWeightHistory() {
+        if (CacheUtil.tryLease(LEASE_KEY, LEASE_MILLIS) == null) {
+            logger.info("体重历史记录定时任务已由其他节点执行，跳过");
+            return;
+        }
         try {
             logger.info("开始执行体重历史记录定时任务");
             
@@ -1,6 +1,7 @@
 package com.tran.pulse.motion.tag.service.impl;
 
 import com.tran.pulse.auth.context.LoginUserContext;
+import com.tran.pulse.auth.service.AuthService;
 import com.tran.pulse.common.constants.Constants;
 import com.tran.pulse.common.constants.TagCode;
 import com.tran.pulse.common.domain.entity.TagUser;
@@ -9,7 +10,6 @@ import com.tran.pulse.motion.tag.domian.dto.TagUserDto;
 import com.tran.pulse.motion.tag.mapper.TagMapper;
 import com.tran.pulse.motion.tag.mapper.TagUserMapper;
 import com.tran.pulse.motion.tag.service.TagService;
-import com.tran.pulse.user.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,7 +32,7 @@ public class TagServiceImpl implements TagService {
     private TagUserMapper tagUserMapper;
 
     @Autowired
-    private UserService userService;
+    private AuthService authService;
 
 
     @Override
@@ -46,7 +46,8 @@ public class TagServiceImpl implements TagService {
         tgsInfo.add(new TagDto(TagCode.HEIGHT,tagUserDto.getHeight().toString()));
         tgsInfo.add(new TagDto(TagCode.TARGET_WEIGHT,tagUserDto.getTargetWeight().toString()));
         tagUserMapper.addUserTags(userId,tgsInfo);
-        userService.updateUserStatus(userId, Constants.STATUS_ENABLED_2000);
+        // 通过 AuthService 更新，同时清除各节点缓存的会话副本
+        authService.updateUserStatus(userId, Constants.STATUS_ENABLED_2000);
         logger.info("用户: {},完成引导页面", userId);
     }
 
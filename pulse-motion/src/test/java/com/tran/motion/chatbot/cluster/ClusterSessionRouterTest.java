@@ -0,0 +1,309 @@
+package com.tran.motion.chatbot.cluster;
+
+import com.tran.pulse.cache.metrics.CacheMetrics;
+import com.tran.pulse.cache.properties.PulseCacheProperties;
+import com.tran.pulse.cache.service.CacheOperationsProxy;
+import com.tran.pulse.cache.service.GuavaCacheOperations;
+import com.tran.pulse.cache.util.SpringContextUtil;
+import com.tran.pulse.common.constants.BusinessCode;
+import com.tran.pulse.common.constants.Constants;
+import com.tran.pulse.common.util.JacksonUtils;
+import com.tran.pulse.motion.chatbot.WebSocketSessionManager;
+import com.tran.pulse.motion.chatbot.broadcast.BroadcastEngine;
+import com.tran.pulse.motion.chatbot.broadcast.BroadcastTarget;
+import com.tran.pulse.motion.chatbot.cluster.ClusterEnvelope;
+import com.tran.pulse.motion.chatbot.cluster.ClusterSessionRouter;
+import com.tran.pulse.motion.chatbot.cluster.LocalClusterMessageBus;
+import com.tran.pulse.motion.chatbot.properties.ChatbotProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class ClusterSessionRouterTest {
+
+    private final List<Node> nodes = new ArrayList<>();
+
+    @BeforeClass
+    public static void setUpCache() {
+        // 在线节点记录走 CacheUtil，两个节点共用同一个本地缓存，模拟共享的 Redis
+        PulseCacheProperties properties = new PulseCacheProperties();
+        CacheMetrics metrics = new CacheMetrics(new SimpleMeterRegistry(), properties.getMetrics());
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.registerBean(CacheOperationsProxy.class, () -> new CacheOperationsProxy(properties,
+                Collections.singletonList(new GuavaCacheOperations(properties, metrics)), metrics));
+        context.refresh();
+        new SpringContextUtil().setApplicationContext(context);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        for (Node node : nodes) {
+            node.broadcastEngine.destroy();
+            node.sessionManager.destroy();
+        }
+    }
+
+    @Test
+    public void sendToUserOnOtherNode() throws Exception {
+        JsonBus bus = new JsonBus();
+        Node a = node("a", bus);
+        Node b = node("b", bus);
+        StubSession session = a.connect(1L, null);
+
+        b.router.sendToUser("1", "hello", false);
+        Assert.assertEquals("hello", session.next());
+        // 本节点在线时直接投递，不经过总线
+        int published = bus.published;
+        a.router.sendToUser("1", "local", false);
+        Assert.assertEquals("local", session.next());
+        Assert.assertEquals(published, bus.published);
+    }
+
+    @Test
+    public void presence() throws Exception {
+        JsonBus bus = new JsonBus();
+        Node a = node("a", bus);
+        Node b = node("b", bus);
+        Assert.assertFalse(b.router.sendToUser("2", "offline", false));
+
+        a.connect(2L, null);
+        // 其他节点清除记录时不影响用户在本节点的连接
+        b.router.unregisterPresence("2");
+        Assert.assertTrue(b.router.sendToUser("2", "still online", false));
+
+        a.router.unregisterPresence("2");
+        a.sessionManager.removeUserSession("2");
+        Assert.assertFalse(b.router.sendToUser("2", "gone", false));
+
+        // 用户切换到 b 节点后，a 节点转发到 b
+        StubSession moved = b.connect(2L, null);
+        Assert.assertTrue(a.router.sendToUser("2", "moved", false));
+        Assert.assertEquals("moved", moved.next());
+    }
+
+    @Test
+    public void broadcastToUsersAcrossNodes() throws Exception {
+        JsonBus bus = new JsonBus();
+        Node a = node("a", bus);
+        Node b = node("b", bus);
+        StubSession user1 = a.connect(1L, null);
+        StubSession user2 = a.connect(2L, null);
+        StubSession user3 = b.connect(3L, null);
+        StubSession user4 = b.connect(4L, null);
+
+        b.router.broadcast("notice", BroadcastTarget.users(Arrays.asList(1L, 3L)));
+        Assert.assertEquals("notice", user1.next());
+        Assert.assertEquals("notice", user3.next());
+        Assert.assertNull(user2.poll());
+        Assert.assertNull(user4.poll());
+    }
+
+    @Test
+    public void broadcastToBusinessCodeAcrossNodes() throws Exception {
+        JsonBus bus = new JsonBus();
+        Node a = node("a", bus);
+        Node b = node("b", bus);
+        StubSession fit = a.connect(1L, "fit");
+        StubSession other = a.connect(2L, "shop");
+        StubSession local = b.connect(3L, "fit");
+
+        b.router.broadcast("sale", "fit");
+        Assert.assertEquals("sale", fit.next());
+        Assert.assertEquals("sale", local.next());
+        Assert.assertNull(other.poll());
+
+        a.router.broadcast("all");
+        Assert.assertEquals("all", fit.next());
+        Assert.assertEquals("all", other.next());
+        Assert.assertEquals("all", local.next());
+    }
+
+    private Node node(String name, JsonBus bus) {
+        ChatbotProperties properties = new ChatbotProperties();
+        properties.getCluster().setNodeId(name + "-" + UUID.randomUUID());
+        Node node = new Node(properties, bus);
+        nodes.add(node);
+        return node;
+    }
+
+    private static final class Node {
+
+        private final WebSocketSessionManager sessionManager;
+
+        private final BroadcastEngine broadcastEngine;
+
+        private final ClusterSessionRouter router;
+
+        private Node(ChatbotProperties properties, JsonBus bus) {
+            this.sessionManager = new WebSocketSessionManager(properties);
+            this.broadcastEngine = new BroadcastEngine(sessionManager, properties);
+            this.router = new ClusterSessionRouter(sessionManager, bus, broadcastEngine, properties);
+            router.afterPropertiesSet();
+        }
+
+        private StubSession connect(long userId, String businessCode) {
+            StubSession session = new StubSession(userId, businessCode);
+            sessionManager.addUserSession(String.valueOf(userId), session);
+            router.registerPresence(String.valueOf(userId));
+            return session;
+        }
+    }
+
+    /**
+     * 投递前先经过 JSON 序列化，和 Redis 总线一样只传递信封中的字段
+     */
+    private static final class JsonBus extends LocalClusterMessageBus {
+
+        private volatile int published;
+
+        @Override
+        public void publish(String nodeId, ClusterEnvelope envelope) {
+            published++;
+            super.publish(nodeId, roundTrip(envelope));
+        }
+
+        @Override
+        public void broadcast(ClusterEnvelope envelope) {
+            published++;
+            super.broadcast(roundTrip(envelope));
+        }
+
+        private static ClusterEnvelope roundTrip(ClusterEnvelope envelope) {
+            return JacksonUtils.fromJson(JacksonUtils.toJson(envelope), ClusterEnvelope.class);
+        }
+    }
+
+    private static final class StubSession implements WebSocketSession {
+
+        private final String id = UUID.randomUUID().toString();
+
+        private final Map<String, Object> attributes = new HashMap<>();
+
+        private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+
+        private volatile boolean open = true;
+
+        private StubSession(long userId, String businessCode) {
+            attributes.put(Constants.USER_ID, userId);
+            if (businessCode != null) {
+                attributes.put(BusinessCode.HEADER, businessCode);
+            }
+        }
+
+        private String next() throws InterruptedException {
+            String message = received.poll(5, TimeUnit.SECONDS);
+            Assert.assertNotNull("未收到消息", message);
+            return message;
+        }
+
+        private String poll() throws InterruptedException {
+            return received.poll(200, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public URI getUri() {
+            return null;
+        }
+
+        @Override
+        public HttpHeaders getHandshakeHeaders() {
+            return new HttpHeaders();
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public Principal getPrincipal() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getLocalAddress() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return null;
+        }
+
+        @Override
+        public String getAcceptedProtocol() {
+            return null;
+        }
+
+        @Override
+        public void setTextMessageSizeLimit(int messageSizeLimit) {
+        }
+
+        @Override
+        public int getTextMessageSizeLimit() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public void setBinaryMessageSizeLimit(int messageSizeLimit) {
+        }
+
+        @Override
+        public int getBinaryMessageSizeLimit() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public List<WebSocketExtension> getExtensions() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) {
+            received.add(((TextMessage) message).getPayload());
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+
+        @Override
+        public void close(CloseStatus status) {
+            open = false;
+        }
+    }
+}
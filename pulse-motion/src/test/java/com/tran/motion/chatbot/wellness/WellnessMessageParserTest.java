@@ -0,0 +1,71 @@
+package com.tran.motion.chatbot.wellness;
+
+import com.tran.pulse.motion.chatbot.processor.wellness.WellnessMessageParser;
+import com.tran.pulse.motion.chatbot.processor.wellness.WellnessParseResult;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+/**
+ * 体重/消耗本地解析：低于阈值的结果会回退到大模型
+ */
+public class WellnessMessageParserTest {
+
+    private static final double THRESHOLD = 0.8D;
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 10, 16);
+
+    private final WellnessMessageParser parser = new WellnessMessageParser();
+
+    @Test
+    public void weight() {
+        WellnessParseResult result = parser.parse("今天体重65kg", TODAY);
+        Assert.assertEquals(WellnessParseResult.TYPE_WEIGHT, result.getType());
+        Assert.assertEquals("65", result.getEntries().get(0).getValue());
+        Assert.assertEquals("2025-10-16", result.getEntries().get(0).getDate());
+        Assert.assertTrue(result.getConfidence() >= THRESHOLD);
+
+        result = parser.parse("昨天体重130斤", TODAY);
+        Assert.assertEquals("65", result.getEntries().get(0).getValue());
+        Assert.assertEquals("2025-10-15", result.getEntries().get(0).getDate());
+    }
+
+    @Test
+    public void burn() {
+        WellnessParseResult result = parser.parse("跑步消耗200卡路里", TODAY);
+        Assert.assertEquals(WellnessParseResult.TYPE_CONSUME, result.getType());
+        Assert.assertEquals("200", result.getEntries().get(0).getValue());
+        Assert.assertEquals(1D, result.getConfidence(), 0D);
+    }
+
+    @Test
+    public void intakeIsNotBurn() {
+        Assert.assertTrue(parser.parse("记录午餐吃了500大卡", TODAY).getConfidence() < THRESHOLD);
+        Assert.assertTrue(parser.parse("记录早餐300卡", TODAY).getConfidence() < THRESHOLD);
+        Assert.assertTrue(parser.parse("晚饭摄入800kcal", TODAY).getConfidence() < THRESHOLD);
+        // 同时出现饮食和消耗，方向交给大模型判断
+        Assert.assertTrue(parser.parse("吃完饭运动消耗了300卡", TODAY).getConfidence() < THRESHOLD);
+    }
+
+    @Test
+    public void calorieWithoutDirection() {
+        Assert.assertTrue(parser.parse("今天300大卡", TODAY).getConfidence() < THRESHOLD);
+    }
+
+    @Test
+    public void futureMonthDay() {
+        WellnessParseResult result = parser.parse("10月20日体重60kg", TODAY);
+        Assert.assertTrue(result.getConfidence() < THRESHOLD);
+        Assert.assertTrue(result.getEntries().isEmpty());
+
+        result = parser.parse("10月1日体重60kg", TODAY);
+        Assert.assertEquals("2025-10-01", result.getEntries().get(0).getDate());
+        Assert.assertTrue(result.getConfidence() >= THRESHOLD);
+    }
+
+    @Test
+    public void uncertain() {
+        Assert.assertTrue(parser.parse("体重65kg是不是有点重？", TODAY).getConfidence() < THRESHOLD);
+    }
+}
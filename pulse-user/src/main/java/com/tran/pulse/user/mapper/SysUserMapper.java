@@ -57,4 +57,12 @@ public interface SysUserMapper {
     int updateUserStatus(@Param("userId") Long userId, @Param("status") String status);
 
 
+    /**
+     *  替换密码哈希，仅当当前哈希仍为 oldPassword 时更新，避免覆盖期间修改的密码
+     *
+     */
+    int updatePasswordIfMatch(@Param("userId") Long userId, @Param("password") String password,
+                              @Param("oldPassword") String oldPassword);
+
+
 }
@@ -66,6 +66,18 @@ public class UserService {
         return sysUserMapper.updateUserStatus(userId, status);
     }
 
+    /**
+     * 替换密码哈希（算法或代价调整后的重新哈希），密码本身不变
+     *
+     * @param userId      用户ID
+     * @param password    新哈希
+     * @param oldPassword 旧哈希，当前哈希不一致时不更新
+     * @return 影响行数
+     */
+    public int updatePasswordIfMatch(Long userId, String password, String oldPassword) {
+        return sysUserMapper.updatePasswordIfMatch(userId, password, oldPassword);
+    }
+
     /**
      * 启用用户
      *